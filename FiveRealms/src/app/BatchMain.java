@@ -0,0 +1,605 @@
+package app;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import model.characters.AbstractCharacter;
+import model.characters.BalanceProfile;
+import model.gameStatus.Game;
+import model.gameStatus.level.AIStrategy;
+import model.gameStatus.level.search.SearchAI;
+import model.simulation.AITournament;
+import model.simulation.ArenaBattleSimulator;
+import model.simulation.BattleArena;
+import model.simulation.BattleLog;
+import model.simulation.CampaignRunner;
+import model.simulation.CampaignStats;
+import model.simulation.ReplacementPolicy;
+import model.simulation.SimulationConfig;
+import model.simulation.SimulationRunner;
+import model.simulation.SimulationStats;
+import model.simulation.StreamingHistogram;
+import model.simulation.TournamentRatings;
+import model.simulation.TournamentResults;
+import model.simulation.UnitClass;
+import model.simulation.store.ColumnType;
+import model.simulation.store.ColumnarReader;
+import model.simulation.store.RangeFilter;
+import view.map.AbstractMap;
+
+/**
+ * Headless entry point of the simulations, for balance jobs on machines without a display.
+ * It never starts the Swing game nor loads java.awt: characters are told not to load their
+ * sprites before the first one is created.
+ *
+ * Usage: {@code BatchMain <simulate|campaign|replay|benchmark|tournament|query> [--config file] [--option value]...}
+ * Options are read from the properties file given with --config first, then from the command
+ * line, as {@code --option value} or {@code --option=value}:
+ * battles, campaigns, seeds (games of every pairing on every level of a tournament),
+ * strategies (the AI strategies of a tournament, separated by commas), seed, workers,
+ * units (per side), rounds (before a draw or a stall),
+ * format (csv or json), output (a file, standard output if missing), profile (a balance
+ * profile to play with), store (a battle log written by simulate and read by query),
+ * where (filters of query, like {@code winner=enemies,rounds=3..10}) and group (the column
+ * query groups the rows by).
+ *
+ * The results go to the output and the progress messages to standard error.
+ * The exit status is {@link #EXIT_OK}, {@link #EXIT_FAILURE} if the run failed, or
+ * {@link #EXIT_USAGE} if the arguments are invalid.
+ */
+public class BatchMain
+{
+	public static final int EXIT_OK = 0;
+	public static final int EXIT_FAILURE = 1;
+	public static final int EXIT_USAGE = 2;
+
+	private static final String USAGE = "Usage: BatchMain <simulate|campaign|replay|benchmark|tournament|query> [--config file] [--option value]...";
+
+	private static final Set<String> OPTIONS = Set.of("battles", "campaigns", "seeds", "strategies", "seed", "workers", "units", "rounds",
+			"format", "output", "profile", "store", "where", "group");
+
+	/** Rounds before a battle is a draw, like the simulation runners */
+	private static final int DEFAULT_BATTLE_ROUNDS = 50;
+
+	/** Rounds before a level stalls, like the campaign runner */
+	private static final int DEFAULT_LEVEL_ROUNDS = 100;
+
+	/** Strategy stored in the battle logs of simulate, the nearest-opponent AI of the arena */
+	private static final String ARENA_STRATEGY = "arena";
+
+	/** Resampled tournaments the confidence intervals of the ratings are estimated from */
+	private static final int TOURNAMENT_BOOTSTRAP_SAMPLES = 1000;
+
+	private final Map<String, String> options;
+
+	private BatchMain(Map<String, String> options)
+	{
+		this.options = options;
+	}
+
+	public static void main(String[] args)
+	{
+		System.exit(run(args));
+	}
+
+	/**
+	 * Runs a command and reports any error on standard error.
+	 *
+	 * @param args the command line arguments
+	 * @return the exit status
+	 */
+	public static int run(String[] args)
+	{
+		AbstractCharacter.disableSprites();
+
+		try
+		{
+			if (args.length < 1)
+			{
+				throw new IllegalArgumentException("Missing command");
+			}
+			BatchMain batch = new BatchMain(parseOptions(args));
+			batch.loadProfile();
+
+			ResultTable results;
+			switch (args[0])
+			{
+				case "simulate":  results = batch.simulate(); break;
+				case "campaign":  results = batch.campaign(); break;
+				case "replay":    results = batch.replay(); break;
+				case "benchmark": results = batch.benchmark(); break;
+				case "tournament": results = batch.tournament(); break;
+				case "query":     results = batch.query(); break;
+				default: throw new IllegalArgumentException("Unknown command: " + args[0]);
+			}
+			batch.write(results);
+			return EXIT_OK;
+		}
+		catch (IllegalArgumentException | FileNotFoundException e)
+		{
+			System.err.println("Error: " + e.getMessage());
+			System.err.println(USAGE);
+			return EXIT_USAGE;
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			System.err.println("Interrupted");
+			return EXIT_FAILURE;
+		}
+		catch (Exception e)
+		{
+			System.err.println("Error while running " + args[0] + ": " + e);
+			return EXIT_FAILURE;
+		}
+	}
+
+	/**
+	 * Reads the options of the config file and of the command line, which override the file.
+	 */
+	private static Map<String, String> parseOptions(String[] args) throws IOException
+	{
+		Map<String, String> fromArgs = new LinkedHashMap<>();
+		String configFile = null;
+
+		for (int index = 1; index < args.length; index++)
+		{
+			String arg = args[index];
+			if (!arg.startsWith("--"))
+			{
+				throw new IllegalArgumentException("Unexpected argument: " + arg);
+			}
+
+			String name = arg.substring(2);
+			String value;
+			int equals = name.indexOf('=');
+			if (equals >= 0)
+			{
+				value = name.substring(equals + 1);
+				name = name.substring(0, equals);
+			}
+			else if (index + 1 < args.length)
+			{
+				value = args[++index];
+			}
+			else
+			{
+				throw new IllegalArgumentException("Missing value of --" + name);
+			}
+
+			if (name.equals("config"))
+			{
+				configFile = value;
+			}
+			else
+			{
+				fromArgs.put(name, value);
+			}
+		}
+
+		Map<String, String> options = new LinkedHashMap<>();
+		if (configFile != null)
+		{
+			Properties properties = new Properties();
+			try (InputStream in = new FileInputStream(configFile))
+			{
+				properties.load(in);
+			}
+			properties.stringPropertyNames().forEach(name -> options.put(name, properties.getProperty(name).trim()));
+		}
+		options.putAll(fromArgs);
+
+		for (String name : options.keySet())
+		{
+			if (!OPTIONS.contains(name))
+			{
+				throw new IllegalArgumentException("Unknown option: " + name);
+			}
+		}
+		return options;
+	}
+
+	/**
+	 * Plays battles of random armies and writes their statistics as a single row.
+	 */
+	private ResultTable simulate() throws InterruptedException, IOException
+	{
+		SimulationConfig config = this.simulationConfig();
+		long battles = this.getLong("battles", 100_000);
+		long seed = this.getLong("seed", 0);
+		int workers = this.getWorkers();
+
+		SimulationRunner runner = config.createRunner(workers);
+		String store = this.options.get("store");
+		BattleLog log = store == null ? null : new BattleLog(new File(store), 0, ARENA_STRATEGY);
+		runner.setBattleListener(log);
+
+		long start = System.nanoTime();
+		SimulationStats stats;
+		try
+		{
+			stats = runner.run(seed, seed + battles);
+		}
+		finally
+		{
+			if (log != null)
+			{
+				log.close();
+			}
+		}
+		System.err.printf("%d battles on %d workers in %.1f s%n", stats.getBattles(), workers, (System.nanoTime() - start) / 1e9);
+
+		Map<String, Object> row = new LinkedHashMap<>();
+		row.put("battles", stats.getBattles());
+		row.put("alliesWon", stats.getAlliesWon());
+		row.put("enemiesWon", stats.getEnemiesWon());
+		row.put("draws", stats.getDraws());
+		row.put("alliesWinRate", stats.getAlliesWinRate());
+		putPercentiles(row, "roundsToAlliesWin", stats.getRoundsToAlliesWin());
+		putPercentiles(row, "roundsToEnemiesWin", stats.getRoundsToEnemiesWin());
+		for (UnitClass unitClass : UnitClass.values())
+		{
+			putPercentiles(row, "damage" + unitClass.getCharacterName(), stats.getDamageDealt(unitClass));
+		}
+		putPercentiles(row, "survivorHealth", stats.getSurvivorHealth());
+		putPercentiles(row, "experienceGained", stats.getExperienceGained());
+
+		ResultTable table = new ResultTable(row.keySet().toArray(new String[0]));
+		table.addRow(row.values().toArray());
+		return table;
+	}
+
+	/**
+	 * Plays campaigns and writes a row per level.
+	 */
+	private ResultTable campaign() throws InterruptedException
+	{
+		long campaigns = this.getLong("campaigns", 10_000);
+		long seed = this.getLong("seed", 0);
+		int workers = this.getWorkers();
+		int rounds = this.getInt("rounds", DEFAULT_LEVEL_ROUNDS);
+
+		long start = System.nanoTime();
+		CampaignStats stats = new CampaignRunner(ReplacementPolicy.random(), workers, rounds).run(seed, seed + campaigns);
+		System.err.printf("%d campaigns on %d workers in %.1f s, %d won%n", stats.getCampaigns(), workers, (System.nanoTime() - start) / 1e9, stats.getWon());
+
+		ResultTable table = new ResultTable("level", "reached", "cleared", "lost", "stalled", "clearRate",
+				"allyDeathsPerTry", "replacementsPerTry", "roundsP50", "roundsP99");
+		for (int level = 0; level < Game.TOTAL_LEVEL; level++)
+		{
+			double tries = Math.max(1, stats.getReached(level));
+			table.addRow(level + 1, stats.getReached(level), stats.getCleared(level), stats.getLost(level), stats.getStalled(level),
+					stats.getCleared(level) / tries, stats.getAllyDeaths(level) / tries, stats.getReplacements(level) / tries,
+					stats.getRounds(level).getValueAtPercentile(50), stats.getRounds(level).getValueAtPercentile(99));
+		}
+		return table;
+	}
+
+	/**
+	 * Plays the battle of a seed of a simulation again and writes a row per unit at its end.
+	 */
+	private ResultTable replay()
+	{
+		if (!this.options.containsKey("seed"))
+		{
+			throw new IllegalArgumentException("The replay needs the --seed of the battle");
+		}
+		long seed = this.getLong("seed", 0);
+
+		SimulationRunner runner = this.simulationConfig().createRunner(1);
+		ArenaBattleSimulator simulator = runner.createSimulator();
+		int outcome = runner.replay(simulator, seed);
+		BattleArena arena = simulator.getArena();
+
+		String result = outcome == ArenaBattleSimulator.ALLIES_WON ? "alliesWon" : outcome == ArenaBattleSimulator.ENEMIES_WON ? "enemiesWon" : "draw";
+		ResultTable table = new ResultTable("seed", "outcome", "rounds", "unit", "class", "allied", "alive",
+				"health", "maxHealth", "damageDealt", "experienceGained", "x", "y");
+		for (int unit = 0; unit < arena.getUnitCount(); unit++)
+		{
+			table.addRow(seed, result, arena.getRound(), unit, arena.getUnitClass(unit).getCharacterName(),
+					arena.isAllied(unit), arena.isAlive(unit), Math.max(0, arena.get(unit, BattleArena.HEALTH)),
+					arena.get(unit, BattleArena.MAX_HEALTH), arena.get(unit, BattleArena.DAMAGE_DEALT),
+					arena.get(unit, BattleArena.EXPERIENCE_GAINED), arena.get(unit, BattleArena.X), arena.get(unit, BattleArena.Y));
+		}
+		return table;
+	}
+
+	/**
+	 * Measures the throughput of the simulations and of the campaigns, after a warm up
+	 * of a tenth of each.
+	 */
+	private ResultTable benchmark() throws InterruptedException
+	{
+		SimulationRunner runner = this.simulationConfig().createRunner(this.getWorkers());
+		long battles = this.getLong("battles", 200_000);
+		long campaigns = this.getLong("campaigns", 2_000);
+		long seed = this.getLong("seed", 0);
+		CampaignRunner campaignRunner = new CampaignRunner(ReplacementPolicy.random(), this.getWorkers(), this.getInt("rounds", DEFAULT_LEVEL_ROUNDS));
+
+		runner.run(seed, seed + battles / 10);
+		campaignRunner.run(seed, seed + campaigns / 10);
+
+		ResultTable table = new ResultTable("workload", "count", "workers", "seconds", "perSecond");
+
+		long start = System.nanoTime();
+		runner.run(seed, seed + battles);
+		double seconds = (System.nanoTime() - start) / 1e9;
+		table.addRow("battles", battles, this.getWorkers(), seconds, battles / seconds);
+
+		start = System.nanoTime();
+		campaignRunner.run(seed, seed + campaigns);
+		seconds = (System.nanoTime() - start) / 1e9;
+		table.addRow("campaigns", campaigns, this.getWorkers(), seconds, campaigns / seconds);
+		return table;
+	}
+
+	/**
+	 * Plays the AI strategies against each other and writes a row per strategy with its rating.
+	 */
+	private ResultTable tournament() throws InterruptedException
+	{
+		List<AIStrategy> strategies = new ArrayList<>();
+		for (String name : this.options.getOrDefault("strategies", "closest,weakest,dangerous").split(","))
+		{
+			strategies.add(AIStrategy.byName(name.trim()));
+		}
+		long seeds = this.getLong("seeds", 500);
+		int workers = this.getWorkers();
+
+		long start = System.nanoTime();
+		TournamentResults results = new AITournament(strategies, workers, this.getInt("rounds", DEFAULT_LEVEL_ROUNDS)).run(seeds);
+		System.err.printf("Tournament on %d workers in %.1f s%n", workers, (System.nanoTime() - start) / 1e9);
+		TournamentRatings ratings = TournamentRatings.fit(results, TOURNAMENT_BOOTSTRAP_SAMPLES, this.getLong("seed", 0));
+
+		// The hit rate of the transposition table, for the strategies that search
+		ResultTable table = new ResultTable("strategy", "rating", "ratingLow", "ratingHigh", "games", "score", "allyWinRate", "ttHitRate");
+		for (int i = 0; i < results.getStrategyCount(); i++)
+		{
+			Double hitRate = strategies.get(i) instanceof SearchAI ? ((SearchAI) strategies.get(i)).getTable().getHitRate() : null;
+			table.addRow(results.getStrategy(i), ratings.getRating(i), ratings.getLow(i), ratings.getHigh(i),
+					results.getGames(i), results.getScore(i) / Math.max(1, results.getGames(i)), results.getAllyWinRate(i), hitRate);
+		}
+		return table;
+	}
+
+	/**
+	 * Filters the battles of a battle log and writes, for every value of the group column or
+	 * for all of them, the number of battles and the mean of every number column.
+	 */
+	private ResultTable query() throws IOException
+	{
+		String store = this.options.get("store");
+		if (store == null)
+		{
+			throw new IllegalArgumentException("The query needs the --store to read");
+		}
+
+		try (ColumnarReader reader = new ColumnarReader(new File(store)))
+		{
+			List<RangeFilter> filters = parseFilters(reader, this.options.getOrDefault("where", ""));
+			String group = this.options.get("group");
+			int groupColumn = group == null ? -1 : reader.getColumn(group);
+
+			// The visitor sees the group column first, if any, then the number columns averaged
+			List<String> columns = new ArrayList<>();
+			if (group != null)
+			{
+				columns.add(group);
+			}
+			List<String> averaged = new ArrayList<>();
+			for (int c = 0; c < reader.getColumnCount(); c++)
+			{
+				if (reader.getColumnType(c) == ColumnType.LONG && c != groupColumn && !reader.getColumnName(c).equals("seed"))
+				{
+					averaged.add(reader.getColumnName(c));
+				}
+			}
+			columns.addAll(averaged);
+
+			int offset = group == null ? 0 : 1;
+			Map<Long, long[]> sums = new TreeMap<>();
+			long start = System.nanoTime();
+			long rows = reader.scan(columns.toArray(new String[0]), filters, values -> {
+				long[] sum = sums.computeIfAbsent(offset == 0 ? 0 : values[0], key -> new long[averaged.size() + 1]);
+				sum[0]++;
+				for (int i = 0; i < averaged.size(); i++)
+				{
+					sum[i + 1] += values[offset + i];
+				}
+			});
+			System.err.printf("%d of %d rows matched in %.2f s%n", rows, reader.getRowCount(), (System.nanoTime() - start) / 1e9);
+
+			List<String> header = new ArrayList<>();
+			header.add(group == null ? "group" : group);
+			header.add("count");
+			averaged.forEach(name -> header.add(name + "Mean"));
+			ResultTable table = new ResultTable(header.toArray(new String[0]));
+
+			for (Map.Entry<Long, long[]> entry : sums.entrySet())
+			{
+				long[] sum = entry.getValue();
+				Object[] row = new Object[header.size()];
+				row[0] = group == null ? "all"
+						: reader.getColumnType(groupColumn) == ColumnType.STRING ? reader.getDictionary(groupColumn).get(entry.getKey().intValue())
+						: entry.getKey();
+				row[1] = sum[0];
+				for (int i = 0; i < averaged.size(); i++)
+				{
+					row[i + 2] = sum[i + 1] / (double) sum[0];
+				}
+				table.addRow(row);
+			}
+			return table;
+		}
+	}
+
+	/**
+	 * Parses filters like {@code winner=enemies,rounds=3..10,level=..2}.
+	 */
+	private static List<RangeFilter> parseFilters(ColumnarReader reader, String where)
+	{
+		List<RangeFilter> filters = new ArrayList<>();
+		for (String condition : where.split(","))
+		{
+			if (condition.isBlank())
+			{
+				continue;
+			}
+			int equals = condition.indexOf('=');
+			if (equals < 0)
+			{
+				throw new IllegalArgumentException("Invalid filter: " + condition);
+			}
+			String column = condition.substring(0, equals).trim();
+			String value = condition.substring(equals + 1).trim();
+			int index = reader.getColumn(column);
+
+			if (reader.getColumnType(index) == ColumnType.STRING)
+			{
+				// A string no row has gets a code no row has either
+				int code = reader.getCode(index, value);
+				filters.add(new RangeFilter(column, code, code));
+				continue;
+			}
+
+			try
+			{
+				int range = value.indexOf("..");
+				if (range < 0)
+				{
+					long number = Long.parseLong(value);
+					filters.add(new RangeFilter(column, number, number));
+				}
+				else
+				{
+					String min = value.substring(0, range).trim();
+					String max = value.substring(range + 2).trim();
+					filters.add(new RangeFilter(column, min.isEmpty() ? Long.MIN_VALUE : Long.parseLong(min),
+							max.isEmpty() ? Long.MAX_VALUE : Long.parseLong(max)));
+				}
+			}
+			catch (NumberFormatException e)
+			{
+				throw new IllegalArgumentException("Invalid filter: " + condition);
+			}
+		}
+		return filters;
+	}
+
+	private SimulationConfig simulationConfig()
+	{
+		return new SimulationConfig(this.getInt("units", 5), AbstractMap.GRID_SIZE_WIDTH, AbstractMap.GRID_SIZE_HEIGHT,
+				this.getInt("rounds", DEFAULT_BATTLE_ROUNDS));
+	}
+
+	private void loadProfile() throws IOException
+	{
+		String profile = this.options.get("profile");
+		if (profile != null)
+		{
+			BalanceProfile.setGlobal(BalanceProfile.load(new File(profile)));
+			System.err.println("Balance profile loaded from " + profile);
+		}
+	}
+
+	private void write(ResultTable results) throws IOException
+	{
+		String format = this.options.getOrDefault("format", "csv");
+		if (!format.equals("csv") && !format.equals("json"))
+		{
+			throw new IllegalArgumentException("Unknown format: " + format);
+		}
+
+		String output = this.options.get("output");
+		PrintStream out;
+		try
+		{
+			out = output == null ? System.out : new PrintStream(output, "UTF-8");
+		}
+		catch (FileNotFoundException e)
+		{
+			// Not a usage error: the run is done, only its results are lost
+			throw new IOException("Cannot write the results to " + output, e);
+		}
+		try
+		{
+			if (format.equals("csv"))
+			{
+				results.writeCsv(out);
+			}
+			else
+			{
+				results.writeJson(out);
+			}
+			if (out.checkError())
+			{
+				throw new IOException("Error while writing the results" + (output == null ? "" : " to " + output));
+			}
+		}
+		finally
+		{
+			if (output != null)
+			{
+				out.close();
+			}
+		}
+	}
+
+	private static void putPercentiles(Map<String, Object> row, String name, StreamingHistogram histogram)
+	{
+		row.put(name + "P50", histogram.getValueAtPercentile(50));
+		row.put(name + "P99", histogram.getValueAtPercentile(99));
+	}
+
+	private int getWorkers()
+	{
+		int workers = this.getInt("workers", Runtime.getRuntime().availableProcessors());
+		if (workers <= 0)
+		{
+			throw new IllegalArgumentException("Invalid number of workers: " + workers);
+		}
+		return workers;
+	}
+
+	private int getInt(String name, int defaultValue)
+	{
+		long value = this.getLong(name, defaultValue);
+		if (value > Integer.MAX_VALUE)
+		{
+			throw new IllegalArgumentException("Value of " + name + " too large: " + value);
+		}
+		return (int) value;
+	}
+
+	private long getLong(String name, long defaultValue)
+	{
+		String value = this.options.get(name);
+		if (value == null)
+		{
+			return defaultValue;
+		}
+		try
+		{
+			long number = Long.parseLong(value);
+			if (number < 0)
+			{
+				throw new IllegalArgumentException("Negative value of " + name + ": " + value);
+			}
+			return number;
+		}
+		catch (NumberFormatException e)
+		{
+			throw new IllegalArgumentException("Invalid value of " + name + ": " + value);
+		}
+	}
+}
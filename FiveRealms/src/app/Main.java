@@ -1,13 +1,54 @@
 package app;
 
+import java.io.File;
+import java.io.IOException;
+import model.characters.BalanceProfile;
 import model.gameStatus.Game;
 
 public class Main 
 {
+	/** Balance profile loaded at startup instead of the default balance, if present */
+	private static final String BALANCE_PROFILE = "balance.properties";
+	
+	/** Prints the startup timings when the game is run with -Dfiverealms.timing=true */
+	private static final boolean LOG_TIMINGS = Boolean.getBoolean("fiverealms.timing");
+	
 	public static void main(String[] args) 
 	{
+        long launchTime = System.nanoTime();
+        
+        loadBalanceProfile();
+        
         Game game = new Game();
         
         game.start();
+        
+        if (LOG_TIMINGS) 
+        {
+            System.out.println("Main menu interactive after " + (System.nanoTime() - launchTime) / 1_000_000 + " ms");
+        }
+    }
+    
+    /**
+     * Loads the balance profile next to the game, keeping the default balance
+     * if there is none or it cannot be read.
+     */
+    private static void loadBalanceProfile() 
+    {
+        File file = new File(BALANCE_PROFILE);
+        if (!file.exists()) 
+        {
+            return;
+        }
+        
+        try 
+        {
+            BalanceProfile.setGlobal(BalanceProfile.load(file));
+            System.out.println("Balance profile loaded from " + file);
+        } 
+        catch (IOException | IllegalArgumentException e) 
+        {
+            System.err.println("Error loading the balance profile, using the default balance: " + e.getMessage());
+        }
     }
-}
\ No newline at end of file
+}
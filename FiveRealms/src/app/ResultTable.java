@@ -0,0 +1,146 @@
+package app;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Rows of results with named columns, written as CSV or JSON by the batch runner.
+ * Values are numbers, booleans or strings; anything else is written as its string.
+ */
+public class ResultTable
+{
+	private final List<String> columns;
+	private final List<Object[]> rows;
+
+	/**
+	 * Creates an empty table.
+	 *
+	 * @param columns the names of the columns
+	 */
+	public ResultTable(String... columns)
+	{
+		this.columns = Arrays.asList(columns.clone());
+		this.rows    = new ArrayList<>();
+	}
+
+	/**
+	 * Adds a row.
+	 *
+	 * @param values the values, one per column
+	 * @throws IllegalArgumentException if the number of values does not match the columns
+	 */
+	public void addRow(Object... values)
+	{
+		if (values.length != this.columns.size())
+		{
+			throw new IllegalArgumentException("Expected " + this.columns.size() + " values, got " + values.length);
+		}
+		this.rows.add(values.clone());
+	}
+
+	public List<String> getColumns()
+	{
+		return this.columns;
+	}
+
+	public int getRowCount()
+	{
+		return this.rows.size();
+	}
+
+	/**
+	 * Writes the table as CSV, with a header line.
+	 *
+	 * @param out the stream to write to
+	 */
+	public void writeCsv(PrintStream out)
+	{
+		out.println(String.join(",", this.columns.stream().map(ResultTable::csvValue).toList()));
+		for (Object[] row : this.rows)
+		{
+			StringBuilder line = new StringBuilder();
+			for (int column = 0; column < row.length; column++)
+			{
+				line.append(column == 0 ? "" : ",").append(csvValue(row[column]));
+			}
+			out.println(line);
+		}
+	}
+
+	/**
+	 * Writes the table as a JSON array with an object per row.
+	 *
+	 * @param out the stream to write to
+	 */
+	public void writeJson(PrintStream out)
+	{
+		out.println("[");
+		for (int index = 0; index < this.rows.size(); index++)
+		{
+			Object[] row = this.rows.get(index);
+			StringBuilder line = new StringBuilder("  {");
+			for (int column = 0; column < row.length; column++)
+			{
+				line.append(column == 0 ? "" : ", ").append(jsonString(this.columns.get(column))).append(": ").append(jsonValue(row[column]));
+			}
+			out.println(line.append(index + 1 < this.rows.size() ? "}," : "}"));
+		}
+		out.println("]");
+	}
+
+	private static String csvValue(Object value)
+	{
+		String text = value == null ? "" : String.valueOf(value);
+		if (text.contains(",") || text.contains("\"") || text.contains("\n"))
+		{
+			return "\"" + text.replace("\"", "\"\"") + "\"";
+		}
+		return text;
+	}
+
+	private static String jsonValue(Object value)
+	{
+		if (value == null)
+		{
+			return "null";
+		}
+		if (value instanceof Double || value instanceof Float)
+		{
+			double number = ((Number) value).doubleValue();
+			return Double.isFinite(number) ? String.valueOf(number) : "null";
+		}
+		if (value instanceof Number || value instanceof Boolean)
+		{
+			return String.valueOf(value);
+		}
+		return jsonString(String.valueOf(value));
+	}
+
+	private static String jsonString(String text)
+	{
+		StringBuilder builder = new StringBuilder("\"");
+		for (char c : text.toCharArray())
+		{
+			switch (c)
+			{
+				case '"':  builder.append("\\\""); break;
+				case '\\': builder.append("\\\\"); break;
+				case '\n': builder.append("\\n"); break;
+				case '\r': builder.append("\\r"); break;
+				case '\t': builder.append("\\t"); break;
+				default:
+					if (c < 0x20)
+					{
+						builder.append(String.format("\\u%04x", (int) c));
+					}
+					else
+					{
+						builder.append(c);
+					}
+			}
+		}
+		return builder.append('"').toString();
+	}
+}
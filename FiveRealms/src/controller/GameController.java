@@ -67,6 +67,17 @@ public class GameController
         this.menuController.showMainMenu();
     }
 
+    /**
+     * Updates the asset loading progress shown on the main menu.
+     *
+     * @param loaded number of assets decoded so far
+     * @param total total number of assets to decode
+     */
+    public void updateLoadingProgress(int loaded, int total) 
+    {
+        this.menuController.updateLoadingProgress(loaded, total);
+    }
+
     /**
      * Displays the end-game menu with the given result.
      *
@@ -142,6 +153,24 @@ public class GameController
         this.musicController.playLevelMusic(levelIndex);
     }
 
+    /**
+     * Decodes the music of a level in advance without playing it.
+     *
+     * @param levelIndex the level number
+     */
+    public void prepareLevelMusic(int levelIndex) 
+    {
+        this.musicController.prepareLevelMusic(levelIndex);
+    }
+
+    /**
+     * Starts preparing the next level in the background.
+     */
+    public void prefetchNextLevel() 
+    {
+        this.game.getLevelManager().prefetchNextLevel();
+    }
+
     /**
      * Stops the current level music.
      */
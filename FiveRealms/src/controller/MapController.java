@@ -65,10 +65,17 @@ public class MapController
         {
             List<Character> targetList = deadCharacter.isAllied() ? allies : enemies;
             this.removeCharacter(map, deadCharacter, deadCharacter.getPosition(), targetList);
+            
+            // Only the survivor's stats changed
+            Character survivor = deadCharacter == attacker ? defender : attacker;
+            map.getBattleBoard().refresh(survivor);
+            map.updateToolTip(survivor);
         } 
         else 
         {
-            map.updateToolTip();
+            map.getBattleBoard().refresh(attacker);
+            map.getBattleBoard().refresh(defender);
+            map.updateToolTip(attacker, defender);
         }
     }
     
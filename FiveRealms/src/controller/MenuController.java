@@ -6,6 +6,8 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import javax.swing.SwingUtilities;
+
 import model.characters.Archer;
 import model.characters.Barbarian;
 import model.characters.Character;
@@ -13,6 +15,7 @@ import model.characters.Juggernaut;
 import model.characters.Knight;
 import model.characters.Wizard;
 import model.gameStatus.Game;
+import model.simulation.ReplacementPreview;
 import view.menu.EndGameMenu;
 import view.menu.LoadGameMenu;
 import view.menu.MainMenu;
@@ -102,6 +105,18 @@ public class MenuController
         this.mainMenu.show();
     }
     
+    /**
+     * Updates the asset loading progress shown on the main menu.
+     * Safe to call from the preloader threads, the update is handed over to the EDT.
+     *
+     * @param loaded number of assets decoded so far
+     * @param total total number of assets to decode
+     */
+    public void updateLoadingProgress(int loaded, int total) 
+    {
+        SwingUtilities.invokeLater(() -> this.mainMenu.setLoadingProgress(loaded, total));
+    }
+    
     /**
      * Displays the end game menu with result.
      *
@@ -157,10 +172,34 @@ public class MenuController
         }
         
         List<Character> availableCharacters = this.getAvailableAllies();
-        this.characterReplaceMenu.show(numberOfReplacements);
+        this.characterReplaceMenu.show(numberOfReplacements, this.startReplacementPreview(numberOfReplacements));
         this.setupCharacterReplacementListeners(availableCharacters);
     }
     
+    /**
+     * Starts simulating the next level with every team the player can choose, in the background.
+     * The level being left is still the current one, so the next one is two levels past its index.
+     *
+     * @param numberOfReplacements number of characters to replace
+     * @return the running preview, or null if the survivors cannot be simulated
+     */
+    private ReplacementPreview startReplacementPreview(int numberOfReplacements) 
+    {
+        try 
+        {
+            ReplacementPreview preview = new ReplacementPreview(this.game.getSelectedAllies(),
+                    this.game.getCurrentLevelIndex() + 2, numberOfReplacements);
+            // Leave a core to the game window
+            preview.start(Math.max(1, Runtime.getRuntime().availableProcessors() - 1));
+            return preview;
+        } 
+        catch (RuntimeException e) 
+        {
+            System.err.println("Win probability preview unavailable: " + e.getMessage());
+            return null;
+        }
+    }
+
     /**
      * Sets up and shows the pause menu.
      *
@@ -333,15 +372,27 @@ public class MenuController
         this.pauseMenu.addPauseListener(e -> 
         {
             this.musicController.stopMusic();
+            this.pauseMenu.setAutoResolveEnabled(this.game.getCurrentLevel().canAutoResolve());
             this.pauseMenu.show();
-            this.game.getGameLevels().get(this.game.getCurrentLevelIndex()).setLevelPaused(true);
+            this.game.getCurrentLevel().setLevelPaused(true);
+        });
+
+        this.pauseMenu.addAutoResolveListener(e -> 
+        {
+            this.pauseMenu.close();
+            this.musicController.resumeLevelMusic(this.game.getCurrentLevelIndex());
+            if (this.game.getCurrentLevel().canAutoResolve())
+            {
+                this.game.getCurrentLevel().autoResolve();
+            }
+            this.game.getCurrentLevel().setLevelPaused(false);
         });
 
         this.pauseMenu.addResumeListener(e -> 
         {
             this.pauseMenu.close();
             this.musicController.resumeLevelMusic(this.game.getCurrentLevelIndex());
-            this.game.getGameLevels().get(this.game.getCurrentLevelIndex()).setLevelPaused(false);
+            this.game.getCurrentLevel().setLevelPaused(false);
         });
 
         this.pauseMenu.addSaveListener(e -> 
@@ -358,7 +409,7 @@ public class MenuController
             {
                 this.pauseMenu.close();
                 this.musicController.resumeLevelMusic(this.game.getCurrentLevelIndex());
-                this.game.getGameLevels().get(this.game.getCurrentLevelIndex()).setLevelPaused(false);
+                this.game.getCurrentLevel().setLevelPaused(false);
             }
         });
 
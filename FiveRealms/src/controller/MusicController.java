@@ -50,6 +50,16 @@ public class MusicController
         this.musicManager.play("level" + levelIndex, true);
     }
     
+    /**
+     * Decodes and opens the music of a level in advance, so that starting it is immediate.
+     *
+     * @param levelIndex the level number (1-based)
+     */
+    public void prepareLevelMusic(int levelIndex) 
+    {
+        this.musicManager.prepare("level" + levelIndex);
+    }
+    
     /**
      * Plays win music.
      */
@@ -128,6 +128,6 @@ public class SaveController
      */
     private GameLevel getCurrentLevel(Game game) 
     {
-        return game.getGameLevels().get(game.getCurrentLevelIndex());
+        return game.getCurrentLevel();
     }
 }
\ No newline at end of file
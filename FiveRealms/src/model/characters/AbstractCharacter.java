@@ -1,18 +1,21 @@
 package model.characters;
 import java.awt.Dimension;
 import java.awt.Image;
+import java.awt.GraphicsEnvironment;
 import java.awt.Toolkit;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Random;
-import javax.swing.ImageIcon;
 import model.equipment.potions.*;
 import model.equipment.weapons.Weapon;
+import model.gameStatus.manager.AssetManager;
 import model.point.Point;
 public abstract class AbstractCharacter implements Character, Serializable 
 {
 	/** Threshold of experience points required to level up */
 	public static final int EXP_LEVELUP_THRESHOLD = 1000;
+	/** Percentage every statistic grows by when leveling up */
+	public static final double LEVELUP_STAT_INCREASE = 0.10;
 	/** Conversion factor from speed stat to movement points */
 	public static final int SPEED_TO_MOVEMENT = 10;
 	/** Total number of weapons a character can choose from */
@@ -31,6 +34,10 @@ public abstract class AbstractCharacter implements Character, Serializable
 	private boolean isAllied;
 	protected ArrayList<Weapon> availableWeapons;
 	protected static final Random rand = new Random();
+	/** Whether characters load their sprites, off for runs that must not touch the display */
+	private static volatile boolean spritesEnabled = true;
+	/** Whether the characters created by the current thread skip their sprites, for background simulations */
+	private static final ThreadLocal<Boolean> spritelessThread = ThreadLocal.withInitial(() -> false);
 	/** Serial version UID for serialization compatibility */
 	private static final long serialVersionUID = 1L;
 
@@ -55,6 +62,22 @@ public abstract class AbstractCharacter implements Character, Serializable
 		this.availableWeapons = new ArrayList<>(AbstractCharacter.TOTAL_WEAPONS);
 	}
 
+	/**
+	 * Stops the characters created from now on from loading their sprites, without even
+	 * querying the graphics environment, for command line runs that never load java.awt.
+	 */
+	public static void disableSprites() {
+		spritesEnabled = false;
+	}
+
+	/**
+	 * Stops the characters created from now on by the current thread from loading their
+	 * sprites, for simulations running in the background of the game.
+	 */
+	public static void disableSpritesOnCurrentThread() {
+		spritelessThread.set(true);
+	}
+
 	/**
 	 * Reinitializes transient fields after deserialization.
 	 * This method must be called after loading a character from a save file
@@ -135,12 +158,10 @@ public abstract class AbstractCharacter implements Character, Serializable
 	  * This is called automatically when the character gains enough experience.
 	  */
 	 private void levelUp() {
-		 double statIncreasePercentage = 0.10;  
-
-		 this.increaseMaxHealth(statIncreasePercentage);
-		 this.increasePower(statIncreasePercentage);
-		 this.increaseDefence(statIncreasePercentage);
-		 this.increaseSpeed(statIncreasePercentage);
+		 this.increaseMaxHealth(AbstractCharacter.LEVELUP_STAT_INCREASE);
+		 this.increasePower(AbstractCharacter.LEVELUP_STAT_INCREASE);
+		 this.increaseDefence(AbstractCharacter.LEVELUP_STAT_INCREASE);
+		 this.increaseSpeed(AbstractCharacter.LEVELUP_STAT_INCREASE);
 		 this.currentHealth = this.maxHealth; //levelling up fully heals you
 	 }
 
@@ -339,6 +360,28 @@ public abstract class AbstractCharacter implements Character, Serializable
 		 this.speed += this.speed * percentage;
 	 }
 
+	 /**
+	  * Rolls a base statistic of a class within the range of the current balance profile.
+	  * 
+	  * @param name the simple name of the class, like "Knight"
+	  * @param stat the statistic to roll
+	  * @return the rolled value
+	  */
+	 protected static int rollStat(String name, BalanceProfile.Stat stat) {
+		 return BalanceProfile.current().roll(name, stat, rand);
+	 }
+
+	 /**
+	  * Gets the bonus of a boss on a statistic, from the current balance profile.
+	  * 
+	  * @param name the simple name of the boss class, like "KnightBoss"
+	  * @param stat the statistic
+	  * @return the bonus, as a percentage for the increase methods
+	  */
+	 protected static double bossBonus(String name, BalanceProfile.Stat stat) {
+		 return BalanceProfile.current().getBossBonus(name, stat);
+	 }
+
 	 /**
 	  * Randomly selects and equips a weapon from this character's available weapons.
 	  */
@@ -521,12 +564,17 @@ public abstract class AbstractCharacter implements Character, Serializable
 	 /**
 	  * Sets the image path for this character and updates the rendered image.
 	  * The image is automatically scaled to 75x45 pixels for map display.
+	  * Without a display (headless simulations and benchmarks) only the path is kept.
 	  * 
 	  * @param image the path to the new image file
 	  */
 	 protected void setImagePath(String image) {
 		    this.imagePath = image;
-		    ImageIcon icon = new ImageIcon(this.imagePath);
+		    
+		    if (!spritesEnabled || spritelessThread.get() || GraphicsEnvironment.isHeadless()) {
+		    	this.image = null;
+		    	return;
+		    }
 		    
 		    // Get screen dimensions
 		    Dimension screenSize = Toolkit.getDefaultToolkit().getScreenSize();
@@ -539,7 +587,8 @@ public abstract class AbstractCharacter implements Character, Serializable
 		    newWidth = Math.max(50, Math.min(newWidth, 150));
 		    newHeight = Math.max(30, Math.min(newHeight, 90));
 		    
-		    this.image = icon.getImage().getScaledInstance(newWidth, newHeight, Image.SCALE_SMOOTH);
+		    // Sprites are shared through the asset cache, so equal characters reuse one scaled image
+		    this.image = AssetManager.getInstance().getScaledImage(this.imagePath, newWidth, newHeight);
 	 }
 
 	 /**
@@ -1,4 +1,5 @@
 package model.characters;
+import model.characters.BalanceProfile.Stat;
 import model.equipment.weapons.LongBow;
 import model.equipment.weapons.ShortBow;
 
@@ -7,7 +8,7 @@ public class Archer extends AbstractCharacter{
 	private static final long serialVersionUID = 1L;
 
 	public Archer() {
-		super(rand.nextInt(100,120), rand.nextInt(70,90), rand.nextInt(105,125), rand.nextInt(35,55)); //Random
+		super(rollStat("Archer", Stat.HEALTH), rollStat("Archer", Stat.SPEED), rollStat("Archer", Stat.POWER), rollStat("Archer", Stat.DEFENCE)); //Random
 		this.availableWeapons.add(new ShortBow());
 		this.availableWeapons.add(new LongBow());
 		super.spawnWeapon();
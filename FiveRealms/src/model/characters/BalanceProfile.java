@@ -0,0 +1,280 @@
+package model.characters;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Random;
+
+/**
+ * The balance of the characters: the ranges the base statistics of every class are rolled in,
+ * and the bonuses bosses get on top of their class. The defaults are the values the game
+ * was designed with; a profile saved by the balance tuner can replace them at startup.
+ *
+ * Profiles are stored as properties files, with keys like {@code Knight.health.min},
+ * {@code Knight.health.max} and {@code KnightBoss.health}. Ranges are minimum inclusive and
+ * maximum exclusive like rand.nextInt, bonuses are fractions like the increase methods take.
+ *
+ * Characters read the profile of the current thread if one is set, else the global one,
+ * so simulations can play different profiles side by side on their own threads.
+ */
+public class BalanceProfile {
+
+	/** The statistics of a character, in the order of the constructor arguments */
+	public enum Stat {
+		HEALTH, SPEED, POWER, DEFENCE;
+
+		private String key() {
+			return this.name().toLowerCase();
+		}
+	}
+
+	/** The classes of regular characters */
+	public static final String[] CLASSES = {"Barbarian", "Archer", "Knight", "Wizard", "Juggernaut"};
+
+	/** The classes of bosses */
+	public static final String[] BOSSES = {"BarbarianBoss", "ArcherBoss", "KnightBoss", "WizardBoss", "JuggernautBoss"};
+
+	private static volatile BalanceProfile global = BalanceProfile.defaults();
+	private static final ThreadLocal<BalanceProfile> threadProfile = new ThreadLocal<>();
+
+	/** Ranges of every class: minimum and maximum of each statistic, in Stat order */
+	private final Map<String, int[]> ranges;
+
+	/** Bonuses of every boss, in Stat order */
+	private final Map<String, double[]> bossBonuses;
+
+	private BalanceProfile() {
+		this.ranges = new LinkedHashMap<>();
+		this.bossBonuses = new LinkedHashMap<>();
+	}
+
+	/**
+	 * Creates the profile the game was designed with.
+	 *
+	 * @return a new profile with the default values
+	 */
+	public static BalanceProfile defaults() {
+		BalanceProfile profile = new BalanceProfile();
+		profile.ranges.put("Barbarian",  new int[] {160, 180, 30, 50, 145, 165, 40, 60});
+		profile.ranges.put("Archer",     new int[] {100, 120, 70, 90, 105, 125, 35, 55});
+		profile.ranges.put("Knight",     new int[] {120, 140, 50, 70, 130, 150, 70, 90});
+		profile.ranges.put("Wizard",     new int[] {80, 100, 50, 70, 145, 165, 30, 50});
+		profile.ranges.put("Juggernaut", new int[] {160, 180, 40, 60, 135, 155, 110, 130});
+
+		profile.bossBonuses.put("BarbarianBoss",  new double[] {1.0, 0.2, 0.3, 0.2});
+		profile.bossBonuses.put("ArcherBoss",     new double[] {0.3, 0.5, 0.4, 0.2});
+		profile.bossBonuses.put("KnightBoss",     new double[] {0.3, 0.3, 0.3, 0.3});
+		profile.bossBonuses.put("WizardBoss",     new double[] {0.4, 0.2, 0.5, 0.3});
+		profile.bossBonuses.put("JuggernautBoss", new double[] {0.4, 0.1, 0.3, 1.5});
+		return profile;
+	}
+
+	/**
+	 * Gets the profile characters are created with on the calling thread.
+	 *
+	 * @return the profile of the thread if set, else the global one
+	 */
+	public static BalanceProfile current() {
+		BalanceProfile profile = threadProfile.get();
+		return profile != null ? profile : global;
+	}
+
+	/**
+	 * Sets the profile of the whole game, like the one loaded at startup.
+	 *
+	 * @param profile the new global profile
+	 */
+	public static void setGlobal(BalanceProfile profile) {
+		global = profile.copy();
+	}
+
+	/**
+	 * Sets the profile of the calling thread only, used by simulations that play several
+	 * profiles at once. The profile must not be changed while it is in use.
+	 *
+	 * @param profile the profile of the thread, or null to go back to the global one
+	 */
+	public static void setForCurrentThread(BalanceProfile profile) {
+		if (profile == null) {
+			threadProfile.remove();
+		} else {
+			threadProfile.set(profile);
+		}
+	}
+
+	/**
+	 * Loads a profile from a properties file. Keys missing from the file keep their default value.
+	 *
+	 * @param file the file to read
+	 * @return the loaded profile
+	 * @throws IOException if the file cannot be read
+	 * @throws IllegalArgumentException if a value is not a number or a range is empty
+	 */
+	public static BalanceProfile load(File file) throws IOException {
+		Properties properties = new Properties();
+		try (InputStream in = new FileInputStream(file)) {
+			properties.load(in);
+		}
+
+		BalanceProfile profile = BalanceProfile.defaults();
+		try {
+			for (String name : CLASSES) {
+				for (Stat stat : Stat.values()) {
+					int min = Integer.parseInt(properties.getProperty(name + "." + stat.key() + ".min", String.valueOf(profile.getMin(name, stat))).trim());
+					int max = Integer.parseInt(properties.getProperty(name + "." + stat.key() + ".max", String.valueOf(profile.getMax(name, stat))).trim());
+					profile.setRange(name, stat, min, max);
+				}
+			}
+			for (String name : BOSSES) {
+				for (Stat stat : Stat.values()) {
+					double bonus = Double.parseDouble(properties.getProperty(name + "." + stat.key(), String.valueOf(profile.getBossBonus(name, stat))).trim());
+					profile.setBossBonus(name, stat, bonus);
+				}
+			}
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("Invalid value in balance profile " + file + ": " + e.getMessage(), e);
+		}
+		return profile;
+	}
+
+	/**
+	 * Saves the profile as a properties file.
+	 *
+	 * @param file the file to write
+	 * @param comment the comment written at the top of the file, or null
+	 * @throws IOException if the file cannot be written
+	 */
+	public void save(File file, String comment) throws IOException {
+		// Properties.store writes the keys in hash order, write them grouped by class instead
+		StringBuilder builder = new StringBuilder();
+		if (comment != null) {
+			builder.append("# ").append(comment).append(System.lineSeparator());
+		}
+		for (String name : CLASSES) {
+			for (Stat stat : Stat.values()) {
+				builder.append(name).append('.').append(stat.key()).append(".min=").append(this.getMin(name, stat)).append(System.lineSeparator());
+				builder.append(name).append('.').append(stat.key()).append(".max=").append(this.getMax(name, stat)).append(System.lineSeparator());
+			}
+		}
+		for (String name : BOSSES) {
+			for (Stat stat : Stat.values()) {
+				builder.append(name).append('.').append(stat.key()).append('=').append(this.getBossBonus(name, stat)).append(System.lineSeparator());
+			}
+		}
+
+		try (OutputStream out = new FileOutputStream(file)) {
+			out.write(builder.toString().getBytes(StandardCharsets.ISO_8859_1));
+		}
+	}
+
+	/**
+	 * Creates an independent copy of this profile.
+	 *
+	 * @return the copy
+	 */
+	public BalanceProfile copy() {
+		BalanceProfile copy = new BalanceProfile();
+		this.ranges.forEach((name, range) -> copy.ranges.put(name, range.clone()));
+		this.bossBonuses.forEach((name, bonuses) -> copy.bossBonuses.put(name, bonuses.clone()));
+		return copy;
+	}
+
+	/**
+	 * Gets the lowest value of a statistic of a class.
+	 *
+	 * @param name the simple name of the class, like "Knight"
+	 * @param stat the statistic
+	 * @return the minimum, inclusive
+	 */
+	public int getMin(String name, Stat stat) {
+		return this.rangeOf(name)[2 * stat.ordinal()];
+	}
+
+	/**
+	 * Gets the bound of a statistic of a class.
+	 *
+	 * @param name the simple name of the class, like "Knight"
+	 * @param stat the statistic
+	 * @return the maximum, exclusive
+	 */
+	public int getMax(String name, Stat stat) {
+		return this.rangeOf(name)[2 * stat.ordinal() + 1];
+	}
+
+	/**
+	 * Sets the range of a statistic of a class.
+	 *
+	 * @param name the simple name of the class, like "Knight"
+	 * @param stat the statistic
+	 * @param min the minimum, inclusive, positive
+	 * @param max the maximum, exclusive, greater than the minimum
+	 */
+	public void setRange(String name, Stat stat, int min, int max) {
+		if (min <= 0 || max <= min) {
+			throw new IllegalArgumentException("Invalid range of " + name + " " + stat.key() + ": " + min + " - " + max);
+		}
+		int[] range = this.rangeOf(name);
+		range[2 * stat.ordinal()] = min;
+		range[2 * stat.ordinal() + 1] = max;
+	}
+
+	/**
+	 * Gets the bonus of a boss on a statistic of its class.
+	 *
+	 * @param name the simple name of the boss class, like "KnightBoss"
+	 * @param stat the statistic
+	 * @return the bonus, as a fraction of the statistic
+	 */
+	public double getBossBonus(String name, Stat stat) {
+		return this.bonusesOf(name)[stat.ordinal()];
+	}
+
+	/**
+	 * Sets the bonus of a boss on a statistic of its class.
+	 *
+	 * @param name the simple name of the boss class, like "KnightBoss"
+	 * @param stat the statistic
+	 * @param bonus the bonus, as a fraction of the statistic, not below -0.5
+	 */
+	public void setBossBonus(String name, Stat stat, double bonus) {
+		if (!(bonus >= -0.5)) {
+			throw new IllegalArgumentException("Invalid bonus of " + name + " " + stat.key() + ": " + bonus);
+		}
+		this.bonusesOf(name)[stat.ordinal()] = bonus;
+	}
+
+	/**
+	 * Rolls a statistic of a class with the given random numbers.
+	 *
+	 * @param name the simple name of the class, like "Knight"
+	 * @param stat the statistic
+	 * @param random the random numbers to use
+	 * @return a value within the range of the statistic
+	 */
+	public int roll(String name, Stat stat, Random random) {
+		return random.nextInt(this.getMin(name, stat), this.getMax(name, stat));
+	}
+
+	private int[] rangeOf(String name) {
+		int[] range = this.ranges.get(name);
+		if (range == null) {
+			throw new IllegalArgumentException("Unknown character class: " + name);
+		}
+		return range;
+	}
+
+	private double[] bonusesOf(String name) {
+		double[] bonuses = this.bossBonuses.get(name);
+		if (bonuses == null) {
+			throw new IllegalArgumentException("Unknown boss class: " + name);
+		}
+		return bonuses;
+	}
+}
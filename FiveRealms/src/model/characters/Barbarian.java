@@ -1,5 +1,6 @@
 package model.characters;
 
+import model.characters.BalanceProfile.Stat;
 import model.equipment.weapons.Axe;
 import model.equipment.weapons.LongSword;
 
@@ -8,7 +9,7 @@ public class Barbarian extends AbstractCharacter{
 	private static final long serialVersionUID = 1L;
 
 	public Barbarian() {
-		super(rand.nextInt(160,180), rand.nextInt(30,50), rand.nextInt(145,165), rand.nextInt(40,60)); //Random
+		super(rollStat("Barbarian", Stat.HEALTH), rollStat("Barbarian", Stat.SPEED), rollStat("Barbarian", Stat.POWER), rollStat("Barbarian", Stat.DEFENCE)); //Random
 		this.availableWeapons.add(new Axe());
 		this.availableWeapons.add(new LongSword());
 		super.spawnWeapon();
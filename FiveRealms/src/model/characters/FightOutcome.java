@@ -0,0 +1,82 @@
+package model.characters;
+
+/**
+ * What a fight would end in, as predicted by {@link FightPredictor}: the health each
+ * side loses, whether the target strikes back and who dies.
+ */
+public class FightOutcome {
+
+	private final int damageDealt;
+	private final int damageTaken;
+	private final boolean counterattack;
+	private final boolean targetKilled;
+	private final boolean attackerKilled;
+	private final int attackerHealthAfter;
+	private final int targetHealthAfter;
+
+	/**
+	 * Creates an outcome.
+	 *
+	 * @param damageDealt the health the target loses
+	 * @param damageTaken the health the attacker loses to the counterattack
+	 * @param counterattack whether the target strikes back
+	 * @param targetKilled whether the target dies
+	 * @param attackerKilled whether the attacker dies
+	 * @param attackerHealthAfter the health of the attacker once the fight is over
+	 * @param targetHealthAfter the health of the target once the fight is over
+	 */
+	FightOutcome(int damageDealt, int damageTaken, boolean counterattack, boolean targetKilled, boolean attackerKilled,
+			int attackerHealthAfter, int targetHealthAfter) {
+		this.damageDealt = damageDealt;
+		this.damageTaken = damageTaken;
+		this.counterattack = counterattack;
+		this.targetKilled = targetKilled;
+		this.attackerKilled = attackerKilled;
+		this.attackerHealthAfter = attackerHealthAfter;
+		this.targetHealthAfter = targetHealthAfter;
+	}
+
+	public int getDamageDealt() {
+		return this.damageDealt;
+	}
+
+	public int getDamageTaken() {
+		return this.damageTaken;
+	}
+
+	public boolean isCounterattack() {
+		return this.counterattack;
+	}
+
+	public boolean isTargetKilled() {
+		return this.targetKilled;
+	}
+
+	public boolean isAttackerKilled() {
+		return this.attackerKilled;
+	}
+
+	/**
+	 * Gets the health of the attacker once the fight is over, level ups and healing included.
+	 *
+	 * @return the health, 0 or less if the attacker dies
+	 */
+	public int getAttackerHealthAfter() {
+		return this.attackerHealthAfter;
+	}
+
+	/**
+	 * Gets the health of the target once the fight is over, level ups included.
+	 *
+	 * @return the health, 0 or less if the target dies
+	 */
+	public int getTargetHealthAfter() {
+		return this.targetHealthAfter;
+	}
+
+	@Override
+	public String toString() {
+		return "deals " + this.damageDealt + (this.targetKilled ? " (kills)" : "")
+				+ (this.counterattack ? ", takes " + this.damageTaken + (this.attackerKilled ? " (dies)" : "") : ", no counterattack");
+	}
+}
@@ -0,0 +1,152 @@
+package model.characters;
+
+import model.characters.bosses.ArcherBoss;
+import model.characters.bosses.BarbarianBoss;
+import model.characters.bosses.KnightBoss;
+import model.characters.bosses.WizardBoss;
+import model.equipment.potions.Potion;
+import model.equipment.potions.PotionDefence;
+import model.equipment.potions.PotionHealth;
+import model.equipment.potions.PotionPower;
+
+/**
+ * Predicts the outcome of {@link Character#fight} without changing the characters, so an
+ * attack can be previewed while the player hovers its target.
+ *
+ * The prediction replays the steps of the fight on copies of the statistics that matter,
+ * with the same integer truncations: the potion the attacker drinks first, the attack,
+ * the counterattack, the experience of a kill and the level ups it brings, and the
+ * gimmicks of the bosses that change the fight itself (the Soulburn of the ArcherBoss,
+ * the Berserker power of the BarbarianBoss before it strikes back, the halved damage of
+ * the WizardBoss and the Second Wind of the KnightBoss). The JuggernautBoss loses its
+ * armor only after the blows it could soften, and the potion dropped by a kill is
+ * random but never part of the fight, so neither changes the outcome.
+ */
+public final class FightPredictor {
+
+	private FightPredictor() {
+	}
+
+	/**
+	 * Predicts the outcome of a fight.
+	 *
+	 * @param attacker the character attacking
+	 * @param target the character attacked
+	 * @return the outcome of the fight
+	 * @throws IllegalArgumentException if the fight is not allowed, like {@link Character#fight}
+	 */
+	public static FightOutcome predict(Character attacker, Character target) throws IllegalArgumentException {
+		if (attacker.isAllied() == target.isAllied())
+			throw new IllegalArgumentException("You cannot attack someone belonging to your own faction!");
+		if (!attacker.isWithinAttackRange(target))
+			throw new IllegalArgumentException("You cannot attack someone outside of your weapon's attack range!");
+
+		int attackerHealth = attacker.getCurrentHealth();
+		int attackerMaxHealth = attacker.getMaxHealth();
+		int attackerPower = attacker.getPower();
+		int attackerDefence = attacker.getDefence();
+
+		// Potion used before attacking, on the base statistic like the increase methods
+		Potion potion = attacker.getPotion();
+		if (potion != null && !(potion instanceof PotionHealth && attackerHealth == attackerMaxHealth)) {
+			double value = potion.getPotionValue();
+			int weaponPower = attacker.getWeapon().getPower();
+			int weaponDefence = attacker.getWeapon().getDefence();
+			if (potion instanceof PotionHealth) {
+				attackerHealth = heal(attackerHealth, attackerMaxHealth, value);
+			} else if (potion instanceof PotionDefence) {
+				attackerDefence = grow(attackerDefence - weaponDefence, value) + weaponDefence;
+			} else if (potion instanceof PotionPower) {
+				attackerPower = grow(attackerPower - weaponPower, value) + weaponPower;
+			}
+		}
+
+		int targetHealth = target.getCurrentHealth();
+		int targetPower = target.getPower();
+
+		// Attack
+		targetHealth = hit(target, targetHealth, attackerPower - target.getDefence());
+		if (target instanceof BarbarianBoss) {
+			int weaponPower = target.getWeapon().getPower();
+			targetPower = grow(targetPower - weaponPower, BarbarianBoss.STAT_INCREASE_PERCENTAGE) + weaponPower;
+		}
+
+		// Counterattack
+		boolean counterattack = targetHealth > 0 && target.isWithinAttackRange(attacker);
+		if (counterattack) {
+			attackerHealth = hit(attacker, attackerHealth, targetPower - attackerDefence);
+		}
+
+		boolean targetKilled = targetHealth <= 0;
+		boolean attackerKilled = attackerHealth <= 0;
+		int damageDealt = target.getCurrentHealth() - targetHealth;
+		int damageTaken = counterattack ? attacker.getCurrentHealth() - attackerHealth : 0;
+
+		// The survivor's experience, a level up fully heals
+		if (targetKilled) {
+			int levelUps = levelUpsOfKill(attacker);
+			if (levelUps > 0) {
+				attackerMaxHealth = grownMaxHealth(attackerMaxHealth, levelUps);
+				attackerHealth = attackerMaxHealth;
+			}
+		}
+		if (attackerKilled) {
+			int levelUps = levelUpsOfKill(target);
+			if (levelUps > 0)
+				targetHealth = grownMaxHealth(target.getMaxHealth(), levelUps);
+		}
+
+		// Gimmicks applied once the fight is over
+		if (attacker instanceof ArcherBoss && targetHealth > 0) {
+			int before = targetHealth;
+			targetHealth = hit(target, targetHealth, (int) Math.round(ArcherBoss.SOULBURN_PERCENTAGE * targetHealth));
+			damageDealt += before - targetHealth;
+		}
+		if (attacker instanceof KnightBoss) {
+			attackerHealth = heal(attackerHealth, attackerMaxHealth, KnightBoss.HEALING_PERCENTAGE);
+		}
+
+		return new FightOutcome(damageDealt, damageTaken, counterattack, targetKilled, attackerKilled, attackerHealth, targetHealth);
+	}
+
+	/**
+	 * Applies a blow like reduceCurrentHealth, negative damage is ignored.
+	 */
+	private static int hit(Character character, int health, int value) {
+		if (character instanceof WizardBoss)
+			value /= 2;
+		return value >= 0 ? health - value : health;
+	}
+
+	/**
+	 * Heals like increaseCurrentHealth.
+	 */
+	private static int heal(int health, int maxHealth, double percentage) {
+		if (percentage < 0)
+			return health;
+		return Math.min(maxHealth, (int) (health + maxHealth * percentage));
+	}
+
+	/**
+	 * Increases a statistic like the increase methods.
+	 */
+	private static int grow(int stat, double percentage) {
+		return (int) (stat + stat * percentage);
+	}
+
+	/**
+	 * Counts the level ups the experience of a kill brings to a character.
+	 */
+	private static int levelUpsOfKill(Character character) {
+		return (character.getExperience() + AbstractCharacter.EXP_LEVELUP_THRESHOLD / 2) / AbstractCharacter.EXP_LEVELUP_THRESHOLD;
+	}
+
+	/**
+	 * Gets the max health after some level ups, increased like levelUp does.
+	 */
+	private static int grownMaxHealth(int maxHealth, int levelUps) {
+		for (int i = 0; i < levelUps; i++)
+			maxHealth = grow(maxHealth, AbstractCharacter.LEVELUP_STAT_INCREASE);
+		return maxHealth;
+	}
+}
@@ -1,5 +1,6 @@
 package model.characters;
 
+import model.characters.BalanceProfile.Stat;
 import model.equipment.weapons.Axe;
 import model.equipment.weapons.ShortSword;
 
@@ -8,7 +9,7 @@ public class Juggernaut extends AbstractCharacter{
 	private static final long serialVersionUID = 1L;
 
 	public Juggernaut() {
-		super(rand.nextInt(160,180), rand.nextInt(40,60), rand.nextInt(135,155), rand.nextInt(110,130)); //Random
+		super(rollStat("Juggernaut", Stat.HEALTH), rollStat("Juggernaut", Stat.SPEED), rollStat("Juggernaut", Stat.POWER), rollStat("Juggernaut", Stat.DEFENCE)); //Random
 		this.availableWeapons.add(new ShortSword());
 		this.availableWeapons.add(new Axe());
 		super.spawnWeapon();
@@ -1,5 +1,6 @@
 package model.characters;
 
+import model.characters.BalanceProfile.Stat;
 import model.equipment.weapons.LongSword;
 import model.equipment.weapons.Spear;
 
@@ -8,7 +9,7 @@ public class Knight extends AbstractCharacter{
 	private static final long serialVersionUID = 1L;
 
 	public Knight() {
-		super(rand.nextInt(120,140), rand.nextInt(50,70), rand.nextInt(130,150), rand.nextInt(70,90)); //Random
+		super(rollStat("Knight", Stat.HEALTH), rollStat("Knight", Stat.SPEED), rollStat("Knight", Stat.POWER), rollStat("Knight", Stat.DEFENCE)); //Random
 		this.availableWeapons.add(new Spear());
 		this.availableWeapons.add(new LongSword());
 		super.spawnWeapon();
@@ -1,5 +1,6 @@
 package model.characters;
 
+import model.characters.BalanceProfile.Stat;
 import model.equipment.weapons.Wand;
 import model.equipment.weapons.Staff;
 
@@ -8,7 +9,7 @@ public class Wizard extends AbstractCharacter{
 	private static final long serialVersionUID = 1L;
 
 	public Wizard() {
-		super(rand.nextInt(80,100), rand.nextInt(50,70), rand.nextInt(145,165), rand.nextInt(30,50)); //Random
+		super(rollStat("Wizard", Stat.HEALTH), rollStat("Wizard", Stat.SPEED), rollStat("Wizard", Stat.POWER), rollStat("Wizard", Stat.DEFENCE)); //Random
 		this.availableWeapons.add(new Wand());
 		this.availableWeapons.add(new Staff());
 		super.spawnWeapon();
@@ -1,19 +1,22 @@
 package model.characters.bosses;
 
 import model.characters.Archer;
+import model.characters.BalanceProfile.Stat;
 import model.characters.Character;
 
 public class ArcherBoss extends Archer{
 
 	private static final long serialVersionUID = 1L;
+	/** Share of the target's remaining hp dealt as additional damage */
+	public static final double SOULBURN_PERCENTAGE = 0.1;
 
 	public ArcherBoss() {
 		super(); //Random
 		super.setImagePath("images/characters/archer/archerBoss.png");
-		super.increaseMaxHealth(0.3);
-		super.increasePower(0.4);
-		super.increaseDefence(0.2);
-		super.increaseSpeed(0.5);
+		super.increaseMaxHealth(bossBonus("ArcherBoss", Stat.HEALTH));
+		super.increasePower(bossBonus("ArcherBoss", Stat.POWER));
+		super.increaseDefence(bossBonus("ArcherBoss", Stat.DEFENCE));
+		super.increaseSpeed(bossBonus("ArcherBoss", Stat.SPEED));
 	}
 
 	/**
@@ -22,7 +25,7 @@ public class ArcherBoss extends Archer{
 	public Character fight(Character attackedCharacter) throws IllegalArgumentException {
 		Character deadCharacter = super.fight(attackedCharacter);
 		if(attackedCharacter.isAlive())
-			attackedCharacter.reduceCurrentHealth((int)Math.round(0.1 * attackedCharacter.getCurrentHealth()));
+			attackedCharacter.reduceCurrentHealth((int)Math.round(SOULBURN_PERCENTAGE * attackedCharacter.getCurrentHealth()));
 		return deadCharacter;
 	}
 }
\ No newline at end of file
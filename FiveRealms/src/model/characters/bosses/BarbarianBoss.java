@@ -1,17 +1,19 @@
 package model.characters.bosses;
+import model.characters.BalanceProfile.Stat;
 import model.characters.Barbarian;
 
 public class BarbarianBoss extends Barbarian{
 	private static final long serialVersionUID = 1L;
-	private final double STAT_INCREASE_PERCENTAGE = 0.2;
+	/** Power gained every time he gets hit */
+	public static final double STAT_INCREASE_PERCENTAGE = 0.2;
 
 	public BarbarianBoss() {
 		super(); //Random
 		super.setImagePath("images/characters/barbarian/barbarianBoss.png");
-		super.increaseMaxHealth(1.0);
-		super.increasePower(0.3);
-		super.increaseDefence(0.2);
-		super.increaseSpeed(0.2);
+		super.increaseMaxHealth(bossBonus("BarbarianBoss", Stat.HEALTH));
+		super.increasePower(bossBonus("BarbarianBoss", Stat.POWER));
+		super.increaseDefence(bossBonus("BarbarianBoss", Stat.DEFENCE));
+		super.increaseSpeed(bossBonus("BarbarianBoss", Stat.SPEED));
 	}
 
 	/**
@@ -20,6 +22,6 @@ public class BarbarianBoss extends Barbarian{
 	@Override
 	public void reduceCurrentHealth(int value) {
 		super.reduceCurrentHealth(value);
-		super.increasePower(this.STAT_INCREASE_PERCENTAGE);
+		super.increasePower(STAT_INCREASE_PERCENTAGE);
 	}
 }
@@ -1,17 +1,22 @@
 package model.characters.bosses;
+import model.characters.BalanceProfile.Stat;
 import model.characters.Juggernaut;
 
 public class JuggernautBoss extends Juggernaut{
 
 	private static final long serialVersionUID = 1L;
+	/** Defence lost every time he gets hit */
+	public static final double DEFENCE_DECREASE_PERCENTAGE = 0.2;
+	/** Speed gained every time he gets hit */
+	public static final double SPEED_INCREASE_PERCENTAGE = 0.1;
 
 	public JuggernautBoss() {
 		super(); //Random
 		super.setImagePath("images/characters/juggernaut/juggernautBoss.png");
-		super.increaseMaxHealth(0.4);
-		super.increasePower(0.3);
-		super.increaseDefence(1.5);
-		super.increaseSpeed(0.1);
+		super.increaseMaxHealth(bossBonus("JuggernautBoss", Stat.HEALTH));
+		super.increasePower(bossBonus("JuggernautBoss", Stat.POWER));
+		super.increaseDefence(bossBonus("JuggernautBoss", Stat.DEFENCE));
+		super.increaseSpeed(bossBonus("JuggernautBoss", Stat.SPEED));
 	}
 
 	/**
@@ -20,7 +25,7 @@ public class JuggernautBoss extends Juggernaut{
 	@Override
 	public void reduceCurrentHealth(int value) {
 		super.reduceCurrentHealth(value);
-		super.increaseDefence(-0.2);
-		super.increaseSpeed(0.1);
+		super.increaseDefence(-DEFENCE_DECREASE_PERCENTAGE);
+		super.increaseSpeed(SPEED_INCREASE_PERCENTAGE);
 	}
 }
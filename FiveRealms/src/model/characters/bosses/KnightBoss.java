@@ -1,20 +1,22 @@
 package model.characters.bosses;
 
+import model.characters.BalanceProfile.Stat;
 import model.characters.Character;
 import model.characters.Knight;
 import model.point.Point;
 
 public class KnightBoss extends Knight{
 	private static final long serialVersionUID = 1L;
-	private final double HEALING_PERCENTAGE = 0.05;
+	/** Share of max hp regained upon moving or initiating a Fight */
+	public static final double HEALING_PERCENTAGE = 0.05;
 
 	public KnightBoss() {
 		super();
 		super.setImagePath("images/characters/knight/knightBoss.png");
-		super.increaseMaxHealth(0.3);
-		super.increasePower(0.3);
-		super.increaseDefence(0.3);
-		super.increaseSpeed(0.3);
+		super.increaseMaxHealth(bossBonus("KnightBoss", Stat.HEALTH));
+		super.increasePower(bossBonus("KnightBoss", Stat.POWER));
+		super.increaseDefence(bossBonus("KnightBoss", Stat.DEFENCE));
+		super.increaseSpeed(bossBonus("KnightBoss", Stat.SPEED));
 	}
 
 	/**
@@ -23,13 +25,13 @@ public class KnightBoss extends Knight{
 	@Override
 	public void moveTo(Point point) throws IllegalArgumentException {
 		super.moveTo(point);
-		super.increaseCurrentHealth(this.HEALING_PERCENTAGE);
+		super.increaseCurrentHealth(HEALING_PERCENTAGE);
 	}
 
 	@Override
 	public Character fight(Character attackedCharacter) throws IllegalArgumentException {
 		Character deadCharacter = super.fight(attackedCharacter);
-		super.increaseCurrentHealth(this.HEALING_PERCENTAGE);
+		super.increaseCurrentHealth(HEALING_PERCENTAGE);
 		return deadCharacter;
 	}
 }
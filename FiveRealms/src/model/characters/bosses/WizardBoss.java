@@ -1,4 +1,5 @@
 package model.characters.bosses;
+import model.characters.BalanceProfile.Stat;
 import model.characters.Wizard;
 
 public class WizardBoss extends Wizard{
@@ -8,10 +9,10 @@ public class WizardBoss extends Wizard{
 	public WizardBoss() {
 		super();
 		super.setImagePath("images/characters/wizard/wizardBoss.png");
-		super.increaseMaxHealth(0.4);
-		super.increasePower(0.5);
-		super.increaseDefence(0.3);
-		super.increaseSpeed(0.2);
+		super.increaseMaxHealth(bossBonus("WizardBoss", Stat.HEALTH));
+		super.increasePower(bossBonus("WizardBoss", Stat.POWER));
+		super.increaseDefence(bossBonus("WizardBoss", Stat.DEFENCE));
+		super.increaseSpeed(bossBonus("WizardBoss", Stat.SPEED));
 		super.setWeapon(super.availableWeapons.get(1));
 	}
 
@@ -4,6 +4,8 @@ import java.io.File;
 import java.io.IOException;
 import java.util.List;
 import model.characters.Character;
+import model.gameStatus.level.GameLevel;
+import model.gameStatus.manager.AssetManager;
 import model.gameStatus.manager.CharacterManager;
 import model.gameStatus.manager.GameLoopManager;
 import model.gameStatus.manager.StateManager;
@@ -98,6 +100,9 @@ public class Game
     {
         this.gameStateManager.returnToMainMenu();
         this.controller.mainMenuShow();	
+        
+        // Decode images and music in the background while the player looks at the main menu
+        AssetManager.getInstance().preloadAll(this.controller::updateLoadingProgress);
     }
 
     /**
@@ -384,13 +389,13 @@ public class Game
     }
 
     /**
-     * Gets the list of all game levels.
+     * Gets the level currently being played.
      * 
-     * @return the list of game levels
+     * @return the current game level, or null if no level has been started
      */
-    public List<model.gameStatus.level.GameLevel> getGameLevels() 
+    public GameLevel getCurrentLevel() 
     {
-        return this.levelManager.getGameLevels();
+        return this.levelManager.getCurrentLevel();
     }
 
     /**
@@ -0,0 +1,36 @@
+package model.gameStatus.level;
+
+import model.characters.Character;
+import model.point.Point;
+
+/**
+ * The turn an AI chose for a character: where it moves and whom it attacks,
+ * if the target is within range once the character has moved.
+ */
+public class AIMove
+{
+	private final Point destination;
+	private final Character target;
+
+	/**
+	 * Creates a move.
+	 *
+	 * @param destination the cell the character moves to, its own cell to stay
+	 * @param target the opponent to attack
+	 */
+	public AIMove(Point destination, Character target)
+	{
+		this.destination = destination;
+		this.target      = target;
+	}
+
+	public Point getDestination()
+	{
+		return this.destination;
+	}
+
+	public Character getTarget()
+	{
+		return this.target;
+	}
+}
@@ -0,0 +1,88 @@
+package model.gameStatus.level;
+
+import java.util.List;
+import model.characters.Character;
+import model.gameStatus.level.search.EndgameAI;
+import model.gameStatus.level.search.SearchAI;
+
+/**
+ * How a computer-controlled side plays the turn of one of its characters.
+ * Levels ask the strategy of the side of the character for a move, then carry it out:
+ * the character moves to the destination and attacks the target if it can.
+ * Strategies only read the board and the characters, and keep what they remember of a
+ * battle by board, so a single instance can play both sides of any number of levels at once.
+ */
+public interface AIStrategy
+{
+	/**
+	 * Chooses the move of a character.
+	 *
+	 * @param attacker the character whose turn it is, alive and on the board
+	 * @param board the board of the battle
+	 * @return the move, or null if no opponent is left
+	 */
+	AIMove planTurn(Character attacker, BattleBoard board);
+
+	/**
+	 * Gets the name of the strategy, as used on the command line and in results.
+	 *
+	 * @return the name
+	 */
+	String getName();
+
+	/**
+	 * Creates the AI the game plays the enemies with: the focused and cautious play of
+	 * {@link FocusFireAI} over {@link ThreatAwareAI}, the default opening book for the first
+	 * moves, and the endgame solver once a few characters are left on each side.
+	 *
+	 * @return a new instance of the game AI
+	 */
+	static AIStrategy game()
+	{
+		return new EndgameAI(new OpeningBookAI(OpeningBook.getDefault(), new FocusFireAI(new ThreatAwareAI())));
+	}
+
+	/**
+	 * Creates the strategies a tournament ranks, from the simplest, the ClosestTargetAI.
+	 *
+	 * @return a new instance of every strategy
+	 */
+	static List<AIStrategy> standard()
+	{
+		return List.of(new ClosestTargetAI(), new WeakestTargetAI(), new DangerousTargetAI(), new ThreatAwareAI(),
+				new FocusFireAI(new ThreatAwareAI()));
+	}
+
+	/**
+	 * Creates a strategy of the game from its name. The name "opening" gives the
+	 * ClosestTargetAI with the default opening book, "search" the lookahead search and
+	 * "endgame" the ClosestTargetAI solving the end of the battles.
+	 *
+	 * @param name the name of the strategy
+	 * @return a new instance of the strategy
+	 * @throws IllegalArgumentException if no strategy has this name
+	 */
+	static AIStrategy byName(String name)
+	{
+		if (name.equals("opening"))
+		{
+			return new OpeningBookAI(OpeningBook.getDefault(), new ClosestTargetAI());
+		}
+		if (name.equals("search"))
+		{
+			return new SearchAI();
+		}
+		if (name.equals("endgame"))
+		{
+			return new EndgameAI(new ClosestTargetAI());
+		}
+		for (AIStrategy strategy : standard())
+		{
+			if (strategy.getName().equals(name))
+			{
+				return strategy;
+			}
+		}
+		throw new IllegalArgumentException("Unknown AI strategy: " + name);
+	}
+}
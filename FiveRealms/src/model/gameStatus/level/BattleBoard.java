@@ -0,0 +1,257 @@
+package model.gameStatus.level;
+
+import java.util.Comparator;
+import java.util.List;
+import model.characters.AbstractCharacter;
+import model.characters.Character;
+import model.point.GridBounds;
+import model.point.Point;
+import model.point.SpatialIndex;
+
+/**
+ * Headless state of a battle: where every living character stands.
+ * Allies and enemies are kept in two spatial indexes, updated on spawn, move and death,
+ * so occupancy checks are constant time and nearest-opponent queries do not scan the
+ * rosters. The cost of an AI turn therefore depends on the movement range of the
+ * character and on the crowding around it, not on the number of units in the battle.
+ *
+ * Each side also has an {@link InfluenceMap} of the threat it projects, updated with the
+ * indexes; the statistics of the characters change in fights, which the board does not see,
+ * so whoever runs a fight calls {@link #refresh} on the characters that survived it.
+ */
+public class BattleBoard
+{
+	private final GridBounds gridBounds;
+	private final SpatialIndex<Character> allies;
+	private final SpatialIndex<Character> enemies;
+	private final InfluenceMap allyInfluence;
+	private final InfluenceMap enemyInfluence;
+
+	/**
+	 * Creates an empty board.
+	 *
+	 * @param gridBounds the size of the grid
+	 */
+	public BattleBoard(GridBounds gridBounds)
+	{
+		this.gridBounds = gridBounds;
+		this.allies     = new SpatialIndex<>(gridBounds);
+		this.enemies    = new SpatialIndex<>(gridBounds);
+		this.allyInfluence  = new InfluenceMap(gridBounds);
+		this.enemyInfluence = new InfluenceMap(gridBounds);
+	}
+
+	/**
+	 * Places a character on its current position, moving it there if it is already on the board.
+	 *
+	 * @param character the character to place
+	 */
+	public void add(Character character)
+	{
+		SpatialIndex<Character> index = this.indexOf(character);
+
+		if (index.contains(character))
+		{
+			index.move(character, character.getPosition());
+		}
+		else
+		{
+			index.add(character, character.getPosition());
+		}
+		this.influenceOf(character).update(character, character.getPosition());
+	}
+
+	/**
+	 * Moves a character to another cell.
+	 *
+	 * @param character the character to move
+	 * @param target the new cell of the character
+	 */
+	public void move(Character character, Point target)
+	{
+		this.indexOf(character).move(character, target);
+		this.influenceOf(character).update(character, target);
+	}
+
+	/**
+	 * Removes a character from the board, usually because it died.
+	 *
+	 * @param character the character to remove
+	 */
+	public void remove(Character character)
+	{
+		this.indexOf(character).remove(character);
+		this.influenceOf(character).remove(character);
+	}
+
+	/**
+	 * Projects the threat of a character again after its statistics changed, in a fight.
+	 * Nothing is done if the character is no longer on the board.
+	 *
+	 * @param character the character
+	 */
+	public void refresh(Character character)
+	{
+		if (this.indexOf(character).contains(character))
+		{
+			this.influenceOf(character).update(character, character.getPosition());
+		}
+	}
+
+	/**
+	 * Gets the map of the threat a side projects over the grid.
+	 *
+	 * @param allied true for the allies, false for the enemies
+	 * @return the influence map of the side
+	 */
+	public InfluenceMap getInfluence(boolean allied)
+	{
+		return allied ? this.allyInfluence : this.enemyInfluence;
+	}
+
+	/**
+	 * Estimates the damage the opponents of a character can deal it on a cell before its next turn.
+	 *
+	 * @param character the character
+	 * @param point the cell it would stand on
+	 * @return the damage, see {@link InfluenceMap#getDamage}
+	 */
+	public int threatAt(Character character, Point point)
+	{
+		return this.getInfluence(!character.isAllied()).getDamage(point, character.getDefence());
+	}
+
+	/**
+	 * Checks whether a cell is occupied by a character of either side.
+	 *
+	 * @param point the cell
+	 * @return true if a character stands on the cell
+	 */
+	public boolean isOccupied(Point point)
+	{
+		return this.allies.isOccupied(point) || this.enemies.isOccupied(point);
+	}
+
+	/**
+	 * Gets the character standing on a cell, of either side.
+	 *
+	 * @param point the cell
+	 * @return the character, or null if the cell is free
+	 */
+	public Character getAt(Point point)
+	{
+		Character ally = this.allies.getAt(point);
+		return ally != null ? ally : this.enemies.getAt(point);
+	}
+
+	/**
+	 * Finds the closest character of the opposite side.
+	 *
+	 * @param character the character looking for an opponent
+	 * @return the closest opponent, or null if none is left
+	 */
+	public Character nearestOpponent(Character character)
+	{
+		return this.opponentsOf(character).nearest(character.getPosition());
+	}
+
+	/**
+	 * Finds the closest characters of the opposite side.
+	 *
+	 * @param character the character looking for opponents
+	 * @param count the number of opponents wanted
+	 * @return up to {@code count} opponents, closest first
+	 */
+	public List<Character> nearestOpponents(Character character, int count)
+	{
+		return this.opponentsOf(character).nearest(character.getPosition(), count);
+	}
+
+	/**
+	 * Finds the characters of the opposite side within a distance (in squares) of a character.
+	 *
+	 * @param character the character looking for opponents
+	 * @param radius the maximum distance
+	 * @return the opponents within the distance, in spawn order
+	 */
+	public List<Character> opponentsWithin(Character character, int radius)
+	{
+		return this.opponentsOf(character).within(character.getPosition(), radius);
+	}
+
+	/**
+	 * Chooses where an AI character moves to attack a victim.
+	 * Among the free cells within movement range it prefers the closest one from which
+	 * the victim can be attacked; if there is none, it moves as close to the victim as possible.
+	 *
+	 * @param attacker the character moving
+	 * @param victim the character to attack
+	 * @return the destination, the current position of the attacker if no cell is free
+	 */
+	public Point planApproach(Character attacker, Character victim)
+	{
+		// Only the cells within movement range are candidates, whatever the size of the map
+		List<Point> reachablePositions = this.gridBounds
+				.pointsWithin(attacker.getPosition(), attacker.getSpeed() / AbstractCharacter.SPEED_TO_MOVEMENT);
+
+		return reachablePositions.stream()
+				.filter(point -> !this.isOccupied(point))
+				.filter(point -> victim.getDistanceInSquares(point) <= attacker.getRange()) // Within attack range
+				.min(Comparator.comparing(point -> attacker.getDistanceInSquares(point))) // Closest to current position
+				.orElseGet(() -> // If no immediate attack positions available, simply chase
+				reachablePositions.stream()
+				.filter(point -> !this.isOccupied(point))
+				.min(Comparator.comparing(point -> victim.getDistanceInSquares(point))) // Closest to victim
+				.orElse(attacker.getPosition()));
+	}
+
+	/**
+	 * Lists the allies on the board.
+	 *
+	 * @return the allies, in the order they were placed
+	 */
+	public List<Character> getAllies()
+	{
+		return this.allies.items();
+	}
+
+	/**
+	 * Lists the enemies on the board.
+	 *
+	 * @return the enemies, in the order they were placed
+	 */
+	public List<Character> getEnemies()
+	{
+		return this.enemies.items();
+	}
+
+	public int getAllyCount()
+	{
+		return this.allies.size();
+	}
+
+	public int getEnemyCount()
+	{
+		return this.enemies.size();
+	}
+
+	public GridBounds getGridBounds()
+	{
+		return this.gridBounds;
+	}
+
+	private SpatialIndex<Character> indexOf(Character character)
+	{
+		return character.isAllied() ? this.allies : this.enemies;
+	}
+
+	private InfluenceMap influenceOf(Character character)
+	{
+		return character.isAllied() ? this.allyInfluence : this.enemyInfluence;
+	}
+
+	private SpatialIndex<Character> opponentsOf(Character character)
+	{
+		return character.isAllied() ? this.enemies : this.allies;
+	}
+}
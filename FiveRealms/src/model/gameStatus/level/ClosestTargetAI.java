@@ -0,0 +1,43 @@
+package model.gameStatus.level;
+
+import java.util.List;
+import model.characters.Character;
+import model.point.Point;
+
+/**
+ * The AI the game was designed with: among the few closest opponents, the closest one
+ * that can be attacked this turn, or else the closest one, to chase it.
+ */
+public class ClosestTargetAI implements AIStrategy
+{
+	/** Number of nearest opponents an AI character considers as targets */
+	private static final int TARGET_CANDIDATES = 3;
+
+	@Override
+	public AIMove planTurn(Character attacker, BattleBoard board)
+	{
+		List<Character> candidates = board.nearestOpponents(attacker, TARGET_CANDIDATES);
+		if (candidates.isEmpty())
+		{
+			return null;
+		}
+
+		for (Character candidate : candidates)
+		{
+			Point approach = board.planApproach(attacker, candidate);
+			if (candidate.getDistanceInSquares(approach) <= attacker.getRange())
+			{
+				return new AIMove(approach, candidate);
+			}
+		}
+
+		Character closest = candidates.get(0);
+		return new AIMove(board.planApproach(attacker, closest), closest);
+	}
+
+	@Override
+	public String getName()
+	{
+		return "closest";
+	}
+}
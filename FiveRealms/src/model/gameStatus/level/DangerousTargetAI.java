@@ -0,0 +1,24 @@
+package model.gameStatus.level;
+
+import java.util.Comparator;
+import model.characters.Character;
+
+/**
+ * Takes out the biggest threat first: attacks the reachable opponent with the most power.
+ */
+public class DangerousTargetAI extends TargetPriorityAI
+{
+	private static final Comparator<Character> PRIORITY = Comparator.comparingInt(Character::getPower).reversed();
+
+	@Override
+	protected Comparator<Character> priority()
+	{
+		return PRIORITY;
+	}
+
+	@Override
+	public String getName()
+	{
+		return "dangerous";
+	}
+}
@@ -0,0 +1,86 @@
+package model.gameStatus.level;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import model.characters.Character;
+import model.point.Point;
+
+/**
+ * Plays a side as a team: at the start of every round the side assigns a target to each of
+ * its characters with a {@link TargetAssignment}, focusing their damage, and a turn only
+ * looks its target up. A character attacks its target from the cell where it takes the least
+ * damage, unless that would kill it. When it cannot, it strikes the opponent the fallback
+ * strategy attacks this turn, if any, or else keeps closing in on its target.
+ *
+ * The plans are kept per board and per side, so a single instance still plays any number of
+ * levels at once; a plan is made again when a character dies or a new round starts.
+ */
+public class FocusFireAI implements AIStrategy
+{
+	private final AIStrategy fallback;
+	private final Map<BattleBoard, TargetAssignment[]> plans;
+
+	/**
+	 * Creates the strategy.
+	 *
+	 * @param fallback the strategy of the turns the plan cannot be followed
+	 */
+	public FocusFireAI(AIStrategy fallback)
+	{
+		this.fallback = fallback;
+		this.plans    = Collections.synchronizedMap(new WeakHashMap<>());
+	}
+
+	@Override
+	public AIMove planTurn(Character attacker, BattleBoard board)
+	{
+		Character target = this.planOf(attacker, board).getTarget(attacker);
+		if (target == null)
+		{
+			return this.fallback.planTurn(attacker, board);
+		}
+
+		List<Point> reachable = ThreatAwareAI.reachableCells(attacker, board);
+		Point attackCell = ThreatAwareAI.safestAttackCell(attacker, target, reachable, board);
+		if (attackCell != null)
+		{
+			return new AIMove(attackCell, target);
+		}
+		// Strike another opponent on the way, or else keep closing in on the target
+		AIMove move = this.fallback.planTurn(attacker, board);
+		if (move != null && move.getTarget().getDistanceInSquares(move.getDestination()) <= attacker.getRange())
+		{
+			return move;
+		}
+		Point chase = ThreatAwareAI.safestChaseCell(attacker, target, reachable, board);
+		return chase == null ? move : new AIMove(chase, target);
+	}
+
+	@Override
+	public String getName()
+	{
+		return "focus";
+	}
+
+	/**
+	 * Gets the plan of the round of the side of a character, making it if it is missing or outdated.
+	 */
+	private TargetAssignment planOf(Character attacker, BattleBoard board)
+	{
+		int side = attacker.isAllied() ? 0 : 1;
+		TargetAssignment[] sides = this.plans.computeIfAbsent(board, key -> new TargetAssignment[2]);
+		synchronized (sides)
+		{
+			TargetAssignment plan = sides[side];
+			if (plan == null || !plan.isValid(board) || !plan.markPlayed(attacker))
+			{
+				plan = TargetAssignment.plan(attacker.isAllied(), board);
+				plan.markPlayed(attacker);
+				sides[side] = plan;
+			}
+			return plan;
+		}
+	}
+}
@@ -1,20 +1,16 @@
 package model.gameStatus.level;
 
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.HashSet;
 import java.util.List;
 import java.util.PriorityQueue;
-import java.util.Set;
 import controller.*;
-import model.characters.AbstractCharacter;
 import model.characters.Character;
 import model.gameStatus.Game;
+import model.gameStatus.level.search.EndgameAI;
+import model.gameStatus.level.search.EndgameSolver;
 import model.gameStatus.manager.StateManager;
 import model.point.Point;
 import view.*;
-import view.map.AbstractMap;
 import view.map.LevelMap;
 
 /**
@@ -36,9 +32,6 @@ public class GameLevel implements Level
 	/** Character currently taking their turn */
 	private Character currentAttacker;
 
-	/** List of all available positions on the map for AI movement calculations */
-	private List<Point> availablePositions;
-
 	/** The visual map representation of this level */
 	private final LevelMap levelMap;
 
@@ -48,6 +41,18 @@ public class GameLevel implements Level
 	/** Reference to the main game controller */
 	private final GameController controller;
 
+	/** Strategy playing the enemies */
+	private AIStrategy enemyAI;
+
+	/** Strategy playing the allies instead of the player, null when the player plays */
+	private AIStrategy allyAI;
+
+	/** Whether the rest of the battle is being resolved without the player and without delays */
+	private volatile boolean autoResolving;
+
+	/** Whether the player asked to resolve the battle, which the game loop starts on its next update */
+	private volatile boolean autoResolveRequested;
+
 	/**
 	 * Constructs a new Level with the specified map and controller.
 	 * Initializes all necessary components and prepares the level for gameplay.
@@ -62,6 +67,7 @@ public class GameLevel implements Level
 		this.controller   = controller;
 		this.stateManager = stateManager;
 		this.movementPhaseManager = new BattlePhaseView(this.levelMap, this.controller);
+		this.enemyAI      = AIStrategy.game();
 
 		this.enemiesList = this.levelMap.getEnemiesList();
 		this.alliesList  = this.levelMap.getAlliesList();
@@ -69,16 +75,6 @@ public class GameLevel implements Level
 		// Set character lists in state manager
 		this.stateManager.setEnemiesList(this.enemiesList);
 		this.stateManager.setAlliesList(this.alliesList);
-
-		// Initialize available positions for AI turn calculations
-		this.availablePositions = new ArrayList<>();
-		for (int i = 0; i < AbstractMap.GRID_SIZE_WIDTH; i++) 
-		{
-			for (int j = 0; j < AbstractMap.GRID_SIZE_HEIGHT; j++) 
-			{
-				availablePositions.add(new Point(i, j));
-			}
-		}
 	}
 
 	/**
@@ -88,6 +84,69 @@ public class GameLevel implements Level
 		this(map, controller, new StateManager());
 	}
 
+	/**
+	 * Sets the strategy playing the enemies, {@link AIStrategy#game()} by default.
+	 *
+	 * @param enemyAI the strategy of the enemies
+	 */
+	public void setEnemyAI(AIStrategy enemyAI) {
+		this.enemyAI = enemyAI;
+	}
+
+	/**
+	 * Lets a strategy play the turns of the allies instead of the player,
+	 * for demos and automated runs of the real level.
+	 *
+	 * @param allyAI the strategy of the allies, or null to give the turns back to the player
+	 */
+	public void setAllyAI(AIStrategy allyAI) {
+		this.allyAI = allyAI;
+	}
+
+	/**
+	 * Checks whether the rest of the battle can be resolved without the player: few enough
+	 * characters are left for the endgame solver, and no character is halfway through its turn.
+	 *
+	 * @return true if {@link #autoResolve()} can be called
+	 */
+	public boolean canAutoResolve() {
+		return !this.autoResolving && !this.autoResolveRequested
+				&& this.stateManager.getCurrentLevelPhase() == StateManager.LevelPhase.BATTLE_PHASE
+				&& this.stateManager.getCurrentBattleState() != StateManager.BattleState.WAITING_FOR_TARGET
+				&& EndgameSolver.isEndgame(this.levelMap.getBattleBoard());
+	}
+
+	/**
+	 * Asks to resolve the rest of the battle without the player: the allies play the solved
+	 * endgame too, and the turns follow each other without delays. The game loop starts it on
+	 * its next update, so the searches and fights never run on the thread calling this, the
+	 * event dispatch thread of the pause menu. A movement the player was choosing is cancelled
+	 * and played by the AI; call it while the level is paused.
+	 *
+	 * @throws IllegalStateException if the battle cannot be resolved, see {@link #canAutoResolve()}
+	 */
+	public void autoResolve() {
+		if (!this.canAutoResolve()) {
+			throw new IllegalStateException("The battle cannot be auto-resolved now");
+		}
+		this.autoResolveRequested = true;
+	}
+
+	/**
+	 * Starts resolving the battle asked for by {@link #autoResolve()}, on the game loop.
+	 */
+	private void startAutoResolve() {
+		this.autoResolveRequested = false;
+		this.autoResolving = true;
+		this.allyAI = new EndgameAI(new ClosestTargetAI());
+		this.levelMap.updateBannerMessage("Auto-resolving the battle", false);
+
+		if (this.stateManager.getCurrentBattleState() == StateManager.BattleState.WAITING_FOR_MOVEMENT) {
+			this.movementPhaseManager.cancelMovementPhase();
+			this.startAITurn();
+		}
+	}
+
 	/**
 	 * Starts the level by showing the map, spawning characters, and initializing the battle phase.
 	 * This method sets up the initial state of the level and prepares it for player interaction.
@@ -127,6 +186,12 @@ public class GameLevel implements Level
 			return;
 		}
 
+		// A target the player is choosing is left to the player, the allies play from the next turn
+		if (this.autoResolveRequested && levelPhase == StateManager.LevelPhase.BATTLE_PHASE
+				&& this.stateManager.getCurrentBattleState() != StateManager.BattleState.WAITING_FOR_TARGET) {
+			this.startAutoResolve();
+		}
+
 		switch (levelPhase) {
 			case BATTLE_PHASE:
 				this.handleBattlePhase();
@@ -248,7 +313,7 @@ public class GameLevel implements Level
 		this.levelMap.colourCharacterPosition(this.currentAttacker);
 
 
-		if (this.currentAttacker.isAllied()) {
+		if (this.currentAttacker.isAllied() && this.allyAI == null) {
 			this.startPlayerTurn();
 		} else {
 			this.startAITurn();
@@ -285,48 +350,38 @@ public class GameLevel implements Level
 
 	/**
 	 * Handles an AI character's turn by automatically selecting movement and target.
-	 * Uses intelligent algorithms to:
-	 * 1. Find the closest enemy target
-	 * 2. Calculate optimal movement position (either for attack or to get closer)
-	 * 3. Execute attack if possible
-	 * 
-	 * The AI prioritizes positions that allow immediate attack, falling back to
-	 * chase behavior if no attack positions are available.
+	 * The strategy of the side of the character chooses where it moves and whom it
+	 * attacks; the game AI plays the first moves of the enemies from the opening book,
+	 * then focuses them on the targets assigned at the start of the round, or else on the
+	 * closest target they can attack this turn without walking into a lethal counterattack,
+	 * falling back to chasing the closest one if none of them can be reached safely.
+	 * Once few characters are left, the enemies play the solved endgame.
 	 */
 	private void startAITurn() {
 		this.stateManager.setCurrentBattleState(StateManager.BattleState.AI_TURN_IN_PROGRESS);
 		
-		try {
-			Thread.sleep(1500);
-		} catch (InterruptedException e) {
-			e.printStackTrace();
+		if (!this.autoResolving) {
+			try {
+				Thread.sleep(1500);
+			} catch (InterruptedException e) {
+				e.printStackTrace();
+			}
 		}
 
-		Character victim = alliesList.stream()
-				.min(Comparator.comparing(charac -> charac.getDistanceInSquares(currentAttacker.getPosition())))
-				.orElse(null);
+		// The board indexes the living characters, so the strategies do not scan the rosters
+		BattleBoard board = this.levelMap.getBattleBoard();
+		AIStrategy strategy = this.currentAttacker.isAllied() ? this.allyAI : this.enemyAI;
+		AIMove move = strategy.planTurn(currentAttacker, board);
 
-		if (victim == null) {
+		if (move == null) {
 			this.stateManager.setCurrentBattleState(StateManager.BattleState.TURN_COMPLETED);
 			return;
 		}
 
-		Set<Point> occupiedPositions = new HashSet<>();
-		alliesList.stream().forEach(character -> occupiedPositions.add(character.getPosition()));
-		enemiesList.stream().forEach(character -> occupiedPositions.add(character.getPosition()));
-
-		movementPhaseManager.graphicMovementCharacterToPoint(currentAttacker, this.availablePositions.stream()
-				.filter(point -> currentAttacker.getDistanceInSquares(point) <= (currentAttacker.getSpeed() / AbstractCharacter.SPEED_TO_MOVEMENT))
-				.filter(point -> !occupiedPositions.contains(point))
-				.filter(point -> victim.getDistanceInSquares(point) <= currentAttacker.getRange()) // Within attack range
-				.min(Comparator.comparing(point -> currentAttacker.getDistanceInSquares(point))) // Closest to current position
-				.orElseGet(() -> // If no immediate attack positions available, simply chase
-				availablePositions.stream()
-				.filter(point -> currentAttacker.getDistanceInSquares(point) <= (currentAttacker.getSpeed() / AbstractCharacter.SPEED_TO_MOVEMENT))
-				.filter(point -> !occupiedPositions.contains(point))
-				.min(Comparator.comparing(point -> victim.getDistanceInSquares(point))) // Closest to victim
-				.orElse(currentAttacker.getPosition())
-						));
+		Character victim = move.getTarget();
+		Point destination = move.getDestination();
+
+		movementPhaseManager.graphicMovementCharacterToPoint(currentAttacker, destination);
 
 		try {
 			this.controller.fight(currentAttacker, victim, alliesList, enemiesList, levelMap);
@@ -345,9 +400,15 @@ public class GameLevel implements Level
 	 * - Continue with the next character's turn
 	 */
 	private void checkEndTurn() {
-		// Update character lists in case any died during the turn
-		this.alliesList.removeIf(character -> !character.isAlive());
-		this.enemiesList.removeIf(character -> !character.isAlive());
+		// Dead characters are removed from the lists and the board as they die,
+		// sweep the lists only if they went out of sync with the board
+		BattleBoard board = this.levelMap.getBattleBoard();
+		if (this.alliesList.size() != board.getAllyCount()) {
+			this.alliesList.removeIf(character -> !character.isAlive());
+		}
+		if (this.enemiesList.size() != board.getEnemyCount()) {
+			this.enemiesList.removeIf(character -> !character.isAlive());
+		}
 		
 		// Update state manager with current lists
 		this.stateManager.setAlliesList(this.alliesList);
@@ -390,6 +451,8 @@ public class GameLevel implements Level
 				this.controller.disablePauseButton();
 				this.levelMap.removeAllEvent();
 				this.levelMap.updateBannerMessage("You have defeated all enemies. Level Completed", true);
+				// Prepare the next level in the background while the banner is shown
+				this.controller.prefetchNextLevel();
 				// Keep the banner open for 7 seconds
 				try {
 					Thread.sleep(7000);
@@ -421,6 +484,18 @@ public class GameLevel implements Level
 		return queue;
 	}
 
+	/**
+	 * Releases the resources of a finished level: its window, grid listeners,
+	 * pending battle listeners and scaled images.
+	 * The level must not be played again afterwards.
+	 */
+	public void release() {
+		this.movementPhaseManager.clearAllListeners();
+		this.levelMap.release();
+		this.currentTurnOrder = null;
+		this.currentAttacker  = null;
+	}
+
 	// ===========================================
 	// PUBLIC ACCESSORS AND STATE QUERIES
 	// ===========================================
@@ -0,0 +1,184 @@
+package model.gameStatus.level;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import model.characters.AbstractCharacter;
+import model.characters.Character;
+import model.point.GridBounds;
+import model.point.Point;
+
+/**
+ * Threat a faction projects over the grid: for every cell, the total power of the characters
+ * of the faction that can attack it on their next turn, moving first and then striking within
+ * the range of their weapon, and how many of them can.
+ *
+ * The map is kept up to date incrementally: every character remembers the area it projects
+ * and the power it projects there, and a change only subtracts the old area and adds the new
+ * one, so a move costs the cells within reach of one character, not a scan of the faction.
+ * Cells hidden behind other characters still count as reached; the map tells what could
+ * strike a cell, not the path to it.
+ */
+public class InfluenceMap
+{
+	private final GridBounds gridBounds;
+	private final int[] power;
+	private final int[] attackers;
+	private final Map<Character, Projection> projections;
+
+	/**
+	 * Creates a map without threats.
+	 *
+	 * @param gridBounds the size of the grid
+	 */
+	public InfluenceMap(GridBounds gridBounds)
+	{
+		this.gridBounds  = gridBounds;
+		this.power       = new int[gridBounds.getWidth() * gridBounds.getHeight()];
+		this.attackers   = new int[gridBounds.getWidth() * gridBounds.getHeight()];
+		this.projections = new IdentityHashMap<>();
+	}
+
+	/**
+	 * Projects the threat of a character from a cell with its current statistics, replacing
+	 * what it projected before. Nothing changes if neither its cell, reach nor power did.
+	 *
+	 * @param character the character
+	 * @param position the cell of the character
+	 */
+	public void update(Character character, Point position)
+	{
+		Projection current = new Projection(position.getX(), position.getY(), reachOf(character), character.getPower());
+		Projection previous = this.projections.put(character, current);
+		if (current.isSame(previous))
+		{
+			return;
+		}
+		if (previous != null)
+		{
+			this.project(previous, -1);
+		}
+		this.project(current, 1);
+	}
+
+	/**
+	 * Removes the threat of a character, usually because it died.
+	 *
+	 * @param character the character
+	 */
+	public void remove(Character character)
+	{
+		Projection previous = this.projections.remove(character);
+		if (previous != null)
+		{
+			this.project(previous, -1);
+		}
+	}
+
+	/**
+	 * Gets the total power of the characters that can attack a cell on their next turn.
+	 *
+	 * @param point the cell
+	 * @return the power, 0 outside the grid
+	 */
+	public int getPower(Point point)
+	{
+		return this.gridBounds.contains(point) ? this.power[this.indexOf(point.getX(), point.getY())] : 0;
+	}
+
+	/**
+	 * Gets the number of characters that can attack a cell on their next turn.
+	 *
+	 * @param point the cell
+	 * @return the number of characters, 0 outside the grid
+	 */
+	public int getAttackers(Point point)
+	{
+		return this.gridBounds.contains(point) ? this.attackers[this.indexOf(point.getX(), point.getY())] : 0;
+	}
+
+	/**
+	 * Estimates the damage a character standing on a cell can take before its next turn, if
+	 * every character threatening the cell attacks it and gets through its defence.
+	 *
+	 * @param point the cell
+	 * @param defence the defence of the character standing there
+	 * @return the damage, at least 0
+	 */
+	public int getDamage(Point point, int defence)
+	{
+		return Math.max(0, this.getPower(point) - this.getAttackers(point) * defence);
+	}
+
+	/**
+	 * Checks whether a character of the faction can attack a cell on its next turn.
+	 *
+	 * @param character the character
+	 * @param point the cell
+	 * @return true if the cell is within its reach, as last projected
+	 */
+	public boolean reaches(Character character, Point point)
+	{
+		Projection projection = this.projections.get(character);
+		return projection != null
+				&& Math.abs(projection.x - point.getX()) + Math.abs(projection.y - point.getY()) <= projection.reach;
+	}
+
+	/**
+	 * Gets the cells a character can attack on its next turn: its movement plus the range of its weapon.
+	 */
+	private static int reachOf(Character character)
+	{
+		return character.getSpeed() / AbstractCharacter.SPEED_TO_MOVEMENT + character.getRange();
+	}
+
+	/**
+	 * Adds or subtracts the threat of a projection over its area.
+	 */
+	private void project(Projection projection, int sign)
+	{
+		int centerX = projection.x;
+		int centerY = projection.y;
+		int maxX = Math.min(this.gridBounds.getWidth() - 1, centerX + projection.reach);
+		for (int x = Math.max(0, centerX - projection.reach); x <= maxX; x++)
+		{
+			int span = projection.reach - Math.abs(x - centerX);
+			int maxY = Math.min(this.gridBounds.getHeight() - 1, centerY + span);
+			for (int y = Math.max(0, centerY - span); y <= maxY; y++)
+			{
+				int index = this.indexOf(x, y);
+				this.power[index]     += sign * projection.power;
+				this.attackers[index] += sign;
+			}
+		}
+	}
+
+	private int indexOf(int x, int y)
+	{
+		return x * this.gridBounds.getHeight() + y;
+	}
+
+	/**
+	 * The area and power a character projected, copied since points are mutable.
+	 */
+	private static final class Projection
+	{
+		private final int x;
+		private final int y;
+		private final int reach;
+		private final int power;
+
+		Projection(int x, int y, int reach, int power)
+		{
+			this.x     = x;
+			this.y     = y;
+			this.reach = reach;
+			this.power = power;
+		}
+
+		boolean isSame(Projection other)
+		{
+			return other != null && other.x == this.x && other.y == this.y
+					&& other.reach == this.reach && other.power == this.power;
+		}
+	}
+}
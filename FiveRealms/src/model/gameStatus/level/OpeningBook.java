@@ -0,0 +1,362 @@
+package model.gameStatus.level;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import model.characters.AbstractCharacter;
+import model.characters.Archer;
+import model.characters.Barbarian;
+import model.characters.Character;
+import model.characters.Juggernaut;
+import model.characters.Knight;
+import model.characters.Wizard;
+import model.characters.bosses.ArcherBoss;
+import model.characters.bosses.BarbarianBoss;
+import model.characters.bosses.JuggernautBoss;
+import model.characters.bosses.KnightBoss;
+import model.characters.bosses.WizardBoss;
+import model.point.GridBounds;
+import model.point.Point;
+import model.point.SpawnZones;
+import view.map.AbstractMap;
+
+/**
+ * Precomputed first moves of the enemies of the regular levels.
+ *
+ * Every level spawns its characters on the same few points, so the first move of an enemy
+ * is the same problem every time: an opening is an enemy still on its spawn point while
+ * every ally is still on one of the ally spawn points. The book keys an opening by the
+ * class of the enemy (bosses apart), its spawn point, the class of the ally on every ally
+ * spawn point, and the movement and weapon range the enemy rolled; the value is the cell
+ * the enemy moves to, found offline by {@code OpeningBookBuilder}.
+ *
+ * The keys live in an open addressing hash table, so a lookup costs a few array reads;
+ * the file is the table itself. A book is immutable once built and can be shared.
+ */
+public class OpeningBook
+{
+	/** File the game reads its book from, in the working directory */
+	public static final File DEFAULT_FILE = new File("openings.book");
+
+	/** Marks the start of a book file */
+	private static final int MAGIC = 0x464F4231;
+
+	private static final int VERSION = 1;
+
+	/** Key of the empty slots of the table */
+	private static final int EMPTY = -1;
+
+	/** Classes the book tells apart, the index is the class code of the key */
+	private static final List<Class<? extends Character>> CLASSES = List.of(
+			Barbarian.class, Archer.class, Knight.class, Wizard.class, Juggernaut.class,
+			BarbarianBoss.class, ArcherBoss.class, KnightBoss.class, WizardBoss.class, JuggernautBoss.class);
+
+	/** Classes an ally spawn point can hold, the code of an empty point is 0 */
+	private static final int ALLY_CODES = 6;
+
+	/** Largest movement and range a key can hold */
+	private static final int MAX_MOVEMENT = 31;
+	private static final int MAX_RANGE = 15;
+
+	/** Spawn points of the regular levels, in the order of the keys */
+	private static final List<Point> ALLY_POINTS = SpawnZones.defaultAllyPoints();
+	private static final List<Point> ENEMY_POINTS = SpawnZones.defaultEnemyPoints();
+
+	/** Grid the spawn points belong to */
+	private static final GridBounds GRID = new GridBounds(AbstractMap.GRID_SIZE_WIDTH, AbstractMap.GRID_SIZE_HEIGHT);
+
+	private static OpeningBook defaultBook;
+
+	private final int[] keys;
+	private final short[] cells;
+	private final int size;
+
+	/**
+	 * Builds a book.
+	 *
+	 * @param moves the destination of every opening, by key
+	 */
+	public OpeningBook(Map<Integer, Point> moves)
+	{
+		int capacity = Integer.highestOneBit(Math.max(1, moves.size()) * 2 - 1) << 1;
+		this.keys  = new int[capacity];
+		this.cells = new short[capacity];
+		this.size  = moves.size();
+		Arrays.fill(this.keys, EMPTY);
+
+		for (Map.Entry<Integer, Point> move : moves.entrySet())
+		{
+			int slot = this.slotOf(move.getKey());
+			this.keys[slot]  = move.getKey();
+			this.cells[slot] = (short) (move.getValue().getX() * GRID.getHeight() + move.getValue().getY());
+		}
+	}
+
+	private OpeningBook(int[] keys, short[] cells, int size)
+	{
+		this.keys  = keys;
+		this.cells = cells;
+		this.size  = size;
+	}
+
+	/**
+	 * Gets the book of the game, read from {@link #DEFAULT_FILE} the first time.
+	 * Without a readable file the book is empty, and the AI searches every move.
+	 *
+	 * @return the book
+	 */
+	public static synchronized OpeningBook getDefault()
+	{
+		if (defaultBook == null)
+		{
+			defaultBook = new OpeningBook(Map.of());
+			if (DEFAULT_FILE.exists())
+			{
+				try
+				{
+					defaultBook = load(DEFAULT_FILE);
+				}
+				catch (IOException e)
+				{
+					System.err.println("Error loading the opening book: " + e.getMessage());
+				}
+			}
+		}
+		return defaultBook;
+	}
+
+	/**
+	 * Reads a book.
+	 *
+	 * @param file the file to read
+	 * @return the book
+	 * @throws IOException if the file cannot be read or is not a book
+	 */
+	public static OpeningBook load(File file) throws IOException
+	{
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file))))
+		{
+			if (in.readInt() != MAGIC)
+			{
+				throw new IOException("Not an opening book: " + file);
+			}
+			int version = in.readInt();
+			if (version != VERSION)
+			{
+				throw new IOException("Unsupported version " + version + " of opening book " + file);
+			}
+			if (in.readInt() != GRID.getWidth() || in.readInt() != GRID.getHeight())
+			{
+				throw new IOException("Opening book " + file + " was built for another grid");
+			}
+
+			int capacity = in.readInt();
+			int size = in.readInt();
+			if (Integer.bitCount(capacity) != 1 || size < 0 || size >= capacity)
+			{
+				throw new IOException("Corrupted opening book: " + file);
+			}
+			int[] keys = new int[capacity];
+			short[] cells = new short[capacity];
+			for (int i = 0; i < capacity; i++)
+			{
+				keys[i] = in.readInt();
+			}
+			for (int i = 0; i < capacity; i++)
+			{
+				cells[i] = in.readShort();
+			}
+			return new OpeningBook(keys, cells, size);
+		}
+	}
+
+	/**
+	 * Writes this book.
+	 *
+	 * @param file the file to write
+	 * @throws IOException if the file cannot be written
+	 */
+	public void save(File file) throws IOException
+	{
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file))))
+		{
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeInt(GRID.getWidth());
+			out.writeInt(GRID.getHeight());
+			out.writeInt(this.keys.length);
+			out.writeInt(this.size);
+			for (int key : this.keys)
+			{
+				out.writeInt(key);
+			}
+			for (short cell : this.cells)
+			{
+				out.writeShort(cell);
+			}
+		}
+	}
+
+	public int size()
+	{
+		return this.size;
+	}
+
+	/**
+	 * Looks up the first move of a character.
+	 *
+	 * @param mover the character whose turn it is
+	 * @param board the board of the battle
+	 * @return the cell to move to, or null if the position is not an opening of the book
+	 */
+	public Point lookup(Character mover, BattleBoard board)
+	{
+		int key = key(mover, board);
+		if (key == EMPTY)
+		{
+			return null;
+		}
+		int slot = this.slotOf(key);
+		if (this.keys[slot] != key)
+		{
+			return null;
+		}
+		return new Point(this.cells[slot] / GRID.getHeight(), this.cells[slot] % GRID.getHeight());
+	}
+
+	/**
+	 * Computes the key of the position of a character, if it is an opening.
+	 *
+	 * @param mover the character whose turn it is
+	 * @param board the board of the battle
+	 * @return the key, or -1 if the position is not an opening
+	 */
+	public static int key(Character mover, BattleBoard board)
+	{
+		if (mover.isAllied() || board.getGridBounds().getWidth() != GRID.getWidth()
+				|| board.getGridBounds().getHeight() != GRID.getHeight())
+		{
+			return EMPTY;
+		}
+		int classCode = CLASSES.indexOf(mover.getClass());
+		int spawnPoint = ENEMY_POINTS.indexOf(mover.getPosition());
+		if (classCode < 0 || spawnPoint < 0)
+		{
+			return EMPTY;
+		}
+
+		// Every ally must still stand on its spawn point
+		int allyCode = 0;
+		int alliesFound = 0;
+		for (int i = ALLY_POINTS.size() - 1; i >= 0; i--)
+		{
+			Character ally = board.getAt(ALLY_POINTS.get(i));
+			int code = 0;
+			if (ally != null && ally.isAllied())
+			{
+				code = allyClassCode(ally);
+				alliesFound++;
+			}
+			allyCode = allyCode * ALLY_CODES + code;
+		}
+		if (alliesFound == 0 || alliesFound != board.getAllyCount())
+		{
+			return EMPTY;
+		}
+
+		return key(classCode, spawnPoint, allyCode, mover.getSpeed() / AbstractCharacter.SPEED_TO_MOVEMENT, mover.getRange());
+	}
+
+	/**
+	 * Packs the parts of a key.
+	 *
+	 * @param classCode the class of the enemy moving, an index of the classes of the book
+	 * @param spawnPoint the index of its spawn point among the default enemy points
+	 * @param allyCode the classes of the allies on the default ally points, see {@link #allyCode(int...)}
+	 * @param movement the cells the enemy can move
+	 * @param range the range of its weapon
+	 * @return the key, or -1 if the movement or the range are beyond what the book holds
+	 */
+	public static int key(int classCode, int spawnPoint, int allyCode, int movement, int range)
+	{
+		if (movement < 0 || movement > MAX_MOVEMENT || range < 0 || range > MAX_RANGE)
+		{
+			return EMPTY;
+		}
+		return ((((classCode * ENEMY_POINTS.size() + spawnPoint) * 256 + allyCode) * (MAX_MOVEMENT + 1) + movement) * (MAX_RANGE + 1)) + range;
+	}
+
+	/**
+	 * Encodes the allies of the ally spawn points.
+	 *
+	 * @param allyClasses for every default ally point, the ordinal of the UnitClass of its ally, -1 if free
+	 * @return the code, a number in base 6 with a digit for every point
+	 */
+	public static int allyCode(int... allyClasses)
+	{
+		int code = 0;
+		for (int i = allyClasses.length - 1; i >= 0; i--)
+		{
+			code = code * ALLY_CODES + allyClasses[i] + 1;
+		}
+		return code;
+	}
+
+	/**
+	 * Gets the class code of a character, as used in the keys.
+	 *
+	 * @param character the character
+	 * @return the index of its class, -1 if the book does not know it
+	 */
+	public static int classCode(Character character)
+	{
+		return CLASSES.indexOf(character.getClass());
+	}
+
+	/**
+	 * Gets the number of classes the book tells apart.
+	 *
+	 * @return the number of class codes
+	 */
+	public static int getClassCount()
+	{
+		return CLASSES.size();
+	}
+
+	/**
+	 * Code of an ally in the ally code, by its class: bosses count as their class, as heroes never are bosses.
+	 */
+	private static int allyClassCode(Character ally)
+	{
+		for (int code = 0; code < ALLY_CODES - 1; code++)
+		{
+			if (CLASSES.get(code).isInstance(ally))
+			{
+				return code + 1;
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * Finds the slot of a key, or the empty slot where it would go.
+	 */
+	private int slotOf(int key)
+	{
+		int mask = this.keys.length - 1;
+		int slot = (key * 0x9E3779B1 >>> 7) & mask;
+		while (this.keys[slot] != EMPTY && this.keys[slot] != key)
+		{
+			slot = (slot + 1) & mask;
+		}
+		return slot;
+	}
+}
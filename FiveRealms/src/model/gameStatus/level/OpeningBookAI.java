@@ -0,0 +1,75 @@
+package model.gameStatus.level;
+
+import java.util.Comparator;
+import java.util.List;
+import model.characters.AbstractCharacter;
+import model.characters.Character;
+import model.point.Point;
+
+/**
+ * Plays the first moves of the enemies from an {@link OpeningBook}, and every other move
+ * with another strategy. The book gives the cell to move to; from there the character
+ * attacks the weakest of its closest opponents it can reach, or chases the closest one.
+ * A book move is only played while its cell is still free and within movement range,
+ * so a stale or foreign book can never make a character break the rules.
+ */
+public class OpeningBookAI implements AIStrategy
+{
+	/** Number of nearest opponents an AI character considers as targets */
+	private static final int TARGET_CANDIDATES = 3;
+
+	private final OpeningBook book;
+	private final AIStrategy fallback;
+
+	/**
+	 * Creates the strategy.
+	 *
+	 * @param book the book of the first moves
+	 * @param fallback the strategy of the moves the book does not know
+	 */
+	public OpeningBookAI(OpeningBook book, AIStrategy fallback)
+	{
+		this.book     = book;
+		this.fallback = fallback;
+	}
+
+	@Override
+	public AIMove planTurn(Character attacker, BattleBoard board)
+	{
+		Point destination = this.book.lookup(attacker, board);
+		if (destination == null || !this.isPlayable(attacker, destination, board))
+		{
+			return this.fallback.planTurn(attacker, board);
+		}
+
+		List<Character> candidates = board.nearestOpponents(attacker, TARGET_CANDIDATES);
+		if (candidates.isEmpty())
+		{
+			return null;
+		}
+		Character target = candidates.stream()
+				.filter(candidate -> candidate.getDistanceInSquares(destination) <= attacker.getRange())
+				.min(Comparator.comparing(Character::getCurrentHealth))
+				.orElse(candidates.get(0));
+		return new AIMove(destination, target);
+	}
+
+	@Override
+	public String getName()
+	{
+		return "opening";
+	}
+
+	/**
+	 * Checks that a character can move to a cell this turn.
+	 */
+	private boolean isPlayable(Character attacker, Point destination, BattleBoard board)
+	{
+		if (destination.equals(attacker.getPosition()))
+		{
+			return true;
+		}
+		return board.getGridBounds().contains(destination) && !board.isOccupied(destination)
+				&& attacker.getDistanceInSquares(destination) <= attacker.getSpeed() / AbstractCharacter.SPEED_TO_MOVEMENT;
+	}
+}
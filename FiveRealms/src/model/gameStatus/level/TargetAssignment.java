@@ -0,0 +1,149 @@
+package model.gameStatus.level;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import model.characters.AbstractCharacter;
+import model.characters.Character;
+
+/**
+ * The targets a side assigns to its characters for a round, so that their damage is focused
+ * on a few opponents instead of spread over the closest ones.
+ *
+ * Every character of the side is given the opponent where its blow is worth the most: the
+ * damage it deals, capped at the health the opponent still has once the characters assigned
+ * before it have struck, weighted four times when it finishes the opponent off, and divided by the turns
+ * it spends closing in first. The characters are assigned in turn order, so the first ones
+ * to strike open the way for the kills of the next ones, and no damage is wasted on an
+ * opponent already planned to die. The damage is estimated from power and defence.
+ *
+ * The plan stays valid for the round while nobody dies: {@link #isValid} tells when the
+ * board changed, and {@link #markPlayed} when a character plays a second time, in a new round.
+ */
+public class TargetAssignment
+{
+	/** Weight of a blow that kills, over the damage it deals */
+	private static final int KILL_WEIGHT = 4;
+
+	private final Map<Character, Character> targets;
+	private final Set<Character> played;
+	private final int allyCount;
+	private final int enemyCount;
+
+	private TargetAssignment(Map<Character, Character> targets, BattleBoard board)
+	{
+		this.targets    = targets;
+		this.played     = Collections.newSetFromMap(new IdentityHashMap<>());
+		this.allyCount  = board.getAllyCount();
+		this.enemyCount = board.getEnemyCount();
+	}
+
+	/**
+	 * Assigns a target to every character of a side.
+	 *
+	 * @param allied true to plan the allies, false to plan the enemies
+	 * @param board the board of the battle
+	 * @return the plan of the round
+	 */
+	public static TargetAssignment plan(boolean allied, BattleBoard board)
+	{
+		List<Character> attackers = new ArrayList<>(allied ? board.getAllies() : board.getEnemies());
+		List<Character> opponents = allied ? board.getEnemies() : board.getAllies();
+		attackers.sort(Comparator.comparingInt(Character::getSpeed).reversed());
+
+		Map<Character, Integer> remainingHealth = new IdentityHashMap<>();
+		for (Character opponent : opponents)
+		{
+			remainingHealth.put(opponent, opponent.getCurrentHealth());
+		}
+
+		Map<Character, Character> targets = new IdentityHashMap<>();
+		for (Character attacker : attackers)
+		{
+			Character best = null;
+			double bestValue = -1;
+			for (Character opponent : opponents)
+			{
+				double value = valueOf(attacker, opponent, remainingHealth.get(opponent));
+				if (value > bestValue || (value == bestValue
+						&& attacker.getDistanceInSquares(opponent) < attacker.getDistanceInSquares(best)))
+				{
+					best = opponent;
+					bestValue = value;
+				}
+			}
+			if (best != null)
+			{
+				targets.put(attacker, best);
+				remainingHealth.merge(best, -damageOf(attacker, best), Integer::sum);
+			}
+		}
+		return new TargetAssignment(targets, board);
+	}
+
+	/**
+	 * Gets the target of a character.
+	 *
+	 * @param attacker the character
+	 * @return its target, or null if it was not on the board when the plan was made
+	 */
+	public Character getTarget(Character attacker)
+	{
+		return this.targets.get(attacker);
+	}
+
+	/**
+	 * Checks that the plan still fits the board: nobody died or joined since it was made.
+	 *
+	 * @param board the board of the battle
+	 * @return true if the plan can be followed
+	 */
+	public boolean isValid(BattleBoard board)
+	{
+		return board.getAllyCount() == this.allyCount && board.getEnemyCount() == this.enemyCount;
+	}
+
+	/**
+	 * Records the turn of a character.
+	 *
+	 * @param attacker the character playing
+	 * @return false if it already played under this plan, so a new round started
+	 */
+	public boolean markPlayed(Character attacker)
+	{
+		return this.played.add(attacker);
+	}
+
+	/**
+	 * Values the blow of an attacker on an opponent with some health left.
+	 */
+	private static double valueOf(Character attacker, Character opponent, int health)
+	{
+		if (health <= 0)
+		{
+			return 0;
+		}
+		int damage = damageOf(attacker, opponent);
+		double value = damage >= health ? (double) health * KILL_WEIGHT : damage;
+		return value / (1 + turnsToReach(attacker, opponent));
+	}
+
+	private static int damageOf(Character attacker, Character opponent)
+	{
+		return Math.max(0, attacker.getPower() - opponent.getDefence());
+	}
+
+	/**
+	 * Counts the turns an attacker spends closing in before it can strike an opponent that stays put.
+	 */
+	private static int turnsToReach(Character attacker, Character opponent)
+	{
+		int gap = Math.max(0, attacker.getDistanceInSquares(opponent) - attacker.getRange());
+		int movement = Math.max(1, attacker.getSpeed() / AbstractCharacter.SPEED_TO_MOVEMENT);
+		return Math.max(0, (gap + movement - 1) / movement - 1);
+	}
+}
@@ -0,0 +1,49 @@
+package model.gameStatus.level;
+
+import java.util.Comparator;
+import model.characters.AbstractCharacter;
+import model.characters.Character;
+import model.point.Point;
+
+/**
+ * An AI that attacks the opponent it values most among the ones it can reach this turn,
+ * and chases the closest opponent when none can be reached.
+ * Subclasses only tell how opponents are ranked.
+ */
+public abstract class TargetPriorityAI implements AIStrategy
+{
+	@Override
+	public AIMove planTurn(Character attacker, BattleBoard board)
+	{
+		int reach = attacker.getSpeed() / AbstractCharacter.SPEED_TO_MOVEMENT + attacker.getRange();
+		Comparator<Character> priority = this.priority();
+
+		AIMove best = null;
+		for (Character candidate : board.opponentsWithin(attacker, reach))
+		{
+			if (best != null && priority.compare(candidate, best.getTarget()) >= 0)
+			{
+				continue;
+			}
+			Point approach = board.planApproach(attacker, candidate);
+			if (candidate.getDistanceInSquares(approach) <= attacker.getRange())
+			{
+				best = new AIMove(approach, candidate);
+			}
+		}
+		if (best != null)
+		{
+			return best;
+		}
+
+		Character closest = board.nearestOpponent(attacker);
+		return closest == null ? null : new AIMove(board.planApproach(attacker, closest), closest);
+	}
+
+	/**
+	 * Orders the opponents from the most to the least wanted target.
+	 *
+	 * @return the order of the targets
+	 */
+	protected abstract Comparator<Character> priority();
+}
@@ -0,0 +1,149 @@
+package model.gameStatus.level;
+
+import java.util.List;
+import model.characters.AbstractCharacter;
+import model.characters.Character;
+import model.point.Point;
+
+/**
+ * The {@link ClosestTargetAI} with an eye on the counterattacks: among the few closest
+ * opponents, the closest one it can attack this turn from a cell where it survives, or else
+ * the closest one, chased up to a cell where it survives without ever backing off.
+ *
+ * A cell is lethal when the counterattack of the target, plus what the opponents can deal
+ * there on their next turn as told by their {@link InfluenceMap}, adds up to the health of
+ * the character. A target killed by the attack neither strikes back nor threatens the cell
+ * any longer. The damage is estimated from power and defence, without the potions and the
+ * gimmicks of the bosses. When every move is lethal the character fights like the ClosestTargetAI,
+ * so a battle never stalls on characters keeping their distance.
+ */
+public class ThreatAwareAI implements AIStrategy
+{
+	/** Number of nearest opponents an AI character considers as targets */
+	private static final int TARGET_CANDIDATES = 3;
+
+	private final AIStrategy reckless = new ClosestTargetAI();
+
+	@Override
+	public AIMove planTurn(Character attacker, BattleBoard board)
+	{
+		List<Character> candidates = board.nearestOpponents(attacker, TARGET_CANDIDATES);
+		if (candidates.isEmpty())
+		{
+			return null;
+		}
+
+		List<Point> reachable = reachableCells(attacker, board);
+		for (Character candidate : candidates)
+		{
+			Point attackCell = safestAttackCell(attacker, candidate, reachable, board);
+			if (attackCell != null)
+			{
+				return new AIMove(attackCell, candidate);
+			}
+		}
+
+		// No attack is safe: close in on the closest opponent as far as it is safe
+		Point chase = safestChaseCell(attacker, candidates.get(0), reachable, board);
+		if (chase == null)
+		{
+			return this.reckless.planTurn(attacker, board);
+		}
+		return new AIMove(chase, candidates.get(0));
+	}
+
+	@Override
+	public String getName()
+	{
+		return "cautious";
+	}
+
+	/**
+	 * Lists the cells a character can move to this turn, its own included.
+	 *
+	 * @param attacker the character moving
+	 * @param board the board of the battle
+	 * @return the free cells within movement range
+	 */
+	static List<Point> reachableCells(Character attacker, BattleBoard board)
+	{
+		List<Point> reachable = board.getGridBounds()
+				.pointsWithin(attacker.getPosition(), attacker.getSpeed() / AbstractCharacter.SPEED_TO_MOVEMENT);
+		reachable.removeIf(point -> !point.equals(attacker.getPosition()) && board.isOccupied(point));
+		return reachable;
+	}
+
+	/**
+	 * Chooses the cell a character attacks a target from: the one where it takes the least
+	 * damage until its next turn, then the closest, if that damage does not kill it.
+	 *
+	 * @param attacker the character attacking
+	 * @param target the opponent attacked
+	 * @param reachable the cells the attacker can move to
+	 * @param board the board of the battle
+	 * @return the cell, or null if the target cannot be attacked this turn without a lethal risk
+	 */
+	static Point safestAttackCell(Character attacker, Character target, List<Point> reachable, BattleBoard board)
+	{
+		Point best = null;
+		int bestRisk = attacker.getCurrentHealth();
+		for (Point point : reachable)
+		{
+			if (target.getDistanceInSquares(point) > attacker.getRange())
+			{
+				continue;
+			}
+			int risk = riskOfAttack(attacker, target, point, board);
+			if (risk < bestRisk || (risk == bestRisk && best != null
+					&& attacker.getDistanceInSquares(point) < attacker.getDistanceInSquares(best)))
+			{
+				best = point;
+				bestRisk = risk;
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * Chooses the cell a character closes in on a target from: the closest to the target
+	 * where it survives until its next turn, never further than where it stands.
+	 *
+	 * @param attacker the character moving
+	 * @param target the opponent chased
+	 * @param reachable the cells the attacker can move to
+	 * @param board the board of the battle
+	 * @return the cell, or null if every cell closing in is lethal
+	 */
+	static Point safestChaseCell(Character attacker, Character target, List<Point> reachable, BattleBoard board)
+	{
+		Point chase = null;
+		for (Point point : reachable)
+		{
+			if (board.threatAt(attacker, point) < attacker.getCurrentHealth()
+					&& target.getDistanceInSquares(point) <= attacker.getDistanceInSquares(target)
+					&& (chase == null || target.getDistanceInSquares(point) < target.getDistanceInSquares(chase)))
+			{
+				chase = point;
+			}
+		}
+		return chase;
+	}
+
+	/**
+	 * Estimates the damage a character takes attacking a target from a cell, until its next turn.
+	 */
+	private static int riskOfAttack(Character attacker, Character target, Point point, BattleBoard board)
+	{
+		int threat = board.threatAt(attacker, point);
+		int targetDamage = Math.max(0, target.getPower() - attacker.getDefence());
+		boolean kills = attacker.getPower() - target.getDefence() >= target.getCurrentHealth();
+		if (kills)
+		{
+			// The target takes its threat to the grave
+			boolean reaches = board.getInfluence(target.isAllied()).reaches(target, point);
+			return reaches ? Math.max(0, threat - targetDamage) : threat;
+		}
+		int counterattack = target.getDistanceInSquares(point) <= target.getRange() ? targetDamage : 0;
+		return threat + counterattack;
+	}
+}
@@ -0,0 +1,24 @@
+package model.gameStatus.level;
+
+import java.util.Comparator;
+import model.characters.Character;
+
+/**
+ * Finishes off opponents: attacks the reachable one with the least health left.
+ */
+public class WeakestTargetAI extends TargetPriorityAI
+{
+	private static final Comparator<Character> PRIORITY = Comparator.comparingInt(Character::getCurrentHealth);
+
+	@Override
+	protected Comparator<Character> priority()
+	{
+		return PRIORITY;
+	}
+
+	@Override
+	public String getName()
+	{
+		return "weakest";
+	}
+}
@@ -0,0 +1,91 @@
+package model.gameStatus.level.search;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import model.characters.Character;
+import model.gameStatus.level.AIMove;
+import model.gameStatus.level.AIStrategy;
+import model.gameStatus.level.BattleBoard;
+
+/**
+ * Plays the end of a battle perfectly with an {@link EndgameSolver}, and everything else with
+ * another strategy. Once the side of a character is proven to win, it plays the quickest win;
+ * while the outcome is unknown, or once the side is proven to lose, the fallback plays.
+ *
+ * A battle the solver gives nothing for is left to the fallback until a character dies,
+ * instead of being searched again on every turn. The battles given up are kept per board
+ * and per side, so a single instance still plays any number of levels at once.
+ */
+public class EndgameAI implements AIStrategy
+{
+	private final EndgameSolver solver;
+	private final AIStrategy fallback;
+
+	/** Characters left on the boards when the solver gave up on their battle, for each side */
+	private final Map<BattleBoard, int[]> givenUp;
+
+	/**
+	 * Creates the strategy with a solver of its own.
+	 *
+	 * @param fallback the strategy of the battles not solved
+	 */
+	public EndgameAI(AIStrategy fallback)
+	{
+		this(new EndgameSolver(), fallback);
+	}
+
+	/**
+	 * Creates the strategy.
+	 *
+	 * @param solver the solver of the endgames
+	 * @param fallback the strategy of the battles not solved
+	 */
+	public EndgameAI(EndgameSolver solver, AIStrategy fallback)
+	{
+		this.solver   = solver;
+		this.fallback = fallback;
+		this.givenUp  = Collections.synchronizedMap(new WeakHashMap<>());
+	}
+
+	@Override
+	public AIMove planTurn(Character attacker, BattleBoard board)
+	{
+		int side = attacker.isAllied() ? 0 : 1;
+		int characters = board.getAllyCount() + board.getEnemyCount();
+		int[] sides = this.givenUp.computeIfAbsent(board, key -> new int[] { -1, -1 });
+		if (sides[side] == characters)
+		{
+			return this.fallback.planTurn(attacker, board);
+		}
+
+		EndgameResult result = this.solver.solve(attacker, board);
+		if (result == null)
+		{
+			return this.fallback.planTurn(attacker, board);
+		}
+		EndgameResult.Outcome win = attacker.isAllied() ? EndgameResult.Outcome.ALLIES_WIN : EndgameResult.Outcome.ENEMIES_WIN;
+		if (result.getOutcome() != win)
+		{
+			sides[side] = characters;
+			return this.fallback.planTurn(attacker, board);
+		}
+		return result.getMove();
+	}
+
+	@Override
+	public String getName()
+	{
+		return "endgame";
+	}
+
+	/**
+	 * Gets the solver, to tell the outcome of a battle.
+	 *
+	 * @return the solver
+	 */
+	public EndgameSolver getSolver()
+	{
+		return this.solver;
+	}
+}
@@ -0,0 +1,83 @@
+package model.gameStatus.level.search;
+
+import model.gameStatus.level.AIMove;
+
+/**
+ * What the {@link EndgameSolver} found for a battle: who wins with perfect play, in how
+ * many turns, and the move that gets there.
+ */
+public class EndgameResult
+{
+	/** Who wins the battle with perfect play */
+	public enum Outcome
+	{
+		ALLIES_WIN,
+		ENEMIES_WIN,
+		/** No side wins within the turns searched */
+		UNKNOWN
+	}
+
+	private final Outcome outcome;
+	private final int turns;
+	private final AIMove move;
+	private final long nodes;
+
+	/**
+	 * Creates a result.
+	 *
+	 * @param outcome who wins
+	 * @param turns the turns until the battle ends, of both sides, or the turns searched if unknown
+	 * @param move the best move of the character whose turn it is
+	 * @param nodes the states searched
+	 */
+	EndgameResult(Outcome outcome, int turns, AIMove move, long nodes)
+	{
+		this.outcome = outcome;
+		this.turns   = turns;
+		this.move    = move;
+		this.nodes   = nodes;
+	}
+
+	public Outcome getOutcome()
+	{
+		return this.outcome;
+	}
+
+	public boolean isSolved()
+	{
+		return this.outcome != Outcome.UNKNOWN;
+	}
+
+	/**
+	 * Gets the turns until the battle ends with perfect play, counting the turns of every character.
+	 *
+	 * @return the turns, or the turns searched if the outcome is unknown
+	 */
+	public int getTurns()
+	{
+		return this.turns;
+	}
+
+	/**
+	 * Gets the move of the character whose turn it is: the quickest win, the longest
+	 * resistance, or the best move found within the turns searched if the outcome is unknown.
+	 *
+	 * @return the move
+	 */
+	public AIMove getMove()
+	{
+		return this.move;
+	}
+
+	public long getNodes()
+	{
+		return this.nodes;
+	}
+
+	@Override
+	public String toString()
+	{
+		return this.outcome == Outcome.UNKNOWN ? "unknown within " + this.turns + " turns"
+				: this.outcome + " in " + this.turns + " turns";
+	}
+}
@@ -0,0 +1,310 @@
+package model.gameStatus.level.search;
+
+import model.characters.Character;
+import model.gameStatus.level.AIMove;
+import model.gameStatus.level.BattleBoard;
+
+/**
+ * Solves the end of a battle, when a few characters are left on each side: who wins with
+ * perfect play, how quickly, and with which moves.
+ *
+ * The solver plays out {@link SearchState}s with alpha-beta, one more turn at a time, until
+ * one side is proven to win whatever the other does. Fights are deterministic once the
+ * random potion drop of a kill is left out, so the result is exact within the moves the
+ * states list. The states already solved are memoized in a {@link TranspositionTable} by
+ * {@link SearchState#getExactHash()}, since the bucketed hash of the lookahead search would
+ * mix up states a few health points apart, which an endgame cannot afford.
+ *
+ * A win is scored from the end of the battle, one point less for every turn before it, so
+ * the winning side plays the quickest win and the losing side the longest resistance.
+ * The search stops at a budget of states, keeping the last depth it completed, so a battle
+ * that does not end within reach gives an unknown outcome instead of a long freeze.
+ *
+ * A battle is only solved once it is down to {@link #MAX_UNITS} characters, since a larger
+ * one rarely ends within the budget. The table is only needed from then on, so it is taken
+ * on the first battle solved: every thread keeps one table, emptied for each solver that takes
+ * it, so the levels played one after the other do not allocate a table each.
+ */
+public class EndgameSolver
+{
+	/** Characters left on each side for a battle to be an endgame */
+	public static final int MAX_UNITS_PER_SIDE = 3;
+
+	/** Characters left on both sides together for a battle to be an endgame */
+	public static final int MAX_UNITS = 4;
+
+	/** Turns searched at most, of both sides */
+	public static final int MAX_TURNS = 40;
+
+	/** States searched at most for a decision, a few milliseconds of a turn */
+	public static final long DEFAULT_NODE_LIMIT = 2_000;
+
+	/** Base 2 logarithm of the entries of the table, 512 KB, far more than the states of a decision */
+	private static final int TABLE_BITS = 15;
+
+	private static final long KEYS_SEED = 0xE9D6A3EL;
+
+	/** The exact hash covers health, so the keys leave it out */
+	private static final ZobristKeys KEYS = new ZobristKeys(2 * MAX_UNITS_PER_SIDE, SearchState.MAX_CELLS, 1, 1, KEYS_SEED);
+
+	/** Table of every thread, created on its first endgame */
+	private static final ThreadLocal<TranspositionTable> threadTable = ThreadLocal.withInitial(() -> new TranspositionTable(TABLE_BITS));
+
+	/** Score of a battle won on this turn, and the least score of a won battle */
+	private static final int WIN_SCORE = 1_000_000;
+	private static final int PROVEN_SCORE = WIN_SCORE - MAX_TURNS - 1;
+
+	private final long nodeLimit;
+	private TranspositionTable table;
+
+	/**
+	 * Creates a solver with the default budget.
+	 */
+	public EndgameSolver()
+	{
+		this(DEFAULT_NODE_LIMIT);
+	}
+
+	/**
+	 * Creates a solver.
+	 *
+	 * @param nodeLimit the states searched at most for a decision
+	 */
+	public EndgameSolver(long nodeLimit)
+	{
+		if (nodeLimit <= 0)
+		{
+			throw new IllegalArgumentException("Invalid node limit: " + nodeLimit);
+		}
+		this.nodeLimit = nodeLimit;
+	}
+
+	/**
+	 * Checks whether a battle is small enough to be solved.
+	 *
+	 * @param board the board of the battle
+	 * @return true if both sides have between one and {@link #MAX_UNITS_PER_SIDE} characters left,
+	 *         and {@link #MAX_UNITS} at most together
+	 */
+	public static boolean isEndgame(BattleBoard board)
+	{
+		return board.getAllyCount() > 0 && board.getAllyCount() <= MAX_UNITS_PER_SIDE
+				&& board.getEnemyCount() > 0 && board.getEnemyCount() <= MAX_UNITS_PER_SIDE
+				&& board.getAllyCount() + board.getEnemyCount() <= MAX_UNITS;
+	}
+
+	/**
+	 * Solves a battle on the turn of a character.
+	 *
+	 * @param mover the character whose turn it is, alive and on the board
+	 * @param board the board of the battle
+	 * @return the result, or null if the battle is not an endgame or its grid is too large
+	 */
+	public EndgameResult solve(Character mover, BattleBoard board)
+	{
+		if (!isEndgame(board) || !SearchState.fits(board, KEYS))
+		{
+			return null;
+		}
+		SearchState state = SearchState.capture(mover, board, KEYS);
+		if (state.isOver())
+		{
+			return null;
+		}
+
+		if (this.table == null)
+		{
+			this.table = threadTable.get();
+			this.table.clear();
+		}
+		this.table.newGeneration();
+		Search search = new Search(state);
+		int score = state.evaluate();
+		int best = state.moves()[0];
+		int turns = 0;
+		for (int depth = 1; depth <= MAX_TURNS; depth++)
+		{
+			int found = search.run(state, depth, -Integer.MAX_VALUE, Integer.MAX_VALUE);
+			if (search.isAborted())
+			{
+				break;
+			}
+			score = found;
+			turns = depth;
+			best = search.rootMove;
+			if (Math.abs(score) >= PROVEN_SCORE)
+			{
+				break;
+			}
+		}
+
+		AIMove move = new AIMove(state.getDestination(best), state.getTarget(best));
+		if (score >= PROVEN_SCORE)
+		{
+			return new EndgameResult(EndgameResult.Outcome.ALLIES_WIN, WIN_SCORE - score, move, search.nodes);
+		}
+		if (score <= -PROVEN_SCORE)
+		{
+			return new EndgameResult(EndgameResult.Outcome.ENEMIES_WIN, WIN_SCORE + score, move, search.nodes);
+		}
+		return new EndgameResult(EndgameResult.Outcome.UNKNOWN, turns, move, search.nodes);
+	}
+
+	/**
+	 * Gets the table of the solved states, to read its statistics. The table is the one of the
+	 * thread that solved the first battle, shared with the other solvers of that thread.
+	 *
+	 * @return the table, null before the first battle solved
+	 */
+	public TranspositionTable getTable()
+	{
+		return this.table;
+	}
+
+	/**
+	 * Moves a score one turn back from the state it was found in: a win one turn further away
+	 * scores one point less.
+	 */
+	private static int fromChild(int score)
+	{
+		if (score >= PROVEN_SCORE)
+		{
+			return score - 1;
+		}
+		return score <= -PROVEN_SCORE ? score + 1 : score;
+	}
+
+	/**
+	 * Moves a bound of the window one turn forward, the inverse of {@link #fromChild}.
+	 */
+	private static int toChild(int bound)
+	{
+		if (bound == Integer.MAX_VALUE || bound == -Integer.MAX_VALUE)
+		{
+			return bound;
+		}
+		if (bound >= PROVEN_SCORE - 1)
+		{
+			return bound + 1;
+		}
+		return bound <= -PROVEN_SCORE + 1 ? bound - 1 : bound;
+	}
+
+	/**
+	 * One decision: the states searched so far against the budget, and the best move of the
+	 * state decided. That state is always searched in full, never cut short by the table, so
+	 * its move is one of its own moves even if the table confuses it with another state.
+	 */
+	private final class Search
+	{
+		private final SearchState root;
+		private int rootMove;
+		private long nodes;
+
+		Search(SearchState root)
+		{
+			this.root = root;
+		}
+
+		boolean isAborted()
+		{
+			return this.nodes > EndgameSolver.this.nodeLimit;
+		}
+
+		/**
+		 * Searches a state, storing the result in the table.
+		 *
+		 * @return the score of the state for the allies, within the window or a bound beyond it
+		 */
+		int run(SearchState state, int depth, int alpha, int beta)
+		{
+			if (state.isOver())
+			{
+				return state.getAllyCount() > 0 ? WIN_SCORE : -WIN_SCORE;
+			}
+			// Every state counts, the last turns searched being most of them
+			if (++this.nodes > EndgameSolver.this.nodeLimit)
+			{
+				return 0;
+			}
+			if (depth == 0)
+			{
+				return state.evaluate();
+			}
+
+			long hash = state.getExactHash();
+			int hashMove = -1;
+			long entry = EndgameSolver.this.table.probe(hash);
+			if (entry != 0)
+			{
+				hashMove = TranspositionTable.move(entry);
+				int score = TranspositionTable.score(entry);
+				// A proven result holds at any depth, the root is searched anyway for its move
+				if (state != this.root && (TranspositionTable.depth(entry) >= depth || Math.abs(score) >= PROVEN_SCORE))
+				{
+					switch (TranspositionTable.bound(entry))
+					{
+						case TranspositionTable.EXACT: return score;
+						case TranspositionTable.LOWER: alpha = Math.max(alpha, score); break;
+						case TranspositionTable.UPPER: beta = Math.min(beta, score); break;
+						default: break;
+					}
+					if (alpha >= beta)
+					{
+						return score;
+					}
+				}
+			}
+
+			int[] moves = state.moves();
+			for (int i = 1; i < moves.length; i++)
+			{
+				if (moves[i] == hashMove)
+				{
+					moves[i] = moves[0];
+					moves[0] = hashMove;
+				}
+			}
+
+			boolean maximizing = state.isAllied(state.getMover());
+			int originalAlpha = alpha;
+			int originalBeta = beta;
+			int best = maximizing ? -Integer.MAX_VALUE : Integer.MAX_VALUE;
+			int bestMove = moves[0];
+			for (int move : moves)
+			{
+				int score = fromChild(this.run(state.play(move), depth - 1, toChild(alpha), toChild(beta)));
+				if (this.isAborted())
+				{
+					return 0;
+				}
+				if (maximizing ? score > best : score < best)
+				{
+					best = score;
+					bestMove = move;
+				}
+				if (maximizing)
+				{
+					alpha = Math.max(alpha, best);
+				}
+				else
+				{
+					beta = Math.min(beta, best);
+				}
+				if (alpha >= beta)
+				{
+					break;
+				}
+			}
+
+			int bound = best <= originalAlpha ? TranspositionTable.UPPER
+					: best >= originalBeta ? TranspositionTable.LOWER : TranspositionTable.EXACT;
+			EndgameSolver.this.table.store(hash, best, depth, bound, bestMove);
+			if (state == this.root)
+			{
+				this.rootMove = bestMove;
+			}
+			return best;
+		}
+	}
+}
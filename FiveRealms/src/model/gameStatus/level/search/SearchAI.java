@@ -0,0 +1,203 @@
+package model.gameStatus.level.search;
+
+import model.characters.Character;
+import model.gameStatus.level.AIMove;
+import model.gameStatus.level.AIStrategy;
+import model.gameStatus.level.BattleBoard;
+import model.gameStatus.level.ClosestTargetAI;
+
+/**
+ * Plays by searching the next turns of the battle: an alpha-beta search over
+ * {@link SearchState}s, the allies maximizing and the enemies minimizing the score of the
+ * state, deepened one turn at a time up to the depth given.
+ *
+ * The same positions come back through different orders of the same moves, in a search and
+ * from one turn to the next, so the results are kept in a {@link TranspositionTable} by
+ * Zobrist hash; health is hashed in buckets, so positions that only differ by a few health
+ * points share their entry. The table is a cache shared by every level the instance plays,
+ * on any number of threads, and its hit rate tells how much the search saves with it.
+ * Battles too large for the states are played by the fallback strategy.
+ */
+public class SearchAI implements AIStrategy
+{
+	/** Turns searched by default */
+	public static final int DEFAULT_DEPTH = 4;
+
+	/** Base 2 logarithm of the entries of the table, 16 MB */
+	private static final int TABLE_BITS = 20;
+
+	/** Units and cells the hashes cover */
+	private static final int SLOTS = SearchState.MAX_UNITS;
+	private static final int CELLS = SearchState.MAX_CELLS;
+
+	/** Health points of a bucket of the hash, and buckets up to the health of the strongest bosses */
+	private static final int HEALTH_BUCKET_WIDTH = 5;
+	private static final int HEALTH_BUCKETS = 128;
+
+	private static final long KEYS_SEED = 0x5EA4C4L;
+
+	/** Score of a won battle, beyond any score of a battle going on */
+	private static final int WIN_SCORE = 1_000_000;
+
+	private final int depth;
+	private final AIStrategy fallback;
+	private final ZobristKeys keys;
+	private final TranspositionTable table;
+
+	/**
+	 * Creates the strategy with the default depth, the ClosestTargetAI playing the battles too large.
+	 */
+	public SearchAI()
+	{
+		this(DEFAULT_DEPTH, new ClosestTargetAI());
+	}
+
+	/**
+	 * Creates the strategy.
+	 *
+	 * @param depth the turns searched, of both sides
+	 * @param fallback the strategy of the battles too large to search
+	 */
+	public SearchAI(int depth, AIStrategy fallback)
+	{
+		if (depth <= 0 || depth > TranspositionTable.MAX_DEPTH)
+		{
+			throw new IllegalArgumentException("Invalid search depth: " + depth);
+		}
+		this.depth    = depth;
+		this.fallback = fallback;
+		this.keys     = new ZobristKeys(SLOTS, CELLS, HEALTH_BUCKETS, HEALTH_BUCKET_WIDTH, KEYS_SEED);
+		this.table    = new TranspositionTable(TABLE_BITS);
+	}
+
+	@Override
+	public AIMove planTurn(Character attacker, BattleBoard board)
+	{
+		if (!SearchState.fits(board, this.keys))
+		{
+			return this.fallback.planTurn(attacker, board);
+		}
+		SearchState state = SearchState.capture(attacker, board, this.keys);
+		if (state.isOver())
+		{
+			return null;
+		}
+
+		this.table.newGeneration();
+		int best = -1;
+		for (int depth = 1; depth <= this.depth; depth++)
+		{
+			this.search(state, depth, -Integer.MAX_VALUE, Integer.MAX_VALUE);
+			// The entry may be another state with the same hash, or one stored by another thread
+			long entry = this.table.probe(state.getHash());
+			if (entry != 0 && state.isMove(TranspositionTable.move(entry)))
+			{
+				best = TranspositionTable.move(entry);
+			}
+		}
+		if (best < 0)
+		{
+			best = state.moves()[0];
+		}
+		return new AIMove(state.getDestination(best), state.getTarget(best));
+	}
+
+	@Override
+	public String getName()
+	{
+		return "search";
+	}
+
+	/**
+	 * Gets the table of the searched positions, to read its statistics.
+	 *
+	 * @return the table
+	 */
+	public TranspositionTable getTable()
+	{
+		return this.table;
+	}
+
+	/**
+	 * Searches a state, storing the result in the table.
+	 *
+	 * @return the score of the state for the allies, within the window or a bound beyond it
+	 */
+	private int search(SearchState state, int depth, int alpha, int beta)
+	{
+		if (state.isOver())
+		{
+			// Quicker wins score higher, later losses lower
+			return state.getAllyCount() > 0 ? WIN_SCORE + depth : -WIN_SCORE - depth;
+		}
+		if (depth == 0)
+		{
+			return state.evaluate();
+		}
+
+		int hashMove = -1;
+		long entry = this.table.probe(state.getHash());
+		if (entry != 0)
+		{
+			hashMove = TranspositionTable.move(entry);
+			if (TranspositionTable.depth(entry) >= depth)
+			{
+				int score = TranspositionTable.score(entry);
+				switch (TranspositionTable.bound(entry))
+				{
+					case TranspositionTable.EXACT: return score;
+					case TranspositionTable.LOWER: alpha = Math.max(alpha, score); break;
+					case TranspositionTable.UPPER: beta = Math.min(beta, score); break;
+					default: break;
+				}
+				if (alpha >= beta)
+				{
+					return score;
+				}
+			}
+		}
+
+		int[] moves = state.moves();
+		// The best move of an earlier search first, for early cutoffs
+		for (int i = 1; i < moves.length; i++)
+		{
+			if (moves[i] == hashMove)
+			{
+				moves[i] = moves[0];
+				moves[0] = hashMove;
+			}
+		}
+
+		boolean maximizing = state.isAllied(state.getMover());
+		int originalAlpha = alpha;
+		int originalBeta = beta;
+		int best = maximizing ? -Integer.MAX_VALUE : Integer.MAX_VALUE;
+		int bestMove = moves[0];
+		for (int move : moves)
+		{
+			int score = this.search(state.play(move), depth - 1, alpha, beta);
+			if (maximizing ? score > best : score < best)
+			{
+				best = score;
+				bestMove = move;
+			}
+			if (maximizing)
+			{
+				alpha = Math.max(alpha, best);
+			}
+			else
+			{
+				beta = Math.min(beta, best);
+			}
+			if (alpha >= beta)
+			{
+				break;
+			}
+		}
+
+		int bound = best <= originalAlpha ? TranspositionTable.UPPER
+				: best >= originalBeta ? TranspositionTable.LOWER : TranspositionTable.EXACT;
+		this.table.store(state.getHash(), best, depth, bound, bestMove);
+		return best;
+	}
+}
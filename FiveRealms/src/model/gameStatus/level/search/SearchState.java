@@ -0,0 +1,820 @@
+package model.gameStatus.level.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import model.characters.AbstractCharacter;
+import model.characters.Character;
+import model.characters.bosses.ArcherBoss;
+import model.characters.bosses.BarbarianBoss;
+import model.characters.bosses.JuggernautBoss;
+import model.characters.bosses.KnightBoss;
+import model.characters.bosses.WizardBoss;
+import model.equipment.potions.Potion;
+import model.equipment.potions.PotionDefence;
+import model.equipment.potions.PotionHealth;
+import model.equipment.potions.PotionPower;
+import model.equipment.potions.PotionSpeed;
+import model.equipment.weapons.Axe;
+import model.equipment.weapons.LongBow;
+import model.equipment.weapons.LongSword;
+import model.equipment.weapons.ShortBow;
+import model.equipment.weapons.ShortSword;
+import model.equipment.weapons.Spear;
+import model.equipment.weapons.Staff;
+import model.equipment.weapons.Wand;
+import model.equipment.weapons.Weapon;
+import model.gameStatus.level.BattleBoard;
+import model.point.Point;
+
+/**
+ * A battle reduced to numbers, for searches that play many turns ahead without touching
+ * the characters. Every living character of the board gets a unit slot, allies first,
+ * holding its cell, statistics, experience and potion; playing a move returns a new state,
+ * so the searched states never share anything that changes.
+ *
+ * The turns follow the levels: every round the living units play from the fastest, and a
+ * unit moves to a free cell within its movement, then fights the target of its move if it
+ * is within range. Fights replay {@link Character#fight} with the same integer truncations,
+ * the potion drunk first, the experience and level ups of a kill and the gimmicks of the
+ * bosses; the potion a kill may drop is random and is left out. The state is captured on
+ * the turn of a character, assuming that the faster characters have played this round
+ * and the slower ones have not, as they would if no speed changed during the round.
+ *
+ * The state keeps its Zobrist hash up to date as moves are played.
+ */
+public final class SearchState
+{
+	/** Largest grid and number of units a move can encode */
+	public static final int MAX_CELLS = 1 << 10;
+	public static final int MAX_UNITS = 1 << 6;
+
+	/** Potion codes, as hashed */
+	private static final int NO_POTION = 0;
+	private static final int HEALTH_POTION = 1;
+	private static final int DEFENCE_POTION = 2;
+	private static final int POWER_POTION = 3;
+	private static final int SPEED_POTION = 4;
+
+	/** Boss gimmicks */
+	private static final int NO_BOSS = 0;
+	private static final int BARBARIAN_BOSS = 1;
+	private static final int ARCHER_BOSS = 2;
+	private static final int KNIGHT_BOSS = 3;
+	private static final int WIZARD_BOSS = 4;
+	private static final int JUGGERNAUT_BOSS = 5;
+
+	/** Weapons told apart by the hash, the code of a weapon is its index plus one */
+	private static final List<Class<? extends Weapon>> WEAPONS = List.of(
+			Axe.class, LongSword.class, ShortBow.class, LongBow.class, Spear.class, ShortSword.class, Staff.class, Wand.class);
+
+	/** Score of a living unit, on top of its health */
+	private static final int UNIT_VALUE = 100;
+
+	// Shared by the states of a search, never changed
+	private final ZobristKeys keys;
+	private final int height;
+	private final int width;
+	private final Character[] characters;
+	private final boolean[] allied;
+	private final int[] boss;
+	private final int[] weaponSpeed;
+	private final int[] weaponPower;
+	private final int[] weaponDefence;
+	private final int[] range;
+
+	// Changed by the moves, copied by every state
+	private final int[] cell;
+	private final int[] health;
+	private final int[] maxHealth;
+	private final int[] speed;
+	private final int[] power;
+	private final int[] defence;
+	private final int[] experience;
+	private final int[] potion;
+	private final double[] potionValue;
+	private final int[] order;
+	private int orderSize;
+	private int turn;
+	private int allies;
+	private int enemies;
+	private long hash;
+
+	private SearchState(ZobristKeys keys, int width, int height, List<Character> units)
+	{
+		int count = units.size();
+		this.keys          = keys;
+		this.width         = width;
+		this.height        = height;
+		this.characters    = units.toArray(new Character[0]);
+		this.allied        = new boolean[count];
+		this.boss          = new int[count];
+		this.weaponSpeed   = new int[count];
+		this.weaponPower   = new int[count];
+		this.weaponDefence = new int[count];
+		this.range         = new int[count];
+		this.cell          = new int[count];
+		this.health        = new int[count];
+		this.maxHealth     = new int[count];
+		this.speed         = new int[count];
+		this.power         = new int[count];
+		this.defence       = new int[count];
+		this.experience    = new int[count];
+		this.potion        = new int[count];
+		this.potionValue   = new double[count];
+		this.order         = new int[count];
+	}
+
+	private SearchState(SearchState state)
+	{
+		this.keys          = state.keys;
+		this.width         = state.width;
+		this.height        = state.height;
+		this.characters    = state.characters;
+		this.allied        = state.allied;
+		this.boss          = state.boss;
+		this.weaponSpeed   = state.weaponSpeed;
+		this.weaponPower   = state.weaponPower;
+		this.weaponDefence = state.weaponDefence;
+		this.range         = state.range;
+		this.cell          = state.cell.clone();
+		this.health        = state.health.clone();
+		this.maxHealth     = state.maxHealth.clone();
+		this.speed         = state.speed.clone();
+		this.power         = state.power.clone();
+		this.defence       = state.defence.clone();
+		this.experience    = state.experience.clone();
+		this.potion        = state.potion.clone();
+		this.potionValue   = state.potionValue.clone();
+		this.order         = state.order.clone();
+		this.orderSize     = state.orderSize;
+		this.turn          = state.turn;
+		this.allies        = state.allies;
+		this.enemies       = state.enemies;
+		this.hash          = state.hash;
+	}
+
+	/**
+	 * Checks whether the battle of a board fits a state hashed with the given keys.
+	 *
+	 * @param board the board of the battle
+	 * @param keys the keys of the hashes
+	 * @return true if the grid and the number of characters are small enough
+	 */
+	public static boolean fits(BattleBoard board, ZobristKeys keys)
+	{
+		int cells = board.getGridBounds().getWidth() * board.getGridBounds().getHeight();
+		int units = board.getAllyCount() + board.getEnemyCount();
+		return cells <= Math.min(MAX_CELLS, keys.getCells()) && units <= Math.min(MAX_UNITS, keys.getSlots());
+	}
+
+	/**
+	 * Captures the battle of a board on the turn of a character.
+	 *
+	 * @param mover the character whose turn it is, on the board
+	 * @param board the board of the battle
+	 * @param keys the keys of the hashes
+	 * @return the state
+	 * @throws IllegalArgumentException if the battle does not fit, see {@link #fits}
+	 */
+	public static SearchState capture(Character mover, BattleBoard board, ZobristKeys keys)
+	{
+		if (!fits(board, keys))
+		{
+			throw new IllegalArgumentException("The battle is too large to search");
+		}
+
+		List<Character> units = new ArrayList<>(board.getAllies());
+		units.addAll(board.getEnemies());
+		SearchState state = new SearchState(keys, board.getGridBounds().getWidth(), board.getGridBounds().getHeight(), units);
+
+		for (int slot = 0; slot < units.size(); slot++)
+		{
+			Character character = units.get(slot);
+			Weapon weapon = character.getWeapon();
+			state.allied[slot]        = character.isAllied();
+			state.boss[slot]          = bossOf(character);
+			state.weaponSpeed[slot]   = weapon.getSpeed();
+			state.weaponPower[slot]   = weapon.getPower();
+			state.weaponDefence[slot] = weapon.getDefence();
+			state.range[slot]         = weapon.getRange();
+			state.cell[slot]          = character.getPosition().getX() * state.height + character.getPosition().getY();
+			state.health[slot]        = character.getCurrentHealth();
+			state.maxHealth[slot]     = character.getMaxHealth();
+			state.speed[slot]         = character.getSpeed() - weapon.getSpeed();
+			state.power[slot]         = character.getPower() - weapon.getPower();
+			state.defence[slot]       = character.getDefence() - weapon.getDefence();
+			state.experience[slot]    = character.getExperience();
+			state.potion[slot]        = potionOf(character.getPotion());
+			state.potionValue[slot]   = character.getPotion() == null ? 0 : character.getPotion().getPotionValue();
+
+			state.hash ^= keys.cell(slot, state.cell[slot]) ^ keys.health(slot, state.health[slot])
+					^ keys.potion(slot, state.potion[slot]) ^ keys.weapon(slot, WEAPONS.indexOf(weapon.getClass()) + 1);
+			if (state.allied[slot])
+			{
+				state.allies++;
+			}
+			else
+			{
+				state.enemies++;
+			}
+		}
+
+		state.sortTurns();
+		state.turn = Math.max(0, indexOf(state.order, state.orderSize, units.indexOf(mover)));
+		state.hash ^= keys.turn(state.turn, state.getMover());
+		return state;
+	}
+
+	public long getHash()
+	{
+		return this.hash;
+	}
+
+	/**
+	 * Gets a hash of the whole state: the Zobrist hash mixed with the exact health and the
+	 * statistics it leaves out, which potions, level ups and the gimmicks of the bosses
+	 * change, and with the units still to play this round, so that states only share it if
+	 * they play the same from now on.
+	 *
+	 * @return the hash, computed on every call
+	 */
+	public long getExactHash()
+	{
+		long exact = this.hash;
+		for (int slot = 0; slot < this.cell.length; slot++)
+		{
+			if (this.cell[slot] >= 0)
+			{
+				long stats = this.health[slot];
+				stats = stats * 31 + this.maxHealth[slot];
+				stats = stats * 31 + this.power[slot];
+				stats = stats * 31 + this.defence[slot];
+				stats = stats * 31 + this.speed[slot];
+				stats = stats * 31 + this.experience[slot];
+				exact = (exact ^ stats) * 0x9E3779B97F4A7C15L;
+				exact ^= exact >>> 29;
+			}
+		}
+		for (int i = this.turn; i < this.orderSize; i++)
+		{
+			if (this.cell[this.order[i]] >= 0)
+			{
+				exact = (exact ^ (this.order[i] + 1)) * 0x9E3779B97F4A7C15L;
+				exact ^= exact >>> 29;
+			}
+		}
+		return exact;
+	}
+
+	/**
+	 * Gets the slot of the unit whose turn it is.
+	 *
+	 * @return the slot
+	 */
+	public int getMover()
+	{
+		return this.order[this.turn];
+	}
+
+	public boolean isAllied(int slot)
+	{
+		return this.allied[slot];
+	}
+
+	public boolean isAlive(int slot)
+	{
+		return this.cell[slot] >= 0;
+	}
+
+	public int getHealth(int slot)
+	{
+		return this.health[slot];
+	}
+
+	public int getAllyCount()
+	{
+		return this.allies;
+	}
+
+	public int getEnemyCount()
+	{
+		return this.enemies;
+	}
+
+	public boolean isOver()
+	{
+		return this.allies == 0 || this.enemies == 0;
+	}
+
+	/**
+	 * Scores the state for the allies: the health of every living unit, plus a fixed value
+	 * for every one, the enemies counting against.
+	 *
+	 * @return the score, positive when the allies are ahead
+	 */
+	public int evaluate()
+	{
+		int score = 0;
+		for (int slot = 0; slot < this.cell.length; slot++)
+		{
+			if (this.cell[slot] >= 0)
+			{
+				score += this.allied[slot] ? UNIT_VALUE + this.health[slot] : -UNIT_VALUE - this.health[slot];
+			}
+		}
+		return score;
+	}
+
+	/**
+	 * Lists the moves worth searching for the unit whose turn it is: for every opponent it can
+	 * attack, the reachable cell it attacks from, out of the reach of the counterattack if
+	 * possible and else the closest; the cell closest to the nearest opponent, to chase it;
+	 * and the cell the fewest opponents can reach, to hold back.
+	 *
+	 * @return the moves, encoded with {@link #encode}
+	 */
+	public int[] moves()
+	{
+		int mover = this.getMover();
+		int from = this.cell[mover];
+		int movement = this.movement(mover);
+
+		int nearest = -1;
+		for (int target = 0; target < this.cell.length; target++)
+		{
+			if (this.cell[target] >= 0 && this.allied[target] != this.allied[mover]
+					&& (nearest < 0 || this.distance(from, this.cell[target]) < this.distance(from, this.cell[nearest])))
+			{
+				nearest = target;
+			}
+		}
+		if (nearest < 0)
+		{
+			return new int[0];
+		}
+
+		// One pass over the free cells within movement, the current one included
+		int[] attackCell = new int[this.cell.length];
+		int[] attackOrder = new int[this.cell.length];
+		Arrays.fill(attackCell, -1);
+		int chase = from;
+		int hold = from;
+		int holdThreats = this.threats(mover, hold);
+		int fromX = from / this.height;
+		int fromY = from % this.height;
+		for (int x = Math.max(0, fromX - movement); x <= Math.min(this.width - 1, fromX + movement); x++)
+		{
+			int span = movement - Math.abs(x - fromX);
+			for (int y = Math.max(0, fromY - span); y <= Math.min(this.height - 1, fromY + span); y++)
+			{
+				int candidate = x * this.height + y;
+				if (candidate != from && this.occupant(candidate) >= 0)
+				{
+					continue;
+				}
+				for (int target = 0; target < this.cell.length; target++)
+				{
+					if (this.cell[target] >= 0 && this.allied[target] != this.allied[mover]
+							&& this.distance(candidate, this.cell[target]) <= this.range[mover])
+					{
+						int order = this.attackCellOrder(mover, target, candidate);
+						if (attackCell[target] < 0 || order < attackOrder[target])
+						{
+							attackCell[target] = candidate;
+							attackOrder[target] = order;
+						}
+					}
+				}
+				if (this.distance(candidate, this.cell[nearest]) < this.distance(chase, this.cell[nearest]))
+				{
+					chase = candidate;
+				}
+				int threats = this.threats(mover, candidate);
+				if (threats < holdThreats)
+				{
+					hold = candidate;
+					holdThreats = threats;
+				}
+			}
+		}
+
+		int[] moves = new int[this.cell.length + 2];
+		int count = 0;
+		for (int target = 0; target < this.cell.length; target++)
+		{
+			if (attackCell[target] >= 0)
+			{
+				moves[count++] = encode(attackCell[target], target);
+			}
+		}
+		count = addMove(moves, count, encode(chase, nearest));
+		count = addMove(moves, count, encode(hold, nearest));
+		return Arrays.copyOf(moves, count);
+	}
+
+	/**
+	 * Checks that a move is one of the {@link #moves} of the unit whose turn it is, like the
+	 * move a table of searched states gives back for a state it may have confused with another.
+	 *
+	 * @param move the move, encoded with {@link #encode}
+	 * @return true if the unit can play it
+	 */
+	public boolean isMove(int move)
+	{
+		int[] moves = this.moves();
+		return move >= 0 && indexOf(moves, moves.length, move) >= 0;
+	}
+
+	/**
+	 * Plays a move of the unit whose turn it is, then passes the turn.
+	 *
+	 * @param move the move, encoded with {@link #encode}
+	 * @return the state after the move
+	 */
+	public SearchState play(int move)
+	{
+		SearchState next = new SearchState(this);
+		int mover = this.getMover();
+		int destination = destinationOf(move);
+		int target = targetOf(move);
+
+		next.moveUnit(mover, destination);
+		if (this.boss[mover] == KNIGHT_BOSS)
+		{
+			next.heal(mover, KnightBoss.HEALING_PERCENTAGE);
+		}
+		if (next.cell[target] >= 0 && this.allied[target] != this.allied[mover]
+				&& next.distance(destination, next.cell[target]) <= this.range[mover])
+		{
+			next.fight(mover, target);
+		}
+		next.passTurn();
+		return next;
+	}
+
+	/**
+	 * Encodes a move.
+	 *
+	 * @param destination the cell the unit moves to, x * height + y
+	 * @param target the slot of the opponent it fights if within range
+	 * @return the move, 16 bits
+	 */
+	public static int encode(int destination, int target)
+	{
+		return destination << 6 | target;
+	}
+
+	public static int destinationOf(int move)
+	{
+		return move >>> 6;
+	}
+
+	public static int targetOf(int move)
+	{
+		return move & (MAX_UNITS - 1);
+	}
+
+	/**
+	 * Gets the cell of a move on the grid.
+	 *
+	 * @param move the move
+	 * @return the destination
+	 */
+	public Point getDestination(int move)
+	{
+		return new Point(destinationOf(move) / this.height, destinationOf(move) % this.height);
+	}
+
+	/**
+	 * Gets the character a move fights.
+	 *
+	 * @param move the move
+	 * @return the target, as captured
+	 */
+	public Character getTarget(int move)
+	{
+		return this.characters[targetOf(move)];
+	}
+
+	/**
+	 * Replays Character.fight, with the gimmicks of the bosses and without the potion drop.
+	 */
+	private void fight(int attacker, int target)
+	{
+		if (this.potion[attacker] != NO_POTION
+				&& !(this.potion[attacker] == HEALTH_POTION && this.health[attacker] == this.maxHealth[attacker]))
+		{
+			this.usePotion(attacker);
+		}
+
+		this.reduceHealth(target, this.power(attacker) - this.defence(target));
+		if (this.health[target] > 0 && this.distance(this.cell[target], this.cell[attacker]) <= this.range[target])
+		{
+			this.reduceHealth(attacker, this.power(target) - this.defence(attacker));
+		}
+
+		boolean targetKilled = this.health[target] <= 0;
+		if (targetKilled)
+		{
+			this.gainExperience(attacker, AbstractCharacter.EXP_LEVELUP_THRESHOLD / 2);
+		}
+		boolean attackerKilled = this.health[attacker] <= 0;
+		if (attackerKilled)
+		{
+			this.gainExperience(target, AbstractCharacter.EXP_LEVELUP_THRESHOLD / 2);
+		}
+
+		if (this.boss[attacker] == ARCHER_BOSS && this.health[target] > 0)
+		{
+			this.reduceHealth(target, (int) Math.round(ArcherBoss.SOULBURN_PERCENTAGE * this.health[target]));
+		}
+		if (this.boss[attacker] == KNIGHT_BOSS)
+		{
+			this.heal(attacker, KnightBoss.HEALING_PERCENTAGE);
+		}
+
+		if (targetKilled)
+		{
+			this.kill(target);
+		}
+		if (attackerKilled)
+		{
+			this.kill(attacker);
+		}
+	}
+
+	/**
+	 * Replays reduceCurrentHealth with the gimmicks of the bosses.
+	 */
+	private void reduceHealth(int slot, int value)
+	{
+		if (this.boss[slot] == WIZARD_BOSS)
+		{
+			value /= 2;
+		}
+		if (value >= 0)
+		{
+			this.setHealth(slot, this.health[slot] - value);
+		}
+		if (this.boss[slot] == BARBARIAN_BOSS)
+		{
+			this.power[slot] = grow(this.power[slot], BarbarianBoss.STAT_INCREASE_PERCENTAGE);
+		}
+		else if (this.boss[slot] == JUGGERNAUT_BOSS)
+		{
+			this.defence[slot] = grow(this.defence[slot], -JuggernautBoss.DEFENCE_DECREASE_PERCENTAGE);
+			this.speed[slot]   = grow(this.speed[slot], JuggernautBoss.SPEED_INCREASE_PERCENTAGE);
+		}
+	}
+
+	/**
+	 * Replays increaseCurrentHealth.
+	 */
+	private void heal(int slot, double percentage)
+	{
+		if (percentage >= 0)
+		{
+			this.setHealth(slot, Math.min(this.maxHealth[slot], (int) (this.health[slot] + this.maxHealth[slot] * percentage)));
+		}
+	}
+
+	private void usePotion(int slot)
+	{
+		double value = this.potionValue[slot];
+		switch (this.potion[slot])
+		{
+			case HEALTH_POTION:  this.heal(slot, value); break;
+			case DEFENCE_POTION: this.defence[slot] = grow(this.defence[slot], value); break;
+			case POWER_POTION:   this.power[slot] = grow(this.power[slot], value); break;
+			case SPEED_POTION:   this.speed[slot] = grow(this.speed[slot], value); break;
+			default: break;
+		}
+		this.hash ^= this.keys.potion(slot, this.potion[slot]) ^ this.keys.potion(slot, NO_POTION);
+		this.potion[slot]      = NO_POTION;
+		this.potionValue[slot] = 0;
+	}
+
+	/**
+	 * Replays gainExperience and the level ups, which grow every statistic and fully heal.
+	 */
+	private void gainExperience(int slot, int value)
+	{
+		this.experience[slot] += value;
+		while (this.experience[slot] >= AbstractCharacter.EXP_LEVELUP_THRESHOLD)
+		{
+			this.maxHealth[slot] = grow(this.maxHealth[slot], AbstractCharacter.LEVELUP_STAT_INCREASE);
+			this.power[slot]     = grow(this.power[slot], AbstractCharacter.LEVELUP_STAT_INCREASE);
+			this.defence[slot]   = grow(this.defence[slot], AbstractCharacter.LEVELUP_STAT_INCREASE);
+			this.speed[slot]     = grow(this.speed[slot], AbstractCharacter.LEVELUP_STAT_INCREASE);
+			this.setHealth(slot, this.maxHealth[slot]);
+			this.experience[slot] -= AbstractCharacter.EXP_LEVELUP_THRESHOLD;
+		}
+	}
+
+	private void moveUnit(int slot, int destination)
+	{
+		this.hash ^= this.keys.cell(slot, this.cell[slot]) ^ this.keys.cell(slot, destination);
+		this.cell[slot] = destination;
+	}
+
+	private void setHealth(int slot, int value)
+	{
+		this.hash ^= this.keys.health(slot, this.health[slot]) ^ this.keys.health(slot, value);
+		this.health[slot] = value;
+	}
+
+	/**
+	 * Removes a dead unit from the grid, its hash keys replaced by the key of its death.
+	 */
+	private void kill(int slot)
+	{
+		this.hash ^= this.keys.cell(slot, this.cell[slot]) ^ this.keys.health(slot, this.health[slot]) ^ this.keys.dead(slot);
+		this.cell[slot] = -1;
+		if (this.allied[slot])
+		{
+			this.allies--;
+		}
+		else
+		{
+			this.enemies--;
+		}
+	}
+
+	/**
+	 * Passes the turn to the next living unit of the round, or starts a new round.
+	 */
+	private void passTurn()
+	{
+		this.hash ^= this.keys.turn(this.turn, this.getMover());
+		do
+		{
+			this.turn++;
+		}
+		while (this.turn < this.orderSize && this.cell[this.order[this.turn]] < 0);
+
+		if (this.turn >= this.orderSize)
+		{
+			this.sortTurns();
+			this.turn = 0;
+		}
+		this.hash ^= this.keys.turn(this.turn, this.getMover());
+	}
+
+	/**
+	 * Orders the living units from the fastest, allies first on a tie like the levels.
+	 */
+	private void sortTurns()
+	{
+		this.orderSize = 0;
+		for (int slot = 0; slot < this.cell.length; slot++)
+		{
+			if (this.cell[slot] < 0)
+			{
+				continue;
+			}
+			int position = this.orderSize++;
+			while (position > 0 && this.speed(this.order[position - 1]) < this.speed(slot))
+			{
+				this.order[position] = this.order[position - 1];
+				position--;
+			}
+			this.order[position] = slot;
+		}
+	}
+
+	/**
+	 * Orders the cells an attack can start from: out of reach of the counterattack first,
+	 * then the closest to the attacker.
+	 */
+	private int attackCellOrder(int attacker, int target, int candidate)
+	{
+		int countered = this.distance(candidate, this.cell[target]) <= this.range[target] ? MAX_CELLS : 0;
+		return countered + this.distance(this.cell[attacker], candidate);
+	}
+
+	/**
+	 * Counts the opponents of a unit that could move and attack a cell on their turn.
+	 */
+	private int threats(int slot, int candidate)
+	{
+		int threats = 0;
+		for (int other = 0; other < this.cell.length; other++)
+		{
+			if (this.cell[other] >= 0 && this.allied[other] != this.allied[slot]
+					&& this.distance(this.cell[other], candidate) <= this.movement(other) + this.range[other])
+			{
+				threats++;
+			}
+		}
+		return threats;
+	}
+
+	private int occupant(int candidate)
+	{
+		for (int slot = 0; slot < this.cell.length; slot++)
+		{
+			if (this.cell[slot] == candidate)
+			{
+				return slot;
+			}
+		}
+		return -1;
+	}
+
+	private int distance(int from, int to)
+	{
+		return Math.abs(from / this.height - to / this.height) + Math.abs(from % this.height - to % this.height);
+	}
+
+	private int speed(int slot)
+	{
+		return this.speed[slot] + this.weaponSpeed[slot];
+	}
+
+	private int power(int slot)
+	{
+		return this.power[slot] + this.weaponPower[slot];
+	}
+
+	private int defence(int slot)
+	{
+		return this.defence[slot] + this.weaponDefence[slot];
+	}
+
+	private int movement(int slot)
+	{
+		return this.speed(slot) / AbstractCharacter.SPEED_TO_MOVEMENT;
+	}
+
+	/**
+	 * Increases a statistic like the increase methods of the characters.
+	 */
+	private static int grow(int stat, double percentage)
+	{
+		return (int) (stat + stat * percentage);
+	}
+
+	private static int addMove(int[] moves, int count, int move)
+	{
+		for (int i = 0; i < count; i++)
+		{
+			if (moves[i] == move)
+			{
+				return count;
+			}
+		}
+		moves[count] = move;
+		return count + 1;
+	}
+
+	private static int indexOf(int[] values, int size, int value)
+	{
+		for (int i = 0; i < size; i++)
+		{
+			if (values[i] == value)
+			{
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private static int bossOf(Character character)
+	{
+		if (character instanceof BarbarianBoss)
+		{
+			return BARBARIAN_BOSS;
+		}
+		if (character instanceof ArcherBoss)
+		{
+			return ARCHER_BOSS;
+		}
+		if (character instanceof KnightBoss)
+		{
+			return KNIGHT_BOSS;
+		}
+		if (character instanceof WizardBoss)
+		{
+			return WIZARD_BOSS;
+		}
+		return character instanceof JuggernautBoss ? JUGGERNAUT_BOSS : NO_BOSS;
+	}
+
+	private static int potionOf(Potion potion)
+	{
+		if (potion instanceof PotionHealth)
+		{
+			return HEALTH_POTION;
+		}
+		if (potion instanceof PotionDefence)
+		{
+			return DEFENCE_POTION;
+		}
+		if (potion instanceof PotionPower)
+		{
+			return POWER_POTION;
+		}
+		return potion instanceof PotionSpeed ? SPEED_POTION : NO_POTION;
+	}
+}
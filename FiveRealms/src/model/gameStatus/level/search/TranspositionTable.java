@@ -0,0 +1,208 @@
+package model.gameStatus.level.search;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed-size cache of searched positions, by Zobrist hash, shared by any number of search
+ * threads without locks.
+ *
+ * Every entry is two longs: the data (score, best move, depth, bound and generation packed
+ * together) and the hash XOR the data. Threads write both words without synchronization, so
+ * an entry can be torn by two writers; a reader only accepts an entry whose words XOR back
+ * to the hash it looks for, so a torn entry is a miss and never a wrong hit. Stale reads are
+ * misses too, which is all a cache can lose.
+ *
+ * The entries are paired in buckets: the first entry of a bucket keeps the deepest search of
+ * the current generation, the second one always takes what the first refuses. The policy
+ * lives in the table, so every thread replaces entries the same way, and a new generation
+ * (a new decision) lets the deep entries of the old ones be replaced.
+ */
+public class TranspositionTable
+{
+	/** The score is exact */
+	public static final int EXACT = 1;
+
+	/** The score is a lower bound, the search failed high */
+	public static final int LOWER = 2;
+
+	/** The score is an upper bound, the search failed low */
+	public static final int UPPER = 3;
+
+	/** Largest depth and move an entry holds */
+	public static final int MAX_DEPTH = 0xFF;
+	public static final int MAX_MOVE = 0xFFFF;
+
+	private static final int GENERATIONS = 64;
+
+	private final long[] hashes;
+	private final long[] data;
+	private final int bucketMask;
+	private final AtomicInteger generation;
+
+	private final LongAdder probes;
+	private final LongAdder hits;
+	private final LongAdder stores;
+
+	/**
+	 * Creates an empty table.
+	 *
+	 * @param bits the base 2 logarithm of the number of entries
+	 */
+	public TranspositionTable(int bits)
+	{
+		if (bits < 1 || bits > 28)
+		{
+			throw new IllegalArgumentException("Invalid table size: 2^" + bits + " entries");
+		}
+		this.hashes     = new long[1 << bits];
+		this.data       = new long[1 << bits];
+		this.bucketMask = (1 << (bits - 1)) - 1;
+		this.generation = new AtomicInteger();
+		this.probes     = new LongAdder();
+		this.hits       = new LongAdder();
+		this.stores     = new LongAdder();
+	}
+
+	/**
+	 * Starts a new generation: the entries stored so far can be replaced by shallower ones.
+	 */
+	public void newGeneration()
+	{
+		this.generation.incrementAndGet();
+	}
+
+	/**
+	 * Empties the table, so it can be used again without allocating another one. The
+	 * statistics are kept.
+	 */
+	public void clear()
+	{
+		Arrays.fill(this.hashes, 0);
+		Arrays.fill(this.data, 0);
+	}
+
+	/**
+	 * Looks up a position.
+	 *
+	 * @param hash the hash of the position
+	 * @return the packed data of the entry, 0 if the position is not in the table
+	 */
+	public long probe(long hash)
+	{
+		this.probes.increment();
+		int index = this.indexOf(hash);
+		for (int i = index; i < index + 2; i++)
+		{
+			long entry = this.data[i];
+			if (entry != 0 && (this.hashes[i] ^ entry) == hash)
+			{
+				this.hits.increment();
+				return entry;
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * Stores the result of a search.
+	 *
+	 * @param hash the hash of the position
+	 * @param score the score found
+	 * @param depth the depth searched, capped at {@link #MAX_DEPTH}
+	 * @param bound {@link #EXACT}, {@link #LOWER} or {@link #UPPER}
+	 * @param move the best move found, 0 to {@link #MAX_MOVE}
+	 */
+	public void store(long hash, int score, int depth, int bound, int move)
+	{
+		if (bound < EXACT || bound > UPPER || move < 0 || move > MAX_MOVE)
+		{
+			throw new IllegalArgumentException("Invalid entry: bound " + bound + ", move " + move);
+		}
+		int currentGeneration = this.generation.get() % GENERATIONS;
+		long entry = (score & 0xFFFFFFFFL)
+				| (long) move << 32
+				| (long) Math.min(depth, MAX_DEPTH) << 48
+				| (long) bound << 56
+				| (long) currentGeneration << 58;
+
+		int index = this.indexOf(hash);
+		long deep = this.data[index];
+		boolean sameHash = (this.hashes[index] ^ deep) == hash;
+		if (deep == 0 || sameHash || generation(deep) != currentGeneration || depth >= depth(deep))
+		{
+			this.write(index, hash, entry);
+		}
+		else
+		{
+			this.write(index + 1, hash, entry);
+		}
+		this.stores.increment();
+	}
+
+	public static int score(long entry)
+	{
+		return (int) entry;
+	}
+
+	public static int move(long entry)
+	{
+		return (int) (entry >>> 32) & MAX_MOVE;
+	}
+
+	public static int depth(long entry)
+	{
+		return (int) (entry >>> 48) & MAX_DEPTH;
+	}
+
+	public static int bound(long entry)
+	{
+		return (int) (entry >>> 56) & 0x3;
+	}
+
+	public long getProbes()
+	{
+		return this.probes.sum();
+	}
+
+	public long getHits()
+	{
+		return this.hits.sum();
+	}
+
+	public long getStores()
+	{
+		return this.stores.sum();
+	}
+
+	/**
+	 * Gets the share of the lookups that found their position.
+	 *
+	 * @return the hit rate, NaN before the first lookup
+	 */
+	public double getHitRate()
+	{
+		long probed = this.probes.sum();
+		return probed == 0 ? Double.NaN : this.hits.sum() / (double) probed;
+	}
+
+	private static int generation(long entry)
+	{
+		return (int) (entry >>> 58);
+	}
+
+	private void write(int index, long hash, long entry)
+	{
+		this.data[index]   = entry;
+		this.hashes[index] = hash ^ entry;
+	}
+
+	/**
+	 * Gets the first entry of the bucket of a hash, with its high bits folded in.
+	 */
+	private int indexOf(long hash)
+	{
+		return (int) ((hash ^ hash >>> 32) & this.bucketMask) << 1;
+	}
+}
@@ -0,0 +1,158 @@
+package model.gameStatus.level.search;
+
+import java.util.SplittableRandom;
+
+/**
+ * Random keys of the Zobrist hashing of {@link SearchState}s.
+ *
+ * The hash of a state is the XOR of one key for every feature of the state: the cell of
+ * every unit slot (or its death), its health rounded down to a bucket, the potion it
+ * carries, its weapon, and the turn being played: its index in the round and the unit
+ * playing it, since the order of the round changes with speed and deaths. A move changes a few
+ * features, so the hash is updated with a few XORs instead of being computed again, and
+ * states reached through different orders of the same moves get the same hash.
+ *
+ * The keys are drawn from a fixed seed, so the hashes of a state are the same in every run.
+ */
+public class ZobristKeys
+{
+	/** Potions a unit can carry, none included */
+	public static final int POTION_CODES = 5;
+
+	/** Weapons told apart, the unknown ones included */
+	public static final int WEAPON_CODES = 16;
+
+	private final int slots;
+	private final int cells;
+	private final int healthBuckets;
+	private final int bucketWidth;
+
+	private final long[] cellKeys;
+	private final long[] deadKeys;
+	private final long[] healthKeys;
+	private final long[] potionKeys;
+	private final long[] weaponKeys;
+	private final long[] turnKeys;
+
+	/**
+	 * Draws the keys.
+	 *
+	 * @param slots the number of units a state can hold
+	 * @param cells the number of cells of the largest grid hashed
+	 * @param healthBuckets the number of health buckets, the last one holding all the health beyond
+	 * @param bucketWidth the health points of a bucket, 1 to hash the exact health
+	 * @param seed the seed of the keys
+	 */
+	public ZobristKeys(int slots, int cells, int healthBuckets, int bucketWidth, long seed)
+	{
+		if (slots <= 0 || cells <= 0 || healthBuckets <= 0 || bucketWidth <= 0)
+		{
+			throw new IllegalArgumentException("Invalid keys: " + slots + " slots, " + cells + " cells, "
+					+ healthBuckets + " buckets of " + bucketWidth);
+		}
+		this.slots         = slots;
+		this.cells         = cells;
+		this.healthBuckets = healthBuckets;
+		this.bucketWidth   = bucketWidth;
+
+		SplittableRandom random = new SplittableRandom(seed);
+		this.cellKeys   = draw(random, slots * cells);
+		this.deadKeys   = draw(random, slots);
+		this.healthKeys = draw(random, slots * healthBuckets);
+		this.potionKeys = draw(random, slots * POTION_CODES);
+		this.weaponKeys = draw(random, slots * WEAPON_CODES);
+		this.turnKeys   = draw(random, slots * slots);
+	}
+
+	public int getSlots()
+	{
+		return this.slots;
+	}
+
+	public int getCells()
+	{
+		return this.cells;
+	}
+
+	/**
+	 * Gets the key of a unit standing on a cell.
+	 *
+	 * @param slot the slot of the unit
+	 * @param cell the cell, x * height + y
+	 * @return the key
+	 */
+	public long cell(int slot, int cell)
+	{
+		return this.cellKeys[slot * this.cells + cell];
+	}
+
+	/**
+	 * Gets the key of a dead unit, which replaces the keys of its cell and health.
+	 *
+	 * @param slot the slot of the unit
+	 * @return the key
+	 */
+	public long dead(int slot)
+	{
+		return this.deadKeys[slot];
+	}
+
+	/**
+	 * Gets the key of the health of a unit.
+	 *
+	 * @param slot the slot of the unit
+	 * @param health the health, rounded down to its bucket
+	 * @return the key
+	 */
+	public long health(int slot, int health)
+	{
+		int bucket = Math.min(this.healthBuckets - 1, Math.max(0, health) / this.bucketWidth);
+		return this.healthKeys[slot * this.healthBuckets + bucket];
+	}
+
+	/**
+	 * Gets the key of the potion a unit carries.
+	 *
+	 * @param slot the slot of the unit
+	 * @param potion the code of the potion, 0 for none
+	 * @return the key
+	 */
+	public long potion(int slot, int potion)
+	{
+		return this.potionKeys[slot * POTION_CODES + potion];
+	}
+
+	/**
+	 * Gets the key of the weapon of a unit.
+	 *
+	 * @param slot the slot of the unit
+	 * @param weapon the code of the weapon, 0 if unknown
+	 * @return the key
+	 */
+	public long weapon(int slot, int weapon)
+	{
+		return this.weaponKeys[slot * WEAPON_CODES + weapon];
+	}
+
+	/**
+	 * Gets the key of the turn being played.
+	 *
+	 * @param turn the index of the turn in the round
+	 * @param slot the unit slot whose turn it is
+	 * @return the key
+	 */
+	public long turn(int turn, int slot)
+	{
+		return this.turnKeys[turn * this.slots + slot];
+	}
+
+	private static long[] draw(SplittableRandom random, int count)
+	{
+		long[] keys = new long[count];
+		for (int i = 0; i < count; i++)
+		{
+			keys[i] = random.nextLong();
+		}
+		return keys;
+	}
+}
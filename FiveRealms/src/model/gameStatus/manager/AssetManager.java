@@ -0,0 +1,499 @@
+package model.gameStatus.manager;
+
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.imageio.ImageIO;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.UnsupportedAudioFileException;
+import javax.swing.ImageIcon;
+
+/**
+ * Central cache for decoded images and audio tracks.
+ * At startup the whole images/ and music/ trees are decoded on a bounded thread pool
+ * while the main menu is visible, so that opening a level or a menu later only hits memory.
+ * Assets that are requested before the preload reaches them are decoded synchronously and cached.
+ * Cache keys are case-insensitive, so paths written as "music/win.wav" find "music/Win.wav".
+ */
+public final class AssetManager
+{
+    /** Root directory of the image assets */
+    public static final String IMAGES_DIRECTORY = "images";
+
+    /** Root directory of the audio assets */
+    public static final String MUSIC_DIRECTORY = "music";
+
+    /** Upper bound on the number of decoding threads */
+    private static final int MAX_PRELOAD_THREADS = 4;
+
+    /** Prints the preload time when the game is run with -Dfiverealms.timing=true */
+    private static final boolean LOG_TIMINGS = Boolean.getBoolean("fiverealms.timing");
+
+    /** Singleton instance shared by model and view */
+    private static final AssetManager INSTANCE = new AssetManager();
+
+    /**
+     * Listener notified every time an asset has been decoded by the preloader.
+     */
+    public interface PreloadListener
+    {
+        void onProgress(int loaded, int total);
+    }
+
+    /**
+     * Fully decoded PCM data of an audio track, ready to be handed to a Clip.
+     */
+    public static final class AudioData
+    {
+        private final AudioFormat format;
+        private final byte[] data;
+
+        private AudioData(AudioFormat format, byte[] data)
+        {
+            this.format = format;
+            this.data   = data;
+        }
+
+        public AudioFormat getFormat()
+        {
+            return this.format;
+        }
+
+        public byte[] getData()
+        {
+            return this.data;
+        }
+    }
+
+    /** Decoded images at their original size */
+    private final Map<String, Image> images;
+
+    /** Decoded images already scaled to a given size, keyed by path and size */
+    private final Map<String, Image> scaledImages;
+
+    /** Decoded audio tracks */
+    private final Map<String, AudioData> tracks;
+
+    /** Number of assets decoded by the preloader */
+    private final AtomicInteger loadedCount;
+
+    /** Number of assets found by the preloader, 0 until the preload starts */
+    private volatile int totalCount;
+
+    /** Flag preventing the preload from running twice (e.g. after returning to the main menu) */
+    private boolean preloadStarted;
+
+    private AssetManager()
+    {
+        this.images       = new ConcurrentHashMap<>();
+        this.scaledImages = new ConcurrentHashMap<>();
+        this.tracks       = new ConcurrentHashMap<>();
+        this.loadedCount  = new AtomicInteger();
+    }
+
+    /**
+     * Gets the shared asset manager.
+     *
+     * @return the asset manager instance
+     */
+    public static AssetManager getInstance()
+    {
+        return INSTANCE;
+    }
+
+    /**
+     * Starts decoding every image and audio file in the asset directories on a bounded pool
+     * of daemon threads. The method returns immediately; the listener is called from the
+     * worker threads after each asset. Calling it again only reports the current progress.
+     *
+     * @param listener the progress callback, may be null
+     */
+    public synchronized void preloadAll(PreloadListener listener)
+    {
+        if (this.preloadStarted)
+        {
+            if (listener != null && this.totalCount > 0)
+            {
+                listener.onProgress(this.loadedCount.get(), this.totalCount);
+            }
+            return;
+        }
+        this.preloadStarted = true;
+
+        List<File> files = new ArrayList<>();
+        this.collectFiles(new File(IMAGES_DIRECTORY), files);
+        this.collectFiles(new File(MUSIC_DIRECTORY), files);
+        this.totalCount = files.size();
+
+        if (files.isEmpty())
+        {
+            return;
+        }
+
+        int threads = Math.max(1, Math.min(MAX_PRELOAD_THREADS, Runtime.getRuntime().availableProcessors()));
+        ExecutorService pool = Executors.newFixedThreadPool(threads, runnable ->
+        {
+            Thread thread = new Thread(runnable, "asset-preloader");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+
+        long startTime = System.nanoTime();
+        for (File file : files)
+        {
+            pool.execute(() ->
+            {
+                this.preloadFile(file);
+                int loaded = this.loadedCount.incrementAndGet();
+                if (listener != null)
+                {
+                    listener.onProgress(loaded, this.totalCount);
+                }
+                if (loaded == this.totalCount && LOG_TIMINGS)
+                {
+                    System.out.println("Preloaded " + loaded + " assets in " + (System.nanoTime() - startTime) / 1_000_000 + " ms");
+                }
+            });
+        }
+        pool.shutdown();
+    }
+
+    /**
+     * Checks whether the startup preload has decoded every asset.
+     *
+     * @return true once all assets are in memory
+     */
+    public boolean isPreloadComplete()
+    {
+        return this.totalCount > 0 && this.loadedCount.get() >= this.totalCount;
+    }
+
+    /**
+     * Gets the decoded image at the given path, decoding it now if it is not cached yet.
+     *
+     * @param path the image path relative to the working directory
+     * @return the image, or null if the file is missing or unreadable
+     */
+    public Image getImage(String path)
+    {
+        if (path == null)
+        {
+            return null;
+        }
+
+        String key = AssetManager.toKey(path);
+        Image image = this.images.get(key);
+
+        if (image == null)
+        {
+            image = this.decodeImage(new File(path));
+            if (image != null)
+            {
+                this.images.put(key, image);
+            }
+        }
+        return image;
+    }
+
+    /**
+     * Gets the image at the given path scaled to the requested size.
+     * Scaled copies are cached, so every caller asking for the same size shares one image.
+     *
+     * @param path the image path relative to the working directory
+     * @param width the target width in pixels
+     * @param height the target height in pixels
+     * @return the scaled image, or null if the file is missing or unreadable
+     */
+    public Image getScaledImage(String path, int width, int height)
+    {
+        if (path == null || width <= 0 || height <= 0)
+        {
+            return null;
+        }
+
+        String key = AssetManager.toKey(path) + "@" + width + "x" + height;
+        Image scaled = this.scaledImages.get(key);
+
+        if (scaled == null)
+        {
+            Image source = this.getImage(path);
+            if (source == null)
+            {
+                return null;
+            }
+            scaled = AssetManager.scale(source, width, height);
+            this.scaledImages.put(key, scaled);
+        }
+        return scaled;
+    }
+
+    /**
+     * Drops a scaled copy from the cache once the screen using it is gone.
+     * The original decoded image stays cached.
+     *
+     * @param path the image path relative to the working directory
+     * @param width the scaled width
+     * @param height the scaled height
+     */
+    public void releaseScaledImage(String path, int width, int height)
+    {
+        if (path != null)
+        {
+            this.scaledImages.remove(AssetManager.toKey(path) + "@" + width + "x" + height);
+        }
+    }
+
+    /**
+     * Convenience wrapper returning a scaled image as an icon.
+     * A missing file yields an empty icon, matching the behaviour of {@code new ImageIcon(path)}.
+     *
+     * @param path the image path relative to the working directory
+     * @param width the target width in pixels
+     * @param height the target height in pixels
+     * @return the scaled icon, never null
+     */
+    public ImageIcon getScaledIcon(String path, int width, int height)
+    {
+        Image scaled = this.getScaledImage(path, width, height);
+        return scaled != null ? new ImageIcon(scaled) : new ImageIcon();
+    }
+
+    /**
+     * Gets the decoded PCM data of the audio track at the given path, decoding it now if needed.
+     *
+     * @param path the audio path relative to the working directory
+     * @return the decoded track, or null if the file is missing or unsupported
+     */
+    public AudioData getAudio(String path)
+    {
+        if (path == null)
+        {
+            return null;
+        }
+
+        String key = AssetManager.toKey(path);
+        AudioData audio = this.tracks.get(key);
+
+        if (audio == null)
+        {
+            File file = this.resolve(path);
+            if (file == null)
+            {
+                return null;
+            }
+            audio = this.decodeAudio(file);
+            if (audio != null)
+            {
+                this.tracks.put(key, audio);
+            }
+        }
+        return audio;
+    }
+
+    /**
+     * Decodes a single file found by the preloader into the matching cache.
+     *
+     * @param file the asset file
+     */
+    private void preloadFile(File file)
+    {
+        String key = AssetManager.toKey(file.getPath());
+
+        if (key.endsWith(".wav"))
+        {
+            AudioData audio = this.decodeAudio(file);
+            if (audio != null)
+            {
+                this.tracks.putIfAbsent(key, audio);
+            }
+        }
+        else
+        {
+            Image image = this.decodeImage(file);
+            if (image != null)
+            {
+                this.images.putIfAbsent(key, image);
+            }
+        }
+    }
+
+    /**
+     * Recursively collects all regular files below a directory.
+     *
+     * @param directory the directory to scan
+     * @param files the list receiving the files
+     */
+    private void collectFiles(File directory, List<File> files)
+    {
+        File[] children = directory.listFiles();
+
+        if (children == null)
+        {
+            return;
+        }
+
+        for (File child : children)
+        {
+            if (child.isDirectory())
+            {
+                this.collectFiles(child, files);
+            }
+            else if (child.isFile())
+            {
+                files.add(child);
+            }
+        }
+    }
+
+    /**
+     * Resolves a path against the file system, falling back to a case-insensitive
+     * match in the parent directory (asset paths in the code are not always cased like the files).
+     *
+     * @param path the requested path
+     * @return the existing file, or null if none matches
+     */
+    private File resolve(String path)
+    {
+        File file = new File(path);
+
+        if (file.isFile())
+        {
+            return file;
+        }
+
+        File[] siblings = file.getAbsoluteFile().getParentFile() != null
+                ? file.getAbsoluteFile().getParentFile().listFiles()
+                : null;
+
+        if (siblings != null)
+        {
+            for (File sibling : siblings)
+            {
+                if (sibling.getName().equalsIgnoreCase(file.getName()))
+                {
+                    return sibling;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Decodes an image file into memory.
+     *
+     * @param file the image file
+     * @return the decoded image, or null on failure
+     */
+    private Image decodeImage(File file)
+    {
+        File resolved = this.resolve(file.getPath());
+
+        if (resolved == null)
+        {
+            return null;
+        }
+
+        try
+        {
+            BufferedImage image = ImageIO.read(resolved);
+            if (image != null)
+            {
+                return image;
+            }
+        }
+        catch (IOException e)
+        {
+            // Fall back to the toolkit decoder below
+        }
+
+        // Formats ImageIO cannot read (e.g. CMYK JPEGs) still go through the toolkit
+        ImageIcon icon = new ImageIcon(resolved.getPath());
+        return icon.getIconWidth() > 0 ? icon.getImage() : null;
+    }
+
+    /**
+     * Decodes a WAV file into raw PCM data.
+     *
+     * @param file the audio file
+     * @return the decoded track, or null on failure
+     */
+    private AudioData decodeAudio(File file)
+    {
+        try (AudioInputStream stream = AudioSystem.getAudioInputStream(file))
+        {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            byte[] chunk = new byte[64 * 1024];
+            int read;
+
+            while ((read = stream.read(chunk)) != -1)
+            {
+                buffer.write(chunk, 0, read);
+            }
+            return new AudioData(stream.getFormat(), buffer.toByteArray());
+        }
+        catch (UnsupportedAudioFileException | IOException e)
+        {
+            System.err.println("Could not decode audio file " + file.getPath() + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Scales an image with successive bilinear halvings, which keeps the quality close to
+     * {@link Image#SCALE_SMOOTH} while producing a fully decoded image immediately.
+     *
+     * @param source the source image
+     * @param width the target width
+     * @param height the target height
+     * @return the scaled image
+     */
+    private static Image scale(Image source, int width, int height)
+    {
+        int currentWidth  = source.getWidth(null);
+        int currentHeight = source.getHeight(null);
+        Image current = source;
+
+        do
+        {
+            currentWidth  = currentWidth  / 2 >= width  ? currentWidth  / 2 : width;
+            currentHeight = currentHeight / 2 >= height ? currentHeight / 2 : height;
+
+            BufferedImage step = new BufferedImage(currentWidth, currentHeight, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D g2d = step.createGraphics();
+            g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g2d.drawImage(current, 0, 0, currentWidth, currentHeight, null);
+            g2d.dispose();
+            current = step;
+        }
+        while (currentWidth != width || currentHeight != height);
+
+        return current;
+    }
+
+    /**
+     * Normalises a path into a cache key.
+     *
+     * @param path the asset path
+     * @return the cache key
+     */
+    private static String toKey(String path)
+    {
+        return path.replace('\\', '/').toLowerCase(Locale.ROOT);
+    }
+}
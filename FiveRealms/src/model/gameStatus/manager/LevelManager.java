@@ -2,23 +2,63 @@ package model.gameStatus.manager;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import model.characters.*;
 import model.characters.Character;
 import model.characters.bosses.*;
 import model.gameStatus.Game;
 import model.gameStatus.level.GameLevel;
+import model.point.GridBounds;
+import model.point.SpawnZones;
+import view.map.AbstractMap;
 import view.map.LevelMap;
 import controller.GameController;
 
 /**
  * Manages all level-related operations including creation, progression,
  * and state management of game levels.
+ * Levels are built on demand when they are about to be played and released
+ * as soon as they are finished, so only the level in progress holds a window,
+ * its grid and its sprites. The enemies and the music of the next level can be
+ * prefetched in the background while the victory banner of the current one is shown;
+ * the map and its Swing components are only built when the level is started.
  */
 public class LevelManager 
 {    
-    /** List of all game levels */
-    private List<GameLevel> gameLevels;
+    /** Prints the build time of every level when the game is run with -Dfiverealms.timing=true */
+    private static final boolean LOG_TIMINGS = Boolean.getBoolean("fiverealms.timing");
+    
+    /** Longest wait for a prefetch still running before the level is built without it */
+    private static final long PREFETCH_TIMEOUT_MS = 2_000;
+    
+    /** Game levels by index; a slot is null until the level is built and again once it is released */
+    private final GameLevel[] gameLevels;
+    
+    /** Allies taking part in every level */
+    private List<Character> selectedAllies;
+    
+    /** Enemy rosters restored from a save file, used instead of the default roster of their level */
+    private final Map<Integer, List<Character>> loadedEnemies;
+    
+    /** Grid sizes of the levels that do not use the default 20x15 grid */
+    private final Map<Integer, GridBounds> levelGridSizes;
+    
+    /** Number of enemies of the levels played as large battles */
+    private final Map<Integer, Integer> largeBattleSizes;
+    
+    /** Enemies of the next level being created in the background, null when no prefetch is pending */
+    private Future<List<Character>> prefetchedEnemies;
+    
+    /** Index of the level being prefetched */
+    private int prefetchedLevelIndex;
     
     /** Index of the current level being played */
     private int currentLevelIndex;
@@ -33,38 +73,265 @@ public class LevelManager
      */
     public LevelManager(GameController controller) 
     {
-        this.gameLevels = new ArrayList<>();
+        this.gameLevels = new GameLevel[Game.TOTAL_LEVEL];
+        this.selectedAllies = new ArrayList<>();
+        this.loadedEnemies = new HashMap<>();
+        this.levelGridSizes = new HashMap<>();
+        this.largeBattleSizes = new HashMap<>();
+        this.prefetchedEnemies = null;
+        this.prefetchedLevelIndex = -1;
         this.currentLevelIndex = 0;
         this.controller = controller;
     }
     
     /**
-     * Initializes all five game levels with their respective enemy compositions.
-     * Each level features different enemy types and bosses with increasing difficulty.
+     * Prepares the five game levels for the given allies.
+     * No level is built here: each one is constructed when it is started,
+     * and any level left over from a previous session is released.
      * 
      * @param selectedAllies the allies to use in all levels
      */
     public void initializeGameLevels(List<Character> selectedAllies)
     {
-        this.gameLevels.clear();
+        this.discardPrefetchedLevel();
+        
+        for (int i = 0; i < this.gameLevels.length; i++) 
+        {
+            this.releaseLevel(i);
+        }
+        
+        this.selectedAllies = selectedAllies;
+        this.loadedEnemies.clear();
+    }
+    
+    /**
+     * Gets the level at the given index, building it first if needed.
+     * 
+     * @param levelIndex the level index (0-based)
+     * @return the level
+     */
+    private GameLevel getOrCreateLevel(int levelIndex) 
+    {
+        if (this.gameLevels[levelIndex] == null) 
+        {
+            List<Character> enemies = this.prefetchedLevelIndex == levelIndex ? this.takePrefetchedEnemies() : null;
+            this.gameLevels[levelIndex] = this.buildLevel(levelIndex, enemies);
+        }
+        return this.gameLevels[levelIndex];
+    }
+    
+    /**
+     * Starts preparing the level after the current one on a background thread: its enemies,
+     * with their decoded sprites, and its decoded music track, so that advancing to it does
+     * not load them cold. Only what is safe off the event dispatch thread is prepared there,
+     * the map is built when the level is started.
+     * Called while the victory banner of the current level is displayed.
+     * Does nothing if the current level is the last one or the next level is already prepared.
+     */
+    public void prefetchNextLevel() 
+    {
+        int nextIndex = this.currentLevelIndex + 1;
+        
+        if (nextIndex >= Game.TOTAL_LEVEL || this.gameLevels[nextIndex] != null || this.prefetchedEnemies != null) 
+        {
+            return;
+        }
+        
+        // A roster restored from a save is used as it is, and the background thread reads no field
+        boolean loaded = this.loadedEnemies.containsKey(nextIndex);
+        Integer largeBattleSize = this.largeBattleSizes.get(nextIndex);
+        
+        ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> 
+        {
+            Thread thread = new Thread(runnable, "level-prefetch");
+            thread.setDaemon(true);
+            return thread;
+        });
+        
+        this.prefetchedLevelIndex = nextIndex;
+        this.prefetchedEnemies = executor.submit(() -> 
+        {
+            this.controller.prepareLevelMusic(nextIndex + 1);
+            return loaded ? null : LevelManager.createRoster(nextIndex + 1, largeBattleSize);
+        });
+        
+        // The thread exits as soon as the roster is created
+        executor.shutdown();
+    }
+    
+    /**
+     * Takes the prefetched enemies, waiting a while for them if the background thread is still running.
+     * 
+     * @return the prefetched enemies, or null if there are none to use and the level creates its own
+     */
+    private List<Character> takePrefetchedEnemies() 
+    {
+        Future<List<Character>> pending = this.prefetchedEnemies;
+        this.prefetchedEnemies = null;
+        this.prefetchedLevelIndex = -1;
+        
+        try 
+        {
+            return pending.get(PREFETCH_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        } 
+        catch (TimeoutException e) 
+        {
+            System.err.println("Level prefetch still running after " + PREFETCH_TIMEOUT_MS + " ms, building the level now");
+            pending.cancel(true);
+            return null;
+        } 
+        catch (ExecutionException e) 
+        {
+            System.err.println("Error prefetching level, building it now: " + e.getCause());
+            return null;
+        } 
+        catch (InterruptedException e) 
+        {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+    
+    /**
+     * Drops a prefetch that will not be used, without waiting for it.
+     */
+    private void discardPrefetchedLevel() 
+    {
+        if (this.prefetchedEnemies != null) 
+        {
+            this.prefetchedEnemies.cancel(true);
+            this.prefetchedEnemies = null;
+            this.prefetchedLevelIndex = -1;
+        }
+    }
+    
+    /**
+     * Builds a level with its map, window and enemy roster.
+     * Logs the construction time and the approximate heap retained by the level, if timings are enabled.
+     * 
+     * @param levelIndex the level index (0-based)
+     * @param prefetchedEnemies the enemies created in the background, or null to create them now
+     * @return the new level
+     */
+    private GameLevel buildLevel(int levelIndex, List<Character> prefetchedEnemies) 
+    {
+        Runtime runtime = Runtime.getRuntime();
+        long heapBefore = runtime.totalMemory() - runtime.freeMemory();
+        long startTime  = System.nanoTime();
+        
+        List<Character> enemies;
+        if (this.loadedEnemies.containsKey(levelIndex)) 
+        {
+            enemies = this.loadedEnemies.remove(levelIndex);
+        } 
+        else if (prefetchedEnemies != null) 
+        {
+            enemies = prefetchedEnemies;
+        } 
+        else 
+        {
+            enemies = LevelManager.createRoster(levelIndex + 1, this.largeBattleSizes.get(levelIndex));
+        }
+        
+        GridBounds gridSize = this.levelGridSizes.get(levelIndex);
+        LevelMap levelMap = gridSize != null 
+                ? new LevelMap(enemies, this.selectedAllies, levelIndex + 1, this.controller, gridSize)
+                : new LevelMap(enemies, this.selectedAllies, levelIndex + 1, this.controller);
+        
+        GameLevel level = new GameLevel(levelMap, this.controller);
+        
+        if (LOG_TIMINGS) 
+        {
+            long heapAfter = runtime.totalMemory() - runtime.freeMemory();
+            System.out.println("Level " + (levelIndex + 1) + " built in " + (System.nanoTime() - startTime) / 1_000_000 
+                    + " ms, ~" + Math.max(0, heapAfter - heapBefore) / 1024 + " KB retained");
+        }
+        
+        return level;
+    }
+    
+    /**
+     * Releases a finished level: disposes its window and frees its listeners and images.
+     * 
+     * @param levelIndex the level index (0-based)
+     */
+    private void releaseLevel(int levelIndex) 
+    {
+        GameLevel level = this.gameLevels[levelIndex];
         
-        List<Character> level1Enemies = createLevel1Enemies();
-        List<Character> level2Enemies = createLevel2Enemies();
-        List<Character> level3Enemies = createLevel3Enemies();
-        List<Character> level4Enemies = createLevel4Enemies();
-        List<Character> level5Enemies = createLevel5Enemies();
+        if (level != null) 
+        {
+            level.release();
+            this.gameLevels[levelIndex] = null;
+        }
+    }
+    
+    /**
+     * Creates the enemy roster of a level.
+     * Each level features different enemy types and bosses with increasing difficulty.
+     * Also used by the campaign simulations, which play the levels without building them.
+     * 
+     * @param levelNumber the level number (1-based)
+     * @return the enemies of the level
+     */
+    public static List<Character> createEnemies(int levelNumber) 
+    {
+        switch (levelNumber) 
+        {
+            case 1: return createLevel1Enemies();
+            case 2: return createLevel2Enemies();
+            case 3: return createLevel3Enemies();
+            case 4: return createLevel4Enemies();
+            case 5: return createLevel5Enemies();
+            default: throw new IllegalArgumentException("Unknown level: " + levelNumber);
+        }
+    }
+    
+    /**
+     * Creates the enemies of a level, its usual roster or the horde of a large battle.
+     * Reads no field, so the level prefetch can call it off the game thread.
+     * 
+     * @param levelNumber the level number (1-based)
+     * @param largeBattleSize the number of enemies of a large battle, or null for the usual roster
+     * @return the list of enemies
+     */
+    private static List<Character> createRoster(int levelNumber, Integer largeBattleSize) 
+    {
+        return largeBattleSize != null 
+                ? LevelManager.createLargeBattleEnemies(levelNumber, largeBattleSize) 
+                : LevelManager.createEnemies(levelNumber);
+    }
+    
+    /**
+     * Creates the enemy horde of a large battle: the usual roster of the level,
+     * completed with regular troops of every class.
+     * 
+     * @param levelNumber the level number (1-based)
+     * @param count the number of enemies
+     * @return the list of enemies
+     */
+    private static List<Character> createLargeBattleEnemies(int levelNumber, int count) 
+    {
+        List<Character> enemies = LevelManager.createEnemies(levelNumber);
         
-        this.gameLevels.add(new GameLevel(new LevelMap(level1Enemies, selectedAllies, 1, this.controller), this.controller));
-        this.gameLevels.add(new GameLevel(new LevelMap(level2Enemies, selectedAllies, 2, this.controller), this.controller));
-        this.gameLevels.add(new GameLevel(new LevelMap(level3Enemies, selectedAllies, 3, this.controller), this.controller));
-        this.gameLevels.add(new GameLevel(new LevelMap(level4Enemies, selectedAllies, 4, this.controller), this.controller));
-        this.gameLevels.add(new GameLevel(new LevelMap(level5Enemies, selectedAllies, 5, this.controller), this.controller));
+        while (enemies.size() < count) 
+        {
+            switch (enemies.size() % 5) 
+            {
+                case 0: enemies.add(new Barbarian()); break;
+                case 1: enemies.add(new Archer()); break;
+                case 2: enemies.add(new Knight()); break;
+                case 3: enemies.add(new Wizard()); break;
+                default: enemies.add(new Juggernaut()); break;
+            }
+        }
+        return enemies;
     }
     
     /**
      * Creates enemies for level 1.
      */
-    private List<Character> createLevel1Enemies() 
+    private static List<Character> createLevel1Enemies() 
     {
         List<Character> enemies = new ArrayList<>();
         enemies.add(new KnightBoss());
@@ -76,7 +343,7 @@ public class LevelManager
     /**
      * Creates enemies for level 2.
      */
-    private List<Character> createLevel2Enemies() 
+    private static List<Character> createLevel2Enemies() 
     {
         List<Character> enemies = new ArrayList<>();
         enemies.add(new BarbarianBoss());
@@ -89,7 +356,7 @@ public class LevelManager
     /**
      * Creates enemies for level 3.
      */
-    private List<Character> createLevel3Enemies() 
+    private static List<Character> createLevel3Enemies() 
     {
         List<Character> enemies = new ArrayList<>();
         enemies.add(new ArcherBoss());
@@ -102,7 +369,7 @@ public class LevelManager
     /**
      * Creates enemies for level 4.
      */
-    private List<Character> createLevel4Enemies() 
+    private static List<Character> createLevel4Enemies() 
     {
         List<Character> enemies = new ArrayList<>();
         enemies.add(new JuggernautBoss());
@@ -116,7 +383,7 @@ public class LevelManager
     /**
      * Creates enemies for level 5.
      */
-    private List<Character> createLevel5Enemies() 
+    private static List<Character> createLevel5Enemies() 
     {
         List<Character> enemies = new ArrayList<>();
         enemies.add(new WizardBoss());
@@ -129,13 +396,14 @@ public class LevelManager
     
     /**
      * Starts the current level based on the current level index.
-     * This method initializes the level, starts appropriate music, and begins level play.
+     * The level is built at this point if it does not exist yet, then the
+     * appropriate music is started and the level begins.
      * 
      * @throws IOException if there are issues starting the level
      */
     public void startCurrentLevel() throws IOException
     {
-        GameLevel level = this.gameLevels.get(this.currentLevelIndex);
+        GameLevel level = this.getOrCreateLevel(this.currentLevelIndex);
         this.controller.startLevelMusic(this.currentLevelIndex + 1);
         level.play();
     }
@@ -145,9 +413,11 @@ public class LevelManager
      */
     public void updateCurrentLevel() 
     {
-        if (this.currentLevelIndex < this.gameLevels.size()) 
+        GameLevel level = this.getCurrentLevel();
+        
+        if (level != null) 
         {
-            this.gameLevels.get(this.currentLevelIndex).update();
+            level.update();
         }
     }
     
@@ -158,8 +428,8 @@ public class LevelManager
      */
     public boolean isCurrentLevelCompleted() 
     {
-        return this.currentLevelIndex < this.gameLevels.size() && 
-               this.gameLevels.get(this.currentLevelIndex).isCompleted();
+        GameLevel level = this.getCurrentLevel();
+        return level != null && level.isCompleted();
     }
     
     /**
@@ -169,17 +439,18 @@ public class LevelManager
      */
     public boolean isCurrentLevelFailed() 
     {
-        return this.currentLevelIndex < this.gameLevels.size() && 
-               this.gameLevels.get(this.currentLevelIndex).isFailed();
+        GameLevel level = this.getCurrentLevel();
+        return level != null && level.isFailed();
     }
     
     /**
-     * Advances to the next level.
+     * Advances to the next level, releasing the one just finished.
      * 
      * @return true if there is a next level, false if all levels are completed
      */
     public boolean advanceToNextLevel() 
     {
+        this.releaseLevel(this.currentLevelIndex);
         this.currentLevelIndex++;
         return this.currentLevelIndex < Game.TOTAL_LEVEL;
     }
@@ -214,54 +485,100 @@ public class LevelManager
         this.currentLevelIndex = levelIndex;
     }
     
-    /**
-     * Gets the list of all game levels.
-     * 
-     * @return the list of game levels
-     */
-    public List<GameLevel> getGameLevels() 
-    {
-        return this.gameLevels;
-    }
-    
     /**
      * Gets the current game level.
      * 
-     * @return the current game level, or null if invalid index
+     * @return the current game level, or null if it has not been built yet or the index is invalid
      */
     public GameLevel getCurrentLevel() 
     {
-        if (this.currentLevelIndex < this.gameLevels.size()) 
+        if (this.currentLevelIndex >= 0 && this.currentLevelIndex < this.gameLevels.length) 
         {
-            return this.gameLevels.get(this.currentLevelIndex);
+            return this.gameLevels[this.currentLevelIndex];
         }
         return null;
     }
     
     /**
-     * Sets the allies list for all levels.
+     * Sets the allies list for all levels, including the ones not built yet.
      * 
      * @param allies the allies to set for all levels
      */
     public void setAlliesForAllLevels(List<Character> allies) 
     {
+        this.selectedAllies = allies;
+        
         for (GameLevel level : this.gameLevels) 
         {
-            level.setAlliesList(allies);
+            if (level != null) 
+            {
+                level.setAlliesList(allies);
+            }
+        }
+    }
+    
+    /**
+     * Sets the grid size of a specific level, used the next time the level is built.
+     * 
+     * @param levelIndex the level index
+     * @param width number of rows of the grid, at least the default one
+     * @param height number of columns of the grid, at least the default one
+     */
+    public void setGridSizeForLevel(int levelIndex, int width, int height) 
+    {
+        if (levelIndex < 0 || levelIndex >= this.gameLevels.length) 
+        {
+            throw new IllegalArgumentException("Invalid level index: " + levelIndex);
+        }
+        
+        this.levelGridSizes.put(levelIndex, new GridBounds(width, height));
+    }
+    
+    /**
+     * Makes a level a large battle against the given number of enemies, used the next time
+     * the level is built. Enemies spawn in generated zones, and unless a grid size was set
+     * for the level, the grid is enlarged to hold them.
+     * 
+     * @param levelIndex the level index
+     * @param enemyCount the number of enemies
+     */
+    public void setLargeBattleForLevel(int levelIndex, int enemyCount) 
+    {
+        if (levelIndex < 0 || levelIndex >= this.gameLevels.length) 
+        {
+            throw new IllegalArgumentException("Invalid level index: " + levelIndex);
         }
+        if (enemyCount <= 0) 
+        {
+            throw new IllegalArgumentException("Invalid enemy count: " + enemyCount);
+        }
+        
+        this.largeBattleSizes.put(levelIndex, enemyCount);
+        this.levelGridSizes.putIfAbsent(levelIndex, 
+                SpawnZones.gridFor(enemyCount, new GridBounds(AbstractMap.GRID_SIZE_WIDTH, AbstractMap.GRID_SIZE_HEIGHT)));
     }
     
     /**
      * Sets the enemies list for a specific level.
+     * If the level has not been built yet, the roster is kept and used when it is.
      * 
      * @param levelIndex the level index
      * @param enemies the enemies to set
      */
     public void setEnemiesForLevel(int levelIndex, List<Character> enemies) 
     {
-        if (levelIndex < this.gameLevels.size()) 
+        if (levelIndex < 0 || levelIndex >= this.gameLevels.length) 
+        {
+            return;
+        }
+        
+        if (this.gameLevels[levelIndex] != null) 
+        {
+            this.gameLevels[levelIndex].setEnemiesList(enemies);
+        }
+        else 
         {
-            this.gameLevels.get(levelIndex).setEnemiesList(enemies);
+            this.loadedEnemies.put(levelIndex, enemies);
         }
     }
     
@@ -276,4 +593,4 @@ public class LevelManager
             currentLevel.getLevelMap().close();
         }
     }
-}
\ No newline at end of file
+}
@@ -6,11 +6,22 @@ import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 
+/**
+ * Plays the game music tracks.
+ * A track can be prepared ahead of time, so that starting it later only has to
+ * start an already opened clip.
+ */
 public class MusicManager 
 {
 
     private Clip clip;
     private Map<String, String> tracks = new HashMap<>();
+    
+    /** Clip opened in advance by {@link #prepare(String)}, not started yet */
+    private Clip preparedClip;
+    
+    /** Name of the track held by the prepared clip */
+    private String preparedTrack;
 
     public MusicManager() 
     {
@@ -25,7 +36,7 @@ public class MusicManager
         this.tracks.put("lose", "music/lose.wav");
     }
 
-    public void play(String trackName, boolean loop) 
+    public synchronized void play(String trackName, boolean loop) 
     {
     	//stops any current music (otherwise risks overlapping)
         this.stop();
@@ -39,9 +50,17 @@ public class MusicManager
         
         try 
         {
-            AudioInputStream audioStream = AudioSystem.getAudioInputStream(new File(path));
-            this.clip = AudioSystem.getClip();
-            this.clip.open(audioStream);
+            if (trackName.equals(this.preparedTrack)) 
+            {
+                // The clip was already decoded and opened in the background
+                this.clip = this.preparedClip;
+                this.preparedClip  = null;
+                this.preparedTrack = null;
+            } 
+            else 
+            {
+                this.clip = this.openClip(path);
+            }
             
             if (loop) 
             {
@@ -56,12 +75,68 @@ public class MusicManager
             e.printStackTrace();
         }
     }
+    
+    /**
+     * Decodes and opens a track without starting it, so that a later {@link #play(String, boolean)}
+     * of the same track starts immediately. Replaces any previously prepared track.
+     * 
+     * @param trackName the name of the track to prepare
+     */
+    public synchronized void prepare(String trackName) 
+    {
+        String path = tracks.get(trackName);
+        
+        if (path == null || trackName.equals(this.preparedTrack)) 
+        {
+            return;
+        }
+        
+        if (this.preparedClip != null) 
+        {
+            this.preparedClip.close();
+        }
+        
+        try 
+        {
+            this.preparedClip  = this.openClip(path);
+            this.preparedTrack = trackName;
+        } 
+        catch (UnsupportedAudioFileException | IOException | LineUnavailableException e) 
+        {
+            this.preparedClip  = null;
+            this.preparedTrack = null;
+            System.err.println("Could not prepare track " + trackName + ": " + e.getMessage());
+        }
+    }
 
-    public void stop() 
+    public synchronized void stop() 
     {
         if ( this.clip != null) 
         {
         	 this.clip.stop();
         }
     }
-}
\ No newline at end of file
+    
+    /**
+     * Opens a clip on the given track, using the data decoded by the preloader when available.
+     * 
+     * @param path the track path
+     * @return the opened clip
+     */
+    private Clip openClip(String path) throws UnsupportedAudioFileException, IOException, LineUnavailableException 
+    {
+        Clip newClip = AudioSystem.getClip();
+        
+        // Use the track decoded by the preloader when available, otherwise stream it from disk
+        AssetManager.AudioData audio = AssetManager.getInstance().getAudio(path);
+        if (audio != null) 
+        {
+            newClip.open(audio.getFormat(), audio.getData(), 0, audio.getData().length);
+        } 
+        else 
+        {
+            newClip.open(AudioSystem.getAudioInputStream(new File(path)));
+        }
+        return newClip;
+    }
+}
@@ -0,0 +1,104 @@
+package model.point;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Size of a map grid, with the queries the game needs on it.
+ * Neighbourhood queries enumerate only the cells around their center,
+ * so their cost depends on the radius and not on the size of the map.
+ */
+public class GridBounds
+{
+	private final int width;
+	private final int height;
+
+	/**
+	 * Creates the bounds of a grid.
+	 *
+	 * @param width number of valid x coordinates
+	 * @param height number of valid y coordinates
+	 */
+	public GridBounds(int width, int height)
+	{
+		if (width <= 0 || height <= 0)
+		{
+			throw new IllegalArgumentException("Grid size must be positive: " + width + "x" + height);
+		}
+		this.width  = width;
+		this.height = height;
+	}
+
+	public int getWidth()
+	{
+		return this.width;
+	}
+
+	public int getHeight()
+	{
+		return this.height;
+	}
+
+	/**
+	 * Checks whether a point lies inside the grid.
+	 *
+	 * @param point the point to check
+	 * @return true if the point is a valid cell of the grid
+	 */
+	public boolean contains(Point point)
+	{
+		return point != null && this.contains(point.getX(), point.getY());
+	}
+
+	/**
+	 * Checks whether a pair of coordinates lies inside the grid.
+	 *
+	 * @param x the x coordinate
+	 * @param y the y coordinate
+	 * @return true if the coordinates are a valid cell of the grid
+	 */
+	public boolean contains(int x, int y)
+	{
+		return x >= 0 && x < this.width && y >= 0 && y < this.height;
+	}
+
+	/**
+	 * Lists the cells of the grid within the given distance (in squares) of a center.
+	 * Cells are returned ordered by x, then by y, the same order as a full scan of the grid.
+	 *
+	 * @param center the center of the area
+	 * @param radius the maximum distance from the center
+	 * @return the cells of the grid within the area
+	 */
+	public List<Point> pointsWithin(Point center, int radius)
+	{
+		List<Point> points = new ArrayList<>();
+
+		if (center == null || radius < 0)
+		{
+			return points;
+		}
+
+		int minX = Math.max(0, center.getX() - radius);
+		int maxX = Math.min(this.width - 1, center.getX() + radius);
+
+		for (int x = minX; x <= maxX; x++)
+		{
+			int span = radius - Math.abs(x - center.getX());
+			int minY = Math.max(0, center.getY() - span);
+			int maxY = Math.min(this.height - 1, center.getY() + span);
+
+			for (int y = minY; y <= maxY; y++)
+			{
+				points.add(new Point(x, y));
+			}
+		}
+		return points;
+	}
+
+	@Override
+	public String toString()
+	{
+		return this.width + "x" + this.height;
+	}
+}
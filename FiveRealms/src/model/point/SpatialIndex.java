@@ -0,0 +1,404 @@
+package model.point;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Grid-bucket index of items placed on a map grid.
+ * The grid is split in square buckets; lookups by cell are constant time and
+ * nearest-item queries only visit the buckets around the query point, so their
+ * cost depends on how crowded the neighbourhood is and not on the number of items.
+ * Items are compared by identity. When two items are at the same distance the one
+ * added first wins, like a scan of the list the items were added from.
+ *
+ * @param <T> the type of the indexed items
+ */
+public class SpatialIndex<T>
+{
+	/** Default side of a bucket, in cells */
+	public static final int DEFAULT_BUCKET_SIZE = 8;
+
+	/** An indexed item with its cell and insertion order */
+	private static final class Entry<T>
+	{
+		private final T item;
+		private final long order;
+		private Point position;
+
+		private Entry(T item, Point position, long order)
+		{
+			this.item     = item;
+			this.position = position;
+			this.order    = order;
+		}
+	}
+
+	private final GridBounds gridBounds;
+	private final int bucketSize;
+
+	private final Map<Long, List<Entry<T>>> buckets;
+	private final Map<T, Entry<T>> entries;
+	private final Map<Point, Entry<T>> occupants;
+
+	private long nextOrder;
+
+	/**
+	 * Creates an empty index with the default bucket size.
+	 *
+	 * @param gridBounds the size of the indexed grid
+	 */
+	public SpatialIndex(GridBounds gridBounds)
+	{
+		this(gridBounds, DEFAULT_BUCKET_SIZE);
+	}
+
+	/**
+	 * Creates an empty index.
+	 *
+	 * @param gridBounds the size of the indexed grid
+	 * @param bucketSize the side of a bucket, in cells
+	 */
+	public SpatialIndex(GridBounds gridBounds, int bucketSize)
+	{
+		if (bucketSize <= 0)
+		{
+			throw new IllegalArgumentException("Bucket size must be positive: " + bucketSize);
+		}
+		this.gridBounds = gridBounds;
+		this.bucketSize = bucketSize;
+		this.buckets    = new HashMap<>();
+		this.entries    = new IdentityHashMap<>();
+		this.occupants  = new HashMap<>();
+	}
+
+	/**
+	 * Adds an item on a cell.
+	 *
+	 * @param item the item to add
+	 * @param position the cell of the item
+	 * @throws IllegalArgumentException if the item is already indexed or the cell is outside the grid
+	 */
+	public void add(T item, Point position)
+	{
+		if (this.entries.containsKey(item))
+		{
+			throw new IllegalArgumentException("Item already indexed: " + item);
+		}
+		this.checkInside(position);
+
+		Entry<T> entry = new Entry<>(item, position, this.nextOrder++);
+		this.entries.put(item, entry);
+		this.occupants.put(position, entry);
+		this.buckets.computeIfAbsent(this.bucketKey(position), key -> new ArrayList<>()).add(entry);
+	}
+
+	/**
+	 * Moves an indexed item to another cell.
+	 *
+	 * @param item the item to move
+	 * @param target the new cell of the item
+	 * @throws IllegalArgumentException if the item is not indexed or the cell is outside the grid
+	 */
+	public void move(T item, Point target)
+	{
+		Entry<T> entry = this.entries.get(item);
+		if (entry == null)
+		{
+			throw new IllegalArgumentException("Item not indexed: " + item);
+		}
+		this.checkInside(target);
+
+		if (this.occupants.get(entry.position) == entry)
+		{
+			this.occupants.remove(entry.position);
+		}
+
+		long oldKey = this.bucketKey(entry.position);
+		long newKey = this.bucketKey(target);
+		if (oldKey != newKey)
+		{
+			this.removeFromBucket(entry, oldKey);
+			this.buckets.computeIfAbsent(newKey, key -> new ArrayList<>()).add(entry);
+		}
+
+		entry.position = target;
+		this.occupants.put(target, entry);
+	}
+
+	/**
+	 * Removes an item from the index. Does nothing if the item is not indexed.
+	 *
+	 * @param item the item to remove
+	 */
+	public void remove(T item)
+	{
+		Entry<T> entry = this.entries.remove(item);
+		if (entry == null)
+		{
+			return;
+		}
+
+		if (this.occupants.get(entry.position) == entry)
+		{
+			this.occupants.remove(entry.position);
+		}
+		this.removeFromBucket(entry, this.bucketKey(entry.position));
+	}
+
+	/**
+	 * Gets the item on a cell.
+	 *
+	 * @param position the cell
+	 * @return the item on the cell, or null if the cell is empty
+	 */
+	public T getAt(Point position)
+	{
+		Entry<T> entry = this.occupants.get(position);
+		return entry != null ? entry.item : null;
+	}
+
+	/**
+	 * Checks whether a cell holds an item.
+	 *
+	 * @param position the cell
+	 * @return true if an item is on the cell
+	 */
+	public boolean isOccupied(Point position)
+	{
+		return this.occupants.containsKey(position);
+	}
+
+	/**
+	 * Checks whether an item is indexed.
+	 *
+	 * @param item the item
+	 * @return true if the item is in the index
+	 */
+	public boolean contains(T item)
+	{
+		return this.entries.containsKey(item);
+	}
+
+	/**
+	 * Gets the cell of an indexed item.
+	 *
+	 * @param item the item
+	 * @return the cell of the item, or null if it is not indexed
+	 */
+	public Point getPosition(T item)
+	{
+		Entry<T> entry = this.entries.get(item);
+		return entry != null ? entry.position : null;
+	}
+
+	public int size()
+	{
+		return this.entries.size();
+	}
+
+	public boolean isEmpty()
+	{
+		return this.entries.isEmpty();
+	}
+
+	/**
+	 * Lists every indexed item.
+	 *
+	 * @return the items, in the order they were added
+	 */
+	public List<T> items()
+	{
+		List<Entry<T>> all = new ArrayList<>(this.entries.values());
+		all.sort(Comparator.comparingLong(entry -> entry.order));
+
+		List<T> result = new ArrayList<>(all.size());
+		for (Entry<T> entry : all)
+		{
+			result.add(entry.item);
+		}
+		return result;
+	}
+
+	/**
+	 * Finds the item closest (in squares) to a cell.
+	 *
+	 * @param from the cell to measure from
+	 * @return the closest item, or null if the index is empty
+	 */
+	public T nearest(Point from)
+	{
+		List<T> nearest = this.nearest(from, 1);
+		return nearest.isEmpty() ? null : nearest.get(0);
+	}
+
+	/**
+	 * Finds the k items closest (in squares) to a cell.
+	 * Buckets are visited in rings around the cell, and the search stops as soon
+	 * as no bucket of the next ring can hold an item closer than the k found so far.
+	 *
+	 * @param from the cell to measure from
+	 * @param k the number of items wanted
+	 * @return up to k items, closest first
+	 */
+	public List<T> nearest(Point from, int k)
+	{
+		List<T> result = new ArrayList<>();
+		if (from == null || k <= 0 || this.entries.isEmpty())
+		{
+			return result;
+		}
+
+		Comparator<Entry<T>> closestFirst = Comparator
+				.<Entry<T>>comparingInt(entry -> from.distanceFrom(entry.position))
+				.thenComparingLong(entry -> entry.order);
+
+		// Worst of the k best candidates on top, so it can be replaced
+		PriorityQueue<Entry<T>> best = new PriorityQueue<>(k, closestFirst.reversed());
+
+		int centerX = Math.floorDiv(from.getX(), this.bucketSize);
+		int centerY = Math.floorDiv(from.getY(), this.bucketSize);
+		int maxRing = this.maxRing(centerX, centerY);
+
+		for (int ring = 0; ring <= maxRing; ring++)
+		{
+			// Every cell of a bucket in this ring is at least this far from the query cell
+			int ringMinDistance = ring == 0 ? 0 : (ring - 1) * this.bucketSize + 1;
+			if (best.size() == k && ringMinDistance > from.distanceFrom(best.peek().position))
+			{
+				break;
+			}
+
+			for (int bx = centerX - ring; bx <= centerX + ring; bx++)
+			{
+				// Only the border of the ring, the inside was visited by the previous rings
+				int step = (bx == centerX - ring || bx == centerX + ring) ? 1 : Math.max(1, 2 * ring);
+
+				for (int by = centerY - ring; by <= centerY + ring; by += step)
+				{
+					List<Entry<T>> bucket = this.buckets.get(this.bucketKey(bx, by));
+					if (bucket == null)
+					{
+						continue;
+					}
+
+					for (Entry<T> entry : bucket)
+					{
+						if (best.size() < k)
+						{
+							best.add(entry);
+						}
+						else if (closestFirst.compare(entry, best.peek()) < 0)
+						{
+							best.poll();
+							best.add(entry);
+						}
+					}
+				}
+			}
+		}
+
+		List<Entry<T>> sorted = new ArrayList<>(best);
+		sorted.sort(closestFirst);
+		for (Entry<T> entry : sorted)
+		{
+			result.add(entry.item);
+		}
+		return result;
+	}
+
+	/**
+	 * Finds the items within a distance (in squares) of a cell.
+	 * Only the buckets overlapping the area are visited.
+	 *
+	 * @param center the center of the area
+	 * @param radius the maximum distance from the center
+	 * @return the items within the area, in the order they were added
+	 */
+	public List<T> within(Point center, int radius)
+	{
+		List<T> result = new ArrayList<>();
+		if (center == null || radius < 0 || this.entries.isEmpty())
+		{
+			return result;
+		}
+
+		int firstBucketX = Math.floorDiv(center.getX() - radius, this.bucketSize);
+		int lastBucketX  = Math.floorDiv(center.getX() + radius, this.bucketSize);
+		int firstBucketY = Math.floorDiv(center.getY() - radius, this.bucketSize);
+		int lastBucketY  = Math.floorDiv(center.getY() + radius, this.bucketSize);
+
+		List<Entry<T>> found = new ArrayList<>();
+		for (int bx = firstBucketX; bx <= lastBucketX; bx++)
+		{
+			for (int by = firstBucketY; by <= lastBucketY; by++)
+			{
+				List<Entry<T>> bucket = this.buckets.get(this.bucketKey(bx, by));
+				if (bucket == null)
+				{
+					continue;
+				}
+
+				for (Entry<T> entry : bucket)
+				{
+					if (center.distanceFrom(entry.position) <= radius)
+					{
+						found.add(entry);
+					}
+				}
+			}
+		}
+
+		found.sort(Comparator.comparingLong(entry -> entry.order));
+		for (Entry<T> entry : found)
+		{
+			result.add(entry.item);
+		}
+		return result;
+	}
+
+	/**
+	 * Gets the number of rings needed from a bucket to cover the whole grid.
+	 */
+	private int maxRing(int centerX, int centerY)
+	{
+		int lastX = (this.gridBounds.getWidth() - 1) / this.bucketSize;
+		int lastY = (this.gridBounds.getHeight() - 1) / this.bucketSize;
+		return Math.max(Math.max(centerX, lastX - centerX), Math.max(centerY, lastY - centerY));
+	}
+
+	private void removeFromBucket(Entry<T> entry, long key)
+	{
+		List<Entry<T>> bucket = this.buckets.get(key);
+		if (bucket != null)
+		{
+			bucket.remove(entry);
+			if (bucket.isEmpty())
+			{
+				this.buckets.remove(key);
+			}
+		}
+	}
+
+	private long bucketKey(Point position)
+	{
+		return this.bucketKey(Math.floorDiv(position.getX(), this.bucketSize), Math.floorDiv(position.getY(), this.bucketSize));
+	}
+
+	private long bucketKey(int bucketX, int bucketY)
+	{
+		return ((long) bucketX << 32) | (bucketY & 0xffffffffL);
+	}
+
+	private void checkInside(Point position)
+	{
+		if (!this.gridBounds.contains(position))
+		{
+			throw new IllegalArgumentException("Position outside the grid " + this.gridBounds + ": " + position);
+		}
+	}
+}
@@ -0,0 +1,147 @@
+package model.point;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Spawn points of the battles: the fixed points of the regular levels and the
+ * generated zones of large battles.
+ * Allies spawn in rows from the bottom edge of the grid and enemies in rows from the
+ * top edge, on alternate cells so that every unit has free cells around it.
+ * A gap of empty rows is always left between the two zones.
+ */
+public final class SpawnZones
+{
+	/** Minimum number of empty rows between the two zones */
+	public static final int MIN_FRONT_GAP = 6;
+
+	/** Rows left empty along the top and bottom edges */
+	private static final int EDGE_MARGIN = 1;
+
+	private SpawnZones()
+	{
+	}
+
+	/**
+	 * Lists the spawn points of the allies in a regular level, on the default grid.
+	 *
+	 * @return a new modifiable list of the points
+	 */
+	public static List<Point> defaultAllyPoints()
+	{
+		List<Point> points = new ArrayList<>();
+		points.add(new Point(16, 4));
+		points.add(new Point(14, 7));
+		points.add(new Point(16, 10));
+		return points;
+	}
+
+	/**
+	 * Lists the spawn points of the enemies in a regular level, on the default grid.
+	 *
+	 * @return a new modifiable list of the points
+	 */
+	public static List<Point> defaultEnemyPoints()
+	{
+		List<Point> points = new ArrayList<>();
+		points.add(new Point(4, 10));
+		points.add(new Point(4, 4));
+		points.add(new Point(6, 7));
+		points.add(new Point(6, 4));
+		points.add(new Point(3, 7));
+		points.add(new Point(2, 12));
+		points.add(new Point(5, 10));
+		return points;
+	}
+
+	/**
+	 * Generates the ally spawn zone, starting from the bottom edge of the grid.
+	 *
+	 * @param gridBounds the size of the grid
+	 * @param count the number of allies to place
+	 * @return the cells of the zone, at least {@code count}
+	 * @throws IllegalArgumentException if both zones do not fit in the grid
+	 */
+	public static List<Point> allyZone(GridBounds gridBounds, int count)
+	{
+		int rows = rowsNeeded(gridBounds, count);
+		checkFits(gridBounds, rows);
+		return zone(gridBounds, gridBounds.getWidth() - EDGE_MARGIN - rows, rows);
+	}
+
+	/**
+	 * Generates the enemy spawn zone, starting from the top edge of the grid.
+	 *
+	 * @param gridBounds the size of the grid
+	 * @param count the number of enemies to place
+	 * @return the cells of the zone, at least {@code count}
+	 * @throws IllegalArgumentException if both zones do not fit in the grid
+	 */
+	public static List<Point> enemyZone(GridBounds gridBounds, int count)
+	{
+		int rows = rowsNeeded(gridBounds, count);
+		checkFits(gridBounds, rows);
+		return zone(gridBounds, EDGE_MARGIN, rows);
+	}
+
+	/**
+	 * Computes a grid large enough for two zones of the given size,
+	 * never smaller than the given minimum.
+	 *
+	 * @param unitsPerSide the number of units on each side
+	 * @param minimum the smallest grid allowed
+	 * @return a grid holding both zones and the gap between them
+	 */
+	public static GridBounds gridFor(int unitsPerSide, GridBounds minimum)
+	{
+		// Roughly square zones: about two cells of width per unit row
+		int height = Math.max(minimum.getHeight(), (int) Math.ceil(Math.sqrt(4.0 * unitsPerSide)));
+		int rows   = (int) Math.ceil(unitsPerSide / (double) cellsPerRow(height));
+		int width  = Math.max(minimum.getWidth(), 2 * rows + 2 * EDGE_MARGIN + Math.max(MIN_FRONT_GAP, height / 2));
+		return new GridBounds(width, height);
+	}
+
+	/**
+	 * Lists the cells of a zone: alternate cells of consecutive rows, shifted on every row.
+	 */
+	private static List<Point> zone(GridBounds gridBounds, int firstRow, int rows)
+	{
+		List<Point> cells = new ArrayList<>();
+
+		for (int x = firstRow; x < firstRow + rows; x++)
+		{
+			for (int y = x % 2; y < gridBounds.getHeight(); y += 2)
+			{
+				cells.add(new Point(x, y));
+			}
+		}
+		return cells;
+	}
+
+	private static int rowsNeeded(GridBounds gridBounds, int count)
+	{
+		if (count < 0)
+		{
+			throw new IllegalArgumentException("Invalid unit count: " + count);
+		}
+
+		return (int) Math.ceil(count / (double) cellsPerRow(gridBounds.getHeight()));
+	}
+
+	/**
+	 * Gets the cells available in every row of a zone. Rows alternate their first cell,
+	 * so this is the size of the shorter kind of row.
+	 */
+	private static int cellsPerRow(int height)
+	{
+		return height / 2;
+	}
+
+	private static void checkFits(GridBounds gridBounds, int rowsPerZone)
+	{
+		if (2 * rowsPerZone + 2 * EDGE_MARGIN + MIN_FRONT_GAP > gridBounds.getWidth())
+		{
+			throw new IllegalArgumentException("The grid " + gridBounds + " is too small for two zones of " + rowsPerZone + " rows");
+		}
+	}
+}
@@ -0,0 +1,208 @@
+package model.simulation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import model.characters.Character;
+import model.gameStatus.Game;
+import model.gameStatus.level.AIStrategy;
+import model.gameStatus.manager.LevelManager;
+import model.point.GridBounds;
+import view.map.AbstractMap;
+
+/**
+ * Ranks AI strategies against each other. Every ordered pair of different strategies plays
+ * every level: the first one leads a party of heroes of random classes, like a new game, and
+ * the second one the enemies of the level, so every pair meets on both sides of each roster.
+ * Each level is played with many seeds, on several worker threads claiming games from a
+ * shared counter like the other runners, and a level still undecided after the last round
+ * allowed is a draw.
+ *
+ * The games of a seed and level give every pairing the same party classes and spawn points,
+ * so strategies are compared on the same maps; like in the campaigns, the characters roll
+ * their statistics with the game's own random numbers.
+ */
+public class AITournament
+{
+	/** Games claimed by a worker at a time */
+	private static final int CHUNK_SIZE = 16;
+
+	/** How the party of heroes is chosen */
+	private static final ReplacementPolicy PARTY = ReplacementPolicy.random();
+
+	private final List<AIStrategy> strategies;
+	private final int workers;
+	private final int maxRounds;
+	private final GridBounds gridBounds;
+
+	/**
+	 * Creates a tournament.
+	 *
+	 * @param strategies the strategies to rank, at least two, with different names
+	 * @param workers the number of worker threads
+	 * @param maxRounds the number of rounds after which a level is a draw
+	 */
+	public AITournament(List<AIStrategy> strategies, int workers, int maxRounds)
+	{
+		if (strategies.size() < 2)
+		{
+			throw new IllegalArgumentException("A tournament needs at least 2 strategies, got " + strategies.size());
+		}
+		if (workers <= 0 || maxRounds <= 0)
+		{
+			throw new IllegalArgumentException("Invalid tournament: " + workers + " workers, " + maxRounds + " rounds");
+		}
+		this.strategies = List.copyOf(strategies);
+		this.workers    = workers;
+		this.maxRounds  = maxRounds;
+		this.gridBounds = new GridBounds(AbstractMap.GRID_SIZE_WIDTH, AbstractMap.GRID_SIZE_HEIGHT);
+	}
+
+	/**
+	 * Plays the tournament.
+	 *
+	 * @param seeds the games of every pairing on every level
+	 * @return the results of all the games
+	 * @throws InterruptedException if the calling thread is interrupted while waiting for the workers
+	 * @throws IllegalStateException if a game failed, with the error as its cause, or some games
+	 *         are missing from the results
+	 */
+	public TournamentResults run(long seeds) throws InterruptedException
+	{
+		long games = this.getPairings() * Game.TOTAL_LEVEL * seeds;
+		AtomicLong nextGame = new AtomicLong();
+		AtomicReference<Throwable> failure = new AtomicReference<>();
+		List<TournamentResults> results = new ArrayList<>();
+		List<Thread> threads = new ArrayList<>();
+
+		for (int i = 0; i < this.workers; i++)
+		{
+			TournamentResults workerResults = this.createResults();
+			results.add(workerResults);
+
+			Thread thread = new Thread(() -> {
+				try
+				{
+					long from;
+					// The other workers stop at their next chunk once a game failed
+					while (failure.get() == null && (from = nextGame.getAndAdd(CHUNK_SIZE)) < games)
+					{
+						for (long game = from; game < Math.min(games, from + CHUNK_SIZE); game++)
+						{
+							this.play(game, workerResults);
+						}
+					}
+				}
+				catch (Throwable e)
+				{
+					if (!failure.compareAndSet(null, e))
+					{
+						failure.get().addSuppressed(e);
+					}
+				}
+			}, "tournament-worker-" + i);
+			thread.setDaemon(true);
+			threads.add(thread);
+			thread.start();
+		}
+
+		for (Thread thread : threads)
+		{
+			thread.join();
+		}
+
+		if (failure.get() != null)
+		{
+			throw new IllegalStateException("A game of the tournament failed: " + failure.get(), failure.get());
+		}
+
+		TournamentResults merged = this.createResults();
+		results.forEach(merged::merge);
+		if (merged.getGames() != games)
+		{
+			throw new IllegalStateException("The tournament recorded " + merged.getGames() + " games of " + games);
+		}
+		return merged;
+	}
+
+	/**
+	 * Gets the ordered pairs of different strategies, each one playing a side.
+	 *
+	 * @return the number of pairings
+	 */
+	public int getPairings()
+	{
+		return this.strategies.size() * (this.strategies.size() - 1);
+	}
+
+	/**
+	 * Plays a game of the tournament: the pairing varies fastest, then the level, then the seed.
+	 */
+	private void play(long game, TournamentResults results)
+	{
+		int pairing = (int) (game % this.getPairings());
+		int levelIndex = (int) (game / this.getPairings() % Game.TOTAL_LEVEL);
+		long seed = game / this.getPairings() / Game.TOTAL_LEVEL;
+
+		int allyStrategy = pairing / (this.strategies.size() - 1);
+		int enemyStrategy = pairing % (this.strategies.size() - 1);
+		if (enemyStrategy >= allyStrategy)
+		{
+			enemyStrategy++;
+		}
+
+		// The party and the spawn points depend on the seed and the level only
+		Random random = new Random(seed * Game.TOTAL_LEVEL + levelIndex);
+		List<Character> allies = new ArrayList<>();
+		for (UnitClass unitClass : PARTY.choose(Game.MAX_ALLIES_PER_ROUND, List.of(), random))
+		{
+			Character ally = unitClass.createCharacter();
+			ally.becomeHero();
+			allies.add(ally);
+		}
+
+		HeadlessLevel level = new HeadlessLevel(allies, LevelManager.createEnemies(levelIndex + 1), this.gridBounds, random,
+				this.strategies.get(allyStrategy), this.strategies.get(enemyStrategy));
+
+		while (!level.isOver() && level.getRound() < this.maxRounds)
+		{
+			level.playRound();
+		}
+		results.record(allyStrategy, enemyStrategy, level.getOutcome());
+	}
+
+	private TournamentResults createResults()
+	{
+		return new TournamentResults(this.strategies.stream().map(AIStrategy::getName).toArray(String[]::new));
+	}
+
+	/**
+	 * Plays a tournament of the strategies of the game and prints the ratings.
+	 * Arguments: seeds per pairing and level, and optionally worker threads and the rounds
+	 * after which a level is a draw.
+	 *
+	 * @param args the command line arguments
+	 */
+	public static void main(String[] args) throws InterruptedException
+	{
+		if (args.length < 1)
+		{
+			System.err.println("Usage: AITournament <seeds> [workers] [maxRounds]");
+			System.exit(2);
+		}
+
+		long seeds = Long.parseLong(args[0]);
+		int workers = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+		int maxRounds = args.length > 2 ? Integer.parseInt(args[2]) : 100;
+
+		long start = System.nanoTime();
+		TournamentResults results = new AITournament(AIStrategy.standard(), workers, maxRounds).run(seeds);
+		double seconds = (System.nanoTime() - start) / 1e9;
+
+		System.out.print(results);
+		System.out.print(TournamentRatings.fit(results, 1000, 42));
+		System.out.printf("Games played on %d workers in %.1f s%n", workers, seconds);
+	}
+}
@@ -0,0 +1,286 @@
+package model.simulation;
+
+import model.characters.AbstractCharacter;
+
+/**
+ * Plays AI-versus-AI battles inside a {@link BattleArena}, with the same turn rules as
+ * the game: every round the units act from the fastest, each one chases its nearest
+ * opponent like the ClosestTargetAI does and attacks it when in range.
+ *
+ * A simulator owns its arena and is meant to be used by a single worker thread: the
+ * worker fills the arena after {@link BattleArena#reset}, calls {@link #run}, reads the
+ * result and starts over with the same arena, so battles run without allocating.
+ */
+public class ArenaBattleSimulator
+{
+	/** Outcome of a battle won by the allies */
+	public static final int ALLIES_WON = 1;
+
+	/** Outcome of a battle won by the enemies */
+	public static final int ENEMIES_WON = 2;
+
+	/** Outcome of a battle still undecided after the last round allowed */
+	public static final int DRAW = 0;
+
+	private final BattleArena arena;
+
+	/**
+	 * Creates a simulator with its own arena.
+	 *
+	 * @param maxUnits the largest number of units of a battle, both sides together
+	 * @param maxCells the largest number of cells of a grid
+	 */
+	public ArenaBattleSimulator(int maxUnits, int maxCells)
+	{
+		this.arena = new BattleArena(maxUnits, maxCells);
+	}
+
+	public BattleArena getArena()
+	{
+		return this.arena;
+	}
+
+	/**
+	 * Plays the battle set up in the arena.
+	 *
+	 * @param maxRounds the number of rounds after which the battle is a draw
+	 * @return {@link #ALLIES_WON}, {@link #ENEMIES_WON} or {@link #DRAW}
+	 */
+	public int run(int maxRounds)
+	{
+		BattleArena arena = this.arena;
+
+		while (arena.getRound() < maxRounds)
+		{
+			if (arena.getAliveEnemies() == 0)
+			{
+				return ALLIES_WON;
+			}
+			if (arena.getAliveAllies() == 0)
+			{
+				return ENEMIES_WON;
+			}
+
+			this.sortTurnOrder();
+
+			for (int position = 0; position < arena.getUnitCount(); position++)
+			{
+				int unit = arena.getOrder(position);
+				if (arena.isAlive(unit))
+				{
+					this.playTurn(unit);
+				}
+			}
+			arena.setRound(arena.getRound() + 1);
+		}
+
+		return arena.getAliveEnemies() == 0 ? ALLIES_WON : arena.getAliveAllies() == 0 ? ENEMIES_WON : DRAW;
+	}
+
+	/**
+	 * Orders the units by speed, fastest first, breaking ties at random like a shuffled queue.
+	 */
+	private void sortTurnOrder()
+	{
+		BattleArena arena = this.arena;
+		int count = arena.getUnitCount();
+
+		for (int i = count - 1; i > 0; i--)
+		{
+			int j = arena.nextInt(i + 1);
+			int swap = arena.getOrder(i);
+			arena.setOrder(i, arena.getOrder(j));
+			arena.setOrder(j, swap);
+		}
+
+		// Insertion sort: stable, in place, and the order is nearly sorted after the first round
+		for (int i = 1; i < count; i++)
+		{
+			int unit = arena.getOrder(i);
+			int speed = this.speedOf(unit);
+			int j = i - 1;
+
+			while (j >= 0 && this.speedOf(arena.getOrder(j)) < speed)
+			{
+				arena.setOrder(j + 1, arena.getOrder(j));
+				j--;
+			}
+			arena.setOrder(j + 1, unit);
+		}
+	}
+
+	/**
+	 * Moves a unit towards its nearest opponent and attacks it if it gets in range.
+	 */
+	private void playTurn(int unit)
+	{
+		BattleArena arena = this.arena;
+
+		int victim = this.nearestOpponent(unit);
+		if (victim < 0)
+		{
+			return;
+		}
+
+		this.approach(unit, victim);
+
+		if (this.distance(unit, arena.get(victim, BattleArena.X), arena.get(victim, BattleArena.Y)) <= arena.get(unit, BattleArena.RANGE))
+		{
+			this.fight(unit, victim);
+		}
+	}
+
+	/**
+	 * Finds the closest living unit of the other side, the first added on ties.
+	 */
+	private int nearestOpponent(int unit)
+	{
+		BattleArena arena = this.arena;
+		boolean allied = arena.isAllied(unit);
+		int x = arena.get(unit, BattleArena.X);
+		int y = arena.get(unit, BattleArena.Y);
+
+		int best = -1;
+		int bestDistance = Integer.MAX_VALUE;
+
+		for (int other = 0; other < arena.getUnitCount(); other++)
+		{
+			if (arena.isAllied(other) != allied && arena.isAlive(other))
+			{
+				int distance = Math.abs(arena.get(other, BattleArena.X) - x) + Math.abs(arena.get(other, BattleArena.Y) - y);
+				if (distance < bestDistance)
+				{
+					best = other;
+					bestDistance = distance;
+				}
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * Moves a unit like BattleBoard.planApproach: to the closest free cell from which the victim
+	 * can be attacked, or else to the free cell closest to the victim.
+	 */
+	private void approach(int unit, int victim)
+	{
+		BattleArena arena = this.arena;
+		int x = arena.get(unit, BattleArena.X);
+		int y = arena.get(unit, BattleArena.Y);
+		int victimX = arena.get(victim, BattleArena.X);
+		int victimY = arena.get(victim, BattleArena.Y);
+		int range = arena.get(unit, BattleArena.RANGE);
+		int movement = this.speedOf(unit) / AbstractCharacter.SPEED_TO_MOVEMENT;
+
+		int attackX = -1, attackY = -1, attackDistance = Integer.MAX_VALUE;
+		int chaseX  = -1, chaseY  = -1, chaseDistance  = Integer.MAX_VALUE;
+
+		// The cells within movement range, in the same order as GridBounds.pointsWithin
+		for (int cx = Math.max(0, x - movement); cx <= Math.min(arena.getWidth() - 1, x + movement); cx++)
+		{
+			int span = movement - Math.abs(cx - x);
+
+			for (int cy = Math.max(0, y - span); cy <= Math.min(arena.getHeight() - 1, y + span); cy++)
+			{
+				if (arena.getOccupant(cx, cy) >= 0)
+				{
+					continue;
+				}
+
+				int toVictim = Math.abs(cx - victimX) + Math.abs(cy - victimY);
+				int fromUnit = Math.abs(cx - x) + Math.abs(cy - y);
+
+				if (toVictim <= range && fromUnit < attackDistance)
+				{
+					attackX = cx;
+					attackY = cy;
+					attackDistance = fromUnit;
+				}
+				if (toVictim < chaseDistance)
+				{
+					chaseX = cx;
+					chaseY = cy;
+					chaseDistance = toVictim;
+				}
+			}
+		}
+
+		if (attackX >= 0)
+		{
+			arena.moveUnit(unit, attackX, attackY);
+		}
+		else if (chaseX >= 0)
+		{
+			arena.moveUnit(unit, chaseX, chaseY);
+		}
+	}
+
+	/**
+	 * Resolves an attack with the rules of Character.fight, potions excluded.
+	 */
+	private void fight(int attacker, int defender)
+	{
+		BattleArena arena = this.arena;
+
+		this.hit(attacker, defender);
+
+		int attackerX = arena.get(attacker, BattleArena.X);
+		int attackerY = arena.get(attacker, BattleArena.Y);
+		if (arena.isAlive(defender) && this.distance(defender, attackerX, attackerY) <= arena.get(defender, BattleArena.RANGE))
+		{
+			this.hit(defender, attacker);
+		}
+
+		if (!arena.isAlive(defender))
+		{
+			arena.removeUnit(defender);
+			this.gainKillExperience(attacker);
+		}
+		if (!arena.isAlive(attacker))
+		{
+			arena.removeUnit(attacker);
+			this.gainKillExperience(defender);
+		}
+	}
+
+	private void hit(int attacker, int defender)
+	{
+		BattleArena arena = this.arena;
+		int power   = arena.get(attacker, BattleArena.POWER) + arena.get(attacker, BattleArena.WEAPON_POWER);
+		int defence = arena.get(defender, BattleArena.DEFENCE) + arena.get(defender, BattleArena.WEAPON_DEFENCE);
+
+		int damage = CombatRules.damage(power, defence);
+
+		arena.set(defender, BattleArena.HEALTH, arena.get(defender, BattleArena.HEALTH) - damage);
+		arena.set(attacker, BattleArena.DAMAGE_DEALT, arena.get(attacker, BattleArena.DAMAGE_DEALT) + damage);
+	}
+
+	private void gainKillExperience(int unit)
+	{
+		BattleArena arena = this.arena;
+		int experience = arena.get(unit, BattleArena.EXPERIENCE) + CombatRules.KILL_EXPERIENCE;
+		arena.set(unit, BattleArena.EXPERIENCE_GAINED, arena.get(unit, BattleArena.EXPERIENCE_GAINED) + CombatRules.KILL_EXPERIENCE);
+
+		// Level up, which fully heals
+		while (experience >= CombatRules.LEVELUP_THRESHOLD)
+		{
+			experience -= CombatRules.LEVELUP_THRESHOLD;
+			arena.set(unit, BattleArena.MAX_HEALTH, CombatRules.grow(arena.get(unit, BattleArena.MAX_HEALTH)));
+			arena.set(unit, BattleArena.POWER, CombatRules.grow(arena.get(unit, BattleArena.POWER)));
+			arena.set(unit, BattleArena.DEFENCE, CombatRules.grow(arena.get(unit, BattleArena.DEFENCE)));
+			arena.set(unit, BattleArena.SPEED, CombatRules.grow(arena.get(unit, BattleArena.SPEED)));
+			arena.set(unit, BattleArena.HEALTH, arena.get(unit, BattleArena.MAX_HEALTH));
+		}
+		arena.set(unit, BattleArena.EXPERIENCE, experience);
+	}
+
+	private int speedOf(int unit)
+	{
+		return this.arena.get(unit, BattleArena.SPEED) + this.arena.get(unit, BattleArena.WEAPON_SPEED);
+	}
+
+	private int distance(int unit, int x, int y)
+	{
+		return Math.abs(this.arena.get(unit, BattleArena.X) - x) + Math.abs(this.arena.get(unit, BattleArena.Y) - y);
+	}
+}
@@ -0,0 +1,325 @@
+package model.simulation;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import model.characters.BalanceProfile;
+import model.characters.BalanceProfile.Stat;
+import model.gameStatus.Game;
+
+/**
+ * Searches the balance of the characters for a target difficulty curve: the share of campaigns
+ * that clear every level once they reach it. A genetic algorithm evolves the statistic ranges
+ * of the classes and the bonuses of the bosses, and every candidate is scored on a batch of
+ * campaigns played in parallel by a {@link CampaignRunner} with the candidate's profile.
+ *
+ * Genes are kept between 0 and 1 and decoded into a profile: a gene of a class statistic
+ * scales the default range between half and one and a half times its values, keeping its
+ * width, and a gene of a boss statistic is the bonus, between 0 and {@link #MAX_BOSS_BONUS}.
+ * Every generation plays the same campaign seeds, so candidates are compared on the same
+ * parties and spawns.
+ */
+public class BalanceTuner
+{
+	/** Largest bonus a boss can get on a statistic */
+	private static final double MAX_BOSS_BONUS = 3.0;
+
+	/** Smallest and largest scale of a default range */
+	private static final double MIN_SCALE = 0.5;
+	private static final double MAX_SCALE = 1.5;
+
+	/** Candidates kept unchanged from a generation to the next */
+	private static final int ELITES = 2;
+
+	/** Candidates drawn to pick a parent */
+	private static final int TOURNAMENT_SIZE = 3;
+
+	/** Chance of a gene to mutate, and the deviation of a mutation */
+	private static final double MUTATION_RATE = 0.1;
+	private static final double MUTATION_SIGMA = 0.05;
+
+	/** Weight of the distance from the default balance, so genes that do not matter stay put */
+	private static final double REGULARIZATION = 0.001;
+
+	private static final int GENES_PER_CLASS = Stat.values().length;
+	private static final int GENE_COUNT = (BalanceProfile.CLASSES.length + BalanceProfile.BOSSES.length) * GENES_PER_CLASS;
+
+	private final double[] targetClearRates;
+	private final int campaignsPerEvaluation;
+	private final int workers;
+	private final int maxRounds;
+	private final Random random;
+
+	private final BalanceProfile defaults;
+	private final double[] defaultGenome;
+
+	/**
+	 * Creates a tuner.
+	 *
+	 * @param targetClearRates the wanted share of campaigns clearing every level, among the ones reaching it
+	 * @param campaignsPerEvaluation the campaigns played to score a candidate
+	 * @param workers the worker threads playing the campaigns of a candidate
+	 * @param maxRounds the number of rounds after which a level stalls
+	 * @param seed the seed of the genetic algorithm
+	 */
+	public BalanceTuner(double[] targetClearRates, int campaignsPerEvaluation, int workers, int maxRounds, long seed)
+	{
+		if (targetClearRates.length != Game.TOTAL_LEVEL)
+		{
+			throw new IllegalArgumentException("Expected " + Game.TOTAL_LEVEL + " target rates, got " + targetClearRates.length);
+		}
+		if (campaignsPerEvaluation <= 0)
+		{
+			throw new IllegalArgumentException("Invalid number of campaigns: " + campaignsPerEvaluation);
+		}
+		this.targetClearRates       = targetClearRates.clone();
+		this.campaignsPerEvaluation = campaignsPerEvaluation;
+		this.workers                = workers;
+		this.maxRounds              = maxRounds;
+		this.random                 = new Random(seed);
+
+		this.defaults      = BalanceProfile.defaults();
+		this.defaultGenome = this.encodeDefaults();
+	}
+
+	/**
+	 * Evolves a population of profiles, starting around the default balance.
+	 *
+	 * @param populationSize the candidates of every generation
+	 * @param generations the number of generations
+	 * @return the best profile found
+	 * @throws InterruptedException if the calling thread is interrupted while campaigns are played
+	 */
+	public BalanceProfile tune(int populationSize, int generations) throws InterruptedException
+	{
+		if (populationSize <= ELITES)
+		{
+			throw new IllegalArgumentException("The population must be larger than " + ELITES + ": " + populationSize);
+		}
+
+		List<Candidate> population = new ArrayList<>();
+		population.add(new Candidate(this.defaultGenome.clone()));
+		while (population.size() < populationSize)
+		{
+			population.add(new Candidate(this.mutate(this.defaultGenome.clone(), 1.0)));
+		}
+
+		Candidate best = null;
+		for (int generation = 0; generation < generations; generation++)
+		{
+			// The elites are scored again: with random characters, a lucky score must not survive forever
+			for (Candidate candidate : population)
+			{
+				this.evaluate(candidate);
+			}
+			population.sort(Comparator.comparingDouble(candidate -> candidate.fitness));
+			best = population.get(0);
+
+			System.out.printf("generation %d: best error %.5f, clear rates %s%n", generation, best.fitness, format(best.clearRates));
+
+			List<Candidate> next = new ArrayList<>(population.subList(0, ELITES));
+			while (next.size() < populationSize)
+			{
+				double[] child = this.crossover(this.select(population).genome, this.select(population).genome);
+				next.add(new Candidate(this.mutate(child, MUTATION_RATE)));
+			}
+			population = next;
+		}
+
+		return best != null ? this.decode(best.genome) : this.defaults.copy();
+	}
+
+	/**
+	 * Plays the campaigns of an evaluation with a profile.
+	 *
+	 * @param profile the balance to play with
+	 * @return the share of campaigns clearing every level among the ones that reached it
+	 * @throws InterruptedException if the calling thread is interrupted while campaigns are played
+	 */
+	public double[] clearRates(BalanceProfile profile) throws InterruptedException
+	{
+		CampaignStats stats = new CampaignRunner(ReplacementPolicy.random(), this.workers, this.maxRounds, profile)
+				.run(0, this.campaignsPerEvaluation);
+
+		double[] rates = new double[Game.TOTAL_LEVEL];
+		for (int level = 0; level < Game.TOTAL_LEVEL; level++)
+		{
+			// A level nobody reaches is as far from the target as a level nobody clears
+			rates[level] = stats.getReached(level) == 0 ? 0 : stats.getCleared(level) / (double) stats.getReached(level);
+		}
+		return rates;
+	}
+
+	/**
+	 * Decodes a genome into a balance profile.
+	 */
+	private BalanceProfile decode(double[] genome)
+	{
+		BalanceProfile profile = this.defaults.copy();
+		int gene = 0;
+
+		for (String name : BalanceProfile.CLASSES)
+		{
+			for (Stat stat : Stat.values())
+			{
+				double scale = MIN_SCALE + genome[gene++] * (MAX_SCALE - MIN_SCALE);
+				int width = this.defaults.getMax(name, stat) - this.defaults.getMin(name, stat);
+				int min = Math.max(1, (int) Math.round(this.defaults.getMin(name, stat) * scale));
+				profile.setRange(name, stat, min, min + width);
+			}
+		}
+		for (String name : BalanceProfile.BOSSES)
+		{
+			for (Stat stat : Stat.values())
+			{
+				profile.setBossBonus(name, stat, Math.round(genome[gene++] * MAX_BOSS_BONUS * 100) / 100.0);
+			}
+		}
+		return profile;
+	}
+
+	/**
+	 * Encodes the default balance, the genome every search starts around.
+	 */
+	private double[] encodeDefaults()
+	{
+		double[] genome = new double[GENE_COUNT];
+		int gene = 0;
+
+		for (int i = 0; i < BalanceProfile.CLASSES.length * GENES_PER_CLASS; i++)
+		{
+			genome[gene++] = (1.0 - MIN_SCALE) / (MAX_SCALE - MIN_SCALE);
+		}
+		for (String name : BalanceProfile.BOSSES)
+		{
+			for (Stat stat : Stat.values())
+			{
+				genome[gene++] = this.defaults.getBossBonus(name, stat) / MAX_BOSS_BONUS;
+			}
+		}
+		return genome;
+	}
+
+	private void evaluate(Candidate candidate) throws InterruptedException
+	{
+		candidate.clearRates = this.clearRates(this.decode(candidate.genome));
+
+		double error = 0;
+		for (int level = 0; level < Game.TOTAL_LEVEL; level++)
+		{
+			double difference = candidate.clearRates[level] - this.targetClearRates[level];
+			error += difference * difference;
+		}
+		for (int gene = 0; gene < GENE_COUNT; gene++)
+		{
+			double difference = candidate.genome[gene] - this.defaultGenome[gene];
+			error += REGULARIZATION * difference * difference;
+		}
+		candidate.fitness = error;
+	}
+
+	/**
+	 * Picks the best of a few random candidates of a sorted population.
+	 */
+	private Candidate select(List<Candidate> population)
+	{
+		int best = population.size();
+		for (int i = 0; i < TOURNAMENT_SIZE; i++)
+		{
+			best = Math.min(best, this.random.nextInt(population.size()));
+		}
+		return population.get(best);
+	}
+
+	/**
+	 * Blends two parents gene by gene, a little beyond them as well so the search can widen.
+	 */
+	private double[] crossover(double[] first, double[] second)
+	{
+		double[] child = new double[GENE_COUNT];
+		for (int gene = 0; gene < GENE_COUNT; gene++)
+		{
+			double weight = -0.25 + 1.5 * this.random.nextDouble();
+			child[gene] = clamp(first[gene] + weight * (second[gene] - first[gene]));
+		}
+		return child;
+	}
+
+	private double[] mutate(double[] genome, double rate)
+	{
+		for (int gene = 0; gene < GENE_COUNT; gene++)
+		{
+			if (this.random.nextDouble() < rate)
+			{
+				genome[gene] = clamp(genome[gene] + MUTATION_SIGMA * this.random.nextGaussian());
+			}
+		}
+		return genome;
+	}
+
+	private static double clamp(double gene)
+	{
+		return Math.max(0, Math.min(1, gene));
+	}
+
+	private static String format(double[] rates)
+	{
+		StringBuilder builder = new StringBuilder();
+		for (double rate : rates)
+		{
+			builder.append(builder.length() == 0 ? "" : " ").append(String.format("%.3f", rate));
+		}
+		return builder.toString();
+	}
+
+	/**
+	 * A genome and its last score.
+	 */
+	private static class Candidate
+	{
+		private final double[] genome;
+		private double[] clearRates;
+		private double fitness;
+
+		private Candidate(double[] genome)
+		{
+			this.genome = genome;
+		}
+	}
+
+	/**
+	 * Tunes the balance and saves the best profile, for the game to load at startup.
+	 * Arguments: output file and optionally generations, population, campaigns per evaluation,
+	 * worker threads and the target clear rates of the five levels separated by commas.
+	 *
+	 * @param args the command line arguments
+	 */
+	public static void main(String[] args) throws InterruptedException, IOException
+	{
+		if (args.length < 1)
+		{
+			System.err.println("Usage: BalanceTuner <profileFile> [generations] [population] [campaigns] [workers] [targets]");
+			System.exit(2);
+		}
+
+		File file = new File(args[0]);
+		int generations = args.length > 1 ? Integer.parseInt(args[1]) : 30;
+		int population = args.length > 2 ? Integer.parseInt(args[2]) : 16;
+		int campaigns = args.length > 3 ? Integer.parseInt(args[3]) : 2000;
+		int workers = args.length > 4 ? Integer.parseInt(args[4]) : Runtime.getRuntime().availableProcessors();
+		double[] targets = args.length > 5
+				? Arrays.stream(args[5].split(",")).mapToDouble(Double::parseDouble).toArray()
+				: new double[] {0.95, 0.9, 0.85, 0.8, 0.7};
+
+		BalanceTuner tuner = new BalanceTuner(targets, campaigns, workers, 100, 42);
+		BalanceProfile best = tuner.tune(population, generations);
+
+		double[] rates = tuner.clearRates(best);
+		best.save(file, "Tuned for clear rates " + format(targets) + ", measured " + format(rates));
+		System.out.println("Saved " + file + " with clear rates " + format(rates));
+	}
+}
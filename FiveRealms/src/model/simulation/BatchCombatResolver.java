@@ -0,0 +1,46 @@
+package model.simulation;
+
+/**
+ * Resolves a batch of independent duels with the rules of {@code AbstractCharacter.fight}:
+ * the defender takes the attacker's power minus its defence, counterattacks if it survives
+ * and the attacker is within its range, and whoever kills the other gains half of
+ * {@code AbstractCharacter.EXP_LEVELUP_THRESHOLD} experience, levelling up when the
+ * threshold is reached. Potion drops are not part of the batch.
+ */
+public interface BatchCombatResolver 
+{
+    /** Module providing the vector implementation */
+    String VECTOR_MODULE = "jdk.incubator.vector";
+
+    /**
+     * Resolves every unmasked lane of the batch, updating the statistics in place
+     * and writing the outcome of every lane.
+     * 
+     * @param batch the duels to resolve
+     */
+    void resolve(DuelBatch batch);
+
+    /**
+     * Creates the fastest resolver available: the vector one when the JVM was started
+     * with {@code --add-modules jdk.incubator.vector}, the scalar one otherwise.
+     * 
+     * @return a resolver
+     */
+    static BatchCombatResolver create() 
+    {
+        if (ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent()) 
+        {
+            try 
+            {
+                return (BatchCombatResolver) Class.forName("model.simulation.VectorCombatResolver")
+                        .getDeclaredConstructor()
+                        .newInstance();
+            } 
+            catch (ReflectiveOperationException | LinkageError e) 
+            {
+                System.err.println("Vector combat resolver unavailable, using the scalar one: " + e.getMessage());
+            }
+        }
+        return new ScalarCombatResolver();
+    }
+}
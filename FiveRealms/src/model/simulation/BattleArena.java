@@ -0,0 +1,349 @@
+package model.simulation;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import model.characters.Character;
+
+/**
+ * Off-heap store of a simulated battle, in a direct buffer with a fixed layout:
+ * a header with the RNG state and the counters, the unit records, the turn order and
+ * the board occupancy. The buffer is allocated once for the largest battle the arena
+ * can hold and {@link #reset} between battles, so simulating battles allocates nothing
+ * on the heap and leaves no garbage.
+ *
+ * Units are identified by their index, in the order they were added.
+ */
+public class BattleArena
+{
+	/* Header */
+	private static final int RNG_STATE     = 0;
+	private static final int UNIT_COUNT    = 8;
+	private static final int WIDTH         = 12;
+	private static final int HEIGHT        = 16;
+	private static final int ROUND         = 20;
+	private static final int ALIVE_ALLIES  = 24;
+	private static final int ALIVE_ENEMIES = 28;
+	private static final int HEADER_BYTES  = 32;
+
+	/* Unit record, one int per field */
+	public static final int HEALTH         = 0;
+	public static final int MAX_HEALTH     = 1;
+	public static final int POWER          = 2;
+	public static final int DEFENCE        = 3;
+	public static final int SPEED          = 4;
+	public static final int EXPERIENCE     = 5;
+	public static final int WEAPON_POWER   = 6;
+	public static final int WEAPON_DEFENCE = 7;
+	public static final int WEAPON_SPEED   = 8;
+	public static final int RANGE          = 9;
+	public static final int X              = 10;
+	public static final int Y              = 11;
+	public static final int ALLIED         = 12;
+	public static final int UNIT_CLASS     = 13;
+	public static final int DAMAGE_DEALT   = 14;
+	public static final int EXPERIENCE_GAINED = 15;
+	private static final int UNIT_FIELDS   = 16;
+	private static final int UNIT_BYTES    = UNIT_FIELDS * Integer.BYTES;
+
+	private final int maxUnits;
+	private final int maxCells;
+
+	private final int unitsOffset;
+	private final int orderOffset;
+	private final int occupancyOffset;
+
+	private final ByteBuffer buffer;
+
+	/**
+	 * Allocates an arena.
+	 *
+	 * @param maxUnits the largest number of units of a battle, both sides together
+	 * @param maxCells the largest number of cells of a grid
+	 */
+	public BattleArena(int maxUnits, int maxCells)
+	{
+		if (maxUnits <= 0 || maxCells <= 0)
+		{
+			throw new IllegalArgumentException("Invalid arena capacity: " + maxUnits + " units, " + maxCells + " cells");
+		}
+		this.maxUnits = maxUnits;
+		this.maxCells = maxCells;
+
+		this.unitsOffset     = HEADER_BYTES;
+		this.orderOffset     = this.unitsOffset + maxUnits * UNIT_BYTES;
+		this.occupancyOffset = this.orderOffset + maxUnits * Integer.BYTES;
+
+		this.buffer = ByteBuffer.allocateDirect(this.occupancyOffset + maxCells * Integer.BYTES)
+				.order(ByteOrder.nativeOrder());
+	}
+
+	/**
+	 * Empties the arena for a new battle on a grid of the given size.
+	 *
+	 * @param width the number of x coordinates of the grid
+	 * @param height the number of y coordinates of the grid
+	 * @param seed the seed of the battle's random numbers
+	 */
+	public void reset(int width, int height, long seed)
+	{
+		if (width <= 0 || height <= 0 || width * height > this.maxCells)
+		{
+			throw new IllegalArgumentException("Grid " + width + "x" + height + " does not fit in " + this.maxCells + " cells");
+		}
+
+		// A zero state would make the generator return only zeros
+		this.buffer.putLong(RNG_STATE, seed != 0 ? seed : 0x9E3779B97F4A7C15L);
+		this.buffer.putInt(UNIT_COUNT, 0);
+		this.buffer.putInt(WIDTH, width);
+		this.buffer.putInt(HEIGHT, height);
+		this.buffer.putInt(ROUND, 0);
+		this.buffer.putInt(ALIVE_ALLIES, 0);
+		this.buffer.putInt(ALIVE_ENEMIES, 0);
+
+		for (int cell = 0; cell < width * height; cell++)
+		{
+			this.buffer.putInt(this.occupancyOffset + cell * Integer.BYTES, 0);
+		}
+	}
+
+	/**
+	 * Adds a unit to the battle.
+	 *
+	 * @param health the current health
+	 * @param maxHealth the maximum health
+	 * @param power the base power
+	 * @param defence the base defence
+	 * @param speed the base speed
+	 * @param experience the experience points
+	 * @param weaponPower the power bonus of the weapon
+	 * @param weaponDefence the defence bonus of the weapon
+	 * @param weaponSpeed the speed bonus of the weapon
+	 * @param range the range of the weapon
+	 * @param x the x coordinate of the unit
+	 * @param y the y coordinate of the unit
+	 * @param allied true for the player's side
+	 * @param unitClass the class of the unit
+	 * @return the index of the unit
+	 */
+	public int addUnit(int health, int maxHealth, int power, int defence, int speed, int experience,
+			int weaponPower, int weaponDefence, int weaponSpeed, int range, int x, int y, boolean allied, UnitClass unitClass)
+	{
+		int unit = this.getUnitCount();
+		if (unit >= this.maxUnits)
+		{
+			throw new IllegalStateException("The arena is full: " + this.maxUnits + " units");
+		}
+		if (!this.isInside(x, y) || this.getOccupant(x, y) >= 0)
+		{
+			throw new IllegalArgumentException("Cell not available: " + x + "," + y);
+		}
+
+		this.buffer.putInt(UNIT_COUNT, unit + 1);
+		this.set(unit, HEALTH, health);
+		this.set(unit, MAX_HEALTH, maxHealth);
+		this.set(unit, POWER, power);
+		this.set(unit, DEFENCE, defence);
+		this.set(unit, SPEED, speed);
+		this.set(unit, EXPERIENCE, experience);
+		this.set(unit, WEAPON_POWER, weaponPower);
+		this.set(unit, WEAPON_DEFENCE, weaponDefence);
+		this.set(unit, WEAPON_SPEED, weaponSpeed);
+		this.set(unit, RANGE, range);
+		this.set(unit, X, x);
+		this.set(unit, Y, y);
+		this.set(unit, ALLIED, allied ? 1 : 0);
+		this.set(unit, UNIT_CLASS, unitClass.ordinal());
+		this.set(unit, DAMAGE_DEALT, 0);
+		this.set(unit, EXPERIENCE_GAINED, 0);
+
+		this.setOrder(unit, unit);
+		this.setOccupant(x, y, unit);
+		this.buffer.putInt(allied ? ALIVE_ALLIES : ALIVE_ENEMIES, this.buffer.getInt(allied ? ALIVE_ALLIES : ALIVE_ENEMIES) + 1);
+		return unit;
+	}
+
+	/**
+	 * Adds a unit with the statistics and position of a character.
+	 *
+	 * @param character the character to copy
+	 * @param allied true for the player's side
+	 * @return the index of the unit
+	 */
+	public int addUnit(Character character, boolean allied)
+	{
+		return this.addUnit(character.getCurrentHealth(), character.getMaxHealth(),
+				character.getPower() - character.getWeapon().getPower(),
+				character.getDefence() - character.getWeapon().getDefence(),
+				character.getSpeed() - character.getWeapon().getSpeed(),
+				character.getExperience(),
+				character.getWeapon().getPower(), character.getWeapon().getDefence(), character.getWeapon().getSpeed(),
+				character.getRange(), character.getPosition().getX(), character.getPosition().getY(), allied,
+				UnitClass.of(character));
+	}
+
+	/**
+	 * Gets a field of a unit record.
+	 *
+	 * @param unit the index of the unit
+	 * @param field one of the field constants, like {@link #HEALTH}
+	 * @return the value of the field
+	 */
+	public int get(int unit, int field)
+	{
+		return this.buffer.getInt(this.unitsOffset + unit * UNIT_BYTES + field * Integer.BYTES);
+	}
+
+	/**
+	 * Sets a field of a unit record.
+	 *
+	 * @param unit the index of the unit
+	 * @param field one of the field constants, like {@link #HEALTH}
+	 * @param value the new value of the field
+	 */
+	public void set(int unit, int field, int value)
+	{
+		this.buffer.putInt(this.unitsOffset + unit * UNIT_BYTES + field * Integer.BYTES, value);
+	}
+
+	public boolean isAlive(int unit)
+	{
+		return this.get(unit, HEALTH) > 0;
+	}
+
+	public boolean isAllied(int unit)
+	{
+		return this.get(unit, ALLIED) != 0;
+	}
+
+	public UnitClass getUnitClass(int unit)
+	{
+		return UnitClass.fromOrdinal(this.get(unit, UNIT_CLASS));
+	}
+
+	/**
+	 * Moves a unit to a free cell.
+	 *
+	 * @param unit the index of the unit
+	 * @param x the new x coordinate
+	 * @param y the new y coordinate
+	 */
+	public void moveUnit(int unit, int x, int y)
+	{
+		this.setOccupant(this.get(unit, X), this.get(unit, Y), -1);
+		this.set(unit, X, x);
+		this.set(unit, Y, y);
+		this.setOccupant(x, y, unit);
+	}
+
+	/**
+	 * Removes a dead unit from the board and from the count of its side.
+	 *
+	 * @param unit the index of the unit
+	 */
+	public void removeUnit(int unit)
+	{
+		this.setOccupant(this.get(unit, X), this.get(unit, Y), -1);
+		int counter = this.isAllied(unit) ? ALIVE_ALLIES : ALIVE_ENEMIES;
+		this.buffer.putInt(counter, this.buffer.getInt(counter) - 1);
+	}
+
+	/**
+	 * Gets the unit on a cell.
+	 *
+	 * @param x the x coordinate
+	 * @param y the y coordinate
+	 * @return the index of the unit, or -1 if the cell is free
+	 */
+	public int getOccupant(int x, int y)
+	{
+		return this.buffer.getInt(this.occupancyOffset + (x * this.getHeight() + y) * Integer.BYTES) - 1;
+	}
+
+	public boolean isInside(int x, int y)
+	{
+		return x >= 0 && x < this.getWidth() && y >= 0 && y < this.getHeight();
+	}
+
+	/**
+	 * Gets the unit playing at a position of the turn order.
+	 *
+	 * @param position the position in the turn order
+	 * @return the index of the unit
+	 */
+	public int getOrder(int position)
+	{
+		return this.buffer.getInt(this.orderOffset + position * Integer.BYTES);
+	}
+
+	public void setOrder(int position, int unit)
+	{
+		this.buffer.putInt(this.orderOffset + position * Integer.BYTES, unit);
+	}
+
+	/**
+	 * Draws the next random number of the battle (xorshift64*), kept in the arena
+	 * so that a battle is reproduced exactly from its seed.
+	 *
+	 * @param bound the exclusive upper bound, positive
+	 * @return a number between 0 and bound - 1
+	 */
+	public int nextInt(int bound)
+	{
+		long state = this.buffer.getLong(RNG_STATE);
+		state ^= state >>> 12;
+		state ^= state << 25;
+		state ^= state >>> 27;
+		this.buffer.putLong(RNG_STATE, state);
+		return (int) (((state * 0x2545F4914F6CDD1DL) >>> 33) % bound);
+	}
+
+	public int getUnitCount()
+	{
+		return this.buffer.getInt(UNIT_COUNT);
+	}
+
+	public int getWidth()
+	{
+		return this.buffer.getInt(WIDTH);
+	}
+
+	public int getHeight()
+	{
+		return this.buffer.getInt(HEIGHT);
+	}
+
+	public int getRound()
+	{
+		return this.buffer.getInt(ROUND);
+	}
+
+	public void setRound(int round)
+	{
+		this.buffer.putInt(ROUND, round);
+	}
+
+	public int getAliveAllies()
+	{
+		return this.buffer.getInt(ALIVE_ALLIES);
+	}
+
+	public int getAliveEnemies()
+	{
+		return this.buffer.getInt(ALIVE_ENEMIES);
+	}
+
+	public int getMaxUnits()
+	{
+		return this.maxUnits;
+	}
+
+	public int getMaxCells()
+	{
+		return this.maxCells;
+	}
+
+	private void setOccupant(int x, int y, int unit)
+	{
+		this.buffer.putInt(this.occupancyOffset + (x * this.getHeight() + y) * Integer.BYTES, unit + 1);
+	}
+}
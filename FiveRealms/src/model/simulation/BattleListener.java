@@ -0,0 +1,18 @@
+package model.simulation;
+
+/**
+ * Notified of every battle a {@link SimulationRunner} plays, for instance to store them.
+ * It is called by the worker threads, so it must be thread safe.
+ */
+@FunctionalInterface
+public interface BattleListener
+{
+	/**
+	 * Called when a battle is over, before its arena is reused.
+	 *
+	 * @param seed the seed of the battle
+	 * @param arena the arena, holding the final state of the battle
+	 * @param outcome the outcome, with the constants of {@link ArenaBattleSimulator}
+	 */
+	void battlePlayed(long seed, BattleArena arena, int outcome);
+}
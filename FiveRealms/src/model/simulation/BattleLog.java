@@ -0,0 +1,135 @@
+package model.simulation;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import model.simulation.store.ColumnType;
+import model.simulation.store.ColumnarWriter;
+
+/**
+ * Stores every battle of a simulation run as a row of a columnar file: the seed, the level,
+ * the strategy that played, the winner, the rounds and the damage dealt by every class.
+ * The file can then be filtered and aggregated with a
+ * {@link model.simulation.store.ColumnarReader} without replaying anything.
+ *
+ * Workers of a runner share the log, so rows are appended under a lock and are in the order
+ * the battles ended, not in the order of their seeds.
+ */
+public class BattleLog implements BattleListener, Closeable
+{
+	/** Values of the winner column */
+	public static final String ALLIES = "allies";
+	public static final String ENEMIES = "enemies";
+	public static final String DRAW = "draw";
+
+	private final ColumnarWriter writer;
+	private final int level;
+	private final String strategy;
+	private final long[] damage;
+
+	/** First error writing the file, rows are dropped after it and it is thrown on close */
+	private IOException failure;
+
+	/**
+	 * Creates a log, replacing any file with the same name.
+	 *
+	 * @param file the file to write
+	 * @param level the level the battles are played in, 0 for random battles
+	 * @param strategy the name of the strategy playing the battles
+	 * @throws IOException if the file cannot be created
+	 */
+	public BattleLog(File file, int level, String strategy) throws IOException
+	{
+		this.writer   = new ColumnarWriter(file, columnNames(), columnTypes());
+		this.level    = level;
+		this.strategy = strategy;
+		this.damage   = new long[UnitClass.COUNT];
+	}
+
+	/**
+	 * Gets the names of the columns of a battle log.
+	 *
+	 * @return seed, level, strategy, winner, rounds and the damage of every class, like damageKnight
+	 */
+	public static String[] columnNames()
+	{
+		String[] names = new String[5 + UnitClass.COUNT];
+		names[0] = "seed";
+		names[1] = "level";
+		names[2] = "strategy";
+		names[3] = "winner";
+		names[4] = "rounds";
+		for (UnitClass unitClass : UnitClass.values())
+		{
+			names[5 + unitClass.ordinal()] = "damage" + unitClass.getCharacterName();
+		}
+		return names;
+	}
+
+	private static ColumnType[] columnTypes()
+	{
+		ColumnType[] types = new ColumnType[5 + UnitClass.COUNT];
+		Arrays.fill(types, ColumnType.LONG);
+		types[2] = ColumnType.STRING;
+		types[3] = ColumnType.STRING;
+		return types;
+	}
+
+	@Override
+	public synchronized void battlePlayed(long seed, BattleArena arena, int outcome)
+	{
+		if (this.failure != null)
+		{
+			return;
+		}
+
+		Arrays.fill(this.damage, 0);
+		for (int unit = 0; unit < arena.getUnitCount(); unit++)
+		{
+			this.damage[arena.getUnitClass(unit).ordinal()] += arena.get(unit, BattleArena.DAMAGE_DEALT);
+		}
+
+		this.writer.add(seed).add(this.level).add(this.strategy)
+				.add(outcome == ArenaBattleSimulator.ALLIES_WON ? ALLIES : outcome == ArenaBattleSimulator.ENEMIES_WON ? ENEMIES : DRAW)
+				.add(arena.getRound());
+		for (long classDamage : this.damage)
+		{
+			this.writer.add(classDamage);
+		}
+
+		try
+		{
+			this.writer.endRow();
+		}
+		catch (IOException e)
+		{
+			this.failure = e;
+		}
+	}
+
+	/**
+	 * Writes the last rows and the footer of the file.
+	 *
+	 * @throws IOException if the file cannot be written, now or for an earlier row
+	 */
+	@Override
+	public synchronized void close() throws IOException
+	{
+		try
+		{
+			this.writer.close();
+		}
+		catch (IOException e)
+		{
+			if (this.failure == null)
+			{
+				this.failure = e;
+			}
+		}
+		if (this.failure != null)
+		{
+			throw new IOException("Error while writing the battle log: " + this.failure.getMessage(), this.failure);
+		}
+	}
+}
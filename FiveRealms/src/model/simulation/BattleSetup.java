@@ -0,0 +1,18 @@
+package model.simulation;
+
+/**
+ * Fills an arena with the battle of a given seed.
+ * The same seed must always produce the same battle, so that a run can be split in
+ * seed ranges among workers and any battle can be replayed.
+ */
+@FunctionalInterface
+public interface BattleSetup
+{
+    /**
+     * Resets the arena and adds the units of a battle.
+     * 
+     * @param arena the arena to fill
+     * @param seed the seed of the battle
+     */
+    void setUp(BattleArena arena, long seed);
+}
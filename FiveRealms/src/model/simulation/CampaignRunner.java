@@ -0,0 +1,128 @@
+package model.simulation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import model.characters.BalanceProfile;
+
+/**
+ * Plays many campaigns on several worker threads, the way {@link SimulationRunner} plays
+ * battles: workers claim chunks of campaign seeds from a shared counter, each with its own
+ * {@link CampaignSimulator} and {@link CampaignStats}, merged once the workers are done.
+ */
+public class CampaignRunner
+{
+	/** Campaigns claimed by a worker at a time */
+	private static final int CHUNK_SIZE = 64;
+
+	private final ReplacementPolicy policy;
+	private final int workers;
+	private final int maxRounds;
+	private final BalanceProfile profile;
+
+	/**
+	 * Creates a runner playing with the global balance profile.
+	 *
+	 * @param policy how characters are chosen at the start and after a level
+	 * @param workers the number of worker threads
+	 * @param maxRounds the number of rounds after which a level stalls
+	 */
+	public CampaignRunner(ReplacementPolicy policy, int workers, int maxRounds)
+	{
+		this(policy, workers, maxRounds, null);
+	}
+
+	/**
+	 * Creates a runner whose workers create the characters with the given balance profile,
+	 * leaving the rest of the game on the global one.
+	 *
+	 * @param policy how characters are chosen at the start and after a level
+	 * @param workers the number of worker threads
+	 * @param maxRounds the number of rounds after which a level stalls
+	 * @param profile the balance of the characters, or null for the global one
+	 */
+	public CampaignRunner(ReplacementPolicy policy, int workers, int maxRounds, BalanceProfile profile)
+	{
+		if (workers <= 0)
+		{
+			throw new IllegalArgumentException("Invalid number of workers: " + workers);
+		}
+		this.policy    = policy;
+		this.workers   = workers;
+		this.maxRounds = maxRounds;
+		this.profile   = profile;
+	}
+
+	/**
+	 * Plays the campaigns of a range of seeds.
+	 *
+	 * @param firstSeed the first seed, inclusive
+	 * @param lastSeed the last seed, exclusive
+	 * @return the merged statistics of all the campaigns
+	 * @throws InterruptedException if the calling thread is interrupted while waiting for the workers
+	 */
+	public CampaignStats run(long firstSeed, long lastSeed) throws InterruptedException
+	{
+		AtomicLong nextSeed = new AtomicLong(firstSeed);
+		List<CampaignStats> results = new ArrayList<>();
+		List<Thread> threads = new ArrayList<>();
+
+		for (int i = 0; i < this.workers; i++)
+		{
+			CampaignStats stats = new CampaignStats();
+			results.add(stats);
+
+			Thread thread = new Thread(() -> {
+				BalanceProfile.setForCurrentThread(this.profile);
+				CampaignSimulator simulator = new CampaignSimulator(this.policy, this.maxRounds);
+				long from;
+				while ((from = nextSeed.getAndAdd(CHUNK_SIZE)) < lastSeed)
+				{
+					for (long seed = from; seed < Math.min(lastSeed, from + CHUNK_SIZE); seed++)
+					{
+						simulator.play(seed, stats);
+					}
+				}
+			}, "campaign-worker-" + i);
+			thread.setDaemon(true);
+			threads.add(thread);
+			thread.start();
+		}
+
+		for (Thread thread : threads)
+		{
+			thread.join();
+		}
+
+		CampaignStats merged = new CampaignStats();
+		results.forEach(merged::merge);
+		return merged;
+	}
+
+	/**
+	 * Plays campaigns and prints where they end.
+	 * Arguments: campaigns and optionally worker threads and the rounds after which a level stalls.
+	 *
+	 * @param args the command line arguments
+	 */
+	public static void main(String[] args) throws InterruptedException
+	{
+		if (args.length < 1)
+		{
+			System.err.println("Usage: CampaignRunner <campaigns> [workers] [maxRounds]");
+			System.exit(2);
+		}
+
+		long campaigns = Long.parseLong(args[0]);
+		int workers = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+		int maxRounds = args.length > 2 ? Integer.parseInt(args[2]) : 100;
+
+		long start = System.nanoTime();
+		CampaignStats stats = new CampaignRunner(ReplacementPolicy.random(), workers, maxRounds).run(0, campaigns);
+		double seconds = (System.nanoTime() - start) / 1e9;
+
+		System.out.print(stats);
+		System.out.printf("%d campaigns on %d workers in %.1f s, %.0f campaigns per second%n",
+				stats.getCampaigns(), workers, seconds, stats.getCampaigns() / seconds);
+	}
+}
@@ -0,0 +1,128 @@
+package model.simulation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import model.characters.Character;
+import model.gameStatus.Game;
+import model.gameStatus.manager.CharacterManager;
+import model.gameStatus.manager.LevelManager;
+import model.point.GridBounds;
+import view.map.AbstractMap;
+
+/**
+ * Plays whole campaigns headless, the way {@link Game} chains its levels: the allies carry
+ * their damage, experience, potions and level ups from a level to the next, dead allies are
+ * replaced through the {@link CharacterManager} with characters chosen by a
+ * {@link ReplacementPolicy}, and positions are reset before every level.
+ *
+ * Levels are played as {@link HeadlessLevel}s with the real characters, so bosses and
+ * potions follow their own rules. A level that is still undecided after the last round
+ * allowed stalls the campaign.
+ *
+ * The campaign seed drives the choices of the policy and the spawn points, while the
+ * characters keep rolling their statistics and potions with the game's own random numbers,
+ * so campaigns are not reproduced exactly from their seed.
+ * A simulator is meant to be used by a single worker thread.
+ */
+public class CampaignSimulator
+{
+	private final ReplacementPolicy policy;
+	private final int maxRounds;
+	private final GridBounds gridBounds;
+	private final Random random;
+
+	/** Rounds the last level played lasted, the last one included even if unfinished */
+	private int levelRounds;
+
+	/**
+	 * Creates a simulator.
+	 *
+	 * @param policy how characters are chosen at the start and after a level
+	 * @param maxRounds the number of rounds after which a level stalls
+	 */
+	public CampaignSimulator(ReplacementPolicy policy, int maxRounds)
+	{
+		if (maxRounds <= 0)
+		{
+			throw new IllegalArgumentException("Invalid number of rounds: " + maxRounds);
+		}
+		this.policy     = policy;
+		this.maxRounds  = maxRounds;
+		this.gridBounds = new GridBounds(AbstractMap.GRID_SIZE_WIDTH, AbstractMap.GRID_SIZE_HEIGHT);
+		this.random     = new Random();
+	}
+
+	/**
+	 * Plays a campaign from the character selection to the last level or the first level lost.
+	 *
+	 * @param seed the seed of the campaign
+	 * @param stats the statistics to record the campaign into
+	 * @return true if every level was cleared
+	 */
+	public boolean play(long seed, CampaignStats stats)
+	{
+		this.random.setSeed(seed);
+
+		CharacterManager characterManager = new CharacterManager();
+		characterManager.setSelectedCharacters(this.createCharacters(Game.MAX_ALLIES_PER_ROUND, List.of()));
+
+		int replaced = 0;
+		for (int levelIndex = 0; levelIndex < Game.TOTAL_LEVEL; levelIndex++)
+		{
+			List<Character> allies = characterManager.getSelectedAllies();
+			int alliesBefore = allies.size();
+
+			int outcome = this.playLevel(allies, LevelManager.createEnemies(levelIndex + 1));
+			stats.recordLevel(levelIndex, outcome, this.levelRounds, alliesBefore - allies.size(), replaced);
+
+			if (outcome != ArenaBattleSimulator.ALLIES_WON)
+			{
+				stats.recordCampaign(false);
+				return false;
+			}
+
+			// Between levels, as in Game.handleLevelTransition and advanceToNextLevel
+			replaced = 0;
+			if (levelIndex + 1 < Game.TOTAL_LEVEL && characterManager.needsCharacterReplacement())
+			{
+				replaced = characterManager.getCharactersToReplace();
+				characterManager.addSelectedCharacters(this.createCharacters(replaced, allies));
+			}
+			characterManager.resetCharacterPositions();
+		}
+
+		stats.recordCampaign(true);
+		return true;
+	}
+
+	/**
+	 * Plays a level until one side is gone or the rounds run out.
+	 *
+	 * @return the outcome, with the constants of {@link ArenaBattleSimulator}
+	 */
+	private int playLevel(List<Character> allies, List<Character> enemies)
+	{
+		HeadlessLevel level = new HeadlessLevel(allies, enemies, this.gridBounds, this.random);
+
+		while (!level.isOver() && level.getRound() < this.maxRounds)
+		{
+			level.playRound();
+		}
+		this.levelRounds = level.getRound();
+		return level.getOutcome();
+	}
+
+	/**
+	 * Creates the characters chosen by the policy, as the selection menus do.
+	 */
+	private List<Character> createCharacters(int count, List<Character> survivors)
+	{
+		List<Character> characters = new ArrayList<>(count);
+		for (UnitClass unitClass : this.policy.choose(count, survivors, this.random))
+		{
+			characters.add(unitClass.createCharacter());
+		}
+		return characters;
+	}
+}
@@ -0,0 +1,184 @@
+package model.simulation;
+
+import java.io.Serializable;
+import model.gameStatus.Game;
+
+/**
+ * Statistics of simulated campaigns: how many reached, cleared, lost or stalled every
+ * level, the allies that died and were replaced along the way, and the rounds every
+ * level took. Like {@link SimulationStats}, every worker records into its own instance
+ * and the instances are combined with {@link #merge}.
+ */
+public class CampaignStats implements Serializable
+{
+	private static final long serialVersionUID = 1L;
+
+	private long campaigns;
+	private long won;
+
+	private final long[] reached;
+	private final long[] cleared;
+	private final long[] lost;
+	private final long[] stalled;
+	private final long[] allyDeaths;
+	private final long[] replacements;
+	private final StreamingHistogram[] rounds;
+
+	/**
+	 * Creates empty statistics.
+	 */
+	public CampaignStats()
+	{
+		this.reached      = new long[Game.TOTAL_LEVEL];
+		this.cleared      = new long[Game.TOTAL_LEVEL];
+		this.lost         = new long[Game.TOTAL_LEVEL];
+		this.stalled      = new long[Game.TOTAL_LEVEL];
+		this.allyDeaths   = new long[Game.TOTAL_LEVEL];
+		this.replacements = new long[Game.TOTAL_LEVEL];
+		this.rounds       = new StreamingHistogram[Game.TOTAL_LEVEL];
+
+		for (int level = 0; level < Game.TOTAL_LEVEL; level++)
+		{
+			this.rounds[level] = new StreamingHistogram();
+		}
+	}
+
+	/**
+	 * Records a level played by a campaign.
+	 *
+	 * @param levelIndex the level index (0-based)
+	 * @param outcome the outcome of the level, as returned by {@link ArenaBattleSimulator#run}
+	 * @param roundsPlayed the rounds the level lasted
+	 * @param deaths the allies that died in the level
+	 * @param replaced the allies replaced before the level started
+	 */
+	public void recordLevel(int levelIndex, int outcome, int roundsPlayed, int deaths, int replaced)
+	{
+		this.reached[levelIndex]++;
+		this.allyDeaths[levelIndex] += deaths;
+		this.replacements[levelIndex] += replaced;
+		this.rounds[levelIndex].record(roundsPlayed);
+
+		switch (outcome)
+		{
+			case ArenaBattleSimulator.ALLIES_WON:  this.cleared[levelIndex]++; break;
+			case ArenaBattleSimulator.ENEMIES_WON: this.lost[levelIndex]++; break;
+			default:                               this.stalled[levelIndex]++; break;
+		}
+	}
+
+	/**
+	 * Records the end of a campaign.
+	 *
+	 * @param campaignWon true if every level was cleared
+	 */
+	public void recordCampaign(boolean campaignWon)
+	{
+		this.campaigns++;
+		if (campaignWon)
+		{
+			this.won++;
+		}
+	}
+
+	/**
+	 * Adds the statistics of other campaigns to these.
+	 *
+	 * @param other the statistics to add
+	 */
+	public void merge(CampaignStats other)
+	{
+		this.campaigns += other.campaigns;
+		this.won       += other.won;
+
+		for (int level = 0; level < Game.TOTAL_LEVEL; level++)
+		{
+			this.reached[level]      += other.reached[level];
+			this.cleared[level]      += other.cleared[level];
+			this.lost[level]         += other.lost[level];
+			this.stalled[level]      += other.stalled[level];
+			this.allyDeaths[level]   += other.allyDeaths[level];
+			this.replacements[level] += other.replacements[level];
+			this.rounds[level].merge(other.rounds[level]);
+		}
+	}
+
+	public long getCampaigns()
+	{
+		return this.campaigns;
+	}
+
+	public long getWon()
+	{
+		return this.won;
+	}
+
+	public double getWinRate()
+	{
+		return this.campaigns == 0 ? 0 : this.won / (double) this.campaigns;
+	}
+
+	/**
+	 * Gets the campaigns that ended at a level, lost or stalled.
+	 *
+	 * @param levelIndex the level index (0-based)
+	 * @return the number of campaigns
+	 */
+	public long getEndedAt(int levelIndex)
+	{
+		return this.lost[levelIndex] + this.stalled[levelIndex];
+	}
+
+	public long getReached(int levelIndex)
+	{
+		return this.reached[levelIndex];
+	}
+
+	public long getCleared(int levelIndex)
+	{
+		return this.cleared[levelIndex];
+	}
+
+	public long getLost(int levelIndex)
+	{
+		return this.lost[levelIndex];
+	}
+
+	public long getStalled(int levelIndex)
+	{
+		return this.stalled[levelIndex];
+	}
+
+	public long getAllyDeaths(int levelIndex)
+	{
+		return this.allyDeaths[levelIndex];
+	}
+
+	public long getReplacements(int levelIndex)
+	{
+		return this.replacements[levelIndex];
+	}
+
+	public StreamingHistogram getRounds(int levelIndex)
+	{
+		return this.rounds[levelIndex];
+	}
+
+	@Override
+	public String toString()
+	{
+		StringBuilder builder = new StringBuilder();
+		builder.append(String.format("campaigns=%d won=%d (%.1f%%)%n", this.campaigns, this.won, 100 * this.getWinRate()));
+		builder.append("level   reached   cleared      lost   stalled  deaths/try  replaced/try  rounds p50/p99\n");
+
+		for (int level = 0; level < Game.TOTAL_LEVEL; level++)
+		{
+			double tries = Math.max(1, this.reached[level]);
+			builder.append(String.format("%5d %9d %9d %9d %9d %11.2f %13.2f %8d/%d%n", level + 1,
+					this.reached[level], this.cleared[level], this.lost[level], this.stalled[level],
+					this.allyDeaths[level] / tries, this.replacements[level] / tries,
+					this.rounds[level].getValueAtPercentile(50), this.rounds[level].getValueAtPercentile(99)));
+		}
+		return builder.toString();
+	}
+}
@@ -0,0 +1,54 @@
+package model.simulation;
+
+import java.io.Serializable;
+
+/**
+ * When a run saves its checkpoint: after a number of battles, after some time,
+ * or whichever comes first. A value of 0 disables that condition.
+ */
+public class CheckpointPolicy implements Serializable
+{
+	private static final long serialVersionUID = 1L;
+
+	private final long everyBattles;
+	private final long everyMillis;
+
+	/**
+	 * Creates a policy.
+	 *
+	 * @param everyBattles the battles between two checkpoints, 0 for no limit
+	 * @param everyMillis the milliseconds between two checkpoints, 0 for no limit
+	 */
+	public CheckpointPolicy(long everyBattles, long everyMillis)
+	{
+		if (everyBattles < 0 || everyMillis < 0)
+		{
+			throw new IllegalArgumentException("Invalid checkpoint interval: " + everyBattles + " battles, " + everyMillis + " ms");
+		}
+		this.everyBattles = everyBattles;
+		this.everyMillis  = everyMillis;
+	}
+
+	/**
+	 * Checks whether a checkpoint is due.
+	 *
+	 * @param battlesSinceLast the battles played since the last checkpoint
+	 * @param millisSinceLast the milliseconds passed since the last checkpoint
+	 * @return true if the checkpoint must be saved now
+	 */
+	public boolean isDue(long battlesSinceLast, long millisSinceLast)
+	{
+		return (this.everyBattles > 0 && battlesSinceLast >= this.everyBattles)
+			|| (this.everyMillis > 0 && millisSinceLast >= this.everyMillis);
+	}
+
+	public long getEveryBattles()
+	{
+		return this.everyBattles;
+	}
+
+	public long getEveryMillis()
+	{
+		return this.everyMillis;
+	}
+}
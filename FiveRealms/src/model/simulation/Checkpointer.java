@@ -0,0 +1,77 @@
+package model.simulation;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Records the chunks completed by the workers of a run into its checkpoint,
+ * saving it whenever the policy says so. Thread safe: workers of a runner and
+ * connection handlers of a coordinator report their chunks concurrently.
+ */
+public class Checkpointer
+{
+	private final SimulationCheckpoint checkpoint;
+	private final File file;
+	private final CheckpointPolicy policy;
+
+	private long battlesSinceSave;
+	private long lastSave;
+
+	/**
+	 * Creates a checkpointer.
+	 *
+	 * @param checkpoint the checkpoint of the run
+	 * @param file the file to save it to
+	 * @param policy when to save it
+	 */
+	public Checkpointer(SimulationCheckpoint checkpoint, File file, CheckpointPolicy policy)
+	{
+		this.checkpoint = checkpoint;
+		this.file       = file;
+		this.policy     = policy;
+		this.lastSave   = System.currentTimeMillis();
+	}
+
+	/**
+	 * Records a completed chunk and saves the checkpoint if it is due.
+	 * A failed save is reported and retried at the next chunk, the run goes on.
+	 *
+	 * @param from the first seed of the chunk, inclusive
+	 * @param to the last seed of the chunk, exclusive
+	 * @param chunkStats the statistics of the battles of the chunk
+	 */
+	public synchronized void chunkCompleted(long from, long to, SimulationStats chunkStats)
+	{
+		this.checkpoint.complete(from, to, chunkStats);
+		this.battlesSinceSave += to - from;
+
+		if (this.policy.isDue(this.battlesSinceSave, System.currentTimeMillis() - this.lastSave))
+		{
+			try
+			{
+				this.save();
+			}
+			catch (IOException e)
+			{
+				System.err.println("Could not save the simulation checkpoint: " + e.getMessage());
+			}
+		}
+	}
+
+	/**
+	 * Saves the checkpoint now.
+	 *
+	 * @throws IOException if an error occurs during saving
+	 */
+	public synchronized void save() throws IOException
+	{
+		this.checkpoint.save(this.file);
+		this.battlesSinceSave = 0;
+		this.lastSave = System.currentTimeMillis();
+	}
+
+	public SimulationCheckpoint getCheckpoint()
+	{
+		return this.checkpoint;
+	}
+}
@@ -0,0 +1,43 @@
+package model.simulation;
+
+import model.characters.AbstractCharacter;
+
+/**
+ * The fight rules of {@code AbstractCharacter} in integer form, shared by the simulation
+ * code that resolves fights without character objects.
+ */
+final class CombatRules
+{
+	/** Experience gained by killing a character */
+	static final int KILL_EXPERIENCE = AbstractCharacter.EXP_LEVELUP_THRESHOLD / 2;
+
+	/** Experience needed to level up */
+	static final int LEVELUP_THRESHOLD = AbstractCharacter.EXP_LEVELUP_THRESHOLD;
+
+	private CombatRules()
+	{
+	}
+
+	/**
+	 * Computes the damage of an attack; negative damage is ignored, like reduceCurrentHealth does.
+	 *
+	 * @param power the effective power of the attacker
+	 * @param defence the effective defence of the defender
+	 * @return the health lost by the defender
+	 */
+	static int damage(int power, int defence)
+	{
+		return Math.max(0, power - defence);
+	}
+
+	/**
+	 * Increases a statistic by 10%, truncated like levelUp does.
+	 *
+	 * @param stat the base statistic
+	 * @return the statistic after a level up
+	 */
+	static int grow(int stat)
+	{
+		return stat + stat / 10;
+	}
+}
@@ -0,0 +1,148 @@
+package model.simulation;
+
+import model.characters.Character;
+
+/**
+ * A batch of independent duels stored as primitive arrays, one lane per duel.
+ * Every lane holds the statistics of an attacker and a defender and the distance between them;
+ * resolving the batch updates the statistics in place and writes the outcome of every lane.
+ * Power, defence and speed are the base statistics, the ones a level up increases; the weapon
+ * bonuses are kept apart and added when the damage is computed, like the character getters do.
+ *
+ * Lanes can be masked: a masked lane is left untouched by the resolvers and its outcome is
+ * {@link #SKIPPED}. Duels whose rules the batch cannot express (bosses, potions used before
+ * the attack) are masked when loaded from characters and must be resolved with
+ * {@link Character#fight(Character)}.
+ */
+public class DuelBatch
+{
+	/** Outcome of a duel where both characters survive */
+	public static final int NONE = 0;
+
+	/** Outcome of a duel where the defender dies */
+	public static final int DEFENDER_DIED = 1;
+
+	/** Outcome of a duel where the attacker dies on the counterattack */
+	public static final int ATTACKER_DIED = 2;
+
+	/** Outcome of a masked lane, or of a defender outside the attacker's range */
+	public static final int SKIPPED = -1;
+
+	private final int size;
+
+	public final int[] attackerHealth;
+	public final int[] attackerMaxHealth;
+	public final int[] attackerPower;
+	public final int[] attackerDefence;
+	public final int[] attackerSpeed;
+	public final int[] attackerExperience;
+	public final int[] attackerWeaponPower;
+	public final int[] attackerWeaponDefence;
+	public final int[] attackerRange;
+
+	public final int[] defenderHealth;
+	public final int[] defenderMaxHealth;
+	public final int[] defenderPower;
+	public final int[] defenderDefence;
+	public final int[] defenderSpeed;
+	public final int[] defenderExperience;
+	public final int[] defenderWeaponPower;
+	public final int[] defenderWeaponDefence;
+	public final int[] defenderRange;
+
+	/** Distance in squares between the two characters of every duel */
+	public final int[] distance;
+
+	/** Lanes left to the scalar rules of the characters */
+	public final boolean[] masked;
+
+	/** Outcome of every lane, written by the resolvers */
+	public final int[] outcome;
+
+	/**
+	 * Creates a batch of empty lanes.
+	 *
+	 * @param size the number of duels
+	 */
+	public DuelBatch(int size)
+	{
+		if (size < 0)
+		{
+			throw new IllegalArgumentException("Invalid batch size: " + size);
+		}
+		this.size = size;
+
+		this.attackerHealth     = new int[size];
+		this.attackerMaxHealth  = new int[size];
+		this.attackerPower      = new int[size];
+		this.attackerDefence    = new int[size];
+		this.attackerSpeed      = new int[size];
+		this.attackerExperience = new int[size];
+		this.attackerWeaponPower   = new int[size];
+		this.attackerWeaponDefence = new int[size];
+		this.attackerRange      = new int[size];
+
+		this.defenderHealth     = new int[size];
+		this.defenderMaxHealth  = new int[size];
+		this.defenderPower      = new int[size];
+		this.defenderDefence    = new int[size];
+		this.defenderSpeed      = new int[size];
+		this.defenderExperience = new int[size];
+		this.defenderWeaponPower   = new int[size];
+		this.defenderWeaponDefence = new int[size];
+		this.defenderRange      = new int[size];
+
+		this.distance = new int[size];
+		this.masked   = new boolean[size];
+		this.outcome  = new int[size];
+	}
+
+	/**
+	 * Loads a duel from two characters, using their current positions.
+	 * The lane is masked if either character follows special rules during a fight:
+	 * bosses, and attackers that would drink a potion before attacking.
+	 *
+	 * @param lane the lane to fill
+	 * @param attacker the attacking character
+	 * @param defender the attacked character
+	 */
+	public void set(int lane, Character attacker, Character defender)
+	{
+		this.attackerHealth[lane]     = attacker.getCurrentHealth();
+		this.attackerMaxHealth[lane]  = attacker.getMaxHealth();
+		this.attackerPower[lane]      = attacker.getPower() - attacker.getWeapon().getPower();
+		this.attackerDefence[lane]    = attacker.getDefence() - attacker.getWeapon().getDefence();
+		this.attackerSpeed[lane]      = attacker.getSpeed() - attacker.getWeapon().getSpeed();
+		this.attackerExperience[lane] = attacker.getExperience();
+		this.attackerWeaponPower[lane]   = attacker.getWeapon().getPower();
+		this.attackerWeaponDefence[lane] = attacker.getWeapon().getDefence();
+		this.attackerRange[lane]      = attacker.getRange();
+
+		this.defenderHealth[lane]     = defender.getCurrentHealth();
+		this.defenderMaxHealth[lane]  = defender.getMaxHealth();
+		this.defenderPower[lane]      = defender.getPower() - defender.getWeapon().getPower();
+		this.defenderDefence[lane]    = defender.getDefence() - defender.getWeapon().getDefence();
+		this.defenderSpeed[lane]      = defender.getSpeed() - defender.getWeapon().getSpeed();
+		this.defenderExperience[lane] = defender.getExperience();
+		this.defenderWeaponPower[lane]   = defender.getWeapon().getPower();
+		this.defenderWeaponDefence[lane] = defender.getWeapon().getDefence();
+		this.defenderRange[lane]      = defender.getRange();
+
+		this.distance[lane] = attacker.getDistanceInSquares(defender);
+		this.masked[lane]   = isBoss(attacker) || isBoss(defender) || attacker.hasPotion();
+		this.outcome[lane]  = NONE;
+	}
+
+	public int size()
+	{
+		return this.size;
+	}
+
+	/**
+	 * Checks whether a character is a boss, whose fights have extra effects.
+	 */
+	private static boolean isBoss(Character character)
+	{
+		return character.getClass().getPackageName().equals("model.characters.bosses");
+	}
+}
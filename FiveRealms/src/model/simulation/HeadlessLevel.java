@@ -0,0 +1,243 @@
+package model.simulation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import model.characters.Character;
+import model.gameStatus.level.AIMove;
+import model.gameStatus.level.AIStrategy;
+import model.gameStatus.level.BattleBoard;
+import model.gameStatus.level.ClosestTargetAI;
+import model.point.GridBounds;
+import model.point.Point;
+import model.point.SpawnZones;
+
+/**
+ * A level played without its window: the characters spawn on the default spawn points and
+ * take their turns like in GameLevel, every round from the fastest, both sides played by an
+ * {@link AIStrategy}: unless told otherwise, the enemies by the AI of the game,
+ * {@link AIStrategy#game()}, and the allies of the player by the {@link ClosestTargetAI}.
+ * Dead characters are removed from the lists of the level as they die, so the lists given
+ * are the ones the game would keep.
+ *
+ * The level is played a turn or a round at a time, so callers can stop it, measure it or
+ * save it between turns.
+ */
+public class HeadlessLevel
+{
+	private final List<Character> allies;
+	private final List<Character> enemies;
+	private final BattleBoard board;
+	private final AIStrategy allyAI;
+	private final AIStrategy enemyAI;
+	private final List<Character> turnOrder;
+
+	private int nextTurn;
+	private int round;
+
+	/**
+	 * Spawns the characters of a level played by the default strategies.
+	 * Characters with a position keep it, like in a loaded level; the others are placed
+	 * on random free spawn points of their side, like AbstractMap.spawnCharacter does.
+	 * Every level gets its own instance of the game AI, like in the game.
+	 *
+	 * @param allies the allies, removed from the list as they die
+	 * @param enemies the enemies, removed from the list as they die
+	 * @param gridBounds the size of the grid
+	 * @param random the random numbers of the spawn points
+	 */
+	public HeadlessLevel(List<Character> allies, List<Character> enemies, GridBounds gridBounds, Random random)
+	{
+		this(allies, enemies, gridBounds, random, new ClosestTargetAI(), AIStrategy.game());
+	}
+
+	/**
+	 * Spawns the characters of a level whose sides are played by the given strategies.
+	 *
+	 * @param allies the allies, removed from the list as they die
+	 * @param enemies the enemies, removed from the list as they die
+	 * @param gridBounds the size of the grid
+	 * @param random the random numbers of the spawn points
+	 * @param allyAI the strategy playing the allies
+	 * @param enemyAI the strategy playing the enemies
+	 */
+	public HeadlessLevel(List<Character> allies, List<Character> enemies, GridBounds gridBounds, Random random,
+			AIStrategy allyAI, AIStrategy enemyAI)
+	{
+		this.allies    = allies;
+		this.enemies   = enemies;
+		this.board     = new BattleBoard(gridBounds);
+		this.allyAI    = allyAI;
+		this.enemyAI   = enemyAI;
+		this.turnOrder = new ArrayList<>(allies.size() + enemies.size());
+
+		this.spawn(allies, SpawnZones.defaultAllyPoints(), random);
+		this.spawn(enemies, SpawnZones.defaultEnemyPoints(), random);
+	}
+
+	/**
+	 * Plays the turn of the next living character, starting a new round when every
+	 * character of the current one has played.
+	 *
+	 * @throws IllegalStateException if the level is over
+	 */
+	public void playNextTurn()
+	{
+		if (this.isOver())
+		{
+			throw new IllegalStateException("The level is over");
+		}
+
+		Character attacker;
+		do
+		{
+			if (this.nextTurn >= this.turnOrder.size())
+			{
+				this.startRound();
+			}
+			attacker = this.turnOrder.get(this.nextTurn++);
+		}
+		while (!attacker.isAlive());
+
+		this.playTurn(attacker);
+	}
+
+	/**
+	 * Plays the turns left in the current round, or a whole new round if the current one is done.
+	 *
+	 * @throws IllegalStateException if the level is over
+	 */
+	public void playRound()
+	{
+		if (this.nextTurn >= this.turnOrder.size())
+		{
+			this.startRound();
+		}
+
+		do
+		{
+			this.playNextTurn();
+		}
+		while (!this.isOver() && !this.isRoundOver());
+	}
+
+	/**
+	 * Checks whether every living character has played in the current round, so the next
+	 * turn starts a new one. True before the first turn.
+	 *
+	 * @return true if the round is over
+	 */
+	public boolean isRoundOver()
+	{
+		for (int position = this.nextTurn; position < this.turnOrder.size(); position++)
+		{
+			if (this.turnOrder.get(position).isAlive())
+			{
+				return false;
+			}
+		}
+		return true;
+	}
+
+	public boolean isOver()
+	{
+		return this.allies.isEmpty() || this.enemies.isEmpty();
+	}
+
+	/**
+	 * Gets the outcome of the level so far.
+	 *
+	 * @return the outcome, with the constants of {@link ArenaBattleSimulator}, DRAW while the level goes on
+	 */
+	public int getOutcome()
+	{
+		if (this.enemies.isEmpty())
+		{
+			return ArenaBattleSimulator.ALLIES_WON;
+		}
+		return this.allies.isEmpty() ? ArenaBattleSimulator.ENEMIES_WON : ArenaBattleSimulator.DRAW;
+	}
+
+	/**
+	 * Gets the round being played, 0 before the first turn.
+	 *
+	 * @return the round number
+	 */
+	public int getRound()
+	{
+		return this.round;
+	}
+
+	public List<Character> getAllies()
+	{
+		return this.allies;
+	}
+
+	public List<Character> getEnemies()
+	{
+		return this.enemies;
+	}
+
+	public BattleBoard getBoard()
+	{
+		return this.board;
+	}
+
+	/**
+	 * Orders the living characters by speed, fastest first, like GameLevel.getTurnOrder.
+	 */
+	private void startRound()
+	{
+		this.round++;
+		this.nextTurn = 0;
+		this.turnOrder.clear();
+		this.turnOrder.addAll(this.allies);
+		this.turnOrder.addAll(this.enemies);
+		this.turnOrder.sort((a, b) -> Integer.compare(b.getSpeed(), a.getSpeed()));
+	}
+
+	/**
+	 * Plays a turn like GameLevel.startAITurn, with the strategy of the side of the attacker.
+	 */
+	private void playTurn(Character attacker)
+	{
+		AIMove move = (attacker.isAllied() ? this.allyAI : this.enemyAI).planTurn(attacker, this.board);
+		if (move == null)
+		{
+			return;
+		}
+
+		Character victim = move.getTarget();
+		this.board.move(attacker, move.getDestination());
+		attacker.moveTo(move.getDestination());
+
+		if (attacker.isWithinAttackRange(victim))
+		{
+			Character dead = attacker.fight(victim);
+			if (dead != null)
+			{
+				this.board.remove(dead);
+				(dead.isAllied() ? this.allies : this.enemies).remove(dead);
+			}
+			// The fight changed the statistics of the survivors, and their threat
+			this.board.refresh(attacker);
+			this.board.refresh(victim);
+		}
+	}
+
+	private void spawn(List<Character> characters, List<Point> points, Random random)
+	{
+		for (Character character : characters)
+		{
+			if (character.getPosition() == null)
+			{
+				character.setPosition(points.remove(random.nextInt(points.size())));
+			}
+			else
+			{
+				points.remove(character.getPosition());
+			}
+			this.board.add(character);
+		}
+	}
+}
@@ -0,0 +1,363 @@
+package model.simulation;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import model.characters.AbstractCharacter;
+import model.characters.Character;
+import model.characters.FightOutcome;
+import model.characters.FightPredictor;
+import model.gameStatus.Game;
+import model.gameStatus.level.OpeningBook;
+import model.gameStatus.manager.LevelManager;
+import model.point.GridBounds;
+import model.point.Point;
+import model.point.SpawnZones;
+import view.map.AbstractMap;
+
+/**
+ * Builds the {@link OpeningBook} of the game offline.
+ *
+ * The openings are every enemy of the rosters, with every movement and weapon range its
+ * class rolls, on every enemy spawn point, facing every party of heroes of different
+ * classes on the ally spawn points. For each of them the builder searches the cells the
+ * enemy can reach, and scores a cell two moves deep with {@link FightPredictor}: the best
+ * attack the enemy can make from there, minus the attacks of the heroes that can reach it
+ * on their turn, net of the counterattacks, plus a small reward for closing in. Scores are
+ * averaged over sample characters, as the statistics are random, and the openings are
+ * searched in parallel by worker threads claiming them from a shared counter.
+ */
+public class OpeningBookBuilder
+{
+	/** Score of a kill, on top of the damage of the blow */
+	private static final int KILL_BONUS = 50;
+
+	/** Score of every square closer to the nearest hero */
+	private static final int APPROACH_WEIGHT = 1;
+
+	/** Rosters created to find the movements and ranges every enemy class rolls */
+	private static final int ROSTERS_PER_LEVEL = 2_000;
+
+	private static final List<Point> ALLY_POINTS = SpawnZones.defaultAllyPoints();
+	private static final List<Point> ENEMY_POINTS = SpawnZones.defaultEnemyPoints();
+
+	private final int workers;
+	private final int samples;
+	private final GridBounds gridBounds;
+
+	/**
+	 * Creates a builder.
+	 *
+	 * @param workers the number of worker threads
+	 * @param samples the sample characters a cell is scored with
+	 */
+	public OpeningBookBuilder(int workers, int samples)
+	{
+		if (workers <= 0 || samples <= 0)
+		{
+			throw new IllegalArgumentException("Invalid builder: " + workers + " workers, " + samples + " samples");
+		}
+		this.workers    = workers;
+		this.samples    = samples;
+		this.gridBounds = new GridBounds(AbstractMap.GRID_SIZE_WIDTH, AbstractMap.GRID_SIZE_HEIGHT);
+	}
+
+	/**
+	 * Builds the book.
+	 *
+	 * @return the book
+	 * @throws InterruptedException if the calling thread is interrupted while waiting for the workers
+	 */
+	public OpeningBook build() throws InterruptedException
+	{
+		AbstractCharacter.disableSpritesOnCurrentThread();
+
+		// Sample enemies by class, movement and range, and heroes by class
+		Map<Long, List<Character>> enemySamples = new LinkedHashMap<>();
+		for (int level = 1; level <= Game.TOTAL_LEVEL; level++)
+		{
+			for (int i = 0; i < ROSTERS_PER_LEVEL; i++)
+			{
+				for (Character enemy : LevelManager.createEnemies(level))
+				{
+					List<Character> list = enemySamples.computeIfAbsent(enemyKind(enemy), kind -> new ArrayList<>());
+					if (list.size() < this.samples)
+					{
+						list.add(enemy);
+					}
+				}
+			}
+		}
+		List<List<Character>> heroSamples = new ArrayList<>();
+		for (UnitClass unitClass : UnitClass.values())
+		{
+			List<Character> list = new ArrayList<>();
+			for (int i = 0; i < this.samples; i++)
+			{
+				Character hero = unitClass.createCharacter();
+				hero.becomeHero();
+				list.add(hero);
+			}
+			heroSamples.add(list);
+		}
+
+		List<int[]> parties = parties();
+		List<Long> kinds = new ArrayList<>(enemySamples.keySet());
+		byte[] samplesBytes = serialize(new Object[] {new ArrayList<>(enemySamples.values()), heroSamples});
+
+		long openings = (long) kinds.size() * ENEMY_POINTS.size() * parties.size();
+		AtomicLong nextOpening = new AtomicLong();
+		Map<Integer, Point> moves = new ConcurrentHashMap<>();
+		List<Thread> threads = new ArrayList<>();
+
+		for (int i = 0; i < this.workers; i++)
+		{
+			Thread thread = new Thread(() -> {
+				// Every worker positions its own copies of the samples
+				Object[] copy = (Object[]) deserialize(samplesBytes);
+				@SuppressWarnings("unchecked")
+				List<List<Character>> enemies = (List<List<Character>>) copy[0];
+				@SuppressWarnings("unchecked")
+				List<List<Character>> heroes = (List<List<Character>>) copy[1];
+
+				long opening;
+				while ((opening = nextOpening.getAndIncrement()) < openings)
+				{
+					int kind = (int) (opening / parties.size() / ENEMY_POINTS.size());
+					int spawnPoint = (int) (opening / parties.size() % ENEMY_POINTS.size());
+					int[] party = parties.get((int) (opening % parties.size()));
+
+					List<Character> movers = enemies.get(kind);
+					Point move = this.search(movers, spawnPoint, party, heroes);
+					int key = OpeningBook.key(OpeningBook.classCode(movers.get(0)), spawnPoint, OpeningBook.allyCode(party),
+							movement(movers.get(0)), movers.get(0).getRange());
+					if (key >= 0)
+					{
+						moves.put(key, move);
+					}
+				}
+			}, "opening-book-worker-" + i);
+			thread.setDaemon(true);
+			threads.add(thread);
+			thread.start();
+		}
+
+		for (Thread thread : threads)
+		{
+			thread.join();
+		}
+		return new OpeningBook(moves);
+	}
+
+	/**
+	 * Finds the best cell for an enemy on a spawn point to move to against a party.
+	 */
+	private Point search(List<Character> movers, int spawnPoint, int[] party, List<List<Character>> heroes)
+	{
+		Point spawn = ENEMY_POINTS.get(spawnPoint);
+		Point best = spawn;
+		double bestScore = Double.NEGATIVE_INFINITY;
+
+		for (Point cell : this.gridBounds.pointsWithin(spawn, movement(movers.get(0))))
+		{
+			// The other spawn points may hold enemies, the party holds its own
+			if (!cell.equals(spawn) && (ENEMY_POINTS.contains(cell) || isPartyPoint(cell, party)))
+			{
+				continue;
+			}
+
+			double score = 0;
+			for (int sample = 0; sample < movers.size(); sample++)
+			{
+				List<Character> allies = new ArrayList<>();
+				for (int i = 0; i < party.length; i++)
+				{
+					if (party[i] >= 0)
+					{
+						Character ally = heroes.get(party[i]).get(sample % heroes.get(party[i]).size());
+						ally.setPosition(ALLY_POINTS.get(i));
+						allies.add(ally);
+					}
+				}
+				score += score(movers.get(sample), cell, allies);
+			}
+			score /= movers.size();
+
+			if (score > bestScore)
+			{
+				bestScore = score;
+				best = cell;
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * Scores a cell for an enemy: its best attack from there, then the answer of the heroes.
+	 */
+	private static double score(Character mover, Point cell, List<Character> allies)
+	{
+		mover.setPosition(cell);
+
+		double score = 0;
+		Character killed = null;
+		int nearest = Integer.MAX_VALUE;
+		for (Character ally : allies)
+		{
+			nearest = Math.min(nearest, ally.getDistanceInSquares(cell));
+		}
+		score -= APPROACH_WEIGHT * nearest;
+
+		// First move: the best attack, if any
+		double bestAttack = 0;
+		for (Character ally : allies)
+		{
+			if (mover.isWithinAttackRange(ally))
+			{
+				FightOutcome outcome = FightPredictor.predict(mover, ally);
+				double value = value(outcome);
+				if (outcome.isAttackerKilled())
+				{
+					return score + value;
+				}
+				if (value > bestAttack)
+				{
+					bestAttack = value;
+					killed = outcome.isTargetKilled() ? ally : null;
+				}
+			}
+		}
+		score += bestAttack;
+
+		// Second move: every hero still alive that can reach the enemy attacks it from its range
+		for (Character ally : allies)
+		{
+			if (ally == killed || ally.getDistanceInSquares(cell) > movement(ally) + ally.getRange())
+			{
+				continue;
+			}
+			Point spawn = ally.getPosition();
+			ally.setPosition(new Point(cell.getX() + ally.getRange(), cell.getY()));
+			score -= value(FightPredictor.predict(ally, mover));
+			ally.setPosition(spawn);
+		}
+		return score;
+	}
+
+	/**
+	 * Values a fight for the attacker.
+	 */
+	private static double value(FightOutcome outcome)
+	{
+		return outcome.getDamageDealt() - outcome.getDamageTaken()
+				+ (outcome.isTargetKilled() ? KILL_BONUS : 0) - (outcome.isAttackerKilled() ? KILL_BONUS : 0);
+	}
+
+	/**
+	 * Lists the parties on the ally spawn points: for every point the ordinal of the class
+	 * of its hero or -1 if free, at least one hero and no class twice.
+	 */
+	private static List<int[]> parties()
+	{
+		List<int[]> parties = new ArrayList<>();
+		int[] party = new int[ALLY_POINTS.size()];
+		int combinations = (int) Math.pow(UnitClass.COUNT + 1, party.length);
+		for (int code = 1; code < combinations; code++)
+		{
+			int rest = code;
+			boolean[] used = new boolean[UnitClass.COUNT];
+			boolean valid = true;
+			for (int i = 0; i < party.length; i++)
+			{
+				party[i] = rest % (UnitClass.COUNT + 1) - 1;
+				rest /= UnitClass.COUNT + 1;
+				if (party[i] >= 0)
+				{
+					valid &= !used[party[i]];
+					used[party[i]] = true;
+				}
+			}
+			if (valid)
+			{
+				parties.add(party.clone());
+			}
+		}
+		return parties;
+	}
+
+	private static boolean isPartyPoint(Point cell, int[] party)
+	{
+		int index = ALLY_POINTS.indexOf(cell);
+		return index >= 0 && party[index] >= 0;
+	}
+
+	private static int movement(Character character)
+	{
+		return character.getSpeed() / AbstractCharacter.SPEED_TO_MOVEMENT;
+	}
+
+	/**
+	 * Groups enemies whose openings are the same: class, movement and range.
+	 */
+	private static long enemyKind(Character enemy)
+	{
+		return ((long) OpeningBook.classCode(enemy) << 32) | ((long) movement(enemy) << 16) | enemy.getRange();
+	}
+
+	private static byte[] serialize(Object object)
+	{
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream out = new ObjectOutputStream(bytes))
+		{
+			out.writeObject(object);
+		}
+		catch (IOException e)
+		{
+			throw new UncheckedIOException("Cannot copy the samples", e);
+		}
+		return bytes.toByteArray();
+	}
+
+	private static Object deserialize(byte[] bytes)
+	{
+		try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes)))
+		{
+			return in.readObject();
+		}
+		catch (IOException e)
+		{
+			throw new UncheckedIOException("Cannot copy the samples", e);
+		}
+		catch (ClassNotFoundException e)
+		{
+			throw new IllegalStateException("Cannot copy the samples", e);
+		}
+	}
+
+	/**
+	 * Builds the book of the game.
+	 * Usage: OpeningBookBuilder [bookFile] [workers] [samples]
+	 */
+	public static void main(String[] args) throws InterruptedException, IOException
+	{
+		File file = args.length > 0 ? new File(args[0]) : OpeningBook.DEFAULT_FILE;
+		int workers = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+		int samples = args.length > 2 ? Integer.parseInt(args[2]) : 8;
+
+		long start = System.nanoTime();
+		OpeningBook book = new OpeningBookBuilder(workers, samples).build();
+		book.save(file);
+		System.out.println("Saved " + book.size() + " openings to " + file + " in "
+				+ (System.nanoTime() - start) / 1_000_000 + " ms");
+	}
+}
@@ -0,0 +1,98 @@
+package model.simulation;
+
+import java.util.List;
+import model.equipment.weapons.Weapon;
+import model.point.GridBounds;
+import model.point.Point;
+import model.point.SpawnZones;
+
+/**
+ * Battles between two armies of random units, rolled like the character constructors do:
+ * a random class, statistics within the ranges of the class and one of its two weapons.
+ * Allies are heroes, with the 40% boost of becomeHero. The armies spawn in the zones of
+ * {@link SpawnZones}, computed once, so setting up a battle allocates nothing.
+ */
+public class RandomBattleSetup implements BattleSetup
+{
+	private final int unitsPerSide;
+	private final GridBounds gridBounds;
+	private final List<Point> allyZone;
+	private final List<Point> enemyZone;
+
+	/**
+	 * Creates the setup of battles of the given size.
+	 *
+	 * @param unitsPerSide the number of units of each army
+	 * @param gridBounds the size of the grid
+	 * @throws IllegalArgumentException if the armies do not fit in the grid
+	 */
+	public RandomBattleSetup(int unitsPerSide, GridBounds gridBounds)
+	{
+		this.unitsPerSide = unitsPerSide;
+		this.gridBounds   = gridBounds;
+		this.allyZone     = SpawnZones.allyZone(gridBounds, unitsPerSide);
+		this.enemyZone    = SpawnZones.enemyZone(gridBounds, unitsPerSide);
+	}
+
+	@Override
+	public void setUp(BattleArena arena, long seed)
+	{
+		arena.reset(this.gridBounds.getWidth(), this.gridBounds.getHeight(), seed);
+
+		for (int i = 0; i < this.unitsPerSide; i++)
+		{
+			this.addRandomUnit(arena, this.allyZone.get(i), true);
+		}
+		for (int i = 0; i < this.unitsPerSide; i++)
+		{
+			this.addRandomUnit(arena, this.enemyZone.get(i), false);
+		}
+	}
+
+	public int getUnitsPerSide()
+	{
+		return this.unitsPerSide;
+	}
+
+	public GridBounds getGridBounds()
+	{
+		return this.gridBounds;
+	}
+
+	private void addRandomUnit(BattleArena arena, Point position, boolean allied)
+	{
+		UnitClass unitClass = UnitClass.fromOrdinal(arena.nextInt(UnitClass.COUNT));
+
+		int health  = roll(arena, unitClass.getMinHealth(), unitClass.getMaxHealth());
+		int speed   = roll(arena, unitClass.getMinSpeed(), unitClass.getMaxSpeed());
+		int power   = roll(arena, unitClass.getMinPower(), unitClass.getMaxPower());
+		int defence = roll(arena, unitClass.getMinDefence(), unitClass.getMaxDefence());
+
+		if (allied)
+		{
+			health  = heroBoost(health);
+			speed   = heroBoost(speed);
+			power   = heroBoost(power);
+			defence = heroBoost(defence);
+		}
+
+		Weapon weapon = unitClass.getWeapon(arena.nextInt(unitClass.getWeaponCount()));
+
+		arena.addUnit(health, health, power, defence, speed, 0,
+				weapon.getPower(), weapon.getDefence(), weapon.getSpeed(), weapon.getRange(),
+				position.getX(), position.getY(), allied, unitClass);
+	}
+
+	private static int roll(BattleArena arena, int min, int max)
+	{
+		return min + arena.nextInt(max - min);
+	}
+
+	/**
+	 * The 40% increase of becomeHero, truncated like the character statistics are.
+	 */
+	private static int heroBoost(int stat)
+	{
+		return stat + stat * 2 / 5;
+	}
+}
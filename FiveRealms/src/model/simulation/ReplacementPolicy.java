@@ -0,0 +1,71 @@
+package model.simulation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import model.characters.Character;
+
+/**
+ * How a simulated player picks characters in the selection menus: at the start of a
+ * campaign and when dead allies are replaced between levels. Like the menus, a policy
+ * picks classes, at most one character per class in a single choice.
+ */
+@FunctionalInterface
+public interface ReplacementPolicy
+{
+	/**
+	 * Chooses the classes of the characters to add to the party.
+	 *
+	 * @param count the number of characters to choose
+	 * @param survivors the allies still in the party, empty at the start of a campaign
+	 * @param random the random numbers of the campaign
+	 * @return the chosen classes, {@code count} different ones
+	 */
+	List<UnitClass> choose(int count, List<Character> survivors, Random random);
+
+	/**
+	 * Picks different classes at random.
+	 *
+	 * @return the policy
+	 */
+	static ReplacementPolicy random()
+	{
+		return (count, survivors, random) -> {
+			List<UnitClass> classes = new ArrayList<>(Arrays.asList(UnitClass.values()));
+			List<UnitClass> chosen = new ArrayList<>(count);
+			for (int i = 0; i < count; i++)
+			{
+				chosen.add(classes.remove(random.nextInt(classes.size())));
+			}
+			return chosen;
+		};
+	}
+
+	/**
+	 * Picks the first classes of a preference order, skipping the ones the survivors
+	 * already have as long as there are others left.
+	 *
+	 * @param preference the classes from the most to the least wanted
+	 * @return the policy
+	 */
+	static ReplacementPolicy prefer(UnitClass... preference)
+	{
+		if (preference.length == 0)
+		{
+			throw new IllegalArgumentException("No class to prefer");
+		}
+
+		return (count, survivors, random) -> {
+			List<UnitClass> missing = new ArrayList<>();
+			List<UnitClass> present = new ArrayList<>();
+			for (UnitClass unitClass : preference)
+			{
+				boolean owned = survivors.stream().anyMatch(ally -> UnitClass.of(ally) == unitClass);
+				(owned ? present : missing).add(unitClass);
+			}
+			missing.addAll(present);
+			return new ArrayList<>(missing.subList(0, Math.min(count, missing.size())));
+		};
+	}
+}
@@ -0,0 +1,295 @@
+package model.simulation;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import model.characters.AbstractCharacter;
+import model.characters.Character;
+import model.gameStatus.Game;
+import model.gameStatus.manager.LevelManager;
+import model.point.GridBounds;
+import view.map.AbstractMap;
+
+/**
+ * Estimates, while the player chooses the replacements of dead allies, how likely every
+ * possible team is to clear the next level. Background worker threads play the next level
+ * headless again and again, taking the candidate teams in turn so all the estimates refine
+ * together, and count the wins of every team; callers read the counts whenever they like.
+ *
+ * The survivors are copied when the preview is created, through serialization like the
+ * save files, so every game starts from their damage, experience and potions of that
+ * moment and the real characters are never touched. The new characters roll their
+ * statistics like the ones the player will get, so the estimates average over those rolls.
+ */
+public class ReplacementPreview
+{
+	/** Games of every team after which the workers stop */
+	public static final int MAX_GAMES_PER_TEAM = 2_000;
+
+	/** Rounds after which a game counts as lost, as the level would have stalled */
+	private static final int MAX_ROUNDS = 100;
+
+	private final byte[] survivors;
+	private final int levelNumber;
+	private final List<Set<UnitClass>> teams;
+	private final GridBounds gridBounds;
+
+	private final AtomicLong nextGame;
+	private final AtomicLongArray wins;
+	private final AtomicLongArray games;
+	private final List<Thread> threads;
+	private volatile boolean cancelled;
+
+	/**
+	 * Creates the preview of the replacements before a level.
+	 *
+	 * @param survivors the allies alive after the last level, copied at once
+	 * @param levelNumber the number of the next level, 1-based like LevelManager.createEnemies
+	 * @param replacements the number of characters the player chooses, all of different classes
+	 */
+	public ReplacementPreview(List<Character> survivors, int levelNumber, int replacements)
+	{
+		if (levelNumber < 1 || levelNumber > Game.TOTAL_LEVEL)
+		{
+			throw new IllegalArgumentException("Unknown level: " + levelNumber);
+		}
+		if (replacements <= 0 || replacements > UnitClass.COUNT)
+		{
+			throw new IllegalArgumentException("Invalid number of replacements: " + replacements);
+		}
+
+		this.survivors   = serialize(survivors);
+		this.levelNumber = levelNumber;
+		this.teams       = new ArrayList<>();
+		this.gridBounds  = new GridBounds(AbstractMap.GRID_SIZE_WIDTH, AbstractMap.GRID_SIZE_HEIGHT);
+		addTeams(this.teams, EnumSet.noneOf(UnitClass.class), 0, replacements);
+
+		this.nextGame = new AtomicLong();
+		this.wins     = new AtomicLongArray(this.teams.size());
+		this.games    = new AtomicLongArray(this.teams.size());
+		this.threads  = new ArrayList<>();
+	}
+
+	/**
+	 * Starts the worker threads, which stop by themselves once every team has played
+	 * {@link #MAX_GAMES_PER_TEAM} games or the preview is cancelled.
+	 *
+	 * @param workers the number of worker threads
+	 * @throws IllegalStateException if the preview was started already
+	 */
+	public synchronized void start(int workers)
+	{
+		if (workers <= 0)
+		{
+			throw new IllegalArgumentException("Invalid number of workers: " + workers);
+		}
+		if (!this.threads.isEmpty())
+		{
+			throw new IllegalStateException("The preview is running already");
+		}
+
+		long lastGame = (long) this.teams.size() * MAX_GAMES_PER_TEAM;
+		for (int i = 0; i < workers; i++)
+		{
+			long workerSeed = System.nanoTime() + i;
+			Thread thread = new Thread(() -> {
+				AbstractCharacter.disableSpritesOnCurrentThread();
+				Random random = new Random(workerSeed);
+				long game;
+				while (!this.cancelled && (game = this.nextGame.getAndIncrement()) < lastGame)
+				{
+					this.play((int) (game % this.teams.size()), random);
+				}
+			}, "replacement-preview-" + i);
+			thread.setDaemon(true);
+			thread.setPriority(Thread.MIN_PRIORITY);
+			this.threads.add(thread);
+			thread.start();
+		}
+	}
+
+	/**
+	 * Stops the workers. The games being played are dropped at their next round, so the
+	 * call returns at once and the estimates stay as they are.
+	 */
+	public void cancel()
+	{
+		this.cancelled = true;
+	}
+
+	public boolean isCancelled()
+	{
+		return this.cancelled;
+	}
+
+	/**
+	 * Gets the candidate teams, every set of classes of different characters the player can choose.
+	 *
+	 * @return the teams, in the order of their indices
+	 */
+	public List<Set<UnitClass>> getTeams()
+	{
+		return this.teams;
+	}
+
+	/**
+	 * Finds the index of a team.
+	 *
+	 * @param classes the classes chosen
+	 * @return the index, -1 if the classes are not a candidate team
+	 */
+	public int getTeam(Set<UnitClass> classes)
+	{
+		return this.teams.indexOf(classes);
+	}
+
+	public long getGames(int team)
+	{
+		return this.games.get(team);
+	}
+
+	public long getWins(int team)
+	{
+		return this.wins.get(team);
+	}
+
+	/**
+	 * Gets the estimated probability of a team clearing the level.
+	 *
+	 * @param team the index of the team
+	 * @return the share of games won, NaN before the first game
+	 */
+	public double getWinProbability(int team)
+	{
+		long won = this.wins.get(team);
+		long played = this.games.get(team);
+		return played == 0 ? Double.NaN : won / (double) played;
+	}
+
+	/**
+	 * Gets the estimated probability of clearing the level with a class in the team, over
+	 * all the candidate teams including it.
+	 *
+	 * @param unitClass the class
+	 * @return the share of games won by the teams with the class, NaN before their first game
+	 */
+	public double getWinProbability(UnitClass unitClass)
+	{
+		long played = 0;
+		long won = 0;
+		for (int team = 0; team < this.teams.size(); team++)
+		{
+			if (this.teams.get(team).contains(unitClass))
+			{
+				won    += this.wins.get(team);
+				played += this.games.get(team);
+			}
+		}
+		return played == 0 ? Double.NaN : won / (double) played;
+	}
+
+	/**
+	 * Gets the half width of the 95% confidence interval of a win probability.
+	 *
+	 * @param probability the estimated probability
+	 * @param games the games it was estimated from
+	 * @return the half width, NaN before the first game
+	 */
+	public static double getMargin(double probability, long games)
+	{
+		return games == 0 ? Double.NaN : 1.96 * Math.sqrt(probability * (1 - probability) / games);
+	}
+
+	/**
+	 * Plays the next level once with a team, and counts the game unless the preview was
+	 * cancelled in the meantime.
+	 */
+	private void play(int team, Random random)
+	{
+		List<Character> allies = deserialize(this.survivors);
+		for (UnitClass unitClass : this.teams.get(team))
+		{
+			Character ally = unitClass.createCharacter();
+			ally.becomeHero();
+			allies.add(ally);
+		}
+		allies.forEach(ally -> ally.setPosition(null));
+
+		HeadlessLevel level = new HeadlessLevel(allies, LevelManager.createEnemies(this.levelNumber), this.gridBounds, random);
+		while (!level.isOver() && level.getRound() < MAX_ROUNDS)
+		{
+			if (this.cancelled)
+			{
+				return;
+			}
+			level.playRound();
+		}
+
+		// Games are counted before wins and read after them, so readers never see more wins than games
+		this.games.incrementAndGet(team);
+		if (level.getOutcome() == ArenaBattleSimulator.ALLIES_WON)
+		{
+			this.wins.incrementAndGet(team);
+		}
+	}
+
+	/**
+	 * Adds every set of the given size made of the chosen classes and classes from the given ordinal on.
+	 */
+	private static void addTeams(List<Set<UnitClass>> teams, EnumSet<UnitClass> chosen, int from, int size)
+	{
+		if (chosen.size() == size)
+		{
+			teams.add(EnumSet.copyOf(chosen));
+			return;
+		}
+		for (int ordinal = from; ordinal < UnitClass.COUNT; ordinal++)
+		{
+			UnitClass unitClass = UnitClass.fromOrdinal(ordinal);
+			chosen.add(unitClass);
+			addTeams(teams, chosen, ordinal + 1, size);
+			chosen.remove(unitClass);
+		}
+	}
+
+	private static byte[] serialize(List<Character> characters)
+	{
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream out = new ObjectOutputStream(bytes))
+		{
+			out.writeObject(new ArrayList<>(characters));
+		}
+		catch (IOException e)
+		{
+			throw new UncheckedIOException("Cannot copy the survivors", e);
+		}
+		return bytes.toByteArray();
+	}
+
+	@SuppressWarnings("unchecked")
+	private static List<Character> deserialize(byte[] bytes)
+	{
+		try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes)))
+		{
+			return (List<Character>) in.readObject();
+		}
+		catch (IOException e)
+		{
+			throw new UncheckedIOException("Cannot copy the survivors", e);
+		}
+		catch (ClassNotFoundException e)
+		{
+			throw new IllegalStateException("Cannot copy the survivors", e);
+		}
+	}
+}
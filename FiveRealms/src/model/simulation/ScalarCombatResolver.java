@@ -0,0 +1,78 @@
+package model.simulation;
+
+/**
+ * Resolves the duels of a batch one lane at a time.
+ * Used when the Vector API is not available, and by the vector resolver for the
+ * lanes that do not fill a whole vector.
+ */
+public class ScalarCombatResolver implements BatchCombatResolver
+{
+	@Override
+	public void resolve(DuelBatch batch)
+	{
+		this.resolve(batch, 0, batch.size());
+	}
+
+	/**
+	 * Resolves a range of lanes.
+	 *
+	 * @param batch the duels to resolve
+	 * @param from the first lane, inclusive
+	 * @param to the last lane, exclusive
+	 */
+	void resolve(DuelBatch batch, int from, int to)
+	{
+		for (int i = from; i < to; i++)
+		{
+			if (batch.masked[i] || batch.distance[i] > batch.attackerRange[i])
+			{
+				batch.outcome[i] = DuelBatch.SKIPPED;
+				continue;
+			}
+
+			batch.defenderHealth[i] -= CombatRules.damage(batch.attackerPower[i] + batch.attackerWeaponPower[i],
+					batch.defenderDefence[i] + batch.defenderWeaponDefence[i]);
+
+			if (batch.defenderHealth[i] > 0 && batch.distance[i] <= batch.defenderRange[i])
+			{
+				batch.attackerHealth[i] -= CombatRules.damage(batch.defenderPower[i] + batch.defenderWeaponPower[i],
+						batch.attackerDefence[i] + batch.attackerWeaponDefence[i]);
+			}
+
+			batch.outcome[i] = DuelBatch.NONE;
+
+			if (batch.defenderHealth[i] <= 0)
+			{
+				batch.outcome[i] = DuelBatch.DEFENDER_DIED;
+				batch.attackerExperience[i] += CombatRules.KILL_EXPERIENCE;
+
+				// Level up, which fully heals
+				while (batch.attackerExperience[i] >= CombatRules.LEVELUP_THRESHOLD)
+				{
+					batch.attackerExperience[i] -= CombatRules.LEVELUP_THRESHOLD;
+					batch.attackerMaxHealth[i]  = CombatRules.grow(batch.attackerMaxHealth[i]);
+					batch.attackerPower[i]      = CombatRules.grow(batch.attackerPower[i]);
+					batch.attackerDefence[i]    = CombatRules.grow(batch.attackerDefence[i]);
+					batch.attackerSpeed[i]      = CombatRules.grow(batch.attackerSpeed[i]);
+					batch.attackerHealth[i]     = batch.attackerMaxHealth[i];
+				}
+			}
+
+			if (batch.attackerHealth[i] <= 0)
+			{
+				batch.outcome[i] = DuelBatch.ATTACKER_DIED;
+				batch.defenderExperience[i] += CombatRules.KILL_EXPERIENCE;
+
+				while (batch.defenderExperience[i] >= CombatRules.LEVELUP_THRESHOLD)
+				{
+					batch.defenderExperience[i] -= CombatRules.LEVELUP_THRESHOLD;
+					batch.defenderMaxHealth[i]  = CombatRules.grow(batch.defenderMaxHealth[i]);
+					batch.defenderPower[i]      = CombatRules.grow(batch.defenderPower[i]);
+					batch.defenderDefence[i]    = CombatRules.grow(batch.defenderDefence[i]);
+					batch.defenderSpeed[i]      = CombatRules.grow(batch.defenderSpeed[i]);
+					batch.defenderHealth[i]     = batch.defenderMaxHealth[i];
+				}
+			}
+		}
+	}
+}
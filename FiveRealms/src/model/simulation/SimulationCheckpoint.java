@@ -0,0 +1,217 @@
+package model.simulation;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Progress of a simulation run: its configuration and seed range, the seeds already played
+ * and the statistics of those battles. Saved periodically, it lets a run that died restart
+ * with only the seeds it had not played yet, and end with the same result as a run that
+ * never stopped.
+ */
+public class SimulationCheckpoint implements Serializable
+{
+	private static final long serialVersionUID = 1L;
+
+	private final SimulationConfig config;
+	private final long firstSeed;
+	private final long lastSeed;
+
+	/** Ranges of seeds played, from -> to (exclusive), never overlapping nor touching */
+	private final TreeMap<Long, Long> completed;
+	private final SimulationStats stats;
+
+	/**
+	 * Creates the checkpoint of a run that has not started yet.
+	 *
+	 * @param config the configuration of the run
+	 * @param firstSeed the first seed, inclusive
+	 * @param lastSeed the last seed, exclusive
+	 */
+	public SimulationCheckpoint(SimulationConfig config, long firstSeed, long lastSeed)
+	{
+		if (lastSeed < firstSeed)
+		{
+			throw new IllegalArgumentException("Invalid seed range: " + firstSeed + " - " + lastSeed);
+		}
+		this.config    = config;
+		this.firstSeed = firstSeed;
+		this.lastSeed  = lastSeed;
+		this.completed = new TreeMap<>();
+		this.stats     = new SimulationStats();
+	}
+
+	/**
+	 * Loads the checkpoint of a run, or starts a new one if the file does not exist.
+	 *
+	 * @param file the checkpoint file
+	 * @param config the configuration of the run
+	 * @param firstSeed the first seed, inclusive
+	 * @param lastSeed the last seed, exclusive
+	 * @return the checkpoint to continue from
+	 * @throws IOException if the file exists but cannot be read
+	 * @throws IllegalStateException if the file belongs to a run with another configuration or seed range
+	 */
+	public static SimulationCheckpoint loadOrCreate(File file, SimulationConfig config, long firstSeed, long lastSeed) throws IOException
+	{
+		if (!file.exists())
+		{
+			return new SimulationCheckpoint(config, firstSeed, lastSeed);
+		}
+
+		SimulationCheckpoint checkpoint = load(file);
+		if (!checkpoint.config.equals(config) || checkpoint.firstSeed != firstSeed || checkpoint.lastSeed != lastSeed)
+		{
+			throw new IllegalStateException("The checkpoint " + file + " belongs to another run: " + checkpoint);
+		}
+		return checkpoint;
+	}
+
+	/**
+	 * Loads a checkpoint.
+	 *
+	 * @param file the checkpoint file
+	 * @return the checkpoint in the file
+	 * @throws IOException if an error occurs during loading, or the file holds something else
+	 */
+	public static SimulationCheckpoint load(File file) throws IOException
+	{
+		try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(file)))
+		{
+			return (SimulationCheckpoint) ois.readObject();
+		}
+		catch (ClassNotFoundException | ClassCastException e)
+		{
+			throw new IOException("Not a simulation checkpoint: " + file, e);
+		}
+	}
+
+	/**
+	 * Saves the checkpoint, replacing the previous one atomically: the file is written
+	 * next to the destination and then moved over it, so a crash while saving leaves
+	 * the previous checkpoint intact.
+	 *
+	 * @param file the checkpoint file
+	 * @throws IOException if an error occurs during saving
+	 */
+	public void save(File file) throws IOException
+	{
+		File directory = file.getAbsoluteFile().getParentFile();
+		File temporary = new File(directory, file.getName() + ".tmp");
+
+		try (FileOutputStream fos = new FileOutputStream(temporary);
+			 ObjectOutputStream oos = new ObjectOutputStream(fos))
+		{
+			oos.writeObject(this);
+			oos.flush();
+			fos.getFD().sync();
+		}
+
+		try
+		{
+			Files.move(temporary.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		}
+		catch (AtomicMoveNotSupportedException e)
+		{
+			Files.move(temporary.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	/**
+	 * Records a range of seeds as played, with the statistics of its battles.
+	 *
+	 * @param from the first seed, inclusive
+	 * @param to the last seed, exclusive
+	 * @param rangeStats the statistics of the battles of the range
+	 */
+	public void complete(long from, long to, SimulationStats rangeStats)
+	{
+		this.stats.merge(rangeStats);
+
+		// Join the range with the ones it touches
+		Map.Entry<Long, Long> before = this.completed.floorEntry(from);
+		if (before != null && before.getValue() >= from)
+		{
+			from = before.getKey();
+			to = Math.max(to, before.getValue());
+			this.completed.remove(before.getKey());
+		}
+
+		Map.Entry<Long, Long> after = this.completed.ceilingEntry(from);
+		while (after != null && after.getKey() <= to)
+		{
+			to = Math.max(to, after.getValue());
+			this.completed.remove(after.getKey());
+			after = this.completed.ceilingEntry(from);
+		}
+		this.completed.put(from, to);
+	}
+
+	/**
+	 * Lists the ranges of seeds not played yet.
+	 *
+	 * @return the ranges, as {from, to} in seed order
+	 */
+	public List<long[]> getRemainingRanges()
+	{
+		List<long[]> remaining = new ArrayList<>();
+		long next = this.firstSeed;
+
+		for (Map.Entry<Long, Long> range : this.completed.entrySet())
+		{
+			if (range.getKey() > next)
+			{
+				remaining.add(new long[] {next, range.getKey()});
+			}
+			next = Math.max(next, range.getValue());
+		}
+		if (next < this.lastSeed)
+		{
+			remaining.add(new long[] {next, this.lastSeed});
+		}
+		return remaining;
+	}
+
+	public boolean isFinished()
+	{
+		return this.getRemainingRanges().isEmpty();
+	}
+
+	public SimulationConfig getConfig()
+	{
+		return this.config;
+	}
+
+	public long getFirstSeed()
+	{
+		return this.firstSeed;
+	}
+
+	public long getLastSeed()
+	{
+		return this.lastSeed;
+	}
+
+	public SimulationStats getStats()
+	{
+		return this.stats;
+	}
+
+	@Override
+	public String toString()
+	{
+		return this.config + ", seeds " + this.firstSeed + " - " + this.lastSeed + ", " + this.stats.getBattles() + " battles played";
+	}
+}
@@ -0,0 +1,99 @@
+package model.simulation;
+
+import java.io.Serializable;
+import java.util.Objects;
+import model.point.GridBounds;
+
+/**
+ * Configuration of a simulation run: the size of the battles and when they end.
+ * It is all a worker needs to reproduce any battle of the run from its seed.
+ */
+public class SimulationConfig implements Serializable
+{
+	private static final long serialVersionUID = 1L;
+
+	private final int unitsPerSide;
+	private final int gridWidth;
+	private final int gridHeight;
+	private final int maxRounds;
+
+	/**
+	 * Creates a configuration.
+	 *
+	 * @param unitsPerSide the number of units of each army
+	 * @param gridWidth the number of x coordinates of the grid
+	 * @param gridHeight the number of y coordinates of the grid
+	 * @param maxRounds the number of rounds after which a battle is a draw
+	 */
+	public SimulationConfig(int unitsPerSide, int gridWidth, int gridHeight, int maxRounds)
+	{
+		if (unitsPerSide <= 0 || maxRounds <= 0)
+		{
+			throw new IllegalArgumentException("Invalid simulation configuration: " + unitsPerSide + " units per side, " + maxRounds + " rounds");
+		}
+		this.unitsPerSide = unitsPerSide;
+		this.gridWidth    = gridWidth;
+		this.gridHeight   = gridHeight;
+		this.maxRounds    = maxRounds;
+	}
+
+	/**
+	 * Creates a runner for the battles of this configuration.
+	 *
+	 * @param workers the number of worker threads
+	 * @return a new runner
+	 */
+	public SimulationRunner createRunner(int workers)
+	{
+		return new SimulationRunner(new RandomBattleSetup(this.unitsPerSide, new GridBounds(this.gridWidth, this.gridHeight)),
+				workers, 2 * this.unitsPerSide, this.gridWidth * this.gridHeight, this.maxRounds);
+	}
+
+	public int getUnitsPerSide()
+	{
+		return this.unitsPerSide;
+	}
+
+	public int getGridWidth()
+	{
+		return this.gridWidth;
+	}
+
+	public int getGridHeight()
+	{
+		return this.gridHeight;
+	}
+
+	public int getMaxRounds()
+	{
+		return this.maxRounds;
+	}
+
+	@Override
+	public boolean equals(Object obj)
+	{
+		if (this == obj)
+		{
+			return true;
+		}
+		if (!(obj instanceof SimulationConfig))
+		{
+			return false;
+		}
+		SimulationConfig other = (SimulationConfig) obj;
+		return this.unitsPerSide == other.unitsPerSide && this.gridWidth == other.gridWidth
+				&& this.gridHeight == other.gridHeight && this.maxRounds == other.maxRounds;
+	}
+
+	@Override
+	public int hashCode()
+	{
+		return Objects.hash(this.unitsPerSide, this.gridWidth, this.gridHeight, this.maxRounds);
+	}
+
+	@Override
+	public String toString()
+	{
+		return this.unitsPerSide + " vs " + this.unitsPerSide + " on " + this.gridWidth + "x" + this.gridHeight + ", " + this.maxRounds + " rounds";
+	}
+}
@@ -0,0 +1,199 @@
+package model.simulation;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs a range of battle seeds on several worker threads.
+ * Workers claim chunks of seeds from a shared counter, so fast workers take more of them,
+ * and every worker plays its battles in its own arena and records them in its own
+ * {@link SimulationStats}; the statistics are merged once the workers are done.
+ * Nothing is shared between workers but the counter, so there are no locks, except in
+ * the {@link BattleListener} if one is set.
+ */
+public class SimulationRunner
+{
+	/** Seeds claimed by a worker at a time */
+	private static final int CHUNK_SIZE = 1024;
+
+	private final BattleSetup setup;
+	private final int workers;
+	private final int maxUnits;
+	private final int maxCells;
+	private final int maxRounds;
+
+	/** Notified of every battle, null if nobody listens */
+	private volatile BattleListener listener;
+
+	/**
+	 * Creates a runner.
+	 *
+	 * @param setup the setup of the battles
+	 * @param workers the number of worker threads
+	 * @param maxUnits the largest number of units of a battle
+	 * @param maxCells the largest number of cells of a grid
+	 * @param maxRounds the number of rounds after which a battle is a draw
+	 */
+	public SimulationRunner(BattleSetup setup, int workers, int maxUnits, int maxCells, int maxRounds)
+	{
+		if (workers <= 0)
+		{
+			throw new IllegalArgumentException("Invalid number of workers: " + workers);
+		}
+		this.setup     = setup;
+		this.workers   = workers;
+		this.maxUnits  = maxUnits;
+		this.maxCells  = maxCells;
+		this.maxRounds = maxRounds;
+	}
+
+	/**
+	 * Sets who is notified of every battle played from now on.
+	 *
+	 * @param listener the listener, thread safe, or null to stop notifying
+	 */
+	public void setBattleListener(BattleListener listener)
+	{
+		this.listener = listener;
+	}
+
+	/**
+	 * Plays the battles of a range of seeds.
+	 *
+	 * @param firstSeed the first seed, inclusive
+	 * @param lastSeed the last seed, exclusive
+	 * @return the merged statistics of all the battles
+	 * @throws InterruptedException if the calling thread is interrupted while waiting for the workers
+	 */
+	public SimulationStats run(long firstSeed, long lastSeed) throws InterruptedException
+	{
+		AtomicLong nextSeed = new AtomicLong(firstSeed);
+		List<SimulationStats> results = new ArrayList<>();
+		List<Thread> threads = new ArrayList<>();
+
+		for (int i = 0; i < this.workers; i++)
+		{
+			SimulationStats stats = new SimulationStats();
+			results.add(stats);
+
+			Thread thread = new Thread(() -> {
+				ArenaBattleSimulator simulator = this.createSimulator();
+				long from;
+				while ((from = nextSeed.getAndAdd(CHUNK_SIZE)) < lastSeed)
+				{
+					this.runRange(simulator, stats, from, Math.min(lastSeed, from + CHUNK_SIZE));
+				}
+			}, "simulation-worker-" + i);
+			thread.setDaemon(true);
+			threads.add(thread);
+			thread.start();
+		}
+
+		for (Thread thread : threads)
+		{
+			thread.join();
+		}
+
+		SimulationStats merged = new SimulationStats();
+		results.forEach(merged::merge);
+		return merged;
+	}
+
+	/**
+	 * Plays the battles not played yet of a checkpointed run. Every chunk is recorded in the
+	 * checkpoint as soon as it is done, with statistics of its own, so a saved checkpoint always
+	 * holds exactly the battles of the seeds it marks as played; the checkpoint is saved again
+	 * when the run ends.
+	 *
+	 * @param checkpointer the checkpoint of the run and when to save it
+	 * @return the merged statistics of all the battles of the run, resumed ones included
+	 * @throws InterruptedException if the calling thread is interrupted while waiting for the workers
+	 * @throws IOException if the final checkpoint cannot be saved
+	 */
+	public SimulationStats run(Checkpointer checkpointer) throws InterruptedException, IOException
+	{
+		ConcurrentLinkedQueue<long[]> chunks = new ConcurrentLinkedQueue<>();
+		for (long[] range : checkpointer.getCheckpoint().getRemainingRanges())
+		{
+			for (long from = range[0]; from < range[1]; from += CHUNK_SIZE)
+			{
+				chunks.add(new long[] {from, Math.min(range[1], from + CHUNK_SIZE)});
+			}
+		}
+
+		List<Thread> threads = new ArrayList<>();
+		for (int i = 0; i < this.workers; i++)
+		{
+			Thread thread = new Thread(() -> {
+				ArenaBattleSimulator simulator = this.createSimulator();
+				long[] chunk;
+				while ((chunk = chunks.poll()) != null)
+				{
+					SimulationStats stats = new SimulationStats();
+					this.runRange(simulator, stats, chunk[0], chunk[1]);
+					checkpointer.chunkCompleted(chunk[0], chunk[1], stats);
+				}
+			}, "simulation-worker-" + i);
+			thread.setDaemon(true);
+			threads.add(thread);
+			thread.start();
+		}
+
+		for (Thread thread : threads)
+		{
+			thread.join();
+		}
+
+		checkpointer.save();
+		return checkpointer.getCheckpoint().getStats();
+	}
+
+	/**
+	 * Creates a simulator sized for the battles of this runner, for a worker of its own.
+	 *
+	 * @return a new simulator
+	 */
+	public ArenaBattleSimulator createSimulator()
+	{
+		return new ArenaBattleSimulator(this.maxUnits, this.maxCells);
+	}
+
+	/**
+	 * Plays the battles of a range of seeds on the calling thread.
+	 *
+	 * @param simulator the simulator of the calling worker
+	 * @param stats the statistics of the calling worker
+	 * @param from the first seed, inclusive
+	 * @param to the last seed, exclusive
+	 */
+	public void runRange(ArenaBattleSimulator simulator, SimulationStats stats, long from, long to)
+	{
+		BattleListener listener = this.listener;
+		for (long seed = from; seed < to; seed++)
+		{
+			this.setup.setUp(simulator.getArena(), seed);
+			int outcome = simulator.run(this.maxRounds);
+			stats.record(simulator.getArena(), outcome);
+			if (listener != null)
+			{
+				listener.battlePlayed(seed, simulator.getArena(), outcome);
+			}
+		}
+	}
+
+	/**
+	 * Plays the battle of a seed again, leaving its final state in the arena of the simulator.
+	 *
+	 * @param simulator the simulator to play the battle in
+	 * @param seed the seed of the battle
+	 * @return the outcome, with the constants of {@link ArenaBattleSimulator}
+	 */
+	public int replay(ArenaBattleSimulator simulator, long seed)
+	{
+		this.setup.setUp(simulator.getArena(), seed);
+		return simulator.run(this.maxRounds);
+	}
+}
@@ -0,0 +1,215 @@
+package model.simulation;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+
+/**
+ * Streaming statistics of a simulation run, in memory that does not grow with the number
+ * of battles: outcome counters and histograms of the rounds needed to win, of the damage
+ * dealt by every class, of the health of the survivors and of the experience gained.
+ *
+ * Every worker records into its own instance, without locks, and the instances are combined
+ * with {@link #merge}. Statistics can be saved to disk and loaded back, so the partial results
+ * of an interrupted run can still be merged with the others.
+ */
+public class SimulationStats implements Serializable
+{
+	private static final long serialVersionUID = 1L;
+
+	private long battles;
+	private long alliesWon;
+	private long enemiesWon;
+	private long draws;
+
+	private final StreamingHistogram roundsToAlliesWin;
+	private final StreamingHistogram roundsToEnemiesWin;
+	private final StreamingHistogram[] damageDealtByClass;
+	private final StreamingHistogram survivorHealth;
+	private final StreamingHistogram experienceGained;
+
+	/**
+	 * Creates empty statistics.
+	 */
+	public SimulationStats()
+	{
+		this.roundsToAlliesWin  = new StreamingHistogram();
+		this.roundsToEnemiesWin = new StreamingHistogram();
+		this.survivorHealth     = new StreamingHistogram();
+		this.experienceGained   = new StreamingHistogram();
+		this.damageDealtByClass = new StreamingHistogram[UnitClass.COUNT];
+
+		for (int i = 0; i < UnitClass.COUNT; i++)
+		{
+			this.damageDealtByClass[i] = new StreamingHistogram();
+		}
+	}
+
+	/**
+	 * Records a battle played in an arena, reading the arena as the battle left it.
+	 *
+	 * @param arena the arena of the battle
+	 * @param outcome the outcome returned by the simulator
+	 */
+	public void record(BattleArena arena, int outcome)
+	{
+		this.battles++;
+
+		switch (outcome)
+		{
+			case ArenaBattleSimulator.ALLIES_WON:
+				this.alliesWon++;
+				this.roundsToAlliesWin.record(arena.getRound());
+				break;
+			case ArenaBattleSimulator.ENEMIES_WON:
+				this.enemiesWon++;
+				this.roundsToEnemiesWin.record(arena.getRound());
+				break;
+			default:
+				this.draws++;
+				break;
+		}
+
+		for (int unit = 0; unit < arena.getUnitCount(); unit++)
+		{
+			this.damageDealtByClass[arena.get(unit, BattleArena.UNIT_CLASS)].record(arena.get(unit, BattleArena.DAMAGE_DEALT));
+			this.experienceGained.record(arena.get(unit, BattleArena.EXPERIENCE_GAINED));
+
+			if (arena.isAlive(unit))
+			{
+				this.survivorHealth.record(arena.get(unit, BattleArena.HEALTH));
+			}
+		}
+	}
+
+	/**
+	 * Adds the statistics of another run, or of another worker, to these.
+	 *
+	 * @param other the statistics to add
+	 */
+	public void merge(SimulationStats other)
+	{
+		this.battles    += other.battles;
+		this.alliesWon  += other.alliesWon;
+		this.enemiesWon += other.enemiesWon;
+		this.draws      += other.draws;
+
+		this.roundsToAlliesWin.merge(other.roundsToAlliesWin);
+		this.roundsToEnemiesWin.merge(other.roundsToEnemiesWin);
+		this.survivorHealth.merge(other.survivorHealth);
+		this.experienceGained.merge(other.experienceGained);
+
+		for (int i = 0; i < UnitClass.COUNT; i++)
+		{
+			this.damageDealtByClass[i].merge(other.damageDealtByClass[i]);
+		}
+	}
+
+	/**
+	 * Saves the statistics to a file.
+	 *
+	 * @param file the destination file
+	 * @throws IOException if an error occurs during saving
+	 */
+	public void save(File file) throws IOException
+	{
+		try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(file)))
+		{
+			oos.writeObject(this);
+		}
+	}
+
+	/**
+	 * Loads statistics saved with {@link #save}.
+	 *
+	 * @param file the file to read
+	 * @return the statistics in the file
+	 * @throws IOException if an error occurs during loading, or the file holds something else
+	 */
+	public static SimulationStats load(File file) throws IOException
+	{
+		try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(file)))
+		{
+			return (SimulationStats) ois.readObject();
+		}
+		catch (ClassNotFoundException | ClassCastException e)
+		{
+			throw new IOException("Not a simulation statistics file: " + file, e);
+		}
+	}
+
+	public long getBattles()
+	{
+		return this.battles;
+	}
+
+	public long getAlliesWon()
+	{
+		return this.alliesWon;
+	}
+
+	public long getEnemiesWon()
+	{
+		return this.enemiesWon;
+	}
+
+	public long getDraws()
+	{
+		return this.draws;
+	}
+
+	/**
+	 * Gets the fraction of battles won by the allies.
+	 *
+	 * @return the win rate of the allies, 0 if no battle was recorded
+	 */
+	public double getAlliesWinRate()
+	{
+		return this.battles == 0 ? 0 : this.alliesWon / (double) this.battles;
+	}
+
+	public StreamingHistogram getRoundsToAlliesWin()
+	{
+		return this.roundsToAlliesWin;
+	}
+
+	public StreamingHistogram getRoundsToEnemiesWin()
+	{
+		return this.roundsToEnemiesWin;
+	}
+
+	public StreamingHistogram getDamageDealt(UnitClass unitClass)
+	{
+		return this.damageDealtByClass[unitClass.ordinal()];
+	}
+
+	public StreamingHistogram getSurvivorHealth()
+	{
+		return this.survivorHealth;
+	}
+
+	public StreamingHistogram getExperienceGained()
+	{
+		return this.experienceGained;
+	}
+
+	@Override
+	public String toString()
+	{
+		StringBuilder sb = new StringBuilder();
+		sb.append(String.format("battles=%d alliesWon=%d enemiesWon=%d draws=%d%n", this.battles, this.alliesWon, this.enemiesWon, this.draws));
+		sb.append("rounds to allies win:  ").append(this.roundsToAlliesWin).append(System.lineSeparator());
+		sb.append("rounds to enemies win: ").append(this.roundsToEnemiesWin).append(System.lineSeparator());
+		for (UnitClass unitClass : UnitClass.values())
+		{
+			sb.append("damage dealt, ").append(unitClass).append(": ").append(this.getDamageDealt(unitClass)).append(System.lineSeparator());
+		}
+		sb.append("survivor health:       ").append(this.survivorHealth).append(System.lineSeparator());
+		sb.append("experience gained:     ").append(this.experienceGained);
+		return sb.toString();
+	}
+}
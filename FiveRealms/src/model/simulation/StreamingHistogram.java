@@ -0,0 +1,160 @@
+package model.simulation;
+
+import java.io.Serializable;
+
+/**
+ * Fixed-size histogram of non-negative values with a bounded relative error, in the style
+ * of an HDR histogram: values below 32 have a bucket each, larger values fall in log-linear
+ * buckets of 16 per power of two, so quantiles are within about 3% of the real value.
+ *
+ * The memory used never depends on the number of values recorded, so it can summarize any
+ * number of battles. Histograms are not thread safe: every worker records into its own and
+ * the results are combined with {@link #merge}, which needs no locking since all histograms
+ * share the same buckets.
+ */
+public class StreamingHistogram implements Serializable
+{
+	private static final long serialVersionUID = 1L;
+
+	/** Bits of the exact part of a bucket */
+	private static final int SUB_BUCKET_BITS = 5;
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+	private static final int HALF_SUB_BUCKETS = SUB_BUCKETS / 2;
+
+	/** Enough buckets for every non-negative long */
+	private static final int BUCKETS = SUB_BUCKETS + (63 - SUB_BUCKET_BITS) * HALF_SUB_BUCKETS;
+
+	private final long[] counts;
+	private long count;
+	private long sum;
+	private long min;
+	private long max;
+
+	/**
+	 * Creates an empty histogram.
+	 */
+	public StreamingHistogram()
+	{
+		this.counts = new long[BUCKETS];
+		this.min    = Long.MAX_VALUE;
+		this.max    = Long.MIN_VALUE;
+	}
+
+	/**
+	 * Records a value; negative values are recorded as 0.
+	 *
+	 * @param value the value to record
+	 */
+	public void record(long value)
+	{
+		long clamped = Math.max(0, value);
+
+		this.counts[bucketOf(clamped)]++;
+		this.count++;
+		this.sum += clamped;
+		this.min = Math.min(this.min, clamped);
+		this.max = Math.max(this.max, clamped);
+	}
+
+	/**
+	 * Adds the values of another histogram to this one.
+	 *
+	 * @param other the histogram to add
+	 */
+	public void merge(StreamingHistogram other)
+	{
+		for (int i = 0; i < BUCKETS; i++)
+		{
+			this.counts[i] += other.counts[i];
+		}
+		this.count += other.count;
+		this.sum   += other.sum;
+		this.min = Math.min(this.min, other.min);
+		this.max = Math.max(this.max, other.max);
+	}
+
+	/**
+	 * Estimates the value below which the given percentage of the values falls.
+	 *
+	 * @param percentile the percentage, between 0 and 100
+	 * @return the estimated value, 0 if the histogram is empty
+	 */
+	public long getValueAtPercentile(double percentile)
+	{
+		if (this.count == 0)
+		{
+			return 0;
+		}
+
+		long rank = Math.max(1, (long) Math.ceil(Math.min(100, Math.max(0, percentile)) / 100.0 * this.count));
+		long seen = 0;
+
+		for (int i = 0; i < BUCKETS; i++)
+		{
+			seen += this.counts[i];
+			if (seen >= rank)
+			{
+				// The middle of the bucket, never outside the values really recorded
+				long middle = lowestValueOf(i) + (bucketWidthOf(i) - 1) / 2;
+				return Math.max(this.min, Math.min(this.max, middle));
+			}
+		}
+		return this.max;
+	}
+
+	public long getCount()
+	{
+		return this.count;
+	}
+
+	public long getMin()
+	{
+		return this.count == 0 ? 0 : this.min;
+	}
+
+	public long getMax()
+	{
+		return this.count == 0 ? 0 : this.max;
+	}
+
+	public double getMean()
+	{
+		return this.count == 0 ? 0 : this.sum / (double) this.count;
+	}
+
+	@Override
+	public String toString()
+	{
+		return String.format("count=%d mean=%.1f min=%d p50=%d p90=%d p99=%d max=%d",
+				this.count, this.getMean(), this.getMin(), this.getValueAtPercentile(50),
+				this.getValueAtPercentile(90), this.getValueAtPercentile(99), this.getMax());
+	}
+
+	private static int bucketOf(long value)
+	{
+		if (value < SUB_BUCKETS)
+		{
+			return (int) value;
+		}
+
+		int shift = 63 - Long.numberOfLeadingZeros(value) - (SUB_BUCKET_BITS - 1);
+		return SUB_BUCKETS + (shift - 1) * HALF_SUB_BUCKETS + (int) ((value >>> shift) - HALF_SUB_BUCKETS);
+	}
+
+	private static long lowestValueOf(int bucket)
+	{
+		if (bucket < SUB_BUCKETS)
+		{
+			return bucket;
+		}
+
+		int shift = (bucket - SUB_BUCKETS) / HALF_SUB_BUCKETS + 1;
+		long top  = (bucket - SUB_BUCKETS) % HALF_SUB_BUCKETS + HALF_SUB_BUCKETS;
+		return top << shift;
+	}
+
+	private static long bucketWidthOf(int bucket)
+	{
+		return bucket < SUB_BUCKETS ? 1 : 1L << ((bucket - SUB_BUCKETS) / HALF_SUB_BUCKETS + 1);
+	}
+}
@@ -0,0 +1,239 @@
+package model.simulation;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Elo ratings of the strategies of a tournament, with 95% confidence intervals.
+ *
+ * Games are played in parallel, so the ratings are not updated game by game like a chess
+ * rating, which would depend on the order of the games: they are the Bradley-Terry model
+ * that best fits all the results, on the Elo scale, where a difference of 400 points is
+ * ten to one odds. Draws count as half a win for each side, and every pair of strategies
+ * starts with one virtual draw so a strategy that always wins keeps a finite rating.
+ *
+ * The intervals come from a parametric bootstrap: the games of every pair are drawn
+ * again from their observed win, draw and loss rates and the ratings are fitted again.
+ */
+public class TournamentRatings
+{
+	/** Average rating of the strategies */
+	public static final double BASE_RATING = 1500;
+
+	/** Elo points per natural logarithm of the odds */
+	private static final double ELO_SCALE = 400 / Math.log(10);
+
+	/** Virtual draws between every pair of strategies */
+	private static final double PRIOR_DRAWS = 1;
+
+	private static final int MAX_ITERATIONS = 10_000;
+	private static final double TOLERANCE = 1e-10;
+
+	private final TournamentResults results;
+	private final double[] ratings;
+	private final double[] lows;
+	private final double[] highs;
+
+	private TournamentRatings(TournamentResults results, double[] ratings, double[] lows, double[] highs)
+	{
+		this.results = results;
+		this.ratings = ratings;
+		this.lows    = lows;
+		this.highs   = highs;
+	}
+
+	/**
+	 * Rates the strategies of a tournament.
+	 *
+	 * @param results the results of the tournament
+	 * @param bootstrapSamples the number of resampled tournaments the intervals are estimated from
+	 * @param seed the seed of the resampling
+	 * @return the ratings
+	 */
+	public static TournamentRatings fit(TournamentResults results, int bootstrapSamples, long seed)
+	{
+		int count = results.getStrategyCount();
+		double[][] points = new double[count][count];
+		for (int i = 0; i < count; i++)
+		{
+			for (int j = 0; j < count; j++)
+			{
+				points[i][j] = results.getWins(i, j) + 0.5 * results.getDraws(i, j);
+			}
+		}
+		double[] ratings = fitRatings(points);
+
+		double[] lows = ratings.clone();
+		double[] highs = ratings.clone();
+		if (bootstrapSamples > 0)
+		{
+			double[][] samples = new double[count][bootstrapSamples];
+			Random random = new Random(seed);
+
+			for (int sample = 0; sample < bootstrapSamples; sample++)
+			{
+				double[] resampled = fitRatings(resample(results, random));
+				for (int i = 0; i < count; i++)
+				{
+					samples[i][sample] = resampled[i];
+				}
+			}
+			for (int i = 0; i < count; i++)
+			{
+				Arrays.sort(samples[i]);
+				lows[i]  = samples[i][(int) Math.floor(0.025 * (bootstrapSamples - 1))];
+				highs[i] = samples[i][(int) Math.ceil(0.975 * (bootstrapSamples - 1))];
+			}
+		}
+		return new TournamentRatings(results, ratings, lows, highs);
+	}
+
+	public int getStrategyCount()
+	{
+		return this.ratings.length;
+	}
+
+	public String getStrategy(int index)
+	{
+		return this.results.getStrategy(index);
+	}
+
+	public double getRating(int index)
+	{
+		return this.ratings[index];
+	}
+
+	/**
+	 * Gets the lower bound of the 95% confidence interval of a rating.
+	 *
+	 * @param index the index of the strategy
+	 * @return the lower bound
+	 */
+	public double getLow(int index)
+	{
+		return this.lows[index];
+	}
+
+	/**
+	 * Gets the upper bound of the 95% confidence interval of a rating.
+	 *
+	 * @param index the index of the strategy
+	 * @return the upper bound
+	 */
+	public double getHigh(int index)
+	{
+		return this.highs[index];
+	}
+
+	/**
+	 * Fits the Bradley-Terry strengths with the minorization-maximization iteration,
+	 * and turns them into Elo ratings averaging {@link #BASE_RATING}.
+	 *
+	 * @param points the points every strategy scored against every other
+	 */
+	private static double[] fitRatings(double[][] points)
+	{
+		int count = points.length;
+		double[] strengths = new double[count];
+		Arrays.fill(strengths, 1);
+
+		for (int iteration = 0; iteration < MAX_ITERATIONS; iteration++)
+		{
+			double change = 0;
+			double logSum = 0;
+			double[] next = new double[count];
+
+			for (int i = 0; i < count; i++)
+			{
+				double score = 0;
+				double denominator = 0;
+				for (int j = 0; j < count; j++)
+				{
+					if (j != i)
+					{
+						double games = points[i][j] + points[j][i] + PRIOR_DRAWS;
+						score += points[i][j] + PRIOR_DRAWS / 2;
+						denominator += games / (strengths[i] + strengths[j]);
+					}
+				}
+				next[i] = score / denominator;
+				logSum += Math.log(next[i]);
+			}
+
+			// Only the ratios of the strengths matter, keep their geometric mean at 1
+			double scale = Math.exp(-logSum / count);
+			for (int i = 0; i < count; i++)
+			{
+				next[i] *= scale;
+				change = Math.max(change, Math.abs(Math.log(next[i] / strengths[i])));
+			}
+			strengths = next;
+
+			if (change < TOLERANCE)
+			{
+				break;
+			}
+		}
+
+		double[] ratings = new double[count];
+		for (int i = 0; i < count; i++)
+		{
+			ratings[i] = BASE_RATING + ELO_SCALE * Math.log(strengths[i]);
+		}
+		return ratings;
+	}
+
+	/**
+	 * Draws the games of every pair of strategies again from their observed rates.
+	 */
+	private static double[][] resample(TournamentResults results, Random random)
+	{
+		int count = results.getStrategyCount();
+		double[][] points = new double[count][count];
+
+		for (int i = 0; i < count; i++)
+		{
+			for (int j = i + 1; j < count; j++)
+			{
+				long games = results.getGames(i, j);
+				if (games == 0)
+				{
+					continue;
+				}
+				double winRate = results.getWins(i, j) / (double) games;
+				double drawRate = results.getDraws(i, j) / (double) games;
+
+				long wins = 0;
+				long draws = 0;
+				for (long game = 0; game < games; game++)
+				{
+					double draw = random.nextDouble();
+					if (draw < winRate)
+					{
+						wins++;
+					}
+					else if (draw < winRate + drawRate)
+					{
+						draws++;
+					}
+				}
+				points[i][j] = wins + 0.5 * draws;
+				points[j][i] = (games - wins - draws) + 0.5 * draws;
+			}
+		}
+		return points;
+	}
+
+	@Override
+	public String toString()
+	{
+		StringBuilder builder = new StringBuilder("strategy        rating   95% interval        games   score\n");
+		for (int i = 0; i < this.ratings.length; i++)
+		{
+			builder.append(String.format("%-14s %7.1f   [%7.1f, %7.1f] %9d %7.3f%n", this.getStrategy(i), this.ratings[i],
+					this.lows[i], this.highs[i], this.results.getGames(i),
+					this.results.getGames(i) == 0 ? 0 : this.results.getScore(i) / this.results.getGames(i)));
+		}
+		return builder.toString();
+	}
+}
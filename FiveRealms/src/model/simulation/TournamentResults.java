@@ -0,0 +1,201 @@
+package model.simulation;
+
+import java.io.Serializable;
+
+/**
+ * Results of an AI tournament: for every pair of strategies, the games each one won
+ * against the other and the games they drew, plus how every strategy fared on each side.
+ * Like the other statistics, every worker records into its own instance and the
+ * instances are combined with {@link #merge}.
+ */
+public class TournamentResults implements Serializable
+{
+	private static final long serialVersionUID = 1L;
+
+	private final String[] strategies;
+
+	/** Games the first strategy won against the second */
+	private final long[][] wins;
+
+	/** Games drawn between two strategies, the same both ways */
+	private final long[][] draws;
+
+	/** Games played and won by every strategy on the side of the allies */
+	private final long[] allyGames;
+	private final long[] allyWins;
+
+	/**
+	 * Creates empty results.
+	 *
+	 * @param strategies the names of the strategies, in the order of their indexes
+	 */
+	public TournamentResults(String... strategies)
+	{
+		if (strategies.length < 2)
+		{
+			throw new IllegalArgumentException("A tournament needs at least 2 strategies, got " + strategies.length);
+		}
+		int count = strategies.length;
+		this.strategies = strategies.clone();
+		this.wins       = new long[count][count];
+		this.draws      = new long[count][count];
+		this.allyGames  = new long[count];
+		this.allyWins   = new long[count];
+	}
+
+	/**
+	 * Records a game.
+	 *
+	 * @param allyStrategy the index of the strategy playing the allies
+	 * @param enemyStrategy the index of the strategy playing the enemies
+	 * @param outcome the outcome, with the constants of {@link ArenaBattleSimulator}
+	 */
+	public void record(int allyStrategy, int enemyStrategy, int outcome)
+	{
+		this.allyGames[allyStrategy]++;
+
+		if (outcome == ArenaBattleSimulator.ALLIES_WON)
+		{
+			this.wins[allyStrategy][enemyStrategy]++;
+			this.allyWins[allyStrategy]++;
+		}
+		else if (outcome == ArenaBattleSimulator.ENEMIES_WON)
+		{
+			this.wins[enemyStrategy][allyStrategy]++;
+		}
+		else
+		{
+			this.draws[allyStrategy][enemyStrategy]++;
+			this.draws[enemyStrategy][allyStrategy]++;
+		}
+	}
+
+	/**
+	 * Adds the games of other results, of the same strategies, to these ones.
+	 *
+	 * @param other the results to add
+	 */
+	public void merge(TournamentResults other)
+	{
+		if (other.strategies.length != this.strategies.length)
+		{
+			throw new IllegalArgumentException("Cannot merge the results of different tournaments");
+		}
+		for (int i = 0; i < this.strategies.length; i++)
+		{
+			for (int j = 0; j < this.strategies.length; j++)
+			{
+				this.wins[i][j]  += other.wins[i][j];
+				this.draws[i][j] += other.draws[i][j];
+			}
+			this.allyGames[i] += other.allyGames[i];
+			this.allyWins[i]  += other.allyWins[i];
+		}
+	}
+
+	public int getStrategyCount()
+	{
+		return this.strategies.length;
+	}
+
+	public String getStrategy(int index)
+	{
+		return this.strategies[index];
+	}
+
+	public long getWins(int strategy, int opponent)
+	{
+		return this.wins[strategy][opponent];
+	}
+
+	public long getDraws(int strategy, int opponent)
+	{
+		return this.draws[strategy][opponent];
+	}
+
+	public long getGames(int strategy, int opponent)
+	{
+		return this.wins[strategy][opponent] + this.wins[opponent][strategy] + this.draws[strategy][opponent];
+	}
+
+	/**
+	 * Gets the games of the tournament.
+	 *
+	 * @return the number of games recorded
+	 */
+	public long getGames()
+	{
+		long games = 0;
+		for (long played : this.allyGames)
+		{
+			games += played;
+		}
+		return games;
+	}
+
+	/**
+	 * Gets the games a strategy played against all the others.
+	 *
+	 * @param strategy the index of the strategy
+	 * @return the number of games
+	 */
+	public long getGames(int strategy)
+	{
+		long games = 0;
+		for (int opponent = 0; opponent < this.strategies.length; opponent++)
+		{
+			games += opponent == strategy ? 0 : this.getGames(strategy, opponent);
+		}
+		return games;
+	}
+
+	/**
+	 * Gets the points of a strategy against all the others, a win counting 1 and a draw 0.5.
+	 *
+	 * @param strategy the index of the strategy
+	 * @return the points
+	 */
+	public double getScore(int strategy)
+	{
+		double score = 0;
+		for (int opponent = 0; opponent < this.strategies.length; opponent++)
+		{
+			score += this.wins[strategy][opponent] + 0.5 * this.draws[strategy][opponent];
+		}
+		return score;
+	}
+
+	/**
+	 * Gets the share of the games a strategy won when playing the allies.
+	 *
+	 * @param strategy the index of the strategy
+	 * @return the win rate, 0 if it never played the allies
+	 */
+	public double getAllyWinRate(int strategy)
+	{
+		return this.allyGames[strategy] == 0 ? 0 : this.allyWins[strategy] / (double) this.allyGames[strategy];
+	}
+
+	@Override
+	public String toString()
+	{
+		StringBuilder builder = new StringBuilder("wins/draws/losses against:");
+		for (String strategy : this.strategies)
+		{
+			builder.append(String.format("%20s", strategy));
+		}
+		builder.append(System.lineSeparator());
+
+		for (int i = 0; i < this.strategies.length; i++)
+		{
+			builder.append(String.format("%-26s", this.strategies[i]));
+			for (int j = 0; j < this.strategies.length; j++)
+			{
+				builder.append(i == j ? String.format("%20s", "-")
+						: String.format("%20s", this.wins[i][j] + "/" + this.draws[i][j] + "/" + this.wins[j][i]));
+			}
+			builder.append(System.lineSeparator());
+		}
+		return builder.toString();
+	}
+}
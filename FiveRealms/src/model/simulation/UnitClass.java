@@ -0,0 +1,159 @@
+package model.simulation;
+
+import model.characters.Archer;
+import model.characters.BalanceProfile;
+import model.characters.BalanceProfile.Stat;
+import model.characters.Barbarian;
+import model.characters.Character;
+import model.characters.Juggernaut;
+import model.characters.Knight;
+import model.characters.Wizard;
+import model.equipment.weapons.Axe;
+import model.equipment.weapons.LongBow;
+import model.equipment.weapons.LongSword;
+import model.equipment.weapons.ShortBow;
+import model.equipment.weapons.ShortSword;
+import model.equipment.weapons.Spear;
+import model.equipment.weapons.Staff;
+import model.equipment.weapons.Wand;
+import model.equipment.weapons.Weapon;
+
+/**
+ * The character classes, as stored in the unit records of a {@link BattleArena}.
+ * Bosses belong to the class they extend.
+ * Every class carries the weapons of its character constructor and reads its statistic
+ * ranges from the current {@link BalanceProfile}, so simulations can roll units without
+ * creating characters and still follow the balance the characters are created with.
+ */
+public enum UnitClass
+{
+	BARBARIAN ("Barbarian", new Axe(), new LongSword()),
+	ARCHER    ("Archer", new ShortBow(), new LongBow()),
+	KNIGHT    ("Knight", new Spear(), new LongSword()),
+	WIZARD    ("Wizard", new Wand(), new Staff()),
+	JUGGERNAUT("Juggernaut", new ShortSword(), new Axe());
+
+	private static final UnitClass[] VALUES = values();
+
+	/** Number of classes */
+	public static final int COUNT = VALUES.length;
+
+	/** Simple name of the character class, the key of its ranges in the balance profile */
+	private final String characterName;
+
+	private final Weapon[] weapons;
+
+	UnitClass(String characterName, Weapon... weapons)
+	{
+		this.characterName = characterName;
+		this.weapons       = weapons;
+	}
+
+	/**
+	 * Gets the class of a character.
+	 *
+	 * @param character the character
+	 * @return its class
+	 * @throws IllegalArgumentException if the character is of an unknown class
+	 */
+	public static UnitClass of(Character character)
+	{
+		if (character instanceof Barbarian)  return BARBARIAN;
+		if (character instanceof Archer)     return ARCHER;
+		if (character instanceof Knight)     return KNIGHT;
+		if (character instanceof Wizard)     return WIZARD;
+		if (character instanceof Juggernaut) return JUGGERNAUT;
+		throw new IllegalArgumentException("Unknown character class: " + character.getClass().getSimpleName());
+	}
+
+	/**
+	 * Gets a class from its ordinal without allocating, unlike {@code values()}.
+	 *
+	 * @param ordinal the ordinal of the class
+	 * @return the class
+	 */
+	public static UnitClass fromOrdinal(int ordinal)
+	{
+		return VALUES[ordinal];
+	}
+
+	/**
+	 * Creates a new character of this class, with statistics rolled by its constructor.
+	 *
+	 * @return the new character
+	 */
+	public Character createCharacter()
+	{
+		switch (this)
+		{
+			case BARBARIAN: return new Barbarian();
+			case ARCHER:    return new Archer();
+			case KNIGHT:    return new Knight();
+			case WIZARD:    return new Wizard();
+			default:        return new Juggernaut();
+		}
+	}
+
+	public String getCharacterName()
+	{
+		return this.characterName;
+	}
+
+	/* Ranges of the base statistics, minimum inclusive and maximum exclusive like rand.nextInt */
+
+	public int getMinHealth()
+	{
+		return BalanceProfile.current().getMin(this.characterName, Stat.HEALTH);
+	}
+
+	public int getMaxHealth()
+	{
+		return BalanceProfile.current().getMax(this.characterName, Stat.HEALTH);
+	}
+
+	public int getMinSpeed()
+	{
+		return BalanceProfile.current().getMin(this.characterName, Stat.SPEED);
+	}
+
+	public int getMaxSpeed()
+	{
+		return BalanceProfile.current().getMax(this.characterName, Stat.SPEED);
+	}
+
+	public int getMinPower()
+	{
+		return BalanceProfile.current().getMin(this.characterName, Stat.POWER);
+	}
+
+	public int getMaxPower()
+	{
+		return BalanceProfile.current().getMax(this.characterName, Stat.POWER);
+	}
+
+	public int getMinDefence()
+	{
+		return BalanceProfile.current().getMin(this.characterName, Stat.DEFENCE);
+	}
+
+	public int getMaxDefence()
+	{
+		return BalanceProfile.current().getMax(this.characterName, Stat.DEFENCE);
+	}
+
+	/**
+	 * Gets one of the weapons a character of this class can spawn with.
+	 *
+	 * @param index the index of the weapon, below {@link #getWeaponCount()}
+	 * @return the weapon, shared and never modified
+	 */
+	public Weapon getWeapon(int index)
+	{
+		return this.weapons[index];
+	}
+
+	public int getWeaponCount()
+	{
+		return this.weapons.length;
+	}
+}
@@ -0,0 +1,145 @@
+package model.simulation;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Resolves the duels of a batch lane-wise with the Vector API, as many duels per
+ * instruction as the preferred vector shape of the CPU holds.
+ * Every rule of the scalar resolver becomes a lane mask; masked lanes and lanes out of
+ * range are never written. The lanes that do not fill a whole vector go to the scalar resolver.
+ *
+ * Needs {@code --add-modules jdk.incubator.vector} both to compile and to run;
+ * {@link BatchCombatResolver#create()} only loads this class when the module is present.
+ */
+public class VectorCombatResolver implements BatchCombatResolver
+{
+	private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+	private static final int THRESHOLD = CombatRules.LEVELUP_THRESHOLD;
+
+	/** x / 10 == (x * 52429) >>> 19 for every x in [0, 81920), the product fitting 32 unsigned bits */
+	private static final int DIVIDE_BY_TEN_MULTIPLIER = 52429;
+	private static final int DIVIDE_BY_TEN_SHIFT = 19;
+	private static final int DIVIDE_BY_TEN_LIMIT = 81920;
+
+	private final ScalarCombatResolver tailResolver = new ScalarCombatResolver();
+
+	@Override
+	public void resolve(DuelBatch batch)
+	{
+		int bound = SPECIES.loopBound(batch.size());
+
+		for (int i = 0; i < bound; i += SPECIES.length())
+		{
+			IntVector distance = IntVector.fromArray(SPECIES, batch.distance, i);
+			VectorMask<Integer> active = VectorMask.fromArray(SPECIES, batch.masked, i).not()
+					.and(distance.compare(VectorOperators.LE, IntVector.fromArray(SPECIES, batch.attackerRange, i)));
+
+			IntVector attackerHealth  = IntVector.fromArray(SPECIES, batch.attackerHealth, i);
+			IntVector defenderHealth  = IntVector.fromArray(SPECIES, batch.defenderHealth, i);
+
+			// Effective statistics, base plus weapon
+			IntVector attackerPower   = IntVector.fromArray(SPECIES, batch.attackerPower, i)
+					.add(IntVector.fromArray(SPECIES, batch.attackerWeaponPower, i));
+			IntVector attackerDefence = IntVector.fromArray(SPECIES, batch.attackerDefence, i)
+					.add(IntVector.fromArray(SPECIES, batch.attackerWeaponDefence, i));
+			IntVector defenderPower   = IntVector.fromArray(SPECIES, batch.defenderPower, i)
+					.add(IntVector.fromArray(SPECIES, batch.defenderWeaponPower, i));
+			IntVector defenderDefence = IntVector.fromArray(SPECIES, batch.defenderDefence, i)
+					.add(IntVector.fromArray(SPECIES, batch.defenderWeaponDefence, i));
+
+			// Attack, negative damage is ignored
+			defenderHealth = defenderHealth.sub(attackerPower.sub(defenderDefence).max(0), active);
+
+			// Counterattack if the defender survives and the attacker is within its range
+			VectorMask<Integer> counter = active
+					.and(defenderHealth.compare(VectorOperators.GT, 0))
+					.and(distance.compare(VectorOperators.LE, IntVector.fromArray(SPECIES, batch.defenderRange, i)));
+			attackerHealth = attackerHealth.sub(defenderPower.sub(attackerDefence).max(0), counter);
+
+			VectorMask<Integer> defenderDied = active.and(defenderHealth.compare(VectorOperators.LE, 0));
+			VectorMask<Integer> attackerDied = active.and(attackerHealth.compare(VectorOperators.LE, 0));
+
+			IntVector outcome = IntVector.broadcast(SPECIES, DuelBatch.SKIPPED)
+					.blend(DuelBatch.NONE, active)
+					.blend(DuelBatch.DEFENDER_DIED, defenderDied)
+					.blend(DuelBatch.ATTACKER_DIED, attackerDied);
+
+			attackerHealth.intoArray(batch.attackerHealth, i);
+			defenderHealth.intoArray(batch.defenderHealth, i);
+			outcome.intoArray(batch.outcome, i);
+
+			if (defenderDied.anyTrue())
+			{
+				awardKill(defenderDied, i, batch.attackerExperience, batch.attackerHealth, batch.attackerMaxHealth,
+						batch.attackerPower, batch.attackerDefence, batch.attackerSpeed);
+			}
+			if (attackerDied.anyTrue())
+			{
+				awardKill(attackerDied, i, batch.defenderExperience, batch.defenderHealth, batch.defenderMaxHealth,
+						batch.defenderPower, batch.defenderDefence, batch.defenderSpeed);
+			}
+		}
+
+		this.tailResolver.resolve(batch, bound, batch.size());
+	}
+
+	/**
+	 * Gives the experience of a kill to the winners of the masked lanes and levels them up.
+	 */
+	private static void awardKill(VectorMask<Integer> winners, int offset, int[] experience, int[] health,
+			int[] maxHealth, int[] power, int[] defence, int[] speed)
+	{
+		IntVector exp = IntVector.fromArray(SPECIES, experience, offset)
+				.add(CombatRules.KILL_EXPERIENCE, winners);
+		VectorMask<Integer> levelUp = winners.and(exp.compare(VectorOperators.GE, THRESHOLD));
+
+		if (levelUp.anyTrue())
+		{
+			IntVector newMaxHealth = IntVector.fromArray(SPECIES, maxHealth, offset);
+			IntVector newPower     = IntVector.fromArray(SPECIES, power, offset);
+			IntVector newDefence   = IntVector.fromArray(SPECIES, defence, offset);
+			IntVector newSpeed     = IntVector.fromArray(SPECIES, speed, offset);
+			VectorMask<Integer> levelled = levelUp;
+
+			// A kill can trigger more than one level up only if the experience was already high
+			while (levelUp.anyTrue())
+			{
+				exp          = exp.sub(THRESHOLD, levelUp);
+				newMaxHealth = grow(newMaxHealth, levelUp);
+				newPower     = grow(newPower, levelUp);
+				newDefence   = grow(newDefence, levelUp);
+				newSpeed     = grow(newSpeed, levelUp);
+				levelUp      = levelUp.and(exp.compare(VectorOperators.GE, THRESHOLD));
+			}
+
+			// Levelling up fully heals
+			IntVector.fromArray(SPECIES, health, offset).blend(newMaxHealth, levelled).intoArray(health, offset);
+			newMaxHealth.intoArray(maxHealth, offset);
+			newPower.intoArray(power, offset);
+			newDefence.intoArray(defence, offset);
+			newSpeed.intoArray(speed, offset);
+		}
+		exp.intoArray(experience, offset);
+	}
+
+	/**
+	 * Increases a statistic by 10% on the masked lanes, truncated like levelUp does.
+	 * The division by 10 is a multiply and shift, exact on the statistics a character can reach;
+	 * the lane-wise division, far slower, is only used for values outside that range.
+	 */
+	private static IntVector grow(IntVector stat, VectorMask<Integer> mask)
+	{
+		VectorMask<Integer> outside = stat.compare(VectorOperators.LT, 0)
+				.or(stat.compare(VectorOperators.GE, DIVIDE_BY_TEN_LIMIT));
+
+		IntVector tenth = outside.anyTrue()
+				? stat.lanewise(VectorOperators.DIV, 10)
+				: stat.mul(DIVIDE_BY_TEN_MULTIPLIER).lanewise(VectorOperators.LSHR, DIVIDE_BY_TEN_SHIFT);
+
+		return stat.add(tenth, mask);
+	}
+}
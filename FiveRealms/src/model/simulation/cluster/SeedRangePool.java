@@ -0,0 +1,146 @@
+package model.simulation.cluster;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * The seeds of a run still to be played, split among the workers of a cluster.
+ * Every worker takes chunks from the front of its own range; a worker whose range is
+ * empty steals the back half of the largest range left. Ranges given back by workers
+ * that disconnected are handed out before stealing.
+ */
+class SeedRangePool
+{
+	private final long[] next;
+	private final long[] end;
+	private final Deque<long[]> orphans;
+
+	/**
+	 * Splits a range of seeds evenly among the workers.
+	 *
+	 * @param firstSeed the first seed, inclusive
+	 * @param lastSeed the last seed, exclusive
+	 * @param workers the number of workers
+	 */
+	SeedRangePool(long firstSeed, long lastSeed, int workers)
+	{
+		this.next    = new long[workers];
+		this.end     = new long[workers];
+		this.orphans = new ArrayDeque<>();
+
+		long size = lastSeed - firstSeed;
+		for (int w = 0; w < workers; w++)
+		{
+			this.next[w] = firstSeed + size * w / workers;
+			this.end[w]  = firstSeed + size * (w + 1) / workers;
+		}
+	}
+
+	/**
+	 * Puts several ranges of seeds in the pool, like the ones a resumed run has left:
+	 * workers take them whole and then steal from each other.
+	 *
+	 * @param ranges the ranges, as {from, to}
+	 * @param workers the number of workers
+	 */
+	SeedRangePool(List<long[]> ranges, int workers)
+	{
+		this.next    = new long[workers];
+		this.end     = new long[workers];
+		this.orphans = new ArrayDeque<>(ranges);
+	}
+
+	/**
+	 * Gives a worker its next chunk of seeds.
+	 *
+	 * @param worker the index of the worker
+	 * @param chunkSize the largest number of seeds to give
+	 * @return the chunk as {from, to}, or null if no seed is left
+	 */
+	synchronized long[] claim(int worker, int chunkSize)
+	{
+		if (this.next[worker] >= this.end[worker] && !this.refill(worker))
+		{
+			return null;
+		}
+
+		long from = this.next[worker];
+		long to   = Math.min(this.end[worker], from + chunkSize);
+		this.next[worker] = to;
+		return new long[] {from, to};
+	}
+
+	/**
+	 * Takes back the seeds of a worker that will not play them.
+	 *
+	 * @param worker the index of the worker
+	 * @param inFlight the chunk the worker was playing, or null
+	 */
+	synchronized void release(int worker, long[] inFlight)
+	{
+		if (inFlight != null)
+		{
+			this.orphans.add(inFlight);
+		}
+		if (this.next[worker] < this.end[worker])
+		{
+			this.orphans.add(new long[] {this.next[worker], this.end[worker]});
+			this.next[worker] = this.end[worker];
+		}
+	}
+
+	/**
+	 * Takes every seed left, for the coordinator to play them itself.
+	 *
+	 * @return the ranges left
+	 */
+	synchronized Deque<long[]> drain()
+	{
+		for (int w = 0; w < this.next.length; w++)
+		{
+			this.release(w, null);
+		}
+		Deque<long[]> left = new ArrayDeque<>(this.orphans);
+		this.orphans.clear();
+		return left;
+	}
+
+	/**
+	 * Gives a new range to a worker whose own range is empty.
+	 *
+	 * @return false if no seed is left anywhere
+	 */
+	private boolean refill(int worker)
+	{
+		long[] orphan = this.orphans.poll();
+		if (orphan != null)
+		{
+			this.next[worker] = orphan[0];
+			this.end[worker]  = orphan[1];
+			return true;
+		}
+
+		int victim = -1;
+		long largest = 0;
+		for (int w = 0; w < this.next.length; w++)
+		{
+			if (this.end[w] - this.next[w] > largest)
+			{
+				victim = w;
+				largest = this.end[w] - this.next[w];
+			}
+		}
+		if (victim < 0)
+		{
+			return false;
+		}
+
+		// Steal the back half, the victim keeps playing from the front
+		long middle = this.next[victim] + largest / 2;
+		this.next[worker] = middle;
+		this.end[worker]  = this.end[victim];
+		this.end[victim]  = middle;
+		return true;
+	}
+}
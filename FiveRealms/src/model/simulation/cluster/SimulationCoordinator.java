@@ -0,0 +1,319 @@
+package model.simulation.cluster;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import model.simulation.ArenaBattleSimulator;
+import model.simulation.CheckpointPolicy;
+import model.simulation.Checkpointer;
+import model.simulation.SimulationCheckpoint;
+import model.simulation.SimulationConfig;
+import model.simulation.SimulationRunner;
+import model.simulation.SimulationStats;
+import view.map.AbstractMap;
+
+/**
+ * Coordinator of a local simulation cluster: it splits a range of seeds among worker
+ * processes connected over loopback TCP and merges the statistics they send back.
+ *
+ * Workers ask for a chunk of seeds at a time, sending the statistics of the previous chunk
+ * with the request. A worker that runs out of seeds steals half of the largest range left,
+ * so fast workers are never idle while slow ones still have work. If a worker disconnects,
+ * its unfinished seeds go back to the pool, and anything left when every worker is gone is
+ * played by the coordinator itself, so the result never misses a battle.
+ * A run can also be checkpointed, see {@link Checkpointer}, and resumed after a crash.
+ */
+public class SimulationCoordinator
+{
+	/** Seeds handed to a worker at a time */
+	static final int CHUNK_SIZE = 10_000;
+
+	/** Default battles between two checkpoints of the command line runs */
+	private static final long DEFAULT_CHECKPOINT_BATTLES = 1_000_000;
+
+	/** Default seconds between two checkpoints of the command line runs */
+	private static final long DEFAULT_CHECKPOINT_SECONDS = 300;
+
+	/** Milliseconds to wait for the workers to connect */
+	private static final int ACCEPT_TIMEOUT = 60_000;
+
+	private final SimulationConfig config;
+	private final int workers;
+
+	private final SimulationStats merged;
+
+	/**
+	 * Creates a coordinator.
+	 *
+	 * @param config the configuration of the battles
+	 * @param workers the number of worker processes
+	 */
+	public SimulationCoordinator(SimulationConfig config, int workers)
+	{
+		if (workers <= 0)
+		{
+			throw new IllegalArgumentException("Invalid number of workers: " + workers);
+		}
+		this.config  = config;
+		this.workers = workers;
+		this.merged  = new SimulationStats();
+	}
+
+	/**
+	 * Plays a range of seeds on worker processes started by the coordinator,
+	 * JVMs with the same Java installation and class path as the current one.
+	 *
+	 * @param firstSeed the first seed, inclusive
+	 * @param lastSeed the last seed, exclusive
+	 * @return the merged statistics of all the battles
+	 * @throws IOException if the server socket cannot be opened or a worker cannot be started
+	 * @throws InterruptedException if the calling thread is interrupted
+	 */
+	public SimulationStats run(long firstSeed, long lastSeed) throws IOException, InterruptedException
+	{
+		return this.run(server -> this.serve(server, firstSeed, lastSeed));
+	}
+
+	/**
+	 * Plays the seeds not played yet of a checkpointed run on worker processes started by the
+	 * coordinator. Every chunk a worker sends back is recorded in the checkpoint, and the
+	 * checkpoint is saved again when the run ends.
+	 *
+	 * @param checkpointer the checkpoint of the run and when to save it
+	 * @return the merged statistics of all the battles of the run, resumed ones included
+	 * @throws IOException if the server socket cannot be opened, a worker cannot be started or the final checkpoint cannot be saved
+	 * @throws InterruptedException if the calling thread is interrupted
+	 */
+	public SimulationStats run(Checkpointer checkpointer) throws IOException, InterruptedException
+	{
+		return this.run(server -> this.serve(server, checkpointer));
+	}
+
+	private SimulationStats run(Session session) throws IOException, InterruptedException
+	{
+		try (ServerSocket server = new ServerSocket(0, this.workers, InetAddress.getLoopbackAddress()))
+		{
+			List<Process> processes = new ArrayList<>();
+			try
+			{
+				for (int i = 0; i < this.workers; i++)
+				{
+					processes.add(this.startWorkerProcess(server.getLocalPort()));
+				}
+				return session.serve(server);
+			}
+			finally
+			{
+				processes.forEach(Process::destroy);
+			}
+		}
+	}
+
+	/**
+	 * Plays a range of seeds on workers that connect to the given server socket,
+	 * started by the caller, possibly by hand with {@link SimulationWorker}.
+	 *
+	 * @param server the socket the workers connect to
+	 * @param firstSeed the first seed, inclusive
+	 * @param lastSeed the last seed, exclusive
+	 * @return the merged statistics of all the battles
+	 * @throws IOException if the workers do not connect in time
+	 * @throws InterruptedException if the calling thread is interrupted
+	 */
+	public SimulationStats serve(ServerSocket server, long firstSeed, long lastSeed) throws IOException, InterruptedException
+	{
+		this.serve(server, new SeedRangePool(firstSeed, lastSeed, this.workers), null);
+		return this.merged;
+	}
+
+	/**
+	 * Plays the seeds not played yet of a checkpointed run on workers that connect to the
+	 * given server socket, started by the caller.
+	 *
+	 * @param server the socket the workers connect to
+	 * @param checkpointer the checkpoint of the run and when to save it
+	 * @return the merged statistics of all the battles of the run, resumed ones included
+	 * @throws IOException if the workers do not connect in time or the final checkpoint cannot be saved
+	 * @throws InterruptedException if the calling thread is interrupted
+	 */
+	public SimulationStats serve(ServerSocket server, Checkpointer checkpointer) throws IOException, InterruptedException
+	{
+		if (!checkpointer.getCheckpoint().getConfig().equals(this.config))
+		{
+			throw new IllegalArgumentException("The checkpoint belongs to another configuration: " + checkpointer.getCheckpoint());
+		}
+
+		this.serve(server, new SeedRangePool(checkpointer.getCheckpoint().getRemainingRanges(), this.workers), checkpointer);
+		checkpointer.save();
+		return checkpointer.getCheckpoint().getStats();
+	}
+
+	/**
+	 * Serves the workers until every seed of the pool is played, recording the results
+	 * in the checkpoint if there is one, or else in the merged statistics.
+	 */
+	private void serve(ServerSocket server, SeedRangePool pool, Checkpointer checkpointer) throws IOException, InterruptedException
+	{
+		List<Thread> handlers = new ArrayList<>();
+
+		server.setSoTimeout(ACCEPT_TIMEOUT);
+		for (int i = 0; i < this.workers; i++)
+		{
+			Socket socket = server.accept();
+			int worker = i;
+
+			Thread handler = new Thread(() -> this.handleWorker(socket, worker, pool, checkpointer), "simulation-coordinator-" + i);
+			handler.setDaemon(true);
+			handlers.add(handler);
+			handler.start();
+		}
+
+		for (Thread handler : handlers)
+		{
+			handler.join();
+		}
+
+		// Seeds of workers that disconnected after the others were done
+		Deque<long[]> left = pool.drain();
+		if (!left.isEmpty())
+		{
+			System.err.println("Playing " + left.size() + " seed ranges left by disconnected workers");
+
+			SimulationRunner runner = this.config.createRunner(1);
+			ArenaBattleSimulator simulator = runner.createSimulator();
+			for (long[] range : left)
+			{
+				SimulationStats stats = new SimulationStats();
+				runner.runRange(simulator, stats, range[0], range[1]);
+				this.recordResult(range, stats, checkpointer);
+			}
+		}
+	}
+
+	/**
+	 * Serves a worker until it has no seeds left or disconnects.
+	 */
+	private void handleWorker(Socket socket, int worker, SeedRangePool pool, Checkpointer checkpointer)
+	{
+		long[] inFlight = null;
+
+		try (socket;
+			 ObjectOutputStream out = new ObjectOutputStream(socket.getOutputStream()))
+		{
+			out.writeObject(this.config);
+			out.flush();
+
+			ObjectInputStream in = new ObjectInputStream(socket.getInputStream());
+			while (true)
+			{
+				// Every request carries the statistics of the previous chunk
+				SimulationStats result = (SimulationStats) in.readObject();
+				if (result != null)
+				{
+					this.recordResult(inFlight, result, checkpointer);
+					inFlight = null;
+				}
+
+				inFlight = pool.claim(worker, CHUNK_SIZE);
+				out.writeObject(inFlight);
+				out.flush();
+				out.reset();
+
+				if (inFlight == null)
+				{
+					return;
+				}
+			}
+		}
+		catch (IOException | ClassNotFoundException | ClassCastException e)
+		{
+			System.err.println("Simulation worker " + worker + " disconnected: " + e);
+			pool.release(worker, inFlight);
+		}
+	}
+
+	private void recordResult(long[] range, SimulationStats result, Checkpointer checkpointer)
+	{
+		if (checkpointer != null)
+		{
+			checkpointer.chunkCompleted(range[0], range[1], result);
+		}
+		else
+		{
+			synchronized (this.merged)
+			{
+				this.merged.merge(result);
+			}
+		}
+	}
+
+	/**
+	 * What the coordinator does with the server socket once its workers are started.
+	 */
+	@FunctionalInterface
+	private interface Session
+	{
+		SimulationStats serve(ServerSocket server) throws IOException, InterruptedException;
+	}
+
+	private Process startWorkerProcess(int port) throws IOException
+	{
+		String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+
+		return new ProcessBuilder(java, "-Djava.awt.headless=true", "-cp", System.getProperty("java.class.path"),
+				SimulationWorker.class.getName(), InetAddress.getLoopbackAddress().getHostAddress(), String.valueOf(port))
+				.inheritIO()
+				.start();
+	}
+
+	/**
+	 * Runs a simulation on a local cluster.
+	 * Arguments: battles, worker processes and optionally units per side, first seed, and a
+	 * checkpoint file with the battles and seconds between two checkpoints. With a checkpoint
+	 * file, a run started again with the same arguments resumes where the previous one stopped.
+	 *
+	 * @param args the command line arguments
+	 */
+	public static void main(String[] args) throws Exception
+	{
+		if (args.length < 2)
+		{
+			System.err.println("Usage: SimulationCoordinator <battles> <workers> [unitsPerSide] [firstSeed] [checkpointFile] [checkpointBattles] [checkpointSeconds]");
+			System.exit(2);
+		}
+
+		long battles = Long.parseLong(args[0]);
+		int workers = Integer.parseInt(args[1]);
+		int unitsPerSide = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+		long firstSeed = args.length > 3 ? Long.parseLong(args[3]) : 0;
+
+		SimulationConfig config = new SimulationConfig(unitsPerSide, AbstractMap.GRID_SIZE_WIDTH, AbstractMap.GRID_SIZE_HEIGHT, 50);
+		SimulationCoordinator coordinator = new SimulationCoordinator(config, workers);
+
+		long start = System.nanoTime();
+		SimulationStats stats;
+		if (args.length > 4)
+		{
+			File file = new File(args[4]);
+			long everyBattles = args.length > 5 ? Long.parseLong(args[5]) : DEFAULT_CHECKPOINT_BATTLES;
+			long everyMillis = (args.length > 6 ? Long.parseLong(args[6]) : DEFAULT_CHECKPOINT_SECONDS) * 1000;
+
+			SimulationCheckpoint checkpoint = SimulationCheckpoint.loadOrCreate(file, config, firstSeed, firstSeed + battles);
+			System.out.println("Resuming from " + checkpoint);
+			stats = coordinator.run(new Checkpointer(checkpoint, file, new CheckpointPolicy(everyBattles, everyMillis)));
+		}
+		else
+		{
+			stats = coordinator.run(firstSeed, firstSeed + battles);
+		}
+		System.out.println(stats);
+		System.out.printf("%d battles on %d workers in %.1f s%n", stats.getBattles(), workers, (System.nanoTime() - start) / 1e9);
+	}
+}
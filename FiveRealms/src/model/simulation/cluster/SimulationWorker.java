@@ -0,0 +1,90 @@
+package model.simulation.cluster;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.net.Socket;
+import model.simulation.ArenaBattleSimulator;
+import model.simulation.SimulationConfig;
+import model.simulation.SimulationRunner;
+import model.simulation.SimulationStats;
+
+/**
+ * Worker process of a local simulation cluster.
+ * It receives the configuration from the {@link SimulationCoordinator}, then plays chunks
+ * of seeds until the coordinator has none left, sending the statistics of every chunk back
+ * with the request for the next one.
+ */
+public class SimulationWorker
+{
+	private SimulationWorker()
+	{
+	}
+
+	/**
+	 * Connects to a coordinator and works until the run is over.
+	 *
+	 * @param host the host of the coordinator
+	 * @param port the port of the coordinator
+	 * @return the number of battles played
+	 * @throws IOException if the connection fails
+	 * @throws ClassNotFoundException if the coordinator sends an unknown object
+	 */
+	public static long work(String host, int port) throws IOException, ClassNotFoundException
+	{
+		long played = 0;
+
+		try (Socket socket = new Socket(host, port);
+			 ObjectOutputStream out = new ObjectOutputStream(socket.getOutputStream()))
+		{
+			out.flush();
+			ObjectInputStream in = new ObjectInputStream(socket.getInputStream());
+
+			SimulationConfig config = (SimulationConfig) in.readObject();
+			SimulationRunner runner = config.createRunner(1);
+			ArenaBattleSimulator simulator = runner.createSimulator();
+
+			SimulationStats stats = null;
+			while (true)
+			{
+				out.writeObject(stats);
+				out.flush();
+				out.reset();
+
+				long[] range = (long[]) in.readObject();
+				if (range == null)
+				{
+					return played;
+				}
+
+				stats = new SimulationStats();
+				runner.runRange(simulator, stats, range[0], range[1]);
+				played += range[1] - range[0];
+			}
+		}
+	}
+
+	/**
+	 * Arguments: host and port of the coordinator.
+	 *
+	 * @param args the command line arguments
+	 */
+	public static void main(String[] args)
+	{
+		if (args.length < 2)
+		{
+			System.err.println("Usage: SimulationWorker <host> <port>");
+			System.exit(2);
+		}
+
+		try
+		{
+			work(args[0], Integer.parseInt(args[1]));
+		}
+		catch (IOException | ClassNotFoundException e)
+		{
+			System.err.println("Simulation worker failed: " + e.getMessage());
+			System.exit(1);
+		}
+	}
+}
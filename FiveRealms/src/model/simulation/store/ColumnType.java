@@ -0,0 +1,13 @@
+package model.simulation.store;
+
+/**
+ * The types of the columns of a columnar file.
+ */
+public enum ColumnType
+{
+	/** Whole numbers, stored as the variable-length difference from the previous row */
+	LONG,
+
+	/** Short strings from a small set, like class names, stored as codes of a dictionary */
+	STRING
+}
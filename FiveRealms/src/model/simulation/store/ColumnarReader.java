@@ -0,0 +1,343 @@
+package model.simulation.store;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Reads a file written by {@link ColumnarWriter}. Scans map the blocks of the file in memory
+ * and decode only the columns they need into arrays reused from block to block, so rows are
+ * never turned into objects: a visitor sees the values of a row in a reused array.
+ * Blocks whose bounds rule them out of a filter are skipped without being mapped.
+ *
+ * Every scan keeps its own arrays, so several threads can scan the same reader at once.
+ */
+public class ColumnarReader implements Closeable
+{
+	private final FileChannel channel;
+	private final String[] names;
+	private final ColumnType[] types;
+	private final List<List<String>> dictionaries;
+
+	private final int[] blockRows;
+	private final long[][] offsets;
+	private final int[][] lengths;
+	private final long[][] mins;
+	private final long[][] maxs;
+	private final long rowCount;
+
+	/**
+	 * Opens a file and reads its footer.
+	 *
+	 * @param file the file to read
+	 * @throws IOException if the file cannot be read or is not a columnar file
+	 */
+	public ColumnarReader(File file) throws IOException
+	{
+		this.channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+		try
+		{
+			long size = this.channel.size();
+			ByteBuffer header = ByteBuffer.allocate(8);
+			ByteBuffer trailer = ByteBuffer.allocate(12);
+			if (size < 20 || this.channel.read(header, 0) != 8 || this.channel.read(trailer, size - 12) != 12
+					|| header.getInt(0) != ColumnarWriter.MAGIC || trailer.getInt(8) != ColumnarWriter.MAGIC)
+			{
+				throw new IOException("Not a columnar file: " + file);
+			}
+			if (header.getInt(4) != ColumnarWriter.VERSION)
+			{
+				throw new IOException("Unsupported version " + header.getInt(4) + " of columnar file " + file);
+			}
+
+			long footer = trailer.getLong(0);
+			byte[] bytes = new byte[(int) (size - 12 - footer)];
+			this.channel.read(ByteBuffer.wrap(bytes), footer);
+			DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+
+			int columns = in.readInt();
+			this.names        = new String[columns];
+			this.types        = new ColumnType[columns];
+			this.dictionaries = new ArrayList<>();
+			for (int c = 0; c < columns; c++)
+			{
+				this.names[c] = in.readUTF();
+				this.types[c] = ColumnType.values()[in.readByte()];
+				int entries = in.readInt();
+				List<String> dictionary = new ArrayList<>(entries);
+				for (int i = 0; i < entries; i++)
+				{
+					dictionary.add(in.readUTF());
+				}
+				this.dictionaries.add(Collections.unmodifiableList(dictionary));
+			}
+
+			int blocks = in.readInt();
+			this.blockRows = new int[blocks];
+			this.offsets   = new long[blocks][columns];
+			this.lengths   = new int[blocks][columns];
+			this.mins      = new long[blocks][columns];
+			this.maxs      = new long[blocks][columns];
+
+			long rows = 0;
+			for (int b = 0; b < blocks; b++)
+			{
+				this.blockRows[b] = in.readInt();
+				rows += this.blockRows[b];
+				for (int c = 0; c < columns; c++)
+				{
+					this.offsets[b][c] = in.readLong();
+					this.lengths[b][c] = in.readInt();
+					this.mins[b][c]    = in.readLong();
+					this.maxs[b][c]    = in.readLong();
+				}
+			}
+			this.rowCount = rows;
+		}
+		catch (IOException | RuntimeException e)
+		{
+			this.channel.close();
+			throw e instanceof IOException ? (IOException) e : new IOException("Corrupted columnar file: " + file, e);
+		}
+	}
+
+	public long getRowCount()
+	{
+		return this.rowCount;
+	}
+
+	public int getBlockCount()
+	{
+		return this.blockRows.length;
+	}
+
+	public int getColumnCount()
+	{
+		return this.names.length;
+	}
+
+	public String getColumnName(int column)
+	{
+		return this.names[column];
+	}
+
+	public ColumnType getColumnType(int column)
+	{
+		return this.types[column];
+	}
+
+	/**
+	 * Finds a column by name.
+	 *
+	 * @param name the name of the column
+	 * @return the index of the column
+	 * @throws IllegalArgumentException if there is no such column
+	 */
+	public int getColumn(String name)
+	{
+		for (int c = 0; c < this.names.length; c++)
+		{
+			if (this.names[c].equals(name))
+			{
+				return c;
+			}
+		}
+		throw new IllegalArgumentException("Unknown column: " + name);
+	}
+
+	/**
+	 * Gets the strings of a string column, in the order of their codes.
+	 *
+	 * @param column the index of the column
+	 * @return the dictionary, empty for a number column
+	 */
+	public List<String> getDictionary(int column)
+	{
+		return this.dictionaries.get(column);
+	}
+
+	/**
+	 * Gets the code of a string of a string column, to filter on it.
+	 *
+	 * @param column the index of the column
+	 * @param value the string
+	 * @return the code, -1 if no row has the string
+	 */
+	public int getCode(int column, String value)
+	{
+		return this.dictionaries.get(column).indexOf(value);
+	}
+
+	/**
+	 * Gets the smallest value of a column in the whole file, from the footer.
+	 *
+	 * @param column the index of the column
+	 * @return the minimum, Long.MAX_VALUE if the file is empty
+	 */
+	public long getMin(int column)
+	{
+		long min = Long.MAX_VALUE;
+		for (long[] blockMins : this.mins)
+		{
+			min = Math.min(min, blockMins[column]);
+		}
+		return min;
+	}
+
+	/**
+	 * Gets the largest value of a column in the whole file, from the footer.
+	 *
+	 * @param column the index of the column
+	 * @return the maximum, Long.MIN_VALUE if the file is empty
+	 */
+	public long getMax(int column)
+	{
+		long max = Long.MIN_VALUE;
+		for (long[] blockMaxs : this.maxs)
+		{
+			max = Math.max(max, blockMaxs[column]);
+		}
+		return max;
+	}
+
+	/**
+	 * Visits the rows that pass every filter.
+	 *
+	 * @param columns the names of the columns the visitor sees, in this order
+	 * @param filters the filters a row must pass, possibly on columns the visitor does not see
+	 * @param visitor the visitor of the rows
+	 * @return the number of rows visited
+	 * @throws IOException if the file cannot be read
+	 */
+	public long scan(String[] columns, List<RangeFilter> filters, RowVisitor visitor) throws IOException
+	{
+		int[] visible = new int[columns.length];
+		for (int i = 0; i < columns.length; i++)
+		{
+			visible[i] = this.getColumn(columns[i]);
+		}
+		int[] filtered = new int[filters.size()];
+		for (int i = 0; i < filters.size(); i++)
+		{
+			filtered[i] = this.getColumn(filters.get(i).getColumn());
+		}
+
+		// Every column is decoded once per block, whether it is seen, filtered or both
+		boolean[] needed = new boolean[this.names.length];
+		for (int column : visible)
+		{
+			needed[column] = true;
+		}
+		for (int column : filtered)
+		{
+			needed[column] = true;
+		}
+		long[][] decoded = new long[this.names.length][];
+		for (int column = 0; column < this.names.length; column++)
+		{
+			decoded[column] = needed[column] ? new long[ColumnarWriter.BLOCK_ROWS] : null;
+		}
+
+		long[] row = new long[columns.length];
+		long visited = 0;
+
+		for (int b = 0; b < this.blockRows.length; b++)
+		{
+			if (!this.mayMatch(b, filters, filtered))
+			{
+				continue;
+			}
+
+			// The columns of a block follow each other, a single mapping covers them all
+			int last = this.names.length - 1;
+			long start = this.offsets[b][0];
+			MappedByteBuffer bytes = this.channel.map(FileChannel.MapMode.READ_ONLY, start, this.offsets[b][last] + this.lengths[b][last] - start);
+			for (int column = 0; column < this.names.length; column++)
+			{
+				if (needed[column])
+				{
+					bytes.position((int) (this.offsets[b][column] - start));
+					decode(bytes, this.blockRows[b], this.types[column] == ColumnType.LONG, decoded[column]);
+				}
+			}
+
+			rows:
+			for (int r = 0; r < this.blockRows[b]; r++)
+			{
+				for (int i = 0; i < filtered.length; i++)
+				{
+					if (!filters.get(i).accepts(decoded[filtered[i]][r]))
+					{
+						continue rows;
+					}
+				}
+				for (int i = 0; i < visible.length; i++)
+				{
+					row[i] = decoded[visible[i]][r];
+				}
+				visitor.visit(row);
+				visited++;
+			}
+		}
+		return visited;
+	}
+
+	@Override
+	public void close() throws IOException
+	{
+		this.channel.close();
+	}
+
+	private boolean mayMatch(int block, List<RangeFilter> filters, int[] filtered)
+	{
+		for (int i = 0; i < filtered.length; i++)
+		{
+			if (!filters.get(i).overlaps(this.mins[block][filtered[i]], this.maxs[block][filtered[i]]))
+			{
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Decodes the varints of a column of a block, from the current position of the bytes.
+	 */
+	private static void decode(ByteBuffer bytes, int rows, boolean deltas, long[] values)
+	{
+		long previous = 0;
+
+		for (int r = 0; r < rows; r++)
+		{
+			long encoded = 0;
+			int shift = 0;
+			byte b;
+			do
+			{
+				b = bytes.get();
+				encoded |= (long) (b & 0x7F) << shift;
+				shift += 7;
+			}
+			while (b < 0);
+
+			if (deltas)
+			{
+				previous += (encoded >>> 1) ^ -(encoded & 1);
+				values[r] = previous;
+			}
+			else
+			{
+				values[r] = encoded;
+			}
+		}
+	}
+}
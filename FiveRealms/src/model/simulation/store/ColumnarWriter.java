@@ -0,0 +1,299 @@
+package model.simulation.store;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes rows to a columnar file, a compact format for millions of simulated battles.
+ *
+ * Rows are gathered in blocks of {@link #BLOCK_ROWS}, and every block is written column by
+ * column: a number column as the zigzag varint of the difference from the previous row,
+ * so sorted or repetitive columns like seeds take a byte a row, and a string column as the
+ * varint code of the string in the dictionary of the column. The footer at the end of the
+ * file holds the columns, the dictionaries and, for every block, where each column starts
+ * and its minimum and maximum, so readers can skip the blocks a filter rules out.
+ *
+ * Layout: the magic number and the version, the blocks, the footer, the position of the
+ * footer and the magic number again. A writer is not thread safe.
+ */
+public class ColumnarWriter implements Closeable
+{
+	/** Marks the start and the end of a columnar file */
+	static final int MAGIC = 0x46524331;
+
+	static final int VERSION = 1;
+
+	/** Rows of a block */
+	public static final int BLOCK_ROWS = 65_536;
+
+	private final String[] names;
+	private final ColumnType[] types;
+	private final DataOutputStream out;
+
+	/** Values of the rows of the current block, column by column */
+	private final long[][] block;
+	private int rows;
+	private int column;
+
+	private final List<Map<String, Integer>> codes;
+	private final List<List<String>> dictionaries;
+
+	/** Position of the next byte written and the blocks written so far */
+	private long position;
+	private final List<BlockInfo> blocks;
+
+	/** Encoded column of the block being written, reused */
+	private byte[] buffer;
+
+	/**
+	 * Creates a file, replacing any file with the same name.
+	 *
+	 * @param file the file to write
+	 * @param names the names of the columns, different from each other
+	 * @param types the types of the columns
+	 * @throws IOException if the file cannot be created
+	 */
+	public ColumnarWriter(File file, String[] names, ColumnType[] types) throws IOException
+	{
+		if (names.length == 0 || names.length != types.length)
+		{
+			throw new IllegalArgumentException("Expected a type for each of the " + names.length + " columns, got " + types.length);
+		}
+		if (Arrays.stream(names).distinct().count() != names.length)
+		{
+			throw new IllegalArgumentException("Duplicate column names: " + Arrays.toString(names));
+		}
+
+		this.names        = names.clone();
+		this.types        = types.clone();
+		this.block        = new long[names.length][BLOCK_ROWS];
+		this.codes        = new ArrayList<>();
+		this.dictionaries = new ArrayList<>();
+		this.blocks       = new ArrayList<>();
+		this.buffer       = new byte[BLOCK_ROWS * 2];
+
+		for (int i = 0; i < names.length; i++)
+		{
+			this.codes.add(new HashMap<>());
+			this.dictionaries.add(new ArrayList<>());
+		}
+
+		this.out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), 1 << 16));
+		this.out.writeInt(MAGIC);
+		this.out.writeInt(VERSION);
+		this.position = 8;
+	}
+
+	/**
+	 * Sets the value of the next number column of the current row.
+	 *
+	 * @param value the value
+	 * @return this writer
+	 * @throws IllegalStateException if the next column is not a number column
+	 */
+	public ColumnarWriter add(long value)
+	{
+		this.checkNext(ColumnType.LONG);
+		this.block[this.column++][this.rows] = value;
+		return this;
+	}
+
+	/**
+	 * Sets the value of the next string column of the current row.
+	 *
+	 * @param value the value, not null
+	 * @return this writer
+	 * @throws IllegalStateException if the next column is not a string column
+	 */
+	public ColumnarWriter add(String value)
+	{
+		this.checkNext(ColumnType.STRING);
+		Integer code = this.codes.get(this.column).get(value);
+		if (code == null)
+		{
+			code = this.dictionaries.get(this.column).size();
+			this.codes.get(this.column).put(value, code);
+			this.dictionaries.get(this.column).add(value);
+		}
+		this.block[this.column++][this.rows] = code;
+		return this;
+	}
+
+	/**
+	 * Ends the current row, once every column has its value.
+	 *
+	 * @throws IOException if a full block cannot be written
+	 * @throws IllegalStateException if a column has no value
+	 */
+	public void endRow() throws IOException
+	{
+		if (this.column != this.names.length)
+		{
+			throw new IllegalStateException("Row ended after " + this.column + " of " + this.names.length + " columns");
+		}
+		this.column = 0;
+		if (++this.rows == BLOCK_ROWS)
+		{
+			this.writeBlock();
+		}
+	}
+
+	/**
+	 * Writes the last block and the footer, and closes the file.
+	 *
+	 * @throws IOException if the file cannot be written
+	 */
+	@Override
+	public void close() throws IOException
+	{
+		try
+		{
+			if (this.rows > 0)
+			{
+				this.writeBlock();
+			}
+			this.writeFooter();
+		}
+		finally
+		{
+			this.out.close();
+		}
+	}
+
+	private void checkNext(ColumnType type)
+	{
+		if (this.column >= this.names.length)
+		{
+			throw new IllegalStateException("Every column of the row has a value, end the row first");
+		}
+		if (this.types[this.column] != type)
+		{
+			throw new IllegalStateException("Column " + this.names[this.column] + " is a " + this.types[this.column] + " column");
+		}
+	}
+
+	private void writeBlock() throws IOException
+	{
+		BlockInfo info = new BlockInfo(this.rows, this.names.length);
+
+		for (int c = 0; c < this.names.length; c++)
+		{
+			long[] values = this.block[c];
+			long min = Long.MAX_VALUE;
+			long max = Long.MIN_VALUE;
+			long previous = 0;
+			int length = 0;
+
+			for (int row = 0; row < this.rows; row++)
+			{
+				long value = values[row];
+				min = Math.min(min, value);
+				max = Math.max(max, value);
+
+				// Codes of strings are small already, numbers are stored as differences
+				long encoded = this.types[c] == ColumnType.STRING ? value : zigzag(value - previous);
+				previous = value;
+
+				if (length + 10 > this.buffer.length)
+				{
+					this.buffer = Arrays.copyOf(this.buffer, this.buffer.length * 2);
+				}
+				length = writeVarint(this.buffer, length, encoded);
+			}
+
+			this.out.write(this.buffer, 0, length);
+			info.offsets[c] = this.position;
+			info.lengths[c] = length;
+			info.mins[c]    = min;
+			info.maxs[c]    = max;
+			this.position  += length;
+		}
+
+		this.blocks.add(info);
+		this.rows = 0;
+	}
+
+	private void writeFooter() throws IOException
+	{
+		long footer = this.position;
+
+		this.out.writeInt(this.names.length);
+		for (int c = 0; c < this.names.length; c++)
+		{
+			this.out.writeUTF(this.names[c]);
+			this.out.writeByte(this.types[c].ordinal());
+			this.out.writeInt(this.dictionaries.get(c).size());
+			for (String value : this.dictionaries.get(c))
+			{
+				this.out.writeUTF(value);
+			}
+		}
+
+		this.out.writeInt(this.blocks.size());
+		for (BlockInfo info : this.blocks)
+		{
+			this.out.writeInt(info.rows);
+			for (int c = 0; c < this.names.length; c++)
+			{
+				this.out.writeLong(info.offsets[c]);
+				this.out.writeInt(info.lengths[c]);
+				this.out.writeLong(info.mins[c]);
+				this.out.writeLong(info.maxs[c]);
+			}
+		}
+
+		this.out.writeLong(footer);
+		this.out.writeInt(MAGIC);
+	}
+
+	private static long zigzag(long value)
+	{
+		return (value << 1) ^ (value >> 63);
+	}
+
+	/**
+	 * Writes an unsigned varint, 7 bits a byte with the high bit set on all bytes but the last.
+	 *
+	 * @return the position after the varint
+	 */
+	private static int writeVarint(byte[] buffer, int position, long value)
+	{
+		while ((value & ~0x7FL) != 0)
+		{
+			buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		buffer[position++] = (byte) value;
+		return position;
+	}
+
+	/**
+	 * Where the columns of a block are and their bounds.
+	 */
+	private static class BlockInfo
+	{
+		private final int rows;
+		private final long[] offsets;
+		private final int[] lengths;
+		private final long[] mins;
+		private final long[] maxs;
+
+		private BlockInfo(int rows, int columns)
+		{
+			this.rows    = rows;
+			this.offsets = new long[columns];
+			this.lengths = new int[columns];
+			this.mins    = new long[columns];
+			this.maxs    = new long[columns];
+		}
+	}
+}
@@ -0,0 +1,65 @@
+package model.simulation.store;
+
+/**
+ * Keeps the rows whose value of a column is within a range, bounds included.
+ * Blocks whose minimum and maximum of the column are out of the range are skipped
+ * without being read.
+ */
+public class RangeFilter
+{
+	private final String column;
+	private final long min;
+	private final long max;
+
+	/**
+	 * Creates a filter.
+	 *
+	 * @param column the name of the column
+	 * @param min the smallest value kept
+	 * @param max the largest value kept
+	 */
+	public RangeFilter(String column, long min, long max)
+	{
+		this.column = column;
+		this.min    = min;
+		this.max    = max;
+	}
+
+	public String getColumn()
+	{
+		return this.column;
+	}
+
+	public long getMin()
+	{
+		return this.min;
+	}
+
+	public long getMax()
+	{
+		return this.max;
+	}
+
+	/**
+	 * Checks whether a value is kept.
+	 *
+	 * @param value the value of the column
+	 * @return true if the value is within the range
+	 */
+	public boolean accepts(long value)
+	{
+		return value >= this.min && value <= this.max;
+	}
+
+	/**
+	 * Checks whether a block with the given bounds may hold rows that are kept.
+	 *
+	 * @param blockMin the smallest value of the column in the block
+	 * @param blockMax the largest value of the column in the block
+	 * @return false if every row of the block is filtered out
+	 */
+	public boolean overlaps(long blockMin, long blockMax)
+	{
+		return blockMax >= this.min && blockMin <= this.max;
+	}
+}
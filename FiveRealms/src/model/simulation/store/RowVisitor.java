@@ -0,0 +1,16 @@
+package model.simulation.store;
+
+/**
+ * Receives the rows of a scan of a columnar file.
+ */
+@FunctionalInterface
+public interface RowVisitor
+{
+	/**
+	 * Visits a row. The array is reused for the next row, so it must not be kept.
+	 *
+	 * @param values the values of the scanned columns, in the order they were asked in;
+	 *               string columns give the code of the string in the dictionary of the column
+	 */
+	void visit(long[] values);
+}
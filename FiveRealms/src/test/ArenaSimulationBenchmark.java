@@ -0,0 +1,176 @@
+package test;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import model.characters.Archer;
+import model.characters.Barbarian;
+import model.characters.Character;
+import model.characters.Juggernaut;
+import model.characters.Knight;
+import model.characters.Wizard;
+import model.gameStatus.level.BattleBoard;
+import model.point.GridBounds;
+import model.point.Point;
+import model.simulation.ArenaBattleSimulator;
+import model.simulation.BattleArena;
+import model.simulation.UnitClass;
+import view.map.AbstractMap;
+
+/**
+ * Benchmark of simulation campaigns, run as a plain program:
+ * {@code java -Djava.awt.headless=true test.ArenaSimulationBenchmark [battles]}.
+ * Plays the same kind of 5 versus 5 battle with character objects on a BattleBoard and
+ * in a reused off-heap arena, and reports the throughput and the garbage collections
+ * of the steady state of each.
+ */
+public class ArenaSimulationBenchmark
+{
+    private static final int DEFAULT_BATTLES = 200_000;
+    private static final int UNITS_PER_SIDE = 5;
+    private static final int MAX_ROUNDS = 50;
+
+    public static void main(String[] args)
+    {
+        int battles = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_BATTLES;
+
+        ArenaBattleSimulator simulator = new ArenaBattleSimulator(2 * UNITS_PER_SIDE,
+                AbstractMap.GRID_SIZE_WIDTH * AbstractMap.GRID_SIZE_HEIGHT);
+
+        // Warm up both paths, then measure
+        runArena(simulator, battles / 10);
+        runObjects(battles / 100);
+
+        measure("arena  ", battles, () -> runArena(simulator, battles));
+        measure("objects", battles / 10, () -> runObjects(battles / 10));
+    }
+
+    private static void measure(String name, int battles, Runnable run)
+    {
+        long collections = gcCount();
+        long start = System.nanoTime();
+        run.run();
+        long elapsed = System.nanoTime() - start;
+
+        System.out.printf("%s: %,d battles, %.2f us per battle, %d garbage collections%n",
+                name, battles, elapsed / 1000.0 / battles, gcCount() - collections);
+    }
+
+    /**
+     * Plays battles in the arena, generating the armies from the battle number without objects.
+     */
+    private static int runArena(ArenaBattleSimulator simulator, int battles)
+    {
+        BattleArena arena = simulator.getArena();
+        int alliesWon = 0;
+
+        for (int battle = 0; battle < battles; battle++)
+        {
+            arena.reset(AbstractMap.GRID_SIZE_WIDTH, AbstractMap.GRID_SIZE_HEIGHT, battle + 1L);
+
+            for (int i = 0; i < 2 * UNITS_PER_SIDE; i++)
+            {
+                boolean allied = i < UNITS_PER_SIDE;
+                int x = allied ? AbstractMap.GRID_SIZE_WIDTH - 2 : 1;
+                int y = 2 + 2 * (i % UNITS_PER_SIDE);
+
+                // Base statistics in the ranges of the characters, heroes 40% stronger
+                int boost = allied ? 14 : 10;
+                int health = (100 + arena.nextInt(80)) * boost / 10;
+                arena.addUnit(health, health, (105 + arena.nextInt(60)) * boost / 10, (30 + arena.nextInt(100)) * boost / 10,
+                        (30 + arena.nextInt(60)) * boost / 10, 0, arena.nextInt(20), arena.nextInt(20), arena.nextInt(10),
+                        1 + arena.nextInt(5), x, y, allied, UnitClass.fromOrdinal(i % UnitClass.COUNT));
+            }
+
+            if (simulator.run(MAX_ROUNDS) == ArenaBattleSimulator.ALLIES_WON)
+            {
+                alliesWon++;
+            }
+        }
+        return alliesWon;
+    }
+
+    /**
+     * Plays battles with character objects, the way a simulation without the arena would.
+     */
+    private static int runObjects(int battles)
+    {
+        int alliesWon = 0;
+
+        for (int battle = 0; battle < battles; battle++)
+        {
+            BattleBoard board = new BattleBoard(new GridBounds(AbstractMap.GRID_SIZE_WIDTH, AbstractMap.GRID_SIZE_HEIGHT));
+            List<Character> units = new ArrayList<>();
+
+            for (int i = 0; i < 2 * UNITS_PER_SIDE; i++)
+            {
+                boolean allied = i < UNITS_PER_SIDE;
+                Character character = createCharacter(i);
+                if (allied)
+                {
+                    character.becomeHero();
+                }
+                character.setPosition(new Point(allied ? AbstractMap.GRID_SIZE_WIDTH - 2 : 1, 2 + 2 * (i % UNITS_PER_SIDE)));
+                board.add(character);
+                units.add(character);
+            }
+
+            for (int round = 0; round < MAX_ROUNDS && board.getAllyCount() > 0 && board.getEnemyCount() > 0; round++)
+            {
+                units.sort((a, b) -> Integer.compare(b.getSpeed(), a.getSpeed()));
+
+                for (Character attacker : units)
+                {
+                    Character victim = attacker.isAlive() ? board.nearestOpponent(attacker) : null;
+                    if (victim == null)
+                    {
+                        continue;
+                    }
+
+                    Point destination = board.planApproach(attacker, victim);
+                    board.move(attacker, destination);
+                    attacker.moveTo(destination);
+
+                    if (attacker.isWithinAttackRange(victim))
+                    {
+                        Character dead = attacker.fight(victim);
+                        if (dead != null)
+                        {
+                            board.remove(dead);
+                        }
+                    }
+                }
+            }
+
+            if (board.getEnemyCount() == 0)
+            {
+                alliesWon++;
+            }
+        }
+        return alliesWon;
+    }
+
+    private static Character createCharacter(int type)
+    {
+        switch (type % 5)
+        {
+            case 0: return new Barbarian();
+            case 1: return new Archer();
+            case 2: return new Knight();
+            case 3: return new Wizard();
+            default: return new Juggernaut();
+        }
+    }
+
+    private static long gcCount()
+    {
+        long count = 0;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans())
+        {
+            count += Math.max(0, collector.getCollectionCount());
+        }
+        return count;
+    }
+}
@@ -0,0 +1,192 @@
+package test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import model.characters.Archer;
+import model.characters.Barbarian;
+import model.characters.Character;
+import model.characters.Juggernaut;
+import model.characters.Knight;
+import model.characters.Wizard;
+import model.point.Point;
+import model.simulation.BatchCombatResolver;
+import model.simulation.DuelBatch;
+import model.simulation.ScalarCombatResolver;
+
+/**
+ * Benchmark of the batch combat resolvers, run as a plain program:
+ * {@code java --add-modules jdk.incubator.vector -Djava.awt.headless=true test.BatchCombatBenchmark [duels]}.
+ * It first checks the batch rules against {@link Character#fight(Character)} on real characters,
+ * then times the scalar and the vector resolvers on the same random batches and checks that
+ * they produce the same results.
+ */
+public class BatchCombatBenchmark
+{
+    private static final int DEFAULT_DUELS = 1 << 20;
+    private static final int CHECKED_FIGHTS = 10_000;
+    private static final int ROUNDS = 10;
+
+    public static void main(String[] args)
+    {
+        int duels = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_DUELS;
+
+        checkAgainstFight();
+
+        BatchCombatResolver scalar = new ScalarCombatResolver();
+        BatchCombatResolver best   = BatchCombatResolver.create();
+        Random random = new Random(42);
+
+        long scalarNanos = 0;
+        long bestNanos   = 0;
+        for (int round = 0; round < ROUNDS; round++)
+        {
+            DuelBatch scalarBatch = randomBatch(duels, random.nextLong());
+            DuelBatch bestBatch   = randomBatch(duels, 0);
+            copy(scalarBatch, bestBatch);
+
+            long start = System.nanoTime();
+            scalar.resolve(scalarBatch);
+            long scalarElapsed = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            best.resolve(bestBatch);
+            long bestElapsed = System.nanoTime() - start;
+
+            if (!Arrays.equals(scalarBatch.outcome, bestBatch.outcome)
+                    || !Arrays.equals(scalarBatch.attackerHealth, bestBatch.attackerHealth)
+                    || !Arrays.equals(scalarBatch.defenderHealth, bestBatch.defenderHealth)
+                    || !Arrays.equals(scalarBatch.attackerPower, bestBatch.attackerPower)
+                    || !Arrays.equals(scalarBatch.defenderExperience, bestBatch.defenderExperience))
+            {
+                throw new IllegalStateException("The resolvers disagree in round " + round);
+            }
+
+            // The first half of the rounds warms up the JIT
+            if (round >= ROUNDS / 2)
+            {
+                scalarNanos += scalarElapsed;
+                bestNanos   += bestElapsed;
+            }
+        }
+
+        int timedDuels = duels * (ROUNDS - ROUNDS / 2);
+        System.out.printf("%s: %.2f ns per duel, scalar: %.2f ns per duel (x%.2f)%n",
+                best.getClass().getSimpleName(), bestNanos / (double) timedDuels,
+                scalarNanos / (double) timedDuels, scalarNanos / (double) bestNanos);
+    }
+
+    /**
+     * Resolves the same duels with Character.fight and with the scalar resolver and compares them.
+     */
+    private static void checkAgainstFight()
+    {
+        Character[] attackers = new Character[CHECKED_FIGHTS];
+        Character[] defenders = new Character[CHECKED_FIGHTS];
+        DuelBatch batch = new DuelBatch(CHECKED_FIGHTS);
+        Random random = new Random(7);
+
+        for (int i = 0; i < CHECKED_FIGHTS; i++)
+        {
+            attackers[i] = createCharacter(random.nextInt(5));
+            defenders[i] = createCharacter(random.nextInt(5));
+            attackers[i].becomeHero();
+
+            // Wounded defenders and experienced attackers, so deaths and level ups happen
+            defenders[i].reduceCurrentHealth(random.nextInt(defenders[i].getMaxHealth()));
+            attackers[i].gainExperience(random.nextInt(1000));
+
+            attackers[i].setPosition(new Point(0, 0));
+            defenders[i].setPosition(new Point(0, 1 + random.nextInt(attackers[i].getRange())));
+            batch.set(i, attackers[i], defenders[i]);
+        }
+
+        new ScalarCombatResolver().resolve(batch);
+
+        for (int i = 0; i < CHECKED_FIGHTS; i++)
+        {
+            Character dead = attackers[i].fight(defenders[i]);
+            int expected = dead == null ? DuelBatch.NONE : dead == defenders[i] ? DuelBatch.DEFENDER_DIED : DuelBatch.ATTACKER_DIED;
+
+            if (batch.outcome[i] != expected
+                    || batch.attackerHealth[i] != attackers[i].getCurrentHealth()
+                    || batch.defenderHealth[i] != defenders[i].getCurrentHealth()
+                    || batch.attackerPower[i] + batch.attackerWeaponPower[i] != attackers[i].getPower()
+                    || batch.attackerMaxHealth[i] != attackers[i].getMaxHealth()
+                    || batch.attackerExperience[i] != attackers[i].getExperience()
+                    || batch.defenderExperience[i] != defenders[i].getExperience())
+            {
+                throw new IllegalStateException("Batch rules differ from Character.fight on duel " + i);
+            }
+        }
+        System.out.println("Batch rules match Character.fight on " + CHECKED_FIGHTS + " duels");
+    }
+
+    private static Character createCharacter(int type)
+    {
+        switch (type)
+        {
+            case 0: return new Barbarian();
+            case 1: return new Archer();
+            case 2: return new Knight();
+            case 3: return new Wizard();
+            default: return new Juggernaut();
+        }
+    }
+
+    /**
+     * Creates duels with statistics in the ranges of the game, with some masked lanes.
+     */
+    private static DuelBatch randomBatch(int size, long seed)
+    {
+        DuelBatch batch = new DuelBatch(size);
+        Random random = new Random(seed);
+
+        for (int i = 0; i < size; i++)
+        {
+            batch.attackerMaxHealth[i]  = 80 + random.nextInt(180);
+            batch.attackerHealth[i]     = 1 + random.nextInt(batch.attackerMaxHealth[i]);
+            batch.attackerPower[i]      = 100 + random.nextInt(130);
+            batch.attackerDefence[i]    = 30 + random.nextInt(150);
+            batch.attackerSpeed[i]      = 30 + random.nextInt(70);
+            batch.attackerExperience[i] = random.nextInt(1000);
+            batch.attackerWeaponPower[i]   = random.nextInt(30);
+            batch.attackerWeaponDefence[i] = random.nextInt(30);
+            batch.attackerRange[i]      = 1 + random.nextInt(6);
+
+            batch.defenderMaxHealth[i]  = 80 + random.nextInt(180);
+            batch.defenderHealth[i]     = 1 + random.nextInt(batch.defenderMaxHealth[i]);
+            batch.defenderPower[i]      = 100 + random.nextInt(130);
+            batch.defenderDefence[i]    = 30 + random.nextInt(150);
+            batch.defenderSpeed[i]      = 30 + random.nextInt(70);
+            batch.defenderExperience[i] = random.nextInt(1000);
+            batch.defenderWeaponPower[i]   = random.nextInt(30);
+            batch.defenderWeaponDefence[i] = random.nextInt(30);
+            batch.defenderRange[i]      = 1 + random.nextInt(6);
+
+            batch.distance[i] = 1 + random.nextInt(6);
+            batch.masked[i]   = random.nextInt(20) == 0;
+        }
+        return batch;
+    }
+
+    private static void copy(DuelBatch from, DuelBatch to)
+    {
+        int[][] source = {from.attackerHealth, from.attackerMaxHealth, from.attackerPower, from.attackerDefence,
+                from.attackerSpeed, from.attackerExperience, from.attackerWeaponPower, from.attackerWeaponDefence,
+                from.attackerRange, from.defenderHealth, from.defenderMaxHealth, from.defenderPower,
+                from.defenderDefence, from.defenderSpeed, from.defenderExperience, from.defenderWeaponPower,
+                from.defenderWeaponDefence, from.defenderRange, from.distance};
+        int[][] target = {to.attackerHealth, to.attackerMaxHealth, to.attackerPower, to.attackerDefence,
+                to.attackerSpeed, to.attackerExperience, to.attackerWeaponPower, to.attackerWeaponDefence,
+                to.attackerRange, to.defenderHealth, to.defenderMaxHealth, to.defenderPower,
+                to.defenderDefence, to.defenderSpeed, to.defenderExperience, to.defenderWeaponPower,
+                to.defenderWeaponDefence, to.defenderRange, to.distance};
+
+        for (int i = 0; i < source.length; i++)
+        {
+            System.arraycopy(source[i], 0, target[i], 0, source[i].length);
+        }
+        System.arraycopy(from.masked, 0, to.masked, 0, from.masked.length);
+    }
+}
@@ -0,0 +1,134 @@
+package test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import model.simulation.store.ColumnType;
+import model.simulation.store.ColumnarReader;
+import model.simulation.store.ColumnarWriter;
+import model.simulation.store.RangeFilter;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+public class ColumnarStoreTest
+{
+    private static final String[] NAMES = { "seed", "level", "strategy", "damage" };
+    private static final ColumnType[] TYPES = { ColumnType.LONG, ColumnType.LONG, ColumnType.STRING, ColumnType.LONG };
+    private static final String[] STRATEGIES = { "closest", "weakest", "dangerous", "focus" };
+
+    /** Enough rows for a few full blocks and a partial one */
+    private static final int ROWS = ColumnarWriter.BLOCK_ROWS * 3 + 1_234;
+
+    private File file;
+    private long[][] rows;
+
+    @BeforeEach
+    void setUp() throws IOException
+    {
+        this.file = File.createTempFile("columnar-test", ".frc");
+        this.file.deleteOnExit();
+
+        // Increasing seeds, so a filter on them skips whole blocks, and values of any sign and size
+        Random random = new Random(3);
+        this.rows = new long[ROWS][];
+        try (ColumnarWriter writer = new ColumnarWriter(this.file, NAMES, TYPES))
+        {
+            for (int i = 0; i < ROWS; i++)
+            {
+                long damage = i % 1_000 == 0 ? (random.nextBoolean() ? Long.MAX_VALUE : Long.MIN_VALUE) : random.nextInt() * 1_000L;
+                this.rows[i] = new long[] { 10_000 + 3L * i, 1 + random.nextInt(5), random.nextInt(STRATEGIES.length), damage };
+                writer.add(this.rows[i][0]).add(this.rows[i][1]).add(STRATEGIES[(int) this.rows[i][2]]).add(this.rows[i][3]).endRow();
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Every row written is read back unchanged")
+    void testRoundTrip() throws IOException
+    {
+        try (ColumnarReader reader = new ColumnarReader(this.file))
+        {
+            assertEquals(ROWS, reader.getRowCount());
+            assertEquals(4, reader.getBlockCount());
+            assertEquals(ColumnType.STRING, reader.getColumnType(reader.getColumn("strategy")));
+            assertEquals(10_000, reader.getMin(reader.getColumn("seed")));
+            assertEquals(10_000 + 3L * (ROWS - 1), reader.getMax(reader.getColumn("seed")));
+
+            List<String> dictionary = reader.getDictionary(reader.getColumn("strategy"));
+            List<long[]> read = new ArrayList<>();
+            long visited = reader.scan(NAMES, List.of(), values -> {
+                long[] row = values.clone();
+                // Codes follow the order strings first appear in, not the order of the array
+                row[2] = Arrays.asList(STRATEGIES).indexOf(dictionary.get((int) values[2]));
+                read.add(row);
+            });
+
+            assertEquals(ROWS, visited);
+            for (int i = 0; i < ROWS; i++)
+            {
+                assertArrayEquals(this.rows[i], read.get(i), "Row " + i);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Filtered scans visit the rows of a scan of every row that pass the filters")
+    void testFiltersMatchScan() throws IOException
+    {
+        try (ColumnarReader reader = new ColumnarReader(this.file))
+        {
+            long firstSeed = 10_000 + 3L * (ColumnarWriter.BLOCK_ROWS + 100);
+            long lastSeed  = 10_000 + 3L * (ColumnarWriter.BLOCK_ROWS * 2 + 50);
+            int focus = reader.getCode(reader.getColumn("strategy"), "focus");
+            List<RangeFilter> filters = List.of(
+                    new RangeFilter("seed", firstSeed, lastSeed),
+                    new RangeFilter("level", 2, 3),
+                    new RangeFilter("strategy", focus, focus));
+
+            List<Long> expected = new ArrayList<>();
+            for (long[] row : this.rows)
+            {
+                if (row[0] >= firstSeed && row[0] <= lastSeed && row[1] >= 2 && row[1] <= 3 && STRATEGIES[(int) row[2]].equals("focus"))
+                {
+                    expected.add(row[3]);
+                }
+            }
+
+            // Only a column the filters do not use is seen
+            List<Long> damages = new ArrayList<>();
+            long visited = reader.scan(new String[] { "damage" }, filters, values -> damages.add(values[0]));
+
+            assertFalse(expected.isEmpty());
+            assertEquals(expected.size(), visited);
+            assertEquals(expected, damages);
+        }
+    }
+
+    @Test
+    @DisplayName("Filters out of the bounds of every block visit nothing")
+    void testFilterOutOfBounds() throws IOException
+    {
+        try (ColumnarReader reader = new ColumnarReader(this.file))
+        {
+            assertEquals(0, reader.scan(NAMES, List.of(new RangeFilter("seed", 0, 9_999)), values -> fail("No row expected")));
+            assertEquals(-1, reader.getCode(reader.getColumn("strategy"), "unknown"));
+            assertThrows(IllegalArgumentException.class, () -> reader.getColumn("missing"));
+        }
+    }
+
+    @Test
+    @DisplayName("A file that is not a columnar file is rejected")
+    void testCorruptedFileRejected() throws IOException
+    {
+        Files.write(this.file.toPath(), new byte[] { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12 });
+        assertThrows(IOException.class, () -> new ColumnarReader(this.file).close());
+    }
+}
@@ -0,0 +1,182 @@
+package test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import model.characters.AbstractCharacter;
+import model.characters.Archer;
+import model.characters.Barbarian;
+import model.characters.Character;
+import model.characters.Juggernaut;
+import model.characters.Knight;
+import model.characters.Wizard;
+import model.characters.bosses.ArcherBoss;
+import model.characters.bosses.BarbarianBoss;
+import model.characters.bosses.JuggernautBoss;
+import model.characters.bosses.KnightBoss;
+import model.characters.bosses.WizardBoss;
+import model.gameStatus.level.AIMove;
+import model.gameStatus.level.AIStrategy;
+import model.gameStatus.level.BattleBoard;
+import model.gameStatus.level.ClosestTargetAI;
+import model.gameStatus.level.search.EndgameAI;
+import model.gameStatus.level.search.EndgameResult;
+import model.gameStatus.level.search.EndgameSolver;
+import model.point.GridBounds;
+import model.point.Point;
+import model.simulation.HeadlessLevel;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Supplier;
+
+public class EndgameSolverTest
+{
+    private static final GridBounds GRID = new GridBounds(8, 8);
+    private static final List<Supplier<Character>> HEROES = List.of(
+            Archer::new, Barbarian::new, Juggernaut::new, Knight::new, Wizard::new);
+    private static final List<Supplier<Character>> ENEMIES = List.of(
+            Archer::new, Barbarian::new, Juggernaut::new, Knight::new, Wizard::new,
+            ArcherBoss::new, BarbarianBoss::new, JuggernautBoss::new, KnightBoss::new, WizardBoss::new);
+
+    private Random random;
+
+    @BeforeEach
+    void setUp()
+    {
+        AbstractCharacter.disableSprites();
+        this.random = new Random(48);
+    }
+
+    @Test
+    @DisplayName("Every move of the solver is legal, with one solver and its table shared by every battle")
+    void testMovesAreLegal()
+    {
+        EndgameSolver solver = new EndgameSolver(20_000);
+        List<String> illegal = new ArrayList<>();
+        int[] solved = new int[1];
+
+        // Checks the move of every turn, then plays it like a level would
+        AIStrategy checked = new AIStrategy()
+        {
+            private final AIStrategy endgame = new EndgameAI(solver, new ClosestTargetAI());
+
+            @Override
+            public AIMove planTurn(Character attacker, BattleBoard board)
+            {
+                EndgameResult result = solver.solve(attacker, board);
+                if (result != null)
+                {
+                    solved[0]++;
+                    String error = checkMove(attacker, result.getMove(), board);
+                    if (error != null)
+                    {
+                        illegal.add(attacker.getClass().getSimpleName() + " at " + attacker.getPosition() + ": " + error);
+                    }
+                }
+                return this.endgame.planTurn(attacker, board);
+            }
+
+            @Override
+            public String getName()
+            {
+                return "checked";
+            }
+        };
+
+        for (int battle = 0; battle < 300; battle++)
+        {
+            Set<Point> taken = new HashSet<>();
+            HeadlessLevel level = new HeadlessLevel(this.createSide(HEROES, true, taken), this.createSide(ENEMIES, false, taken),
+                    GRID, this.random, checked, checked);
+            while (!level.isOver() && level.getRound() < 60)
+            {
+                level.playRound();
+            }
+        }
+
+        assertTrue(solved[0] > 1_000, "Only " + solved[0] + " endgames solved");
+        assertTrue(illegal.isEmpty(), illegal.size() + " illegal moves, the first: " + (illegal.isEmpty() ? "" : illegal.get(0)));
+    }
+
+    @Test
+    @DisplayName("A blow that wins the battle is found and played")
+    void testWinningBlowFound()
+    {
+        BattleBoard board = new BattleBoard(GRID);
+        Character hero = new Barbarian();
+        hero.becomeHero();
+        Character enemy = new Archer();
+        hero.setPosition(new Point(0, 0));
+        enemy.setPosition(new Point(2, 0));
+        // One blow left, and the archer would hit back from afar if it survived
+        enemy.reduceCurrentHealth(enemy.getCurrentHealth() - 1);
+        board.add(hero);
+        board.add(enemy);
+
+        EndgameResult result = new EndgameSolver().solve(hero, board);
+
+        assertEquals(EndgameResult.Outcome.ALLIES_WIN, result.getOutcome());
+        assertEquals(1, result.getTurns());
+        assertSame(enemy, result.getMove().getTarget());
+        assertNull(checkMove(hero, result.getMove(), board));
+    }
+
+    /**
+     * Checks a move like a level would play it.
+     *
+     * @return the reason the move is illegal, null if it is legal
+     */
+    private static String checkMove(Character attacker, AIMove move, BattleBoard board)
+    {
+        Character target = move.getTarget();
+        Point destination = move.getDestination();
+        if (target.isAllied() == attacker.isAllied())
+        {
+            return "targets its own side";
+        }
+        if (!(attacker.isAllied() ? board.getEnemies() : board.getAllies()).contains(target))
+        {
+            return "targets a character off the board";
+        }
+        if (!destination.equals(attacker.getPosition()) && board.isOccupied(destination))
+        {
+            return "moves to the occupied cell " + destination;
+        }
+        if (attacker.getDistanceInSquares(destination) > attacker.getSpeed() / AbstractCharacter.SPEED_TO_MOVEMENT)
+        {
+            return "moves out of its movement to " + destination;
+        }
+        return null;
+    }
+
+    /**
+     * Creates one to three characters of random classes, on random free cells.
+     */
+    private List<Character> createSide(List<Supplier<Character>> classes, boolean heroes, Set<Point> taken)
+    {
+        List<Character> side = new ArrayList<>();
+        for (int i = 1 + this.random.nextInt(3); i > 0; i--)
+        {
+            Character character = classes.get(this.random.nextInt(classes.size())).get();
+            if (heroes)
+            {
+                character.becomeHero();
+            }
+            Point position;
+            do
+            {
+                position = new Point(this.random.nextInt(GRID.getWidth()), this.random.nextInt(GRID.getHeight()));
+            }
+            while (!taken.add(position));
+            character.setPosition(position);
+            side.add(character);
+        }
+        return side;
+    }
+}
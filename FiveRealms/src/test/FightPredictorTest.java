@@ -0,0 +1,185 @@
+package test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import model.characters.AbstractCharacter;
+import model.characters.Archer;
+import model.characters.Barbarian;
+import model.characters.Character;
+import model.characters.FightOutcome;
+import model.characters.FightPredictor;
+import model.characters.Juggernaut;
+import model.characters.Knight;
+import model.characters.Wizard;
+import model.characters.bosses.ArcherBoss;
+import model.characters.bosses.BarbarianBoss;
+import model.characters.bosses.JuggernautBoss;
+import model.characters.bosses.KnightBoss;
+import model.characters.bosses.WizardBoss;
+import model.equipment.potions.PotionDefence;
+import model.equipment.potions.PotionHealth;
+import model.equipment.potions.PotionPower;
+import model.equipment.potions.PotionSpeed;
+import model.point.Point;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Supplier;
+
+public class FightPredictorTest
+{
+    private static final List<Supplier<Character>> HEROES = List.of(
+            Archer::new, Barbarian::new, Juggernaut::new, Knight::new, Wizard::new);
+    private static final List<Supplier<Character>> ENEMIES = List.of(
+            Archer::new, Barbarian::new, Juggernaut::new, Knight::new, Wizard::new,
+            ArcherBoss::new, BarbarianBoss::new, JuggernautBoss::new, KnightBoss::new, WizardBoss::new);
+
+    private Random random;
+
+    @BeforeEach
+    void setUp()
+    {
+        AbstractCharacter.disableSprites();
+        this.random = new Random(45);
+    }
+
+    @Test
+    @DisplayName("The prediction matches the fight played on copies of the characters")
+    void testPredictionMatchesFight() throws Exception
+    {
+        Map<String, int[]> coverage = new HashMap<>();
+        for (int i = 0; i < 20_000; i++)
+        {
+            Character hero = this.createCharacter(HEROES, true);
+            Character enemy = this.createCharacter(ENEMIES, false);
+            boolean heroAttacks = this.random.nextBoolean();
+            Character attacker = heroAttacks ? hero : enemy;
+            Character target = heroAttacks ? enemy : hero;
+            attacker.setPosition(new Point(10, 10));
+            target.setPosition(new Point(10 + 1 + this.random.nextInt(attacker.getRange()), 10));
+
+            String before = describe(attacker) + describe(target);
+            FightOutcome outcome = FightPredictor.predict(attacker, target);
+            assertEquals(before, describe(attacker) + describe(target), "The prediction must not change the characters");
+
+            Character attackerCopy = copy(attacker);
+            Character targetCopy = copy(target);
+            Character dead = attackerCopy.fight(targetCopy);
+            String fight = attacker.getClass().getSimpleName() + " -> " + target.getClass().getSimpleName() + " #" + i + ": " + outcome;
+
+            // The level removes the character the fight returns, even a KnightBoss healing back above 0
+            assertEquals(dead == targetCopy, outcome.isTargetKilled(), fight);
+            assertEquals(dead == attackerCopy, outcome.isAttackerKilled(), fight);
+            assertEquals(attackerCopy.getCurrentHealth(), outcome.getAttackerHealthAfter(), fight);
+            assertEquals(targetCopy.getCurrentHealth(), outcome.getTargetHealthAfter(), fight);
+            // Without level ups or healing the health lost is the damage of the blows
+            if (targetCopy.getMaxHealth() == target.getMaxHealth())
+            {
+                assertEquals(target.getCurrentHealth() - targetCopy.getCurrentHealth(), outcome.getDamageDealt(), fight);
+            }
+            if (attackerCopy.getMaxHealth() == attacker.getMaxHealth() && !(attacker instanceof KnightBoss)
+                    && !(attacker.getPotion() instanceof PotionHealth))
+            {
+                assertEquals(attacker.getCurrentHealth() - attackerCopy.getCurrentHealth(), outcome.getDamageTaken(), fight);
+            }
+
+            int[] counts = coverage.computeIfAbsent(attacker.getClass().getSimpleName() + " -> " + target.getClass().getSimpleName(), key -> new int[3]);
+            counts[0] += outcome.isTargetKilled() ? 1 : 0;
+            counts[1] += outcome.isAttackerKilled() ? 1 : 0;
+            counts[2] += outcome.isCounterattack() ? 1 : 0;
+        }
+
+        // Every boss has fought on both sides, with kills, deaths and counterattacks in the mix; the
+        // statistics are rolled with the game's own random numbers, and a boss attacking is rarely
+        // killed by the counterattack, so its deaths are not required
+        for (String boss : new String[] { "ArcherBoss", "BarbarianBoss", "JuggernautBoss", "KnightBoss", "WizardBoss" })
+        {
+            int[] asAttacker = new int[3];
+            int[] asTarget = new int[3];
+            coverage.forEach((pair, counts) -> {
+                for (int k = 0; k < 3; k++)
+                {
+                    asAttacker[k] += pair.startsWith(boss + " ") ? counts[k] : 0;
+                    asTarget[k] += pair.endsWith(" " + boss) ? counts[k] : 0;
+                }
+            });
+            assertTrue(asAttacker[0] > 0 && asAttacker[2] > 0, boss + " attacking: " + Arrays.toString(asAttacker));
+            assertTrue(asTarget[0] > 0 && asTarget[1] > 0 && asTarget[2] > 0, boss + " attacked: " + Arrays.toString(asTarget));
+        }
+    }
+
+    @Test
+    @DisplayName("Fights the game would refuse are refused by the prediction too")
+    void testIllegalFightsRejected()
+    {
+        Character hero = new Knight();
+        hero.becomeHero();
+        Character ally = new Archer();
+        ally.becomeHero();
+        Character enemy = new Barbarian();
+        hero.setPosition(new Point(0, 0));
+        ally.setPosition(new Point(0, 1));
+        enemy.setPosition(new Point(0, 1 + hero.getRange() + 1));
+
+        assertThrows(IllegalArgumentException.class, () -> FightPredictor.predict(hero, ally));
+        assertThrows(IllegalArgumentException.class, () -> FightPredictor.predict(hero, enemy));
+    }
+
+    /**
+     * Creates a character of a random class, wounded, with some experience and maybe a potion.
+     */
+    private Character createCharacter(List<Supplier<Character>> classes, boolean hero)
+    {
+        Character character = classes.get(this.random.nextInt(classes.size())).get();
+        if (hero)
+        {
+            character.becomeHero();
+        }
+        character.gainExperience(this.random.nextInt(AbstractCharacter.EXP_LEVELUP_THRESHOLD));
+        character.reduceCurrentHealth(this.random.nextInt(character.getMaxHealth()));
+        switch (this.random.nextInt(6))
+        {
+            case 0: character.setPotion(new PotionHealth()); break;
+            case 1: character.setPotion(new PotionDefence()); break;
+            case 2: character.setPotion(new PotionPower()); break;
+            case 3: character.setPotion(new PotionSpeed()); break;
+            default: break;
+        }
+        return character;
+    }
+
+    private static String describe(Character character)
+    {
+        return character.getCurrentHealth() + "/" + character.getMaxHealth() + " " + character.getPower() + " "
+                + character.getDefence() + " " + character.getSpeed() + " " + character.getExperience() + " " + character.getPotion() + ";";
+    }
+
+    /**
+     * Copies a character the way a save does, so the fight changes the copy only.
+     */
+    private static Character copy(Character character) throws IOException, ClassNotFoundException
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes))
+        {
+            out.writeObject(character);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray())))
+        {
+            Character copy = (Character) in.readObject();
+            copy.reinitializeAfterLoad();
+            return copy;
+        }
+    }
+}
@@ -0,0 +1,319 @@
+package test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import model.characters.Character;
+import model.gameStatus.Game;
+import model.gameStatus.manager.CharacterManager;
+import model.gameStatus.manager.LevelManager;
+import model.gameStatus.saveSystem.GameSave;
+import model.gameStatus.saveSystem.GameSaveManager;
+import model.point.GridBounds;
+import model.simulation.ArenaBattleSimulator;
+import model.simulation.HeadlessLevel;
+import model.simulation.ReplacementPolicy;
+import model.simulation.StreamingHistogram;
+import model.simulation.UnitClass;
+import view.map.AbstractMap;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+
+/**
+ * End-to-end benchmark of whole games, tagged "benchmark" so it can be run apart from the
+ * functional tests. A scripted player picks every class, plays the five levels with the game AI,
+ * saves and loads the game at the start of every level and every few rounds, and replaces dead
+ * allies between levels the way the selection menus do.
+ *
+ * The Game facade builds its Swing menus when created, so the benchmark drives the same managers
+ * it delegates to, with the levels played as {@link HeadlessLevel}s, and never touches the window.
+ *
+ * The metrics are compared with the baseline stored in {@link #BASELINE_FILE}, and the test fails
+ * when one is worse than its tolerance allows. The baseline is written when missing or when the
+ * benchmark runs with {@code -Dbenchmark.updateBaseline=true}; timings depend on the machine,
+ * so it should be recorded again on a new one.
+ */
+@Tag("benchmark")
+@DisplayName("Macro benchmark of whole games")
+public class GameMacroBenchmarkTest
+{
+    /** Baseline of the metrics, relative to the project directory */
+    private static final File BASELINE_FILE = new File(System.getProperty("benchmark.baseline", "src/test/macro-benchmark-baseline.properties"));
+
+    private static final String SAVE_NAME = "MacroBenchmark";
+
+    private static final int WARMUP_GAMES = 50;
+    private static final int MEASURED_GAMES = Integer.getInteger("benchmark.games", 300);
+    private static final int MAX_ROUNDS = 100;
+    private static final int SAVE_EVERY_ROUNDS = 5;
+
+    /** Allowed regression of the timings, which are noisy */
+    private static final double TIME_TOLERANCE = 0.5;
+
+    /** Allowed regression of the metrics that do not depend on the machine */
+    private static final double SIZE_TOLERANCE = 0.25;
+
+    private final CharacterManager characterManager = new CharacterManager();
+    private final GameSaveManager saveManager = new GameSaveManager();
+    private final ReplacementPolicy replacementPolicy = ReplacementPolicy.prefer(UnitClass.values());
+    private final GridBounds gridBounds = new GridBounds(AbstractMap.GRID_SIZE_WIDTH, AbstractMap.GRID_SIZE_HEIGHT);
+    private final Random random = new Random(42);
+
+    private StreamingHistogram tickNanos;
+    private long turns;
+    private long largestSave;
+
+    @Test
+    @DisplayName("Whole games do not regress past the baseline")
+    void testGameThroughput() throws Exception
+    {
+        try
+        {
+            this.playGames(WARMUP_GAMES);
+            Metrics metrics = this.measure(MEASURED_GAMES);
+            System.out.println(metrics);
+
+            if (!BASELINE_FILE.exists() || Boolean.getBoolean("benchmark.updateBaseline"))
+            {
+                metrics.save(BASELINE_FILE);
+                System.out.println("Baseline written to " + BASELINE_FILE);
+                return;
+            }
+
+            Metrics baseline = Metrics.load(BASELINE_FILE);
+            assertAtLeast("turns per second", metrics.turnsPerSecond, baseline.turnsPerSecond, TIME_TOLERANCE);
+            assertAtMost("p50 tick latency", metrics.p50Nanos, baseline.p50Nanos, TIME_TOLERANCE);
+            assertAtMost("p99 tick latency", metrics.p99Nanos, baseline.p99Nanos, TIME_TOLERANCE);
+            assertAtMost("bytes allocated per turn", metrics.bytesPerTurn, baseline.bytesPerTurn, SIZE_TOLERANCE);
+            assertAtMost("peak heap", metrics.peakHeapBytes, baseline.peakHeapBytes, TIME_TOLERANCE);
+            assertAtMost("save file size", metrics.saveFileBytes, baseline.saveFileBytes, SIZE_TOLERANCE);
+        }
+        finally
+        {
+            this.saveManager.deleteSaveFile(SAVE_NAME);
+        }
+    }
+
+    /**
+     * Plays games and measures them as a whole.
+     */
+    private Metrics measure(int games) throws IOException, ClassNotFoundException
+    {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        List<MemoryPoolMXBean> heapPools = new ArrayList<>();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans())
+        {
+            if (pool.getType() == MemoryType.HEAP)
+            {
+                heapPools.add(pool);
+            }
+        }
+
+        System.gc();
+        for (MemoryPoolMXBean pool : heapPools)
+        {
+            pool.resetPeakUsage();
+        }
+
+        this.turns = 0;
+        this.largestSave = 0;
+
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        this.playGames(games);
+        long elapsed = System.nanoTime() - start;
+        long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+
+        // The peaks of the pools are not reached at the same time, so this is an upper bound
+        long peakHeap = 0;
+        for (MemoryPoolMXBean pool : heapPools)
+        {
+            peakHeap += pool.getPeakUsage().getUsed();
+        }
+
+        Metrics metrics = new Metrics();
+        metrics.turnsPerSecond = this.turns * 1e9 / elapsed;
+        metrics.p50Nanos       = this.tickNanos.getValueAtPercentile(50);
+        metrics.p99Nanos       = this.tickNanos.getValueAtPercentile(99);
+        metrics.bytesPerTurn   = allocated / (double) this.turns;
+        metrics.peakHeapBytes  = peakHeap;
+        metrics.saveFileBytes  = this.largestSave;
+        return metrics;
+    }
+
+    private void playGames(int games) throws IOException, ClassNotFoundException
+    {
+        this.tickNanos = new StreamingHistogram();
+        for (int game = 0; game < games; game++)
+        {
+            this.playGame();
+        }
+    }
+
+    /**
+     * Plays a game from the character selection to the last level or the first level lost,
+     * following Game.startNewGame, handleLevelTransition and advanceToNextLevel.
+     */
+    private void playGame() throws IOException, ClassNotFoundException
+    {
+        this.characterManager.clearAllCharacters();
+        this.characterManager.setSelectedCharacters(this.chooseCharacters(Game.MAX_ALLIES_PER_ROUND, List.of()));
+
+        for (int levelIndex = 0; levelIndex < Game.TOTAL_LEVEL; levelIndex++)
+        {
+            List<Character> allies = this.characterManager.getSelectedAllies();
+            HeadlessLevel level = new HeadlessLevel(allies, LevelManager.createEnemies(levelIndex + 1), this.gridBounds, this.random);
+            level = this.saveAndLoad(levelIndex, level);
+
+            int rounds = 0;
+            while (!level.isOver() && rounds < MAX_ROUNDS)
+            {
+                do
+                {
+                    this.tick(level);
+                }
+                while (!level.isOver() && !level.isRoundOver());
+
+                // The level is saved between rounds, when a loaded level can start a new one
+                rounds++;
+                if (!level.isOver() && rounds % SAVE_EVERY_ROUNDS == 0)
+                {
+                    level = this.saveAndLoad(levelIndex, level);
+                }
+            }
+
+            if (level.getOutcome() != ArenaBattleSimulator.ALLIES_WON)
+            {
+                return;
+            }
+            if (levelIndex + 1 < Game.TOTAL_LEVEL && this.characterManager.needsCharacterReplacement())
+            {
+                List<Character> survivors = this.characterManager.getSelectedAllies();
+                this.characterManager.addSelectedCharacters(this.chooseCharacters(this.characterManager.getCharactersToReplace(), survivors));
+            }
+            this.characterManager.resetCharacterPositions();
+        }
+    }
+
+    /**
+     * Plays the next turn of a level, timing it.
+     */
+    private void tick(HeadlessLevel level)
+    {
+        long start = System.nanoTime();
+        level.playNextTurn();
+        this.tickNanos.record(System.nanoTime() - start);
+        this.turns++;
+    }
+
+    /**
+     * Saves the level like the pause menu does, loads it back like the load menu does
+     * and goes on with the loaded characters.
+     */
+    private HeadlessLevel saveAndLoad(int levelIndex, HeadlessLevel level) throws IOException, ClassNotFoundException
+    {
+        this.saveManager.saveGameState(new GameSave(levelIndex, level.getAllies(), level.getEnemies()), SAVE_NAME);
+        this.largestSave = Math.max(this.largestSave, new File(GameSaveManager.DIRECTORY_NAME, SAVE_NAME + GameSaveManager.FILE_EXTENSION).length());
+
+        GameSave save = this.saveManager.loadGameState(SAVE_NAME);
+        assertEquals(levelIndex, save.getLevel(), "The loaded level should be the saved one");
+
+        List<Character> allies = this.characterManager.reinitializeCharacters(save.getAllies());
+        List<Character> enemies = this.characterManager.reinitializeCharacters(save.getEnemies());
+        assertEquals(level.getAllies().size(), allies.size(), "Every ally should be loaded");
+        assertEquals(level.getEnemies().size(), enemies.size(), "Every enemy should be loaded");
+
+        this.characterManager.setSelectedAllies(allies);
+        return new HeadlessLevel(allies, enemies, this.gridBounds, this.random);
+    }
+
+    private List<Character> chooseCharacters(int count, List<Character> survivors)
+    {
+        List<Character> characters = new ArrayList<>(count);
+        for (UnitClass unitClass : this.replacementPolicy.choose(count, survivors, this.random))
+        {
+            characters.add(unitClass.createCharacter());
+        }
+        return characters;
+    }
+
+    private static void assertAtLeast(String metric, double measured, double baseline, double tolerance)
+    {
+        assertTrue(measured >= baseline * (1 - tolerance),
+                String.format("%s regressed: %.1f, baseline %.1f", metric, measured, baseline));
+    }
+
+    private static void assertAtMost(String metric, double measured, double baseline, double tolerance)
+    {
+        assertTrue(measured <= baseline * (1 + tolerance),
+                String.format("%s regressed: %.1f, baseline %.1f", metric, measured, baseline));
+    }
+
+    /**
+     * The metrics of a run, stored as properties.
+     */
+    private static class Metrics
+    {
+        private double turnsPerSecond;
+        private long p50Nanos;
+        private long p99Nanos;
+        private double bytesPerTurn;
+        private long peakHeapBytes;
+        private long saveFileBytes;
+
+        private static Metrics load(File file) throws IOException
+        {
+            Properties properties = new Properties();
+            try (InputStream in = new FileInputStream(file))
+            {
+                properties.load(in);
+            }
+
+            Metrics metrics = new Metrics();
+            metrics.turnsPerSecond = Double.parseDouble(properties.getProperty("turnsPerSecond"));
+            metrics.p50Nanos       = Long.parseLong(properties.getProperty("p50Nanos"));
+            metrics.p99Nanos       = Long.parseLong(properties.getProperty("p99Nanos"));
+            metrics.bytesPerTurn   = Double.parseDouble(properties.getProperty("bytesPerTurn"));
+            metrics.peakHeapBytes  = Long.parseLong(properties.getProperty("peakHeapBytes"));
+            metrics.saveFileBytes  = Long.parseLong(properties.getProperty("saveFileBytes"));
+            return metrics;
+        }
+
+        private void save(File file) throws IOException
+        {
+            Properties properties = new Properties();
+            properties.setProperty("turnsPerSecond", String.valueOf(Math.round(this.turnsPerSecond)));
+            properties.setProperty("p50Nanos", String.valueOf(this.p50Nanos));
+            properties.setProperty("p99Nanos", String.valueOf(this.p99Nanos));
+            properties.setProperty("bytesPerTurn", String.valueOf(Math.round(this.bytesPerTurn)));
+            properties.setProperty("peakHeapBytes", String.valueOf(this.peakHeapBytes));
+            properties.setProperty("saveFileBytes", String.valueOf(this.saveFileBytes));
+
+            try (OutputStream out = new FileOutputStream(file))
+            {
+                properties.store(out, "Baseline of GameMacroBenchmarkTest");
+            }
+        }
+
+        @Override
+        public String toString()
+        {
+            return String.format("%.0f turns/s, tick p50 %d ns, p99 %d ns, %.0f bytes allocated per turn, peak heap %d KB, save file %d bytes",
+                    this.turnsPerSecond, this.p50Nanos, this.p99Nanos, this.bytesPerTurn, this.peakHeapBytes / 1024, this.saveFileBytes);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import model.characters.AbstractCharacter;
+import model.characters.Character;
+import model.gameStatus.level.AIMove;
+import model.gameStatus.level.AIStrategy;
+import model.gameStatus.level.BattleBoard;
+import model.gameStatus.level.ClosestTargetAI;
+import model.gameStatus.level.FocusFireAI;
+import model.gameStatus.level.InfluenceMap;
+import model.gameStatus.level.ThreatAwareAI;
+import model.gameStatus.manager.LevelManager;
+import model.point.GridBounds;
+import model.point.Point;
+import model.simulation.HeadlessLevel;
+import model.simulation.ReplacementPolicy;
+import model.simulation.UnitClass;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class InfluenceMapTest
+{
+    private static final GridBounds GRID = new GridBounds(20, 15);
+
+    private Random random;
+    private int boardsChecked;
+
+    @BeforeEach
+    void setUp()
+    {
+        AbstractCharacter.disableSprites();
+        this.random = new Random(49);
+        this.boardsChecked = 0;
+    }
+
+    @Test
+    @DisplayName("The maps updated move by move match maps rebuilt from scratch, on every turn of a few levels")
+    void testIncrementalMatchesRebuilt()
+    {
+        // Checks the board before every turn, then plays the move of the strategy
+        AIStrategy ally = this.checking(new ClosestTargetAI());
+        AIStrategy enemy = this.checking(new FocusFireAI(new ThreatAwareAI()));
+
+        for (int levelNumber = 1; levelNumber <= 5; levelNumber++)
+        {
+            List<Character> allies = new ArrayList<>();
+            for (UnitClass unitClass : ReplacementPolicy.random().choose(3, List.of(), this.random))
+            {
+                Character character = unitClass.createCharacter();
+                character.becomeHero();
+                allies.add(character);
+            }
+            HeadlessLevel level = new HeadlessLevel(allies, LevelManager.createEnemies(levelNumber), GRID, this.random, ally, enemy);
+            while (!level.isOver() && level.getRound() < 30)
+            {
+                level.playRound();
+                assertMapsMatch(level.getBoard());
+            }
+        }
+        assertTrue(this.boardsChecked > 25, "Only " + this.boardsChecked + " boards checked");
+    }
+
+    @Test
+    @DisplayName("A character removed from the board no longer projects anything")
+    void testRemoveClearsProjection()
+    {
+        BattleBoard board = new BattleBoard(GRID);
+        List<Character> allies = new ArrayList<>();
+        for (UnitClass unitClass : ReplacementPolicy.random().choose(3, List.of(), this.random))
+        {
+            Character character = unitClass.createCharacter();
+            character.setPosition(new Point(2 + 3 * allies.size(), 7));
+            character.becomeHero();
+            allies.add(character);
+            board.add(character);
+        }
+
+        for (Character character : allies)
+        {
+            board.remove(character);
+        }
+
+        InfluenceMap influence = board.getInfluence(true);
+        for (int x = 0; x < GRID.getWidth(); x++)
+        {
+            for (int y = 0; y < GRID.getHeight(); y++)
+            {
+                Point point = new Point(x, y);
+                assertEquals(0, influence.getPower(point), "Power at " + point);
+                assertEquals(0, influence.getAttackers(point), "Attackers at " + point);
+            }
+        }
+    }
+
+    private AIStrategy checking(AIStrategy strategy)
+    {
+        return new AIStrategy()
+        {
+            @Override
+            public AIMove planTurn(Character attacker, BattleBoard board)
+            {
+                assertMapsMatch(board);
+                return strategy.planTurn(attacker, board);
+            }
+
+            @Override
+            public String getName()
+            {
+                return strategy.getName();
+            }
+        };
+    }
+
+    /**
+     * Compares the maps of a board with the ones of a new board holding the same characters.
+     */
+    private void assertMapsMatch(BattleBoard board)
+    {
+        BattleBoard rebuilt = new BattleBoard(board.getGridBounds());
+        board.getAllies().forEach(rebuilt::add);
+        board.getEnemies().forEach(rebuilt::add);
+
+        for (boolean allied : new boolean[] { true, false })
+        {
+            InfluenceMap expected = rebuilt.getInfluence(allied);
+            InfluenceMap actual = board.getInfluence(allied);
+            List<Character> side = allied ? board.getAllies() : board.getEnemies();
+            for (int x = 0; x < GRID.getWidth(); x++)
+            {
+                for (int y = 0; y < GRID.getHeight(); y++)
+                {
+                    Point point = new Point(x, y);
+                    assertEquals(expected.getPower(point), actual.getPower(point), "Power at " + point);
+                    assertEquals(expected.getAttackers(point), actual.getAttackers(point), "Attackers at " + point);
+                    for (Character character : side)
+                    {
+                        assertEquals(expected.reaches(character, point), actual.reaches(character, point), character + " reaching " + point);
+                    }
+                }
+            }
+        }
+        this.boardsChecked++;
+    }
+}
@@ -0,0 +1,183 @@
+package test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+import model.characters.Archer;
+import model.characters.Barbarian;
+import model.characters.Character;
+import model.characters.Juggernaut;
+import model.characters.Knight;
+import model.characters.Wizard;
+import model.gameStatus.level.BattleBoard;
+import model.point.GridBounds;
+import model.point.Point;
+import model.point.SpawnZones;
+import view.map.AbstractMap;
+
+/**
+ * Headless benchmark of large battles, run as a plain program:
+ * {@code java -Djava.awt.headless=true test.LargeBattleBenchmark [unitsPerSide...]}.
+ * For every size it places two armies in generated spawn zones and plays AI turns on
+ * both sides, timing the indexed engine path (BattleBoard) against the previous one,
+ * which rebuilt the set of occupied cells and scanned the opposing roster every turn.
+ */
+public class LargeBattleBenchmark
+{
+    private static final int[] DEFAULT_SIZES = {100, 500, 1000};
+    private static final int TURNS = 2000;
+
+    public static void main(String[] args)
+    {
+        int[] sizes = DEFAULT_SIZES;
+        if (args.length > 0)
+        {
+            sizes = new int[args.length];
+            for (int i = 0; i < args.length; i++)
+            {
+                sizes[i] = Integer.parseInt(args[i]);
+            }
+        }
+
+        for (int unitsPerSide : sizes)
+        {
+            run(unitsPerSide);
+        }
+    }
+
+    private static void run(int unitsPerSide)
+    {
+        GridBounds grid = SpawnZones.gridFor(unitsPerSide,
+                new GridBounds(AbstractMap.GRID_SIZE_WIDTH, AbstractMap.GRID_SIZE_HEIGHT));
+
+        List<Character> allies  = createArmy(unitsPerSide, true, SpawnZones.allyZone(grid, unitsPerSide));
+        List<Character> enemies = createArmy(unitsPerSide, false, SpawnZones.enemyZone(grid, unitsPerSide));
+
+        BattleBoard board = new BattleBoard(grid);
+        allies.forEach(board::add);
+        enemies.forEach(board::add);
+
+        // Warm up and time the queries of a turn with both engine paths, on the same positions
+        long indexedNanos = 0;
+        long scanNanos    = 0;
+        for (int pass = 0; pass < 2; pass++)
+        {
+            indexedNanos = timeQueries(allies, enemies, a -> board.planApproach(a, board.nearestOpponent(a)));
+            scanNanos    = timeQueries(allies, enemies, a -> scanApproach(a, allies, enemies, grid));
+        }
+
+        // Then play the battle on the indexed path, with moves and deaths
+        List<Character> turnOrder = new ArrayList<>(allies);
+        turnOrder.addAll(enemies);
+        int turns = 0;
+        long start = System.nanoTime();
+
+        for (int i = 0; turns < TURNS && board.getAllyCount() > 0 && board.getEnemyCount() > 0; i++)
+        {
+            Character attacker = turnOrder.get(i % turnOrder.size());
+            if (!attacker.isAlive())
+            {
+                continue;
+            }
+
+            Character victim = board.nearestOpponent(attacker);
+            Point destination = board.planApproach(attacker, victim);
+            board.move(attacker, destination);
+            attacker.moveTo(destination);
+
+            if (attacker.isWithinAttackRange(victim))
+            {
+                Character dead = attacker.fight(victim);
+                if (dead != null)
+                {
+                    board.remove(dead);
+                }
+            }
+            turns++;
+        }
+        long battleNanos = System.nanoTime() - start;
+
+        System.out.printf("%5d per side, grid %-7s | query indexed %8.1f us, scan %8.1f us (x%.1f) | "
+                + "%d full turns %8.1f us each, %d allies and %d enemies left%n",
+                unitsPerSide, grid, indexedNanos / 1000.0, scanNanos / 1000.0, scanNanos / (double) indexedNanos,
+                turns, battleNanos / 1000.0 / Math.max(1, turns), board.getAllyCount(), board.getEnemyCount());
+    }
+
+    /**
+     * Times the destination query of every unit and returns the mean per unit.
+     */
+    private static long timeQueries(List<Character> allies, List<Character> enemies,
+            Function<Character, Point> query)
+    {
+        long checksum = 0;
+        long start = System.nanoTime();
+        for (Character attacker : allies)
+        {
+            checksum += query.apply(attacker).getX();
+        }
+        for (Character attacker : enemies)
+        {
+            checksum += query.apply(attacker).getY();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        if (checksum == Long.MIN_VALUE)
+        {
+            System.out.println(checksum);
+        }
+        return elapsed / (allies.size() + enemies.size());
+    }
+
+    /**
+     * The engine path before BattleBoard: occupied cells rebuilt and opponents scanned every turn.
+     */
+    private static Point scanApproach(Character attacker, List<Character> allies, List<Character> enemies, GridBounds grid)
+    {
+        Set<Point> occupied = new HashSet<>();
+        allies.forEach(c -> occupied.add(c.getPosition()));
+        enemies.forEach(c -> occupied.add(c.getPosition()));
+
+        Character victim = (attacker.isAllied() ? enemies : allies).stream()
+                .min(Comparator.comparingInt(attacker::getDistanceInSquares))
+                .orElse(null);
+
+        List<Point> reachable = grid.pointsWithin(attacker.getPosition(), attacker.getSpeed() / 10);
+        return reachable.stream()
+                .filter(p -> !occupied.contains(p))
+                .filter(p -> victim.getDistanceInSquares(p) <= attacker.getRange())
+                .min(Comparator.comparing(attacker::getDistanceInSquares))
+                .orElseGet(() -> reachable.stream()
+                        .filter(p -> !occupied.contains(p))
+                        .min(Comparator.comparing(victim::getDistanceInSquares))
+                        .orElse(attacker.getPosition()));
+    }
+
+    private static List<Character> createArmy(int count, boolean allied, List<Point> zone)
+    {
+        List<Character> army = new ArrayList<>();
+
+        for (int i = 0; i < count; i++)
+        {
+            Character character;
+            switch (i % 5)
+            {
+                case 0: character = new Barbarian(); break;
+                case 1: character = new Archer(); break;
+                case 2: character = new Knight(); break;
+                case 3: character = new Wizard(); break;
+                default: character = new Juggernaut(); break;
+            }
+            if (allied)
+            {
+                character.becomeHero();
+            }
+            character.setPosition(zone.get(i));
+            army.add(character);
+        }
+        return army;
+    }
+}
@@ -0,0 +1,93 @@
+package test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import model.simulation.ArenaBattleSimulator;
+import model.simulation.CheckpointPolicy;
+import model.simulation.Checkpointer;
+import model.simulation.SimulationCheckpoint;
+import model.simulation.SimulationConfig;
+import model.simulation.SimulationRunner;
+import model.simulation.SimulationStats;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+
+public class SimulationCheckpointTest
+{
+    private static final SimulationConfig CONFIG = new SimulationConfig(4, 12, 12, 100);
+    private static final long FIRST_SEED = 1_000;
+    private static final long LAST_SEED  = 4_000;
+
+    private File checkpointFile;
+
+    @BeforeEach
+    void setUp() throws IOException
+    {
+        this.checkpointFile = new File(Files.createTempDirectory("checkpoint-test").toFile(), "run.checkpoint");
+        this.checkpointFile.deleteOnExit();
+        this.checkpointFile.getParentFile().deleteOnExit();
+    }
+
+    @Test
+    @DisplayName("A run killed and resumed from its checkpoint ends with the statistics of an uninterrupted run")
+    void testResumeAfterKill() throws Exception
+    {
+        SimulationStats uninterrupted = CONFIG.createRunner(2).run(FIRST_SEED, LAST_SEED);
+
+        // First run: a few chunks, out of order, saved after every one of them, then the process dies
+        SimulationRunner runner = CONFIG.createRunner(1);
+        Checkpointer checkpointer = new Checkpointer(
+                SimulationCheckpoint.loadOrCreate(this.checkpointFile, CONFIG, FIRST_SEED, LAST_SEED),
+                this.checkpointFile, new CheckpointPolicy(1, 0));
+        ArenaBattleSimulator simulator = runner.createSimulator();
+        for (long[] chunk : new long[][] { { 1_000, 1_300 }, { 2_000, 2_250 }, { 1_300, 1_500 }, { 3_900, 4_000 } })
+        {
+            SimulationStats stats = new SimulationStats();
+            runner.runRange(simulator, stats, chunk[0], chunk[1]);
+            checkpointer.chunkCompleted(chunk[0], chunk[1], stats);
+        }
+        // A chunk played but not recorded before the kill is lost, and played again on resume
+        runner.runRange(simulator, new SimulationStats(), 1_500, 1_600);
+
+        // Second run: only what the file says
+        SimulationCheckpoint restored = SimulationCheckpoint.load(this.checkpointFile);
+        assertEquals(850, restored.getStats().getBattles(), "The checkpoint holds the recorded chunks only");
+        List<long[]> remaining = restored.getRemainingRanges();
+        assertEquals(2, remaining.size());
+        assertArrayEquals(new long[] { 1_500, 2_000 }, remaining.get(0));
+        assertArrayEquals(new long[] { 2_250, 3_900 }, remaining.get(1));
+
+        SimulationStats resumed = CONFIG.createRunner(2)
+                .run(new Checkpointer(restored, this.checkpointFile, new CheckpointPolicy(500, 0)));
+
+        assertTrue(SimulationCheckpoint.load(this.checkpointFile).isFinished(), "The final checkpoint marks every seed as played");
+        assertStatsEqual(uninterrupted, resumed);
+    }
+
+    @Test
+    @DisplayName("A checkpoint of another configuration is not resumed")
+    void testMismatchedConfigurationRejected() throws Exception
+    {
+        new SimulationCheckpoint(CONFIG, FIRST_SEED, LAST_SEED).save(this.checkpointFile);
+
+        SimulationConfig other = new SimulationConfig(5, 12, 12, 100);
+        assertThrows(IllegalStateException.class,
+                () -> SimulationCheckpoint.loadOrCreate(this.checkpointFile, other, FIRST_SEED, LAST_SEED));
+    }
+
+    private static void assertStatsEqual(SimulationStats expected, SimulationStats actual)
+    {
+        assertEquals(expected.getBattles(), actual.getBattles(), "battles");
+        assertEquals(expected.getAlliesWon(), actual.getAlliesWon(), "allies won");
+        assertEquals(expected.getEnemiesWon(), actual.getEnemiesWon(), "enemies won");
+        assertEquals(expected.getDraws(), actual.getDraws(), "draws");
+        // The histograms print their count, mean and quantiles
+        assertEquals(expected.toString(), actual.toString());
+    }
+}
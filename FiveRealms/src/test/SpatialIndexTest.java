@@ -0,0 +1,150 @@
+package test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import model.point.GridBounds;
+import model.point.Point;
+import model.point.SpatialIndex;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+public class SpatialIndexTest
+{
+    private static final GridBounds GRID = new GridBounds(40, 30);
+
+    private SpatialIndex<Object> index;
+    private List<Object> items;
+    private List<Point> positions;
+    private Random random;
+
+    @BeforeEach
+    void setUp()
+    {
+        // Small buckets, so the queries cross many of them
+        this.index     = new SpatialIndex<>(GRID, 4);
+        this.items     = new ArrayList<>();
+        this.positions = new ArrayList<>();
+        this.random    = new Random(42);
+
+        for (int i = 0; i < 60; i++)
+        {
+            this.addAtFreeCell(new Object());
+        }
+    }
+
+    @Test
+    @DisplayName("Nearest items match a scan of every item")
+    void testNearestMatchesScan()
+    {
+        for (int query = 0; query < 200; query++)
+        {
+            Point from = this.randomCell();
+            for (int k : new int[] { 1, 3, 10 })
+            {
+                assertEquals(this.scanNearest(from, k), this.index.nearest(from, k), "Nearest " + k + " from " + from);
+            }
+            assertSame(this.scanNearest(from, 1).get(0), this.index.nearest(from));
+        }
+    }
+
+    @Test
+    @DisplayName("Items within a radius match a scan of every item")
+    void testWithinMatchesScan()
+    {
+        for (int query = 0; query < 200; query++)
+        {
+            Point center = this.randomCell();
+            int radius = this.random.nextInt(12);
+            assertEquals(this.scanWithin(center, radius), this.index.within(center, radius), "Within " + radius + " of " + center);
+        }
+    }
+
+    @Test
+    @DisplayName("Queries stay exact while items move and are removed")
+    void testQueriesAfterMovesAndRemovals()
+    {
+        for (int step = 0; step < 300; step++)
+        {
+            int i = this.random.nextInt(this.items.size());
+            if (step % 5 == 0)
+            {
+                this.index.remove(this.items.remove(i));
+                this.positions.remove(i);
+                this.addAtFreeCell(new Object());
+            }
+            else
+            {
+                Point target = this.freeCell();
+                this.index.move(this.items.get(i), target);
+                this.positions.set(i, target);
+            }
+
+            Point from = this.randomCell();
+            assertEquals(this.scanNearest(from, 5), this.index.nearest(from, 5), "Nearest after step " + step);
+            assertEquals(this.scanWithin(from, 6), this.index.within(from, 6), "Within after step " + step);
+        }
+        assertEquals(this.items, this.index.items(), "Items should be listed in insertion order");
+    }
+
+    /**
+     * The k closest items, ties to the one added first.
+     */
+    private List<Object> scanNearest(Point from, int k)
+    {
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < this.items.size(); i++)
+        {
+            order.add(i);
+        }
+        order.sort(Comparator.<Integer>comparingInt(i -> from.distanceFrom(this.positions.get(i))).thenComparingInt(i -> i));
+
+        List<Object> result = new ArrayList<>();
+        for (int i = 0; i < Math.min(k, order.size()); i++)
+        {
+            result.add(this.items.get(order.get(i)));
+        }
+        return result;
+    }
+
+    private List<Object> scanWithin(Point center, int radius)
+    {
+        List<Object> result = new ArrayList<>();
+        for (int i = 0; i < this.items.size(); i++)
+        {
+            if (center.distanceFrom(this.positions.get(i)) <= radius)
+            {
+                result.add(this.items.get(i));
+            }
+        }
+        return result;
+    }
+
+    private void addAtFreeCell(Object item)
+    {
+        Point position = this.freeCell();
+        this.index.add(item, position);
+        this.items.add(item);
+        this.positions.add(position);
+    }
+
+    private Point freeCell()
+    {
+        Point point = this.randomCell();
+        while (this.index.isOccupied(point))
+        {
+            point = this.randomCell();
+        }
+        return point;
+    }
+
+    private Point randomCell()
+    {
+        return new Point(this.random.nextInt(GRID.getWidth()), this.random.nextInt(GRID.getHeight()));
+    }
+}
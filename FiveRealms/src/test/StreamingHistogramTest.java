@@ -0,0 +1,105 @@
+package test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import model.simulation.StreamingHistogram;
+
+import java.util.Arrays;
+import java.util.Random;
+
+public class StreamingHistogramTest
+{
+    /** Relative error of the quantiles, with some slack over the width of the buckets */
+    private static final double MAX_RELATIVE_ERROR = 0.035;
+
+    @Test
+    @DisplayName("Small values are recorded exactly")
+    void testSmallValuesAreExact()
+    {
+        StreamingHistogram histogram = new StreamingHistogram();
+        for (long value = 0; value < 32; value++)
+        {
+            histogram.record(value);
+        }
+
+        assertEquals(32, histogram.getCount());
+        assertEquals(0, histogram.getMin());
+        assertEquals(31, histogram.getMax());
+        assertEquals(15.5, histogram.getMean(), 1e-9);
+        assertEquals(15, histogram.getValueAtPercentile(50));
+        assertEquals(31, histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    @DisplayName("Quantiles are within the relative error of the exact ones")
+    void testQuantilesWithinError()
+    {
+        Random random = new Random(7);
+        long[] values = new long[20_000];
+        StreamingHistogram histogram = new StreamingHistogram();
+        for (int i = 0; i < values.length; i++)
+        {
+            // Spread over several orders of magnitude, like battle lengths and timings
+            values[i] = (long) Math.exp(random.nextDouble() * 14);
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+
+        for (double percentile : new double[] { 1, 10, 50, 90, 99, 99.9 })
+        {
+            long exact = values[(int) Math.ceil(percentile / 100 * values.length) - 1];
+            long estimate = histogram.getValueAtPercentile(percentile);
+            assertTrue(Math.abs(estimate - exact) <= Math.max(1, exact * MAX_RELATIVE_ERROR),
+                    "p" + percentile + ": estimated " + estimate + ", exact " + exact);
+        }
+        assertEquals(values[0], histogram.getMin());
+        assertEquals(values[values.length - 1], histogram.getMax());
+    }
+
+    @Test
+    @DisplayName("Merging gives the histogram of all the values")
+    void testMergeEqualsSingleHistogram()
+    {
+        Random random = new Random(11);
+        StreamingHistogram all = new StreamingHistogram();
+        StreamingHistogram[] parts = { new StreamingHistogram(), new StreamingHistogram(), new StreamingHistogram() };
+        for (int i = 0; i < 9_000; i++)
+        {
+            long value = random.nextInt(1_000_000);
+            all.record(value);
+            parts[i % parts.length].record(value);
+        }
+
+        StreamingHistogram merged = new StreamingHistogram();
+        for (StreamingHistogram part : parts)
+        {
+            merged.merge(part);
+        }
+
+        assertEquals(all.getCount(), merged.getCount());
+        assertEquals(all.getMin(), merged.getMin());
+        assertEquals(all.getMax(), merged.getMax());
+        assertEquals(all.getMean(), merged.getMean(), 1e-9);
+        for (double percentile = 0; percentile <= 100; percentile += 2.5)
+        {
+            assertEquals(all.getValueAtPercentile(percentile), merged.getValueAtPercentile(percentile), "p" + percentile);
+        }
+    }
+
+    @Test
+    @DisplayName("Merging an empty histogram changes nothing")
+    void testMergeEmpty()
+    {
+        StreamingHistogram histogram = new StreamingHistogram();
+        histogram.record(100);
+        histogram.record(200);
+        histogram.merge(new StreamingHistogram());
+
+        assertEquals(2, histogram.getCount());
+        assertEquals(100, histogram.getMin());
+        assertEquals(200, histogram.getMax());
+        assertEquals(0, new StreamingHistogram().getValueAtPercentile(50), "An empty histogram has no quantiles");
+    }
+}
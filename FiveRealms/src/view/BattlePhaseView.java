@@ -2,12 +2,13 @@ package view;
 
 import java.awt.Color;
 import java.awt.event.ActionListener;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseListener;
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
@@ -15,6 +16,9 @@ import javax.swing.JButton;
 import controller.GameController;
 import model.characters.AbstractCharacter;
 import model.characters.Character;
+import model.characters.FightOutcome;
+import model.characters.FightPredictor;
+import model.gameStatus.level.BattleBoard;
 import model.point.Point;
 import view.map.LevelMap;
 
@@ -40,6 +44,9 @@ public class BattlePhaseView
     /** Map storing action listeners for attack actions at specific positions */
     private Map<Point, ActionListener> attackListeners   = new HashMap<>(); 
     
+    /** Map storing mouse listeners previewing the attack on each attackable enemy */
+    private Map<Point, MouseListener> previewListeners  = new HashMap<>();
+    
     /**
      * Constructs a new BattlePhaseView with the specified level map and controller.
      * Initializes the listener maps for managing user interactions during battle phases.
@@ -71,38 +78,24 @@ public class BattlePhaseView
     public void movementPhase(Character character, Runnable onMovementCompleted)
     {
         List<Point> availableMoves = new ArrayList<>();
-        JButton[][] buttonGrid = this.levelMap.getGridButtons();
 
         // Prevent multiple clicks
         AtomicBoolean movementDone = new AtomicBoolean(false);
         
-        // Get occupied positions by allies and enemies
-        Set<Point> occupied = new HashSet<>();
-        for (Character ally : this.levelMap.getAlliesList()) 
-        {
-            occupied.add(ally.getPosition());
-        }
-        for (Character enemy : this.levelMap.getEnemiesList()) 
-        {
-            occupied.add(enemy.getPosition());
-        }
+        // Occupied positions of allies and enemies, indexed by the battle board
+        BattleBoard board = this.levelMap.getBattleBoard();
         
         // PHASE 1: identify positions we can move to and color them gray
-        for (int row = 0; row < buttonGrid.length; row++) 
+        // Only the cells within movement range are visited, whatever the size of the map
+        int movementRange = character.getSpeed() / AbstractCharacter.SPEED_TO_MOVEMENT;
+        for (Point point : this.levelMap.getGridBounds().pointsWithin(character.getPosition(), movementRange)) 
         {
-            for (int col = 0; col < buttonGrid[row].length; col++)
-            {
-                Point point = new Point(row, col);
-                boolean withinRange = character.getDistanceInSquares(point)
-                    <= character.getSpeed() / AbstractCharacter.SPEED_TO_MOVEMENT;
-
-                // A cell is free if it's the character's current position or not occupied by any other character
-                boolean cellFree = point.equals(character.getPosition()) || !occupied.contains(point);
+            // A cell is free if it's the character's current position or not occupied by any other character
+            boolean cellFree = point.equals(character.getPosition()) || !board.isOccupied(point);
 
-                if (withinRange && cellFree) 
-                {
-                    availableMoves.add(point);
-                }
+            if (cellFree) 
+            {
+                availableMoves.add(point);
             }
         }
         
@@ -113,6 +106,9 @@ public class BattlePhaseView
             return;
         }
         
+        // Bring the moving character into view on maps larger than the window
+        this.levelMap.centerViewOn(character.getPosition());
+        
         // Color the positions we can move to
         this.levelMap.colourPositionAvailable(availableMoves, new Color(80, 80, 80, 160)); // gray color
         
@@ -169,17 +165,16 @@ public class BattlePhaseView
     public void chooseTarget(List<Character> enemiesList, Character attacker, Runnable onAttackCompleted) 
     {
         // Get enemies we can attack
-		List<Character> reachableEnemies = getEnemiesInRange(attacker, enemiesList);
+		List<Character> reachableEnemies = getEnemiesInRange(attacker);
 		
 		if (reachableEnemies.isEmpty()) 
 		{
 			 if (onAttackCompleted != null) onAttackCompleted.run();
 			 return;
 		}
-		else
-		{
-        	this.levelMap.updateBannerMessage("Movement completed, "+attacker.getClass().getSimpleName()+" choose a target", false);
-		}
+		
+		String chooseTargetMessage = "Movement completed, "+attacker.getClass().getSimpleName()+" choose a target";
+		this.levelMap.updateBannerMessage(chooseTargetMessage, false);
 		
 		// Get positions of enemies we can attack
 		List<Point> enemyPositions = reachableEnemies.stream()
@@ -187,27 +182,13 @@ public class BattlePhaseView
 		                                           .collect(Collectors.toList());
 
 		// Get all positions within attack range
-		List<Point> positionsInAttackRange = new ArrayList<>();
-		JButton[][] buttonGrid = this.levelMap.getGridButtons();
-		
-        for (int row = 0; row < buttonGrid.length; row++) 
-        {
-            for (int col = 0; col < buttonGrid[row].length; col++)
-            {
-                Point point = new Point(row, col);
-                
-                if (attacker.isWithinAttackRange(point))
-                {
-                	positionsInAttackRange.add(point);
-                }
-            }
-        }
+		List<Point> positionsInAttackRange = this.levelMap.getGridBounds().pointsWithin(attacker.getPosition(), attacker.getRange());
 		
 		// Highlight attackable enemies in red
 		levelMap.colourPositionAvailable(positionsInAttackRange, new Color(139, 0, 0, 80)); // dark red
 		levelMap.colourPositionAvailable(enemyPositions, new Color(255, 0, 0, 80)); // red
 
-        for (Character enemy : enemiesList) 
+        for (Character enemy : reachableEnemies) 
         {
         	synchronized (this.attackListeners) {
                 Point enemyPosition = enemy.getPosition();
@@ -234,6 +215,24 @@ public class BattlePhaseView
 
                 button.addActionListener(attackListener);
                 button.setEnabled(true);
+                
+                // Preview the fight in the banner while the enemy is hovered
+                MouseListener previewListener = new MouseAdapter() 
+                {
+                    @Override
+                    public void mouseEntered(MouseEvent e) 
+                    {
+                        levelMap.updateBannerMessage(describeFight(attacker, enemy), false);
+                    }
+
+                    @Override
+                    public void mouseExited(MouseEvent e) 
+                    {
+                        levelMap.updateBannerMessage(chooseTargetMessage, false);
+                    }
+                };
+                this.previewListeners.put(enemyPosition, previewListener);
+                button.addMouseListener(previewListener);
 			}
         }
     }
@@ -247,30 +246,79 @@ public class BattlePhaseView
      */
     public void graphicMovementCharacterToPoint(Character character, Point validPoint) 
     {
+    	// Follow the moving character on maps larger than the window
+    	this.levelMap.centerViewOn(validPoint);
     	this.controller.move(levelMap, character, validPoint);
     }
 
+    /**
+     * Cancels the movement phase in progress: the cells stop taking the move of the player.
+     * Used when the rest of the battle is resolved without the player.
+     */
+    public void cancelMovementPhase() 
+    {
+    	this.clearActionListenersAtPositions(new ArrayList<>(this.movementListeners.keySet()), this.movementListeners);
+    	this.levelMap.resetGridColors();
+    }
+
+    /**
+     * Drops every pending movement and attack listener.
+     * Used when the level is released, the buttons themselves are disposed with the map.
+     */
+    public void clearAllListeners() 
+    {
+    	synchronized (this.attackListeners) 
+    	{
+    		this.movementListeners.clear();
+    		this.attackListeners.clear();
+    		this.previewListeners.clear();
+    	}
+    }
+
     /**
      * Helper Methods Section
      */
     
     /**
-     * Filters the list of enemies to return only those within the attacker's weapon range.
-     * Uses the attacker's weapon range to determine which enemies can be targeted.
+     * Finds the enemies within the attacker's weapon range.
+     * Queries the battle board, so only the enemies around the attacker are visited.
      * 
      * @param attacker the character performing the attack
-     * @param enemies the complete list of enemy characters
-     * @return a filtered list containing only enemies within attack range
+     * @return the enemies within attack range
      */
-    private List<Character> getEnemiesInRange(Character attacker, List<Character> enemies) 
+    private List<Character> getEnemiesInRange(Character attacker) 
     {
-        int range = attacker.getWeapon().getRange();
-        
-        Point attackerPos = attacker.getPosition();
+        return this.levelMap.getBattleBoard().opponentsWithin(attacker, attacker.getWeapon().getRange());
+    }
 
-        return enemies.stream()
-                      .filter(enemy -> attackerPos.distanceFrom(enemy.getPosition()) <= range)
-                      .collect(Collectors.toList());
+    /**
+     * Describes the predicted outcome of an attack, for the banner.
+     * The prediction leaves both characters untouched.
+     * 
+     * @param attacker the character performing the attack
+     * @param enemy the hovered enemy
+     * @return the message to show
+     */
+    private String describeFight(Character attacker, Character enemy) 
+    {
+        FightOutcome outcome = FightPredictor.predict(attacker, enemy);
+        
+        StringBuilder message = new StringBuilder(enemy.getClass().getSimpleName())
+                .append(": deals ").append(outcome.getDamageDealt());
+        if (outcome.isTargetKilled()) 
+        {
+            message.append(", kills it");
+        }
+        else if (outcome.isCounterattack()) 
+        {
+            message.append(", takes ").append(outcome.getDamageTaken())
+                   .append(outcome.isAttackerKilled() ? ", " + attacker.getClass().getSimpleName() + " dies" : "");
+        }
+        else 
+        {
+            message.append(", no counterattack");
+        }
+        return message.toString();
     }
 
     /**
@@ -297,6 +345,16 @@ public class BattlePhaseView
 	            }
 	        }
 	        listenerMap.clear();
+	        
+	        // The attack previews go with the attack listeners
+	        if (listenerMap == this.attackListeners) 
+	        {
+	        	for (Map.Entry<Point, MouseListener> entry : this.previewListeners.entrySet()) 
+	        	{
+	        		this.levelMap.getButtonAt(entry.getKey().getX(), entry.getKey().getY()).removeMouseListener(entry.getValue());
+	        	}
+	        	this.previewListeners.clear();
+	        }
 	        this.levelMap.resetGridColors();
     	}
     }
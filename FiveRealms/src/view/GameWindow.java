@@ -0,0 +1,223 @@
+package view;
+
+import java.awt.CardLayout;
+import java.awt.Graphics;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import javax.swing.JComponent;
+import javax.swing.JFrame;
+import javax.swing.JPanel;
+
+/**
+ * The single top-level window of the game.
+ * Every screen (menus, selection screens, level maps) is a panel registered here and
+ * shown by switching cards, so moving from one screen to another never creates or
+ * disposes a native window. Registered screens stay cached until they are replaced
+ * by another screen with the same name or explicitly removed.
+ */
+public final class GameWindow
+{
+	/** Name of the empty card shown when the current screen is removed */
+	private static final String BLANK_SCREEN = "blank";
+
+	/** Prints the latency of every transition when the game is run with -Dfiverealms.timing=true */
+	private static final boolean LOG_TIMINGS = Boolean.getBoolean("fiverealms.timing");
+
+	private static GameWindow instance;
+
+	private final JFrame frame;
+	private final CardLayout cardLayout;
+	private final JPanel screens;
+
+	/** Screens currently registered, by card name */
+	private final Map<String, JComponent> registeredScreens;
+
+	/** Name of the screen currently displayed */
+	private volatile String currentScreen;
+
+	/** Start of the transition waiting for its first painted frame, 0 if none */
+	private volatile long transitionStart;
+
+	/** Name of the screen the pending transition leads to */
+	private volatile String transitionTarget;
+
+	private GameWindow()
+	{
+		this.registeredScreens = new HashMap<>();
+		this.cardLayout = new CardLayout();
+		this.screens = new JPanel(this.cardLayout)
+		{
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			public void paint(Graphics g)
+			{
+				super.paint(g);
+				GameWindow.this.logTransitionPainted();
+			}
+		};
+		this.screens.add(new JPanel(), BLANK_SCREEN);
+		this.currentScreen = BLANK_SCREEN;
+
+		this.frame = new JFrame("FiveRealms");
+		this.frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+		this.frame.setResizable(false);
+		this.frame.setContentPane(this.screens);
+	}
+
+	/**
+	 * Returns the game window, creating it on first use.
+	 *
+	 * @return the single game window
+	 */
+	public static synchronized GameWindow getInstance()
+	{
+		if (instance == null)
+		{
+			instance = new GameWindow();
+		}
+		return instance;
+	}
+
+	/**
+	 * Registers a prebuilt screen without displaying it, replacing any screen
+	 * previously registered with the same name.
+	 *
+	 * @param name the card name of the screen
+	 * @param screen the panel of the screen
+	 */
+	public synchronized void registerScreen(String name, JComponent screen)
+	{
+		JComponent previous = this.registeredScreens.get(name);
+		if (previous == screen)
+		{
+			return;
+		}
+		if (previous != null)
+		{
+			this.screens.remove(previous);
+		}
+		this.registeredScreens.put(name, screen);
+		this.screens.add(screen, name);
+	}
+
+	/**
+	 * Displays a screen, registering it first if needed.
+	 * The window is resized only when the screen needs a different size.
+	 *
+	 * @param name the card name of the screen
+	 * @param screen the panel of the screen
+	 * @param title the window title while the screen is displayed
+	 * @param width the window width for this screen
+	 * @param height the window height for this screen
+	 */
+	public synchronized void showScreen(String name, JComponent screen, String title, int width, int height)
+	{
+		this.registerScreen(name, screen);
+		this.markTransitionStart();
+		this.transitionTarget = name;
+
+		this.frame.setTitle(title);
+		if (this.frame.getWidth() != width || this.frame.getHeight() != height)
+		{
+			this.frame.setSize(width, height);
+			this.frame.setLocationRelativeTo(null);
+		}
+
+		this.cardLayout.show(this.screens, name);
+		this.currentScreen = name;
+
+		if (!this.frame.isVisible())
+		{
+			this.frame.setVisible(true);
+		}
+		this.screens.repaint();
+	}
+
+	/**
+	 * Notifies that a screen is being left. The screen stays cached and on display
+	 * until the next one is shown, so the window never flashes empty in between.
+	 *
+	 * @param screen the panel of the screen being left
+	 */
+	public synchronized void hideScreen(JComponent screen)
+	{
+		if (screen != null && screen == this.registeredScreens.get(this.currentScreen))
+		{
+			this.markTransitionStart();
+		}
+	}
+
+	/**
+	 * Removes a screen that will not be shown again.
+	 * Does nothing if the screen has already been replaced by another one.
+	 *
+	 * @param screen the panel of the screen to remove
+	 */
+	public synchronized void removeScreen(JComponent screen)
+	{
+		String name = null;
+		for (Entry<String, JComponent> entry : this.registeredScreens.entrySet())
+		{
+			if (entry.getValue() == screen)
+			{
+				name = entry.getKey();
+				break;
+			}
+		}
+
+		if (name == null)
+		{
+			return;
+		}
+
+		if (name.equals(this.currentScreen))
+		{
+			this.markTransitionStart();
+			this.cardLayout.show(this.screens, BLANK_SCREEN);
+			this.currentScreen = BLANK_SCREEN;
+		}
+
+		this.registeredScreens.remove(name);
+		this.screens.remove(screen);
+	}
+
+	/**
+	 * Gets the game window frame.
+	 *
+	 * @return the frame hosting every screen
+	 */
+	public JFrame getFrame()
+	{
+		return this.frame;
+	}
+
+	/**
+	 * Records the start of a transition, unless one is already pending or timings are disabled.
+	 * Screens are left from their click handlers, so this is the click time.
+	 */
+	private void markTransitionStart()
+	{
+		if (LOG_TIMINGS && this.transitionStart == 0)
+		{
+			this.transitionStart = System.nanoTime();
+		}
+	}
+
+	/**
+	 * Logs the latency of the pending transition once its target screen has been painted.
+	 */
+	private void logTransitionPainted()
+	{
+		long start = this.transitionStart;
+		String target = this.transitionTarget;
+
+		if (start != 0 && target != null && target.equals(this.currentScreen))
+		{
+			this.transitionStart = 0;
+			this.transitionTarget = null;
+			System.out.println("Transition to " + target + " painted after " + (System.nanoTime() - start) / 1_000_000 + " ms");
+		}
+	}
+}
@@ -13,7 +13,12 @@ import java.util.Random;
 import javax.swing.*;
 import controller.GameController;
 import model.characters.Character;
+import model.gameStatus.manager.AssetManager;
+import model.gameStatus.level.BattleBoard;
+import model.point.GridBounds;
 import model.point.Point;
+import model.point.SpawnZones;
+import view.GameWindow;
 import view.menu.PauseMenu;
 
 /**
@@ -25,12 +30,16 @@ import view.menu.PauseMenu;
  */
 public abstract class AbstractMap implements view.map.Map {
 
-	/** Number of rows in the grid */
+	/** Default number of valid y coordinates (columns) in the grid */
 	public static final int GRID_SIZE_HEIGHT = 15;
 
-	/** Number of columns in the grid */
+	/** Default number of valid x coordinates (rows) in the grid */
 	public static final int GRID_SIZE_WIDTH = 20;
 
+	/** Size of this map's grid */
+	private final GridBounds gridBounds;
+
+	/** The shared game window, set when the map is shown */
 	protected JFrame frame;
 	protected GridPanel gridPanel;
 	private JLayeredPane layeredPanel;
@@ -50,6 +59,9 @@ public abstract class AbstractMap implements view.map.Map {
 	/** Map linking characters to their positions */
 	private Map<Character, Point> characterMap;
 
+	/** Spatial state of the battle, kept in sync with the characters on the map */
+	private final BattleBoard battleBoard;
+
 	/** List of positions available for ally spawning */
 	private List<Point> alliesPositionList;
 
@@ -74,6 +86,15 @@ public abstract class AbstractMap implements view.map.Map {
 	/** Game controller reference */
 	private GameController controller;
 
+	/** Window title while the map is displayed */
+	private String title;
+
+	/** Window size while the map is displayed */
+	private Dimension windowSize;
+
+	/** Size of the map panel, which the background is scaled to */
+	private Dimension mapSize;
+
 	/**
 	 * Constructor for AbstractMap.
 	 * Initializes the map with the given parameters and sets up initial data structures.
@@ -84,11 +105,31 @@ public abstract class AbstractMap implements view.map.Map {
 	 * @param controller The game controller managing this map
 	 */
 	public AbstractMap(List<Character> enemiesList, List<Character> alliesList, int numLevel, GameController controller) {
+		this(enemiesList, alliesList, numLevel, controller, new GridBounds(GRID_SIZE_WIDTH, GRID_SIZE_HEIGHT));
+	}
+
+	/**
+	 * Constructor for AbstractMap with a custom grid size.
+	 * Grids larger than the window are shown through a scrollable and zoomable viewport.
+	 * 
+	 * @param enemiesList List of enemies in the current level
+	 * @param alliesList List of allies in the current level
+	 * @param numLevel Current level number
+	 * @param controller The game controller managing this map
+	 * @param gridBounds The size of the grid, at least the default 20x15
+	 */
+	public AbstractMap(List<Character> enemiesList, List<Character> alliesList, int numLevel, GameController controller, GridBounds gridBounds) {
+		if (gridBounds.getWidth() < GRID_SIZE_WIDTH || gridBounds.getHeight() < GRID_SIZE_HEIGHT) {
+			throw new IllegalArgumentException("The grid cannot be smaller than " + GRID_SIZE_WIDTH + "x" + GRID_SIZE_HEIGHT + ": " + gridBounds);
+		}
+
+		this.gridBounds = gridBounds;
 		this.enemiesList = enemiesList;
 		this.alliesList = alliesList;
 		this.numLevel = numLevel;
 
 		this.characterMap = new HashMap<>();
+		this.battleBoard = new BattleBoard(gridBounds);
 		this.alliesPositionList = new ArrayList<>();
 		this.enemiesPositionList = new ArrayList<>();
 		this.random = new Random();
@@ -97,53 +138,71 @@ public abstract class AbstractMap implements view.map.Map {
 		this.tooltipManager = new CharacterTooltipManager();
 		this.controller = controller;
 		
-		this.initializeFrame();
+		this.initializeScreen();
 	}
 
 	/**
-	 * Displays the map by initializing the frame and making it visible.
+	 * Displays the map by switching the game window to it.
 	 * Sets up the pause menu for non-tutorial levels.
 	 */
 	@Override
 	public void show() {
+		// Display the map in the shared game window
+		GameWindow window = GameWindow.getInstance();
+		window.showScreen("map" + this.numLevel, this.layeredPanel, this.title, this.windowSize.width, this.windowSize.height);
+		this.frame = window.getFrame();
+
 		// If this is not the tutorial level, initialize the PauseMenu
 		if (this.numLevel != 0) {
 			this.pauseMenu = new PauseMenu(this.getFrame(), this.getLayeredPanel());
 			this.controller.setPauseMenu(this.pauseMenu);
 		}
-
-		// Display the frame
-		this.frame.setVisible(true);
 	}
 
 	/**
-	 * Closes the map by disposing of the frame and removing all event listeners.
+	 * Closes the map by removing it from the game window and removing all event listeners.
 	 * Ensures proper cleanup of resources.
 	 */
 	@Override
 	public void close() {
-		// If the frame exists, dispose of it and remove all attached events
+		// Remove all attached events and, if the map was shown, its screen
+		this.removeAllEvent();
 		if (this.frame != null) {
-			this.removeAllEvent();
-			this.frame.dispose();
+			GameWindow.getInstance().removeScreen(this.layeredPanel);
+			this.frame = null;
 		}
 	}
 
 	/**
-	 * Initializes the main frame and layout.
-	 * Sets up the window properties, size, and all UI components.
+	 * Releases every resource held by the map once its level is over:
+	 * the screen, the grid listeners and tooltips, the component tree and
+	 * the scaled background kept in the asset cache.
+	 * The map cannot be shown again afterwards.
 	 */
-	private void initializeFrame() {
+	public void release() {
+		this.close();
+
+		if (this.layeredPanel != null) {
+			AssetManager.getInstance().releaseScaledImage(this.getBackgroundPath(), this.mapSize.width, this.mapSize.height);
+			this.layeredPanel.removeAll();
+		}
+
+		this.characterMap.clear();
+		this.pauseMenu = null;
+	}
+
+	/**
+	 * Initializes the map screen and layout.
+	 * Computes the window size and builds all UI components, without touching the
+	 * game window, so a map can be prepared in the background while another screen is shown.
+	 */
+	private void initializeScreen() {
 	    if (this.numLevel != 0) {
-	        this.frame = new JFrame("Five Realms - Level " + this.numLevel);
+	        this.title = "Five Realms - Level " + this.numLevel;
 	    } else {
-	        this.frame = new JFrame("Five Realms - Tutorial ");
+	        this.title = "Five Realms - Tutorial ";
 	    }
 
-	    // When the window is closed, the program terminates
-	    this.frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
-	    this.frame.setResizable(false);
-
 	    int width = 1050;  
 	    int height = 680;  
 	    
@@ -155,17 +214,12 @@ public abstract class AbstractMap implements view.map.Map {
 	        height = (int)(screenSize.height * 0.9); 
 	    }
 	    
-	    this.frame.setSize(width, height);
-
-	    // Center the window on screen when the game starts
-	    this.frame.setLocationRelativeTo(null);
-
-	    this.frame.setLayout(new BorderLayout());
+	    this.windowSize = new Dimension(width, height);
 
 	    this.layeredPanel = new JLayeredPane();
-	    this.frame.setContentPane(this.layeredPanel);
 
-	    this.layeredPanel.setSize(width - 16, height - 39);
+	    this.mapSize = new Dimension(width - 16, height - 39);
+	    this.layeredPanel.setSize(this.mapSize);
 
 	    // Layer 0: Background image
 	    this.initializeBackgroundMap();
@@ -186,23 +240,19 @@ public abstract class AbstractMap implements view.map.Map {
 	 */
 	private void initializeBackgroundMap() {
 		// Get the image associated with the current level
-		String backgroundFile = "images/background/background" + numLevel + ".jpg";
+		String backgroundFile = this.getBackgroundPath();
 
-		// Load the image from file
-		ImageIcon backgroundImage = new ImageIcon(backgroundFile);
+		// Resize the image to fit the frame
+		Dimension panelSize = this.layeredPanel.getSize();
+		int panelWidth = panelSize.width;
+		int panelHeight = panelSize.height;
 
-		// Check that the image is valid
-		if (backgroundImage.getIconWidth() > 0 && backgroundImage.getIconHeight() > 0) {
-			// Resize the image to fit the frame
-			Dimension panelSize = this.layeredPanel.getSize();
-			int panelWidth = panelSize.width;
-			int panelHeight = panelSize.height;
-
-			Image image = backgroundImage.getImage();
-			Image resizedImage = image.getScaledInstance(panelWidth, panelHeight, Image.SCALE_SMOOTH);
-			backgroundImage = new ImageIcon(resizedImage);
+		// Get the decoded and scaled image from the asset cache (filled by the startup preloader)
+		Image resizedImage = AssetManager.getInstance().getScaledImage(backgroundFile, panelWidth, panelHeight);
 
-			JLabel backgroundLabel = new JLabel(backgroundImage);
+		// Check that the image is valid
+		if (resizedImage != null) {
+			JLabel backgroundLabel = new JLabel(new ImageIcon(resizedImage));
 			backgroundLabel.setBounds(0, 0, panelWidth, panelHeight);
 
 			// Add the background to the bottom layer 0
@@ -216,6 +266,15 @@ public abstract class AbstractMap implements view.map.Map {
 		}
 	}
 
+	/**
+	 * Gets the path of the background image of this map's level.
+	 * 
+	 * @return The background image path
+	 */
+	private String getBackgroundPath() {
+		return "images/background/background" + this.numLevel + ".jpg";
+	}
+
 	/**
 	 * Initializes the button grid for the current level.
 	 * Creates a transparent grid overlay on top of the background.
@@ -223,7 +282,7 @@ public abstract class AbstractMap implements view.map.Map {
 	private void initializeButtonGrid() {
 		// Create and initialize GridPanel if it doesn't already exist
 		if (this.gridPanel == null) {
-			this.gridPanel = new GridPanel(this.layeredPanel);
+			this.gridPanel = new GridPanel(this.gridBounds);
 		}      
 
 		// Set gridPanel dimensions equal to those of the frame
@@ -369,18 +428,10 @@ public abstract class AbstractMap implements view.map.Map {
 			return;
 		}
 
-		JButton[][] buttonGrid = this.gridPanel.getGridButtons();
-
-		int rows = buttonGrid.length;
-		int cols = buttonGrid[0].length;
-
 		for (Point p : availableMoves) {
-			int y = p.getX();
-			int x = p.getY();
-
 			// Bounds checking to avoid exceptions
-			if (y >= 0 && y < rows && x >= 0 && x < cols) {
-				JButton button = buttonGrid[y][x];
+			if (this.gridBounds.contains(p)) {
+				JButton button = this.gridPanel.getButtonAt(p.getX(), p.getY());
 
 				// To make transparency visible, draw on a non-opaque component
 				button.setBackground(colour);
@@ -408,18 +459,11 @@ public abstract class AbstractMap implements view.map.Map {
 			return;
 		}
 
-		JButton[][] buttonGrid = this.gridPanel.getGridButtons();
-
-		int rows = buttonGrid.length;
-		int cols = buttonGrid[0].length;
-
 		Point position = character.getPosition();
-		int y = position.getX();
-		int x = position.getY();
 
 		// Bounds checking
-		if (y >= 0 && y < rows && x >= 0 && x < cols) {
-			JButton button = buttonGrid[y][x];
+		if (this.gridBounds.contains(position)) {
+			JButton button = this.gridPanel.getButtonAt(position.getX(), position.getY());
 
 			button.setBackground(new Color(0, 180, 0, 160)); // Green
 			button.setOpaque(true);
@@ -437,17 +481,16 @@ public abstract class AbstractMap implements view.map.Map {
 	 * Resets all grid button colors to their default transparent state.
 	 */
 	public void resetGridColors() {
-		JButton[][] buttonGrid = this.gridPanel.getGridButtons();
-
-		for (int y = 0; y < buttonGrid.length; y++) {
-			for (int x = 0; x < buttonGrid[y].length; x++) {
-				JButton button = buttonGrid[y][x];
-				button.setOpaque(false);         
-			}
-		}
+		this.gridPanel.resetColors();
+	}
 
-		this.gridPanel.revalidate();
-		this.gridPanel.repaint();
+	/**
+	 * Scrolls the map so that the given position is visible, when the grid is larger than the window.
+	 * 
+	 * @param position The position to bring into view
+	 */
+	public void centerViewOn(Point position) {
+		this.gridPanel.centerOn(position);
 	}
 
 	/**
@@ -458,10 +501,7 @@ public abstract class AbstractMap implements view.map.Map {
 	 * @return The JButton at the specified position, or null if coordinates are invalid
 	 */
 	public JButton getButtonAt(int x, int y) {
-		if (x >= 0 && x < GRID_SIZE_WIDTH && y >= 0 && y < GRID_SIZE_HEIGHT) {
-			return gridPanel.getGridButtons()[x][y];
-		}
-		return null;
+		return this.gridPanel.getButtonAt(x, y);
 	}
 
 	/**
@@ -475,11 +515,25 @@ public abstract class AbstractMap implements view.map.Map {
 			return;
 		}
 
-		List<Point> positionList = spawnList.get(0).isAllied() ? this.alliesPositionList : this.enemiesPositionList;
+		boolean allied = spawnList.get(0).isAllied();
+		List<Point> positionList = allied ? this.alliesPositionList : this.enemiesPositionList;
 
 		if (spawnList.size() > positionList.size()) {
-			System.err.println("Not enough spawn positions for characters.");
-			return;
+			// Large battle: more units than the fixed spawn points, generate a spawn zone for this side
+			try {
+				positionList = allied 
+						? SpawnZones.allyZone(this.gridBounds, spawnList.size()) 
+						: SpawnZones.enemyZone(this.gridBounds, spawnList.size());
+			} catch (IllegalArgumentException e) {
+				System.err.println("Not enough spawn positions for characters: " + e.getMessage());
+				return;
+			}
+
+			if (allied) {
+				this.alliesPositionList = positionList;
+			} else {
+				this.enemiesPositionList = positionList;
+			}
 		}
 
 		for (int i = 0; i < spawnList.size(); i++) {
@@ -510,30 +564,33 @@ public abstract class AbstractMap implements view.map.Map {
 
 		// Update characterMap
 		this.characterMap.put(character, chosenPosition);
+		this.battleBoard.add(character);
 
-		JButton button = this.gridPanel.getGridButtons()[chosenPosition.getX()][chosenPosition.getY()];
-		button.setIcon(new ImageIcon(character.getImage()));
+		JButton button = this.gridPanel.getButtonAt(chosenPosition.getX(), chosenPosition.getY());
+		button.setIcon(this.createCharacterIcon(character));
 		button.setContentAreaFilled(false);
 
 		// Add tooltip to the character
 		this.tooltipManager.showCharacterTooltip(character, button);
 	}
 
+	/**
+	 * Creates the icon shown on the grid for a character.
+	 * 
+	 * @param character The character to represent
+	 * @return The character icon, or null if its sprite could not be loaded
+	 */
+	private ImageIcon createCharacterIcon(Character character) {
+		Image image = character.getImage();
+		return image != null ? new ImageIcon(image) : null;
+	}
+
 	/**
 	 * Initializes the lists of available spawn positions for allies and enemies.
 	 */
 	private void initializePositionList() {
-		this.alliesPositionList.add(new Point(16, 4));
-		this.alliesPositionList.add(new Point(14, 7));
-		this.alliesPositionList.add(new Point(16, 10));
-
-		this.enemiesPositionList.add(new Point(4, 10));
-		this.enemiesPositionList.add(new Point(4, 4));
-		this.enemiesPositionList.add(new Point(6, 7));
-		this.enemiesPositionList.add(new Point(6, 4));
-		this.enemiesPositionList.add(new Point(3, 7));
-		this.enemiesPositionList.add(new Point(2, 12));
-		this.enemiesPositionList.add(new Point(5, 10));
+		this.alliesPositionList.addAll(SpawnZones.defaultAllyPoints());
+		this.enemiesPositionList.addAll(SpawnZones.defaultEnemyPoints());
 	}
 
 	/**
@@ -562,16 +619,20 @@ public abstract class AbstractMap implements view.map.Map {
 			return;
 		}
 
+		// Clear the old cell
+		Point source = this.characterMap.get(character);
+		JButton sourceButton = this.gridPanel.getButtonAt(source.getX(), source.getY());
+		sourceButton.setIcon(null);
+		this.tooltipManager.removeCharacterTooltip(sourceButton);
+
 		// Update the map with the new position
-		this.removeCharacter(character);
 		this.characterMap.put(character, target);
+		this.battleBoard.move(character, target);
 
-		// Set the image in the new button
-		JButton targetButton = this.gridPanel.getGridButtons()[target.getX()][target.getY()];
-		targetButton.setIcon(new ImageIcon(character.getImage()));
-
-		this.updateToolTip();	    
-
+		// Set the image and the tooltip in the new button, the other characters are unchanged
+		JButton targetButton = this.gridPanel.getButtonAt(target.getX(), target.getY());
+		targetButton.setIcon(this.createCharacterIcon(character));
+		this.tooltipManager.showCharacterTooltip(character, targetButton);
 	}
 
 	/**
@@ -594,15 +655,14 @@ public abstract class AbstractMap implements view.map.Map {
 
 		// Remove character from map
 		this.characterMap.remove(character);
+		this.battleBoard.remove(character);
 
 		// Remove image from button
-		JButton targetButton = this.gridPanel.getGridButtons()[target.getX()][target.getY()];
+		JButton targetButton = this.gridPanel.getButtonAt(target.getX(), target.getY());
 		targetButton.setIcon(null);
 
 		this.tooltipManager.removeCharacterTooltip(targetButton);   
 
-		this.updateToolTip();	    
-
 		this.updateInfoLabels();
 	}
 
@@ -613,11 +673,28 @@ public abstract class AbstractMap implements view.map.Map {
 	public void updateToolTip() {
 		// For constant tooltip updates
 		for (Entry<Character, Point> entry : this.characterMap.entrySet()) {
-			this.tooltipManager.removeCharacterTooltip(this.gridPanel.getGridButtons()[entry.getValue().getX()][entry.getValue().getY()]);
+			this.tooltipManager.removeCharacterTooltip(this.gridPanel.getButtonAt(entry.getValue().getX(), entry.getValue().getY()));
 		}
 
 		for (Entry<Character, Point> entry : this.characterMap.entrySet()) {
-			this.tooltipManager.showCharacterTooltip(entry.getKey(), this.gridPanel.getGridButtons()[entry.getValue().getX()][entry.getValue().getY()]);
+			this.tooltipManager.showCharacterTooltip(entry.getKey(), this.gridPanel.getButtonAt(entry.getValue().getX(), entry.getValue().getY()));
+		}
+	}
+
+	/**
+	 * Updates the tooltips of the given characters only, after their stats changed.
+	 * 
+	 * @param characters The characters whose tooltip must be refreshed
+	 */
+	public void updateToolTip(Character... characters) {
+		for (Character character : characters) {
+			Point position = this.characterMap.get(character);
+
+			if (position != null) {
+				JButton button = this.gridPanel.getButtonAt(position.getX(), position.getY());
+				this.tooltipManager.removeCharacterTooltip(button);
+				this.tooltipManager.showCharacterTooltip(character, button);
+			}
 		}
 	}
 
@@ -626,42 +703,34 @@ public abstract class AbstractMap implements view.map.Map {
 	 * Used for cleanup when closing the map.
 	 */
 	public void removeAllEvent() {
-		JButton[][] buttonGrid = this.gridPanel.getGridButtons();
-
-		for (JButton[] row : buttonGrid) {
-			for (JButton button : row) {
-				if (button == null) {
-					continue; // Skip any empty cells
-				}
-
-				// Remove ActionListeners if present
-				ActionListener[] als = button.getActionListeners();
-				if (als != null && als.length > 0) {
-					for (ActionListener al : als) {
-						button.removeActionListener(al);
-					}
+		for (JButton button : this.gridPanel.getCreatedButtons()) {
+			// Remove ActionListeners if present
+			ActionListener[] als = button.getActionListeners();
+			if (als != null && als.length > 0) {
+				for (ActionListener al : als) {
+					button.removeActionListener(al);
 				}
+			}
 
-				// Remove MouseListeners if present
-				MouseListener[] mls = button.getMouseListeners();
-				if (mls != null && mls.length > 0) {
-					for (MouseListener ml : mls) {
-						button.removeMouseListener(ml);
-					}
+			// Remove MouseListeners if present
+			MouseListener[] mls = button.getMouseListeners();
+			if (mls != null && mls.length > 0) {
+				for (MouseListener ml : mls) {
+					button.removeMouseListener(ml);
 				}
+			}
 
-				// Remove MouseMotionListeners if present
-				MouseMotionListener[] mmls = button.getMouseMotionListeners();
-				if (mmls != null && mmls.length > 0) {
-					for (MouseMotionListener mml : mmls) {
-						button.removeMouseMotionListener(mml);
-					}
+			// Remove MouseMotionListeners if present
+			MouseMotionListener[] mmls = button.getMouseMotionListeners();
+			if (mmls != null && mmls.length > 0) {
+				for (MouseMotionListener mml : mmls) {
+					button.removeMouseMotionListener(mml);
 				}
+			}
 
-				// Remove tooltip only if it exists
-				if (button.getToolTipText() != null) {
-					this.tooltipManager.removeCharacterTooltip(button);
-				}
+			// Remove tooltip only if it exists
+			if (button.getToolTipText() != null) {
+				this.tooltipManager.removeCharacterTooltip(button);
 			}
 		}
 
@@ -687,12 +756,21 @@ public abstract class AbstractMap implements view.map.Map {
 	}
 
 	/**
-	 * Gets the grid of buttons representing the map.
+	 * Gets the spatial state of the battle on this map.
+	 * 
+	 * @return The battle board, updated on every spawn, move and removal
+	 */
+	public BattleBoard getBattleBoard() {
+		return this.battleBoard;
+	}
+
+	/**
+	 * Gets the size of the grid of this map.
 	 * 
-	 * @return 2D array of JButtons representing the grid
+	 * @return The grid bounds
 	 */
-	public JButton[][] getGridButtons() {
-		return this.gridPanel.getGridButtons();
+	public GridBounds getGridBounds() {
+		return this.gridBounds;
 	}
 
 	/**
@@ -740,12 +818,6 @@ public abstract class AbstractMap implements view.map.Map {
 	public boolean isPositionOccupied(Point point) {
 		if (point == null) return false;
 
-		return this.alliesList.stream()
-				.filter(ally -> ally != null && ally.getPosition() != null)
-				.anyMatch(ally -> ally.getPosition().equals(point)) 
-				|| 
-				this.enemiesList.stream()
-				.filter(enemy -> enemy != null && enemy.getPosition() != null)
-				.anyMatch(enemy -> enemy.getPosition().equals(point));
+		return this.battleBoard.isOccupied(point);
 	}
 }
\ No newline at end of file
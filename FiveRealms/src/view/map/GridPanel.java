@@ -1,94 +1,398 @@
 package view.map;
 
-import java.awt.GridLayout;
+import java.awt.Component;
+import java.awt.event.MouseWheelEvent;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
 import javax.swing.JButton;
-import javax.swing.JLayeredPane;
 import javax.swing.JPanel;
+import model.point.GridBounds;
 import model.point.Point;
 
-public class GridPanel extends JPanel 
+/**
+ * Transparent panel holding the clickable cells of a map.
+ * The panel is a viewport on the grid: it can be scrolled with the mouse wheel
+ * (shift + wheel for horizontal) and zoomed with ctrl + wheel. A cell gets a button
+ * only when the game first needs it (a character, a highlight or a listener), and only
+ * the buttons of the visible cells are added to the panel, so painting and hit-testing
+ * never depend on the size of the whole grid.
+ * Grids that fit the panel, like the default 20x15 one, fill it exactly and do not scroll.
+ */
+public class GridPanel extends JPanel
 {
 
     /**
-	 * 
+	 *
 	 */
 	private static final long serialVersionUID = 1L;
-	private JButton[][] gridButtons;  // 2D array for grid buttons
+
+	/** Smallest cell size in pixels at zoom 1, larger grids scroll instead of shrinking further */
+	private static final int MIN_CELL_SIZE = 24;
+
+	private static final double MIN_ZOOM  = 0.5;
+	private static final double MAX_ZOOM  = 3.0;
+	private static final double ZOOM_STEP = 1.1;
+
+	/** Number of cells scrolled by one wheel notch */
+	private static final int SCROLL_STEP_CELLS = 2;
+
+	/** Client property holding the number of mouse listeners a button has when created */
+	private static final String BASE_MOUSE_LISTENERS = "gridPanel.baseMouseListeners";
+
+	private final transient GridBounds gridBounds;
+
+	/** Buttons of the cells in use, the other cells have none */
+	private final transient Map<Point, JButton> gridButtons;
+
+	private double baseCellWidth;
+	private double baseCellHeight;
+	private double minZoom;
+	private double zoom;
+
+	/** Pixel offset of the viewport inside the whole grid */
+	private int offsetX;
+	private int offsetY;
 
     /**
      * Constructor for the GridPanel.
-     * @param layeredPane The JLayeredPane where the panel will be placed.
-     * @param enemiesList List of enemy characters.
-     * @param alliesList List of allied characters.
+     * @param gridBounds The size of the grid.
      */
-    public GridPanel(JLayeredPane layeredPane) 
+    public GridPanel(GridBounds gridBounds)
     {
-        super(new GridLayout(AbstractMap.GRID_SIZE_WIDTH, AbstractMap.GRID_SIZE_HEIGHT)); // Setting GridLayout
-        
-        //this.layeredPane = layeredPane;
-        
-        this.gridButtons = new JButton[AbstractMap.GRID_SIZE_WIDTH][AbstractMap.GRID_SIZE_HEIGHT];
-        
-        initializeGrid();
+        super(null);
+
+        this.gridBounds  = gridBounds;
+        this.gridButtons = new HashMap<>();
+        this.minZoom = 1.0;
+        this.zoom    = 1.0;
+
+        this.addMouseWheelListener(this::handleMouseWheel);
+    }
+
+    @Override
+    public void setBounds(int x, int y, int width, int height)
+    {
+        super.setBounds(x, y, width, height);
+        this.computeCellSize();
+        this.updateViewport();
     }
 
     /**
-     * Initializes the grid panel with buttons, setting up their properties and adding them to the panel.
+     * Gets the button of a cell, creating it the first time the cell is used.
+     * @param x The x coordinate of the cell.
+     * @param y The y coordinate of the cell.
+     * @return The button of the cell, or null if the cell is outside the grid.
      */
-    private void initializeGrid() 
+    public JButton getButtonAt(int x, int y)
     {
-        this.removeAll(); // Clear all components
+        if (!this.gridBounds.contains(x, y))
+        {
+            return null;
+        }
+
+        Point cell = new Point(x, y);
+        JButton button = this.gridButtons.get(cell);
 
-        for (int i = 0; i < AbstractMap.GRID_SIZE_WIDTH; i++) 
+        if (button == null)
         {
-            for (int j = 0; j < AbstractMap.GRID_SIZE_HEIGHT; j++) 
-            {   
-                JButton button = new JButton(); // Create button
-                                
-                button.setContentAreaFilled(false);
-                button.setBorderPainted(false);
-                
-                this.gridButtons[i][j] = button;
-                
+            button = new JButton();
+            button.setContentAreaFilled(false);
+            button.setBorderPainted(false);
+            button.putClientProperty(BASE_MOUSE_LISTENERS, button.getMouseListeners().length);
+
+            this.gridButtons.put(cell, button);
+
+            if (this.isCellVisible(x, y))
+            {
+                this.placeButton(cell, button);
                 this.add(button);
             }
-        } 
+        }
+        return button;
+    }
+
+    /**
+     * Gets the buttons of the cells currently in use.
+     * @return The buttons created so far.
+     */
+    public Collection<JButton> getCreatedButtons()
+    {
+        return new ArrayList<>(this.gridButtons.values());
+    }
+
+    /**
+     * Resets every cell to its transparent state and drops the buttons no longer in use.
+     */
+    public void resetColors()
+    {
+        Iterator<JButton> iterator = this.gridButtons.values().iterator();
+
+        while (iterator.hasNext())
+        {
+            JButton button = iterator.next();
+            button.setOpaque(false);
+            button.setContentAreaFilled(false);
+
+            if (this.isIdle(button))
+            {
+                iterator.remove();
+                this.remove(button);
+            }
+        }
 
-        this.revalidate(); 
         this.repaint();
     }
 
     /**
-     * Gets the array of grid buttons.
-     * @return 2D array of grid buttons.
+     * Scrolls the viewport so that a cell is at its center, when the grid is larger than the panel.
+     * @param cell The cell to center.
      */
-    public JButton[][] getGridButtons() {
-        return gridButtons;
+    public void centerOn(Point cell)
+    {
+        if (!this.gridBounds.contains(cell))
+        {
+            return;
+        }
+
+        this.offsetX = (int) ((cell.getY() + 0.5) * this.getCellWidth()) - this.getWidth() / 2;
+        this.offsetY = (int) ((cell.getX() + 0.5) * this.getCellHeight()) - this.getHeight() / 2;
+        this.updateViewport();
     }
 
+    /**
+     * Changes the zoom, keeping the given panel location on the same grid position.
+     * @param newZoom The requested zoom, clamped to the allowed range.
+     * @param anchorX The x panel coordinate to keep still.
+     * @param anchorY The y panel coordinate to keep still.
+     */
+    public void setZoom(double newZoom, int anchorX, int anchorY)
+    {
+        double clamped = Math.max(this.minZoom, Math.min(MAX_ZOOM, newZoom));
+        double ratio   = clamped / this.zoom;
+
+        this.zoom    = clamped;
+        this.offsetX = (int) ((this.offsetX + anchorX) * ratio) - anchorX;
+        this.offsetY = (int) ((this.offsetY + anchorY) * ratio) - anchorY;
+        this.updateViewport();
+    }
+
+    public double getZoom()
+    {
+        return this.zoom;
+    }
 
     /**
-     * Gets a map of buttons that have images (icons) set, along with their grid positions.    
+     * Gets a map of buttons that have images (icons) set, along with their grid positions.
      * @return
     */
-	public Map<JButton, Point>  getImageButtonList() 
+	public Map<JButton, Point>  getImageButtonList()
 	{
 		Map<JButton, Point> buttonsWithImage = new HashMap<>();
-		
-		for (int y = 0; y < gridButtons.length; y++) 
+
+		for (Entry<Point, JButton> entry : this.gridButtons.entrySet())
 		{
-		    for (int x = 0; x < gridButtons[y].length; x++) 
-		    {
-		        JButton button = gridButtons[y][x];
-
-		        if (button.getIcon() != null)
-		        {
-		        	buttonsWithImage.put(button, new Point(x, y));
-		        }
-		    }
+	        if (entry.getValue().getIcon() != null)
+	        {
+	        	buttonsWithImage.put(entry.getValue(), new Point(entry.getKey().getY(), entry.getKey().getX()));
+	        }
 		}
         return buttonsWithImage;
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Computes the cell size at zoom 1 and the smallest zoom that still fills the panel.
+	 */
+	private void computeCellSize()
+	{
+		if (this.getWidth() <= 0 || this.getHeight() <= 0)
+		{
+			return;
+		}
+
+		// Rows of the panel are the x coordinates, columns the y coordinates
+		this.baseCellWidth  = Math.max(MIN_CELL_SIZE, this.getWidth() / (double) this.gridBounds.getHeight());
+		this.baseCellHeight = Math.max(MIN_CELL_SIZE, this.getHeight() / (double) this.gridBounds.getWidth());
+
+		double fillZoom = Math.max(this.getWidth() / (this.baseCellWidth * this.gridBounds.getHeight()),
+		                           this.getHeight() / (this.baseCellHeight * this.gridBounds.getWidth()));
+		this.minZoom = Math.max(MIN_ZOOM, fillZoom);
+		this.zoom    = Math.max(this.minZoom, this.zoom);
+	}
+
+	private double getCellWidth()
+	{
+		return this.baseCellWidth * this.zoom;
+	}
+
+	private double getCellHeight()
+	{
+		return this.baseCellHeight * this.zoom;
+	}
+
+	/**
+	 * Clamps the viewport to the grid and lays out the buttons of the visible cells,
+	 * removing from the panel the ones that scrolled out of view.
+	 */
+	private void updateViewport()
+	{
+		if (this.baseCellWidth <= 0 || this.baseCellHeight <= 0)
+		{
+			return;
+		}
+
+		double cellWidth  = this.getCellWidth();
+		double cellHeight = this.getCellHeight();
+
+		int maxOffsetX = Math.max(0, (int) Math.ceil(cellWidth * this.gridBounds.getHeight()) - this.getWidth());
+		int maxOffsetY = Math.max(0, (int) Math.ceil(cellHeight * this.gridBounds.getWidth()) - this.getHeight());
+		this.offsetX = Math.max(0, Math.min(maxOffsetX, this.offsetX));
+		this.offsetY = Math.max(0, Math.min(maxOffsetY, this.offsetY));
+
+		int firstRow = this.firstVisibleRow();
+		int lastRow  = this.lastVisibleRow();
+		int firstCol = this.firstVisibleColumn();
+		int lastCol  = this.lastVisibleColumn();
+
+		// Visit whichever is smaller: the visible cells or the buttons in use
+		List<Point> visibleCells = new ArrayList<>();
+		long visibleCount = (long) (lastRow - firstRow + 1) * (lastCol - firstCol + 1);
+
+		if (this.gridButtons.size() < visibleCount)
+		{
+			for (Point cell : this.gridButtons.keySet())
+			{
+				if (this.isCellVisible(cell.getX(), cell.getY()))
+				{
+					visibleCells.add(cell);
+				}
+			}
+		}
+		else
+		{
+			for (int row = firstRow; row <= lastRow; row++)
+			{
+				for (int col = firstCol; col <= lastCol; col++)
+				{
+					Point cell = new Point(row, col);
+					if (this.gridButtons.containsKey(cell))
+					{
+						visibleCells.add(cell);
+					}
+				}
+			}
+		}
+
+		Set<Component> visibleButtons = new HashSet<>();
+		for (Point cell : visibleCells)
+		{
+			JButton button = this.gridButtons.get(cell);
+			this.placeButton(cell, button);
+
+			if (button.getParent() != this)
+			{
+				this.add(button);
+			}
+			visibleButtons.add(button);
+		}
+
+		for (Component component : this.getComponents())
+		{
+			if (!visibleButtons.contains(component))
+			{
+				this.remove(component);
+			}
+		}
+
+		this.repaint();
+	}
+
+	/**
+	 * Sets the bounds of a cell button according to the current zoom and scroll.
+	 */
+	private void placeButton(Point cell, JButton button)
+	{
+		double cellWidth  = this.getCellWidth();
+		double cellHeight = this.getCellHeight();
+
+		int left   = (int) Math.round(cell.getY() * cellWidth) - this.offsetX;
+		int top    = (int) Math.round(cell.getX() * cellHeight) - this.offsetY;
+		int right  = (int) Math.round((cell.getY() + 1) * cellWidth) - this.offsetX;
+		int bottom = (int) Math.round((cell.getX() + 1) * cellHeight) - this.offsetY;
+		button.setBounds(left, top, right - left, bottom - top);
+	}
+
+	private boolean isCellVisible(int x, int y)
+	{
+		return x >= this.firstVisibleRow() && x <= this.lastVisibleRow()
+			&& y >= this.firstVisibleColumn() && y <= this.lastVisibleColumn();
+	}
+
+	private int firstVisibleRow()
+	{
+		return this.baseCellHeight > 0 ? Math.max(0, (int) (this.offsetY / this.getCellHeight())) : 0;
+	}
+
+	private int lastVisibleRow()
+	{
+		return this.baseCellHeight > 0
+			? Math.min(this.gridBounds.getWidth() - 1, (int) ((this.offsetY + this.getHeight() - 1) / this.getCellHeight()))
+			: -1;
+	}
+
+	private int firstVisibleColumn()
+	{
+		return this.baseCellWidth > 0 ? Math.max(0, (int) (this.offsetX / this.getCellWidth())) : 0;
+	}
+
+	private int lastVisibleColumn()
+	{
+		return this.baseCellWidth > 0
+			? Math.min(this.gridBounds.getHeight() - 1, (int) ((this.offsetX + this.getWidth() - 1) / this.getCellWidth()))
+			: -1;
+	}
+
+	/**
+	 * Checks whether a button is back to its initial state and can be dropped.
+	 */
+	private boolean isIdle(JButton button)
+	{
+		Object baseListeners = button.getClientProperty(BASE_MOUSE_LISTENERS);
+
+		return button.getIcon() == null
+			&& !button.isOpaque()
+			&& !button.isContentAreaFilled()
+			&& button.getActionListeners().length == 0
+			&& baseListeners instanceof Integer
+			&& button.getMouseListeners().length <= (Integer) baseListeners;
+	}
+
+	/**
+	 * Scrolls with the mouse wheel, horizontally with shift, and zooms with ctrl.
+	 */
+	private void handleMouseWheel(MouseWheelEvent e)
+	{
+		int notches = e.getWheelRotation();
+
+		if (e.isControlDown())
+		{
+			this.setZoom(this.zoom * Math.pow(ZOOM_STEP, -notches), e.getX(), e.getY());
+		}
+		else if (e.isShiftDown())
+		{
+			this.offsetX += (int) (notches * SCROLL_STEP_CELLS * this.getCellWidth());
+			this.updateViewport();
+		}
+		else
+		{
+			this.offsetY += (int) (notches * SCROLL_STEP_CELLS * this.getCellHeight());
+			this.updateViewport();
+		}
+	}
+}
@@ -1,6 +1,7 @@
 package view.map;
 
 import model.characters.Character;
+import model.point.GridBounds;
 import controller.GameController;
 import java.util.List;
 
@@ -18,4 +19,17 @@ public class LevelMap extends AbstractMap{
 	{
 		super(enemiesList, alliesList, numLevel, controller);
 	}
+	
+	/** Constructor for LevelMap with a custom grid size
+	 * 
+	 * @param enemiesList
+	 * @param alliesList
+	 * @param numLevel
+	 * @param controller
+	 * @param gridBounds
+	 */
+	public LevelMap(List<Character> enemiesList, List<Character> alliesList, int numLevel, GameController controller, GridBounds gridBounds) 
+	{
+		super(enemiesList, alliesList, numLevel, controller, gridBounds);
+	}
 }
@@ -56,7 +56,7 @@ public class TutorialMap extends AbstractMap
 	 */    
     public void highlightAlliesArea(Runnable afterAction) 
     {
-        highlightRows(0, AbstractMap.GRID_SIZE_HEIGHT / 2, ALLY_HIGHLIGHT, afterAction);
+        highlightRows(0, this.getGridBounds().getHeight() / 2, ALLY_HIGHLIGHT, afterAction);
     }
     
 	/**
@@ -67,7 +67,7 @@ public class TutorialMap extends AbstractMap
 	 */
     public void highlightEnemiesArea(Runnable afterAction) 
     {
-        highlightRows(AbstractMap.GRID_SIZE_WIDTH / 2, AbstractMap.GRID_SIZE_WIDTH - 1, ENEMY_HIGHLIGHT, afterAction);
+        highlightRows(this.getGridBounds().getWidth() / 2, this.getGridBounds().getWidth() - 1, ENEMY_HIGHLIGHT, afterAction);
     }
     
 	/**
@@ -75,16 +75,12 @@ public class TutorialMap extends AbstractMap
 	 */
     public void clearHighlights() 
     {
-        for (int i = 0; i < AbstractMap.GRID_SIZE_WIDTH; i++) 
+        for (JButton btn : gridPanel.getCreatedButtons()) 
         {
-            for (int j = 0; j < AbstractMap.GRID_SIZE_HEIGHT; j++) 
-            {
-                JButton btn = gridPanel.getGridButtons()[i][j];
-                btn.setBackground(null);
-                btn.setOpaque(false);
-                btn.setContentAreaFilled(false);
-                btn.setBorderPainted(false);
-            }
+            btn.setBackground(null);
+            btn.setOpaque(false);
+            btn.setContentAreaFilled(false);
+            btn.setBorderPainted(false);
         }
     }
     
@@ -152,8 +148,8 @@ public class TutorialMap extends AbstractMap
     {
         // Evidenzia le righe
         for (int i = startRow; i <= endRow; i++) {
-            for (int j = 0; j < AbstractMap.GRID_SIZE_HEIGHT; j++) {
-                JButton btn = gridPanel.getGridButtons()[i][j];
+            for (int j = 0; j < this.getGridBounds().getHeight(); j++) {
+                JButton btn = gridPanel.getButtonAt(i, j);
                 btn.setBackground(color);
                 btn.setOpaque(false);
                 btn.setContentAreaFilled(true);
@@ -2,10 +2,13 @@ package view.menu;
 
 import java.awt.*;
 import javax.swing.*;
+import model.gameStatus.manager.AssetManager;
+import view.GameWindow;
 
 /**
  * Abstract base class for all menu screens in the FiveRealms game.
  * Provides common functionality, styling, and layout management for consistent UI experience.
+ * Menus are prebuilt screens of the shared {@link GameWindow}, showing one is a card switch.
  */
 public abstract class AbstractMenu extends JPanel implements Menu   
 {
@@ -34,7 +37,6 @@ public abstract class AbstractMenu extends JPanel implements Menu
     protected static final int STANDARD_BUTTON_SPACING    = 15;
     
     // === INSTANCE VARIABLES ===
-    protected final JFrame frame;
     protected final JPanel mainPanel;
     protected final String windowTitle;
     
@@ -45,32 +47,29 @@ public abstract class AbstractMenu extends JPanel implements Menu
     protected AbstractMenu(String title) 
     {
         this.windowTitle = title;
-        this.frame     = createMainFrame();
         this.mainPanel = createMainPanel();
         initializeComponents();
         setupLayout();
-        finalizeFrame();
+        registerScreen();
     }
     
     /**
-     * Makes the menu visible to the user by displaying its frame.
+     * Makes the menu visible to the user by switching the game window to it.
      */
     @Override
     public void show() 
     {
-        this.frame.setVisible(true);
+        GameWindow.getInstance().showScreen(getScreenName(), this.mainPanel, this.windowTitle, 
+                                            DEFAULT_WINDOW_WIDTH, DEFAULT_WINDOW_HEIGHT);
     }
 
     /**
-     * Closes the menu by disposing its frame, releasing any resources associated with it.
+     * Leaves the menu. Its panel stays cached in the game window, so showing it again is immediate.
      */
     @Override
     public void close() 
     {
-        if (this.frame != null) 
-        {
-            this.frame.dispose();
-        }
+        GameWindow.getInstance().hideScreen(this.mainPanel);
     }
 
     /**
@@ -85,28 +84,12 @@ public abstract class AbstractMenu extends JPanel implements Menu
 
     
     /**
-     * Creates and configures the main application frame.
-     * @return Configured JFrame
+     * Gets the name of this menu's screen in the game window.
+     * @return The screen name
      */
-    private JFrame createMainFrame() 
+    private String getScreenName() 
     {
-        return createMainFrame(DEFAULT_WINDOW_WIDTH, DEFAULT_WINDOW_HEIGHT);
-    }
-    
-    /**
-     * Creates and configures the main application frame with custom dimensions.
-     * @param width Window width
-     * @param height Window height
-     * @return Configured JFrame
-     */
-    private JFrame createMainFrame(int width, int height) 
-    {
-        JFrame newFrame = new JFrame(windowTitle);
-        newFrame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
-        newFrame.setSize(width, height);
-        newFrame.setLocationRelativeTo(null);
-        newFrame.setResizable(false);
-        return newFrame;
+        return getClass().getSimpleName();
     }
     
     /**
@@ -119,14 +102,12 @@ public abstract class AbstractMenu extends JPanel implements Menu
         {
 			private static final long serialVersionUID = 1L;
 			
-			private ImageIcon backgroundImage;
+			private Image backgroundImage;
             
             {
-                try 
-                {
-                    backgroundImage = new ImageIcon(getBackgroundImagePath());
-                } 
-                catch (Exception e)
+                // Decoded once by the asset preloader and shared by every menu using the same background
+                backgroundImage = AssetManager.getInstance().getImage(getBackgroundImagePath());
+                if (backgroundImage == null)
                 {
                     System.err.println("Warning: Could not load background image: " + getBackgroundImagePath());
                 }
@@ -136,12 +117,12 @@ public abstract class AbstractMenu extends JPanel implements Menu
             protected void paintComponent(Graphics g) 
             {
                 super.paintComponent(g);
-                if (backgroundImage != null && backgroundImage.getIconWidth() > 0) 
+                if (backgroundImage != null) 
                 {
                     Graphics2D g2d = (Graphics2D) g.create();
                     g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, 
                                        RenderingHints.VALUE_INTERPOLATION_BILINEAR);
-                    g2d.drawImage(backgroundImage.getImage(), 0, 0, 
+                    g2d.drawImage(backgroundImage, 0, 0, 
                                 getWidth(), getHeight(), this);
                     g2d.dispose();
                 } 
@@ -286,13 +267,11 @@ public abstract class AbstractMenu extends JPanel implements Menu
     }
     
     /**
-     * Finalizes the frame setup.
+     * Registers the built panel in the game window, so the first show is only a card switch.
      */
-    private void finalizeFrame() 
+    private void registerScreen() 
     {
-        this.frame.add(this.mainPanel);
-        this.frame.revalidate();
-        this.frame.repaint();
+        GameWindow.getInstance().registerScreen(getScreenName(), this.mainPanel);
     }
     
     // === ABSTRACT METHODS ===
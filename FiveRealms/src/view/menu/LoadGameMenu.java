@@ -5,6 +5,7 @@ import java.awt.event.ActionListener;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.function.Consumer;
+import model.gameStatus.manager.AssetManager;
 
 public class LoadGameMenu extends AbstractMenu
 {   
@@ -177,10 +178,7 @@ public class LoadGameMenu extends AbstractMenu
     private JButton createOptionsButton(File saveFile) 
     {
         // Background image
-        ImageIcon icon = new ImageIcon("images/vertical_ellipsis.png");
-
-        Image scaledImage = icon.getImage().getScaledInstance(24, 24, Image.SCALE_SMOOTH);
-        icon = new ImageIcon(scaledImage);
+        ImageIcon icon = AssetManager.getInstance().getScaledIcon("images/vertical_ellipsis.png", 24, 24);
 
         // Button styling
         JButton optionsButton = new JButton(icon);
@@ -10,6 +10,7 @@ public class MainMenu extends AbstractMenu
 	private JButton startButton;
     private JButton loadButton;
     private JButton exitButton;
+    private JLabel loadingLabel;
     
     /**
      * Constructor that initializes the main menu frame and all its components
@@ -27,6 +28,9 @@ public class MainMenu extends AbstractMenu
         this.startButton = super.createStyledButton("New Game");
         this.loadButton  = super.createStyledButton("Load Game");
         this.exitButton  = super.createStyledButton("Exit");
+        
+        this.loadingLabel = super.createSubtitleLabel("Loading assets...");
+        this.loadingLabel.setVisible(false);
     }
     
     /** === LAYOUT METHODS ===*/
@@ -67,6 +71,13 @@ public class MainMenu extends AbstractMenu
         gbc.weighty = 0.4;
         gbc.fill = GridBagConstraints.BOTH;
         this.mainPanel.add(Box.createGlue(), gbc);
+        
+        // Asset loading progress
+        gbc.gridy = 5;
+        gbc.weighty = 0;
+        gbc.fill = GridBagConstraints.NONE;
+        gbc.insets = new Insets(0, 20, 15, 20);
+        this.mainPanel.add(this.loadingLabel, gbc);
     }
     
     // === LISTENER METHODS ===
@@ -115,4 +126,14 @@ public class MainMenu extends AbstractMenu
     public void setLoadButtonVisible(boolean visible) {
         this.loadButton.setVisible(visible);
     }
+    
+    /**
+     * Shows the progress of the background asset preload, hiding the label once it completes.
+     * @param loaded number of assets decoded so far
+     * @param total total number of assets to decode
+     */
+    public void setLoadingProgress(int loaded, int total) {
+        this.loadingLabel.setText("Loading assets... " + (loaded * 100 / total) + "%");
+        this.loadingLabel.setVisible(loaded < total);
+    }
 }
\ No newline at end of file
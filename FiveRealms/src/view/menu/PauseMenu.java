@@ -3,6 +3,7 @@ package view.menu;
 import java.awt.*;
 import java.awt.event.*;
 import javax.swing.*;
+import model.gameStatus.manager.AssetManager;
 
 public class PauseMenu implements Menu
 {
@@ -11,6 +12,7 @@ public class PauseMenu implements Menu
     
     private JButton resumeButton;
     private JButton saveButton;
+    private JButton autoResolveButton;
     private JButton mainMenuButton;
 	private JButton menuIcon;
 	private JPanel pauseMenuPanel;	
@@ -94,7 +96,7 @@ public class PauseMenu implements Menu
                 
                 // Pannello centrale con stile pergamena/legno
                 int panelWidth = 400;
-                int panelHeight = 350;
+                int panelHeight = 415;
                 int x = (getWidth() - panelWidth) / 2;
                 int y = (getHeight() - panelHeight) / 2;
                 
@@ -190,14 +192,17 @@ public class PauseMenu implements Menu
         buttonPanel.setOpaque(false);
 
         this.resumeButton   = createButton("Resume", "⚔");
-        this.saveButton     = createButton("Save Game", "📜");
-        this.mainMenuButton = createButton("Back to Main Menu", "🚪");
+        this.saveButton        = createButton("Save Game", "📜");
+        this.autoResolveButton = createButton("Auto-resolve", "⏩");
+        this.mainMenuButton    = createButton("Back to Main Menu", "🚪");
 
         buttonPanel.add(Box.createRigidArea(new Dimension(0, 20)));
         buttonPanel.add(resumeButton);
         buttonPanel.add(Box.createRigidArea(new Dimension(0, 15)));
         buttonPanel.add(saveButton);
         buttonPanel.add(Box.createRigidArea(new Dimension(0, 15)));
+        buttonPanel.add(autoResolveButton);
+        buttonPanel.add(Box.createRigidArea(new Dimension(0, 15)));
         buttonPanel.add(mainMenuButton);
 
         gbc.gridy++;
@@ -229,6 +234,22 @@ public class PauseMenu implements Menu
         this.saveButton.addActionListener(listener);
     }
     
+    /**
+     * Adds an ActionListener to the auto-resolve button
+     * @param listener The ActionListener to handle auto-resolve button click events
+     */
+    public void addAutoResolveListener(ActionListener listener) {
+        this.autoResolveButton.addActionListener(listener);
+    }
+    
+    /**
+     * Enables the auto-resolve button when the rest of the battle can be resolved
+     * @param enabled true to enable the button, false to disable it
+     */
+    public void setAutoResolveEnabled(boolean enabled) {
+        this.autoResolveButton.setEnabled(enabled);
+    }
+    
     /**
      * Adds an ActionListener to the exit button
      * @param listener The ActionListener to handle exit button click events
@@ -325,8 +346,7 @@ public class PauseMenu implements Menu
      */
     private void createPauseButtonIcon() 
     {
-        this.menuIcon = new JButton(new ImageIcon(new ImageIcon("images/pauseMenu.png")
-                .getImage().getScaledInstance(70, 70, Image.SCALE_SMOOTH)));
+        this.menuIcon = new JButton(AssetManager.getInstance().getScaledIcon("images/pauseMenu.png", 70, 70));
 
         this.menuIcon.setBounds(10, 10, 74, 74); 
         this.menuIcon.setBorderPainted(false);
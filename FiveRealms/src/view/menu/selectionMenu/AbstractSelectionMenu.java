@@ -1,11 +1,15 @@
 package view.menu.selectionMenu;
 
 import javax.swing.*;
+import model.gameStatus.manager.AssetManager;
+import view.GameWindow;
 import view.menu.Menu;
 import java.awt.*;
 import java.awt.event.*;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Abstract base class for character selection menus.
@@ -19,33 +23,35 @@ public abstract class AbstractSelectionMenu implements Menu
     protected static final Color TITLE_BACKGROUND = new Color(0, 0, 0, 200);
     protected static final Color BUTTON_BACKGROUND = new Color(92, 51, 23);
     
-    protected JFrame frame;
+    protected JPanel contentPanel;
     protected JButton nextButton;
     protected final List<JPanel> selectedPanels     = new ArrayList<>();
     protected final List<String> selectedCharacters = new ArrayList<>();
+    protected final Map<String, JPanel> characterPanels = new LinkedHashMap<>();
     protected int maxSelectableCharacters;
     
     
     /**
-     * Makes the menu visible to the user by displaying its frame.
+     * Builds the menu content and switches the game window to it.
      */
     @Override
     public void show() 
     {
-        this.initializeFrame();
+        this.initializeContentPanel();
         this.setupBackground();
-        this.frame.setVisible(true);
+        GameWindow.getInstance().showScreen(getClass().getSimpleName(), this.contentPanel, 
+                                            "FiveRealms - " + getMenuType() + " Menu", 1080, 720);
     }
 
     /**
-     * Closes the menu by disposing its frame, releasing any resources associated with it.
+     * Closes the menu by removing its screen from the game window.
      */
     @Override
     public void close() 
     {
-        if (this.frame != null) 
+        if (this.contentPanel != null) 
         {
-            this.frame.dispose();
+            GameWindow.getInstance().removeScreen(this.contentPanel);
         }
     }
 
@@ -56,19 +62,15 @@ public abstract class AbstractSelectionMenu implements Menu
      */
     @Override
     public JPanel getPanel() {
-        return this.frame != null ? (JPanel) this.frame.getContentPane() : null;
+        return this.contentPanel;
     }
     
         
     /**
-     * Initialize the main frame with common properties.
+     * Initialize the panel holding the menu content.
      */
-    private void initializeFrame() {
-    	this.frame = new JFrame("FiveRealms - " + getMenuType() + " Menu");
-    	this.frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
-    	this.frame.setSize(1080, 720);
-    	this.frame.setLocationRelativeTo(null);
-    	this.frame.setResizable(false);
+    private void initializeContentPanel() {
+    	this.contentPanel = new JPanel(new BorderLayout());
     }
     
     /**
@@ -78,7 +80,7 @@ public abstract class AbstractSelectionMenu implements Menu
     {
         // Random background
         String bgPath    = "images/background/background" + (int)(Math.random() * 6) + ".jpg";
-        ImageIcon bgIcon = new ImageIcon(new ImageIcon(bgPath).getImage().getScaledInstance(1080, 720, Image.SCALE_SMOOTH));
+        ImageIcon bgIcon = AssetManager.getInstance().getScaledIcon(bgPath, 1080, 720);
         JLabel bgLabel   = new JLabel(bgIcon);
         
         bgLabel.setLayout(new GridBagLayout());
@@ -95,7 +97,10 @@ public abstract class AbstractSelectionMenu implements Menu
         // Characters
         this.setupCharacters(bgLabel, gbc);
 
-        this.frame.add(bgLabel);
+        // Anything specific to the subclass
+        this.setupExtras(bgLabel, gbc);
+
+        this.contentPanel.add(bgLabel);
     }
     
     /**
@@ -245,9 +250,7 @@ public abstract class AbstractSelectionMenu implements Menu
         panel.setMaximumSize(new Dimension(250, 180));
         
         // Image and text
-        JLabel imgLabel = new JLabel(new ImageIcon(
-            new ImageIcon(imgPath).getImage().getScaledInstance(120, 120, Image.SCALE_SMOOTH)
-        ), SwingConstants.CENTER);
+        JLabel imgLabel = new JLabel(AssetManager.getInstance().getScaledIcon(imgPath, 120, 120), SwingConstants.CENTER);
 
         JLabel lbl = new JLabel("<html><center>" + name + "<br>" + desc + "</center></html>", SwingConstants.CENTER);
         lbl.setFont(new Font("Serif", Font.BOLD, 14));
@@ -269,6 +272,7 @@ public abstract class AbstractSelectionMenu implements Menu
                     panel.setBorder(BorderFactory.createLineBorder(Color.ORANGE, 3));
                 }
                 nextButton.setEnabled(selectedPanels.size() == maxSelectableCharacters);
+                selectionChanged();
             }
 
             public void mouseEntered(MouseEvent e) {
@@ -287,6 +291,25 @@ public abstract class AbstractSelectionMenu implements Menu
         gbc.gridx = x;
         gbc.gridy = y;
         bgLabel.add(panel, gbc);
+        this.characterPanels.put(name, panel);
+    }
+
+    /**
+     * Adds components specific to the menu, once the title, the button and the characters are in place.
+     * The cell in the middle of the characters is free. Does nothing by default.
+     *
+     * @param bgLabel The background label container
+     * @param gbc The GridBagConstraints object for layout configuration
+     */
+    protected void setupExtras(JLabel bgLabel, GridBagConstraints gbc) 
+    {
+    }
+
+    /**
+     * Called on the EDT whenever a character is selected or deselected. Does nothing by default.
+     */
+    protected void selectionChanged() 
+    {
     }
 
 
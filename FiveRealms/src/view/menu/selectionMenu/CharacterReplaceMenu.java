@@ -1,45 +1,203 @@
 package view.menu.selectionMenu;
 
+import javax.swing.*;
+import model.simulation.ReplacementPreview;
+import model.simulation.UnitClass;
+import java.awt.*;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
 /**
  * Character replacement menu for changing team members.
  * Extends AbstractSelectionMenu to inherit common functionality.
+ * When given a {@link ReplacementPreview}, it shows the estimated chance of clearing the
+ * next level with every character and with the team selected, refreshed from the EDT
+ * while the preview plays its games in the background.
  */
 public class CharacterReplaceMenu extends AbstractSelectionMenu 
 {
-    
+    /** Milliseconds between two refreshes of the estimates */
+    private static final int REFRESH_DELAY = 250;
+
     private int alliesToChange;
-    
+    private ReplacementPreview preview;
+    private Timer refreshTimer;
+    private final Map<String, JLabel> estimateLabels = new HashMap<>();
+    private JLabel teamEstimateLabel;
+
     /**
      * Initializes and displays the character replacement menu with all available allies.
-     * 
-     * @param allAllies List of all available characters that can be selected
+     *
      * @param alliesToChange Number of characters that need to be selected for replacement
      */
     public void show(int alliesToChange) 
+    {
+        this.show(alliesToChange, null);
+    }
+
+    /**
+     * Initializes and displays the character replacement menu, showing the estimates of a preview.
+     * The menu cancels the preview when it closes.
+     *
+     * @param alliesToChange Number of characters that need to be selected for replacement
+     * @param preview the running preview of the replacements, or null to show no estimates
+     */
+    public void show(int alliesToChange, ReplacementPreview preview)
     {
         this.alliesToChange          = alliesToChange;
         this.maxSelectableCharacters = alliesToChange;
+        this.preview                 = preview;
         super.show();
+
+        if (this.preview != null)
+        {
+            this.refreshTimer = new Timer(REFRESH_DELAY, e -> this.refreshEstimates());
+            this.refreshTimer.start();
+        }
     }
-    
+
+    /**
+     * Stops refreshing the estimates and cancels the preview before closing.
+     */
+    @Override
+    public void close()
+    {
+        if (this.refreshTimer != null)
+        {
+            this.refreshTimer.stop();
+            this.refreshTimer = null;
+        }
+        if (this.preview != null)
+        {
+            this.preview.cancel();
+            this.preview = null;
+        }
+        super.close();
+    }
+
+    /** Adds an estimate label on top of every character and one for the selected team */
+    @Override
+    protected void setupExtras(JLabel bgLabel, GridBagConstraints gbc)
+    {
+        this.estimateLabels.clear();
+        if (this.preview == null)
+        {
+            return;
+        }
+
+        for (Map.Entry<String, JPanel> entry : this.characterPanels.entrySet())
+        {
+            JLabel label = this.createEstimateLabel(14);
+            entry.getValue().add(label, BorderLayout.NORTH);
+            this.estimateLabels.put(entry.getKey(), label);
+        }
+
+        this.teamEstimateLabel = this.createEstimateLabel(16);
+        this.teamEstimateLabel.setPreferredSize(new Dimension(250, 60));
+        gbc.gridx = 1;
+        gbc.gridy = 1;
+        bgLabel.add(this.teamEstimateLabel, gbc);
+        this.refreshEstimates();
+    }
+
+    /** Shows the estimate of the new team at once */
+    @Override
+    protected void selectionChanged()
+    {
+        if (this.preview != null)
+        {
+            this.refreshEstimates();
+        }
+    }
+
+    /**
+     * Reads the counts of the preview and updates the labels, on the EDT.
+     */
+    private void refreshEstimates()
+    {
+        if (this.preview == null)
+        {
+            return;
+        }
+
+        for (UnitClass unitClass : UnitClass.values())
+        {
+            JLabel label = this.estimateLabels.get(unitClass.getCharacterName());
+            if (label != null)
+            {
+                label.setText(formatEstimate("Win", this.preview.getWinProbability(unitClass), -1));
+            }
+        }
+
+        if (this.selectedCharacters.size() < this.alliesToChange)
+        {
+            this.teamEstimateLabel.setText("<html><center>Simulating the next level...<br>select a team to see its chance</center></html>");
+            return;
+        }
+
+        Set<UnitClass> team = EnumSet.noneOf(UnitClass.class);
+        for (UnitClass unitClass : UnitClass.values())
+        {
+            if (this.selectedCharacters.contains(unitClass.getCharacterName()))
+            {
+                team.add(unitClass);
+            }
+        }
+        int index = this.preview.getTeam(team);
+        if (index >= 0)
+        {
+            this.teamEstimateLabel.setText(formatEstimate("Team win chance",
+                    this.preview.getWinProbability(index), this.preview.getGames(index)));
+        }
+    }
+
+    /**
+     * Formats a win probability, with its margin when the number of games is given.
+     */
+    private static String formatEstimate(String prefix, double probability, long games)
+    {
+        if (Double.isNaN(probability))
+        {
+            return prefix + ": ...";
+        }
+        if (games < 0)
+        {
+            return String.format("%s: %.0f%%", prefix, probability * 100);
+        }
+        return String.format("<html><center>%s: %.0f%% &plusmn; %.0f%%<br>%d games</center></html>", prefix,
+                probability * 100, ReplacementPreview.getMargin(probability, games) * 100, games);
+    }
+
+    private JLabel createEstimateLabel(int fontSize)
+    {
+        JLabel label = new JLabel(" ", SwingConstants.CENTER);
+        label.setFont(new Font("Serif", Font.BOLD, fontSize));
+        label.setForeground(TITLE_TEXT);
+        label.setOpaque(true);
+        label.setBackground(TITLE_BACKGROUND);
+        return label;
+    }
+
     /** Menu type and title text specific to character replacement */
     @Override
     protected String getMenuType() 
     {
         return "Characters Replace";
     }
-    
+
     /** Title text indicating the number of characters to replace */
     @Override
     protected String getTitleText() 
     {
         return "REPLACE " + this.alliesToChange + " CHARACTERS";
     }
-    
+
     /** Character replacement menu does not require special title styling */
     @Override
     protected boolean requiresSpecialTitleStyling() 
     {
         return true; // CharacterReplaceMenu doesn't have the special background styling
     }
-}
\ No newline at end of file
+}